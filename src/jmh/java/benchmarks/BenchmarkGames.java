@@ -0,0 +1,58 @@
+package benchmarks;
+
+import com.aau.wizard.model.CardTable;
+import com.aau.wizard.model.Deck;
+import com.aau.wizard.model.Game;
+import com.aau.wizard.model.Player;
+import com.aau.wizard.model.enums.GameStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Builds reproducible games in the middle of a round for the benchmarks.
+ */
+final class BenchmarkGames {
+    static final long SEED = 42L;
+
+    private BenchmarkGames() {
+    }
+
+    /**
+     * The number of cards each player holds in the given round. A deck only has enough cards for
+     * {@code 60 / players} rounds, later rounds are dealt as the last playable one.
+     */
+    static int handSize(int players, int round) {
+        return Math.min(round, CardTable.SIZE / players);
+    }
+
+    /**
+     * Creates a game with the given number of players in the given round, with shuffled hands dealt,
+     * predictions made and the scores of all earlier rounds recorded.
+     */
+    static Game playingGame(int players, int round) {
+        Game game = new Game("benchmark-" + players + "-" + round);
+        game.setSeed(SEED);
+        Deck deck = new Deck(new SplittableRandom(game.getRoundSeed(round)));
+        deck.shuffle();
+        List<String> predictionOrder = new ArrayList<>();
+        for (int i = 0; i < players; i++) {
+            Player player = new Player("player-" + i, "Player " + i);
+            deck.dealTo(player.getHandCards(), handSize(players, round));
+            player.setPrediction(i % 2);
+            player.setTricksWon(i % 3);
+            for (int r = 1; r < round; r++) {
+                player.addRoundScore(20 + 10 * (r % 3));
+            }
+            game.getPlayers().add(player);
+            predictionOrder.add(player.getPlayerId());
+        }
+        game.setStatus(GameStatus.PLAYING);
+        game.setCurrentRound(round);
+        game.setMaxRound(CardTable.SIZE / players);
+        game.setCurrentPlayerId(game.getPlayers().get(0).getPlayerId());
+        game.setPredictionOrder(predictionOrder);
+        return game;
+    }
+}
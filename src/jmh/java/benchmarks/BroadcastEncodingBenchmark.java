@@ -0,0 +1,102 @@
+package benchmarks;
+
+import com.aau.wizard.dto.CardDto;
+import com.aau.wizard.dto.PlayerDto;
+import com.aau.wizard.dto.response.GameResponse;
+import com.aau.wizard.model.CardTable;
+import com.aau.wizard.model.Game;
+import com.aau.wizard.model.ICard;
+import com.aau.wizard.model.enums.CardSuit;
+import com.aau.wizard.service.impl.GameStateBroadcaster;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building and encoding the messages that carry the players and the trump, once with new DTOs
+ * for every message as before and once with the parts shared per version of the game.
+ * <p>
+ * The {@code shared} benchmarks send several messages at the same version, like the scoreboards
+ * requested by every player after a round or the snapshots of resyncs. The {@code sharedNewVersion}
+ * benchmarks advance the version before every message, so each one builds and encodes its parts.
+ * Run with {@code -Djmh.params="-prof gc"} for the bytes allocated per message (gc.alloc.rate.norm).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BroadcastEncodingBenchmark {
+
+    @Param({"2", "4", "6"})
+    public int players;
+
+    @Param({"1", "10", "20"})
+    public int round;
+
+    // the broker converts with a plain object mapper as well
+    private final ObjectMapper mapper = new ObjectMapper();
+    // only builds the states, nothing is sent
+    private final GameStateBroadcaster broadcaster = new GameStateBroadcaster(null);
+    private Game game;
+    private ICard trumpCard;
+
+    @Setup
+    public void setUp() {
+        game = BenchmarkGames.playingGame(players, round);
+        trumpCard = CardTable.numberCard(CardSuit.GREEN, 11);
+    }
+
+    @Benchmark
+    public byte[] stateWithNewDtos() throws JsonProcessingException {
+        GameResponse response = broadcaster.createGameResponse(game, null, null);
+        response.setPlayers(game.getPlayers().stream().map(PlayerDto::from).toList());
+        response.setTrumpCard(CardDto.from(trumpCard));
+        response.setHandCards(null);
+        return mapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] stateShared() throws JsonProcessingException {
+        GameResponse response = broadcaster.createGameResponse(game, null, trumpCard);
+        response.setHandCards(null);
+        return mapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] stateSharedNewVersion() throws JsonProcessingException {
+        game.nextVersion();
+        return stateShared();
+    }
+
+    @Benchmark
+    public byte[] scoreboardWithNewDtos() throws JsonProcessingException {
+        List<PlayerDto> scoreboard = game.getPlayers().stream().map(PlayerDto::from).toList();
+        return mapper.writeValueAsBytes(scoreboard);
+    }
+
+    @Benchmark
+    public byte[] scoreboardShared() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(broadcaster.scoreboard(game));
+    }
+
+    @Benchmark
+    public byte[] scoreboardSharedNewVersion() throws JsonProcessingException {
+        game.nextVersion();
+        return scoreboardShared();
+    }
+}
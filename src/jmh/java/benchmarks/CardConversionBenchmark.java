@@ -0,0 +1,57 @@
+package benchmarks;
+
+import com.aau.wizard.dto.CardDto;
+import com.aau.wizard.model.CardTable;
+import com.aau.wizard.model.ICard;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Converting single cards between their wire formats: the card string sent by clients and the
+ * {@link CardDto} sent back. Every call uses the next of the 60 cards.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CardConversionBenchmark {
+
+    private String[] names;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        names = new String[CardTable.SIZE];
+        for (int id = 0; id < CardTable.SIZE; id++) {
+            names[id] = CardTable.byId(id).toString();
+        }
+    }
+
+    @Benchmark
+    public ICard fromString() {
+        return ICard.fromString(names[nextId()]);
+    }
+
+    @Benchmark
+    public CardDto cardDtoFrom() {
+        return CardDto.from(CardTable.byId(nextId()));
+    }
+
+    private int nextId() {
+        int id = next;
+        next = next + 1 == CardTable.SIZE ? 0 : next + 1;
+        return id;
+    }
+}
@@ -0,0 +1,99 @@
+package benchmarks;
+
+import com.aau.wizard.model.CardTable;
+import com.aau.wizard.model.ICard;
+import com.aau.wizard.model.JesterCard;
+import com.aau.wizard.model.NumberCard;
+import com.aau.wizard.model.WizardCard;
+import com.aau.wizard.model.enums.CardSuit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolving a played card as the server does for every play: parse the card string sent by the
+ * client and look it up in the player's hand.
+ * <p>
+ * {@code legacy*} re-creates the previous behaviour, which allocated a new card per parse and
+ * compared the hand element by element with {@code equals}; {@code canonical*} uses the
+ * {@link CardTable} instances that are also dealt into the hands.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CardLookupBenchmark {
+
+    @Param({"1", "10", "20"})
+    public int handSize;
+
+    private String[] playedCards;
+    private List<ICard> legacyHand;
+    private List<ICard> canonicalHand;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        List<ICard> cards = new ArrayList<>(CardTable.all());
+        Collections.shuffle(cards, new Random(42));
+
+        canonicalHand = new ArrayList<>(cards.subList(0, handSize));
+        legacyHand = new ArrayList<>();
+        for (ICard card : canonicalHand) {
+            legacyHand.add(legacyFromString(card.toString()));
+        }
+        // half of the plays are in the hand, half are not
+        playedCards = new String[2 * handSize];
+        for (int i = 0; i < playedCards.length; i++) {
+            playedCards[i] = cards.get(i).toString();
+        }
+    }
+
+    @Benchmark
+    public boolean legacyFromStringAndContains() {
+        return legacyHand.contains(legacyFromString(nextPlayedCard()));
+    }
+
+    @Benchmark
+    public boolean canonicalFromStringAndContains() {
+        return canonicalHand.contains(ICard.fromString(nextPlayedCard()));
+    }
+
+    private String nextPlayedCard() {
+        String card = playedCards[next];
+        next = next + 1 == playedCards.length ? 0 : next + 1;
+        return card;
+    }
+
+    /**
+     * {@code ICard.fromString} before the card table: normalizes and splits every string and
+     * allocates a new card.
+     */
+    private static ICard legacyFromString(String cardString) {
+        String upperCaseCardString = cardString.trim().toUpperCase();
+        if (upperCaseCardString.equals("WIZARD")) {
+            return new WizardCard(CardSuit.SPECIAL);
+        }
+        if (upperCaseCardString.equals("JESTER")) {
+            return new JesterCard(CardSuit.SPECIAL);
+        }
+        String[] parts = upperCaseCardString.split("_");
+        return new NumberCard(CardSuit.valueOf(parts[0]), Integer.parseInt(parts[1]));
+    }
+}
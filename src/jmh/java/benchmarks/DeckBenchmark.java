@@ -0,0 +1,70 @@
+package benchmarks;
+
+import com.aau.wizard.model.Deck;
+import com.aau.wizard.model.Hand;
+import com.aau.wizard.model.ICard;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Preparing the deck at the start of a round: shuffle it and deal every player their hand plus
+ * the trump card.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeckBenchmark {
+
+    @Param({"2", "3", "4", "5", "6"})
+    public int players;
+
+    @Param({"1", "5", "10", "15", "20"})
+    public int round;
+
+    private Deck deck;
+    private Hand[] hands;
+    private int handSize;
+
+    @Setup
+    public void setUp() {
+        deck = new Deck(new SplittableRandom(BenchmarkGames.SEED));
+        hands = new Hand[players];
+        for (int i = 0; i < players; i++) {
+            hands[i] = new Hand();
+        }
+        handSize = BenchmarkGames.handSize(players, round);
+    }
+
+    @Benchmark
+    public Deck shuffle() {
+        deck.reset();
+        deck.shuffle();
+        return deck;
+    }
+
+    @Benchmark
+    public ICard shuffleAndDraw() {
+        deck.reset();
+        deck.shuffle();
+        for (Hand hand : hands) {
+            hand.clear();
+            deck.dealTo(hand, handSize);
+        }
+        return deck.drawCard();
+    }
+}
@@ -0,0 +1,68 @@
+package benchmarks;
+
+import com.aau.wizard.GameExceptions;
+import com.aau.wizard.engine.DomainEvent;
+import com.aau.wizard.model.Game;
+import com.aau.wizard.model.Player;
+import com.aau.wizard.service.impl.GameMetrics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What the metrics add to a played card: reading the clock before and after the command,
+ * recording its duration and counting the move and its broadcast in the sink behind the engine.
+ * The budget is one microsecond per move.
+ * <p>
+ * The {@code playedCardContended} benchmark records from four threads into the same counters,
+ * like the mailbox workers of different games do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameMetricsBenchmark {
+
+    private final GameMetrics metrics = new GameMetrics();
+    private final RuntimeException rejection = new GameExceptions.InvalidTurnException("Nicht dein Zug");
+    private Game game;
+    private DomainEvent cardPlayed;
+
+    @Setup
+    public void setUp() {
+        game = BenchmarkGames.playingGame(4, 10);
+        Player player = game.getPlayers().get(0);
+        cardPlayed = new DomainEvent.CardPlayed(game, 1, player, player.getHandCards().get(0));
+    }
+
+    @Benchmark
+    public void playedCard() {
+        long start = System.nanoTime();
+        metrics.publish(cardPlayed);
+        metrics.flush(game);
+        metrics.record(GameMetrics.Operation.PLAY_CARD, System.nanoTime() - start);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void playedCardContended() {
+        playedCard();
+    }
+
+    @Benchmark
+    public void rejectedMove() {
+        metrics.recordRejectedMove(rejection);
+    }
+}
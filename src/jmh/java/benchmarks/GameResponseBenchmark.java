@@ -0,0 +1,61 @@
+package benchmarks;
+
+import com.aau.wizard.dto.response.GameResponse;
+import com.aau.wizard.model.CardTable;
+import com.aau.wizard.model.Game;
+import com.aau.wizard.model.ICard;
+import com.aau.wizard.model.enums.CardSuit;
+import com.aau.wizard.service.impl.GameRegistry;
+import com.aau.wizard.service.impl.GameServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the full game state for one player, as done for joins and resyncs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameResponseBenchmark {
+
+    @Param({"2", "3", "4", "5", "6"})
+    public int players;
+
+    @Param({"1", "5", "10", "15", "20"})
+    public int round;
+
+    private GameServiceImpl gameService;
+    private Game game;
+    private String playerId;
+    private ICard trumpCard;
+
+    @Setup
+    public void setUp() {
+        // createGameResponse sends nothing, the channel only satisfies the constructor
+        SimpMessagingTemplate messagingTemplate = new SimpMessagingTemplate((message, timeout) -> true);
+        gameService = new GameServiceImpl(messagingTemplate, new GameRegistry());
+        game = BenchmarkGames.playingGame(players, round);
+        playerId = game.getPlayers().get(players - 1).getPlayerId();
+        trumpCard = CardTable.numberCard(CardSuit.GREEN, 11);
+    }
+
+    @Benchmark
+    public GameResponse createGameResponse() {
+        return gameService.createGameResponse(game, playerId, trumpCard);
+    }
+}
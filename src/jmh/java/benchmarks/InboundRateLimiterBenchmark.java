@@ -0,0 +1,82 @@
+package benchmarks;
+
+import com.aau.wizard.config.InboundRateLimiter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What the rate limiter adds to every frame a client sends: a frame to "/app/game/play" within
+ * its limit, one over its limit, which is dropped, and one to the scoreboard, which is found
+ * behind a wildcard. Run with {@code -prof gc} to see that no frame allocates.
+ * <p>
+ * The {@code playWithinLimitContended} benchmark sends from four threads for the same session,
+ * so the threads compete for the compare-and-set of one bucket.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InboundRateLimiterBenchmark {
+
+    private final InboundRateLimiter unlimited = InboundRateLimiter.parse(
+            "/app/game/play=1000000000:1000000000", "/app/game/*/scoreboard=1000000000:1000000000");
+    private final InboundRateLimiter limited = InboundRateLimiter.parse("/app/game/play=0.001:1");
+    private Message<byte[]> play;
+    private Message<byte[]> scoreboard;
+
+    @Setup
+    public void setUp() {
+        unlimited.preSend(frame(SimpMessageType.CONNECT, null), null);
+        limited.preSend(frame(SimpMessageType.CONNECT, null), null);
+        play = frame(SimpMessageType.MESSAGE, "/app/game/play");
+        scoreboard = frame(SimpMessageType.MESSAGE, "/app/game/game-1/scoreboard");
+        limited.preSend(play, null);
+    }
+
+    @Benchmark
+    public Message<?> playWithinLimit() {
+        return unlimited.preSend(play, null);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Message<?> playWithinLimitContended() {
+        return unlimited.preSend(play, null);
+    }
+
+    @Benchmark
+    public Message<?> playOverLimit() {
+        return limited.preSend(play, null);
+    }
+
+    @Benchmark
+    public Message<?> scoreboardWithinLimit() {
+        return unlimited.preSend(scoreboard, null);
+    }
+
+    private static Message<byte[]> frame(SimpMessageType type, String destination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(type);
+        accessor.setSessionId("session-1");
+        if (destination != null) {
+            accessor.setDestination(destination);
+        }
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
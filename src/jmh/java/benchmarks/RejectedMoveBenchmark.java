@@ -0,0 +1,112 @@
+package benchmarks;
+
+import com.aau.wizard.dto.request.GameRequest;
+import com.aau.wizard.dto.request.PredictionRequest;
+import com.aau.wizard.model.CardTable;
+import com.aau.wizard.model.Game;
+import com.aau.wizard.model.ICard;
+import com.aau.wizard.model.Player;
+import com.aau.wizard.service.impl.GameRegistry;
+import com.aau.wizard.service.impl.GameServiceImpl;
+import com.aau.wizard.service.impl.RoundServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Throughput of moves the game rejects, as sent by buggy or cheating clients: a card out of
+ * turn, a card the player does not hold, a prediction while cards are played and a move for an
+ * unknown game. Each goes through the game service with its lock, like a command from the mailbox.
+ * <p>
+ * The moves are rejected {@code depth} frames below the benchmark, since the cost of capturing a
+ * stack trace grows with the depth; commands from the STOMP inbound channel arrive about 80 frames
+ * deep. {@code freshStackTrace} throws an exception with a stack trace at the same depth, which is
+ * what every rejected move cost before the rule violations became stackless.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RejectedMoveBenchmark {
+
+    @Param({"0", "80"})
+    public int depth;
+
+    private GameServiceImpl service;
+    private GameRequest outOfTurn;
+    private GameRequest notInHand;
+    private PredictionRequest latePrediction;
+    private GameRequest unknownGame;
+
+    @Setup
+    public void setUp() {
+        service = new GameServiceImpl(new SimpMessagingTemplate((message, timeout) -> true), new GameRegistry());
+        Game game = BenchmarkGames.playingGame(4, 10);
+        service.getRegistry().put(game).setRoundService(new RoundServiceImpl(game));
+
+        Player current = game.getPlayers().get(0);
+        Player waiting = game.getPlayers().get(1);
+        outOfTurn = new GameRequest(game.getGameId(), waiting.getPlayerId());
+        outOfTurn.setCard(waiting.getHandCards().get(0).toString());
+        ICard notHeld = CardTable.all().stream().filter(card -> !current.getHandCards().contains(card))
+                .findFirst().orElseThrow();
+        notInHand = new GameRequest(game.getGameId(), current.getPlayerId());
+        notInHand.setCard(notHeld.toString());
+        latePrediction = new PredictionRequest(game.getGameId(), current.getPlayerId(), 1);
+        unknownGame = new GameRequest("unknown-game", current.getPlayerId());
+        unknownGame.setCard(notHeld.toString());
+    }
+
+    @Benchmark
+    public int cardOutOfTurn() {
+        return rejectAt(depth, () -> service.playCard(outOfTurn));
+    }
+
+    @Benchmark
+    public int cardNotInHand() {
+        return rejectAt(depth, () -> service.playCard(notInHand));
+    }
+
+    @Benchmark
+    public int predictionWhilePlaying() {
+        return rejectAt(depth, () -> service.makePrediction(latePrediction));
+    }
+
+    @Benchmark
+    public int unknownGame() {
+        return rejectAt(depth, () -> service.playCard(unknownGame));
+    }
+
+    @Benchmark
+    public int freshStackTrace() {
+        return rejectAt(depth, () -> {
+            throw new IllegalStateException("Du bist nicht an der Reihe.");
+        });
+    }
+
+    private static int rejectAt(int depth, Supplier<?> move) {
+        if (depth > 0) {
+            return rejectAt(depth - 1, move);
+        }
+        try {
+            move.get();
+        } catch (RuntimeException e) {
+            return e.getMessage().length();
+        }
+        throw new AssertionError("Der Zug wurde nicht abgelehnt");
+    }
+}
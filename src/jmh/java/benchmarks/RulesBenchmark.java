@@ -0,0 +1,80 @@
+package benchmarks;
+
+import com.aau.wizard.model.CardTable;
+import com.aau.wizard.model.Game;
+import com.aau.wizard.model.ICard;
+import com.aau.wizard.model.Player;
+import com.aau.wizard.model.enums.CardSuit;
+import com.aau.wizard.rules.BiddingRules;
+import com.aau.wizard.rules.TrickRules;
+import com.aau.wizard.util.Pair;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The rule checks run for every card played and every finished round: trick winner, play
+ * validation against the hand and round scoring.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RulesBenchmark {
+
+    @Param({"2", "3", "4", "5", "6"})
+    public int players;
+
+    @Param({"1", "5", "10", "15", "20"})
+    public int round;
+
+    private List<Pair<Player, ICard>> trick;
+    private List<Pair<Player, ICard>> leadOnly;
+    private List<Player> scoredPlayers;
+    private Player nextPlayer;
+    private ICard nextCard;
+
+    @Setup
+    public void setUp() {
+        Game game = BenchmarkGames.playingGame(players, round);
+        scoredPlayers = game.getPlayers();
+
+        trick = new ArrayList<>();
+        for (Player player : scoredPlayers) {
+            trick.add(new Pair<>(player, player.getHandCards().get(0)));
+        }
+        leadOnly = List.of(new Pair<>(scoredPlayers.get(0), CardTable.numberCard(CardSuit.RED, 7)));
+        nextPlayer = scoredPlayers.get(scoredPlayers.size() - 1);
+        nextCard = nextPlayer.getHandCards().get(0);
+    }
+
+    @Benchmark
+    public Player determineTrickWinner() {
+        return TrickRules.determineTrickWinner(trick, CardSuit.BLUE);
+    }
+
+    @Benchmark
+    public boolean isValidPlay() {
+        return TrickRules.isValidPlay(nextPlayer, nextCard, leadOnly, CardSuit.BLUE, false);
+    }
+
+    @Benchmark
+    public List<Player> calculateScores() {
+        BiddingRules.calculateScores(scoredPlayers);
+        return scoredPlayers;
+    }
+}
@@ -0,0 +1,99 @@
+package benchmarks;
+
+import com.aau.wizard.model.CardTable;
+import com.aau.wizard.model.ICard;
+import com.aau.wizard.model.Player;
+import com.aau.wizard.model.enums.CardSuit;
+import com.aau.wizard.rules.TrickRules;
+import com.aau.wizard.util.Pair;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolving the winner of a trick, once via the {@code List<Pair<Player, ICard>>} API and once via
+ * the id based API on the same randomized tricks.
+ * <p>
+ * Run with {@code -prof gc} to compare the allocation rate, the id based variant should not
+ * allocate at all.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TrickWinnerBenchmark {
+
+    private static final int TRICKS = 1024;
+
+    @Param({"3", "4", "5", "6"})
+    public int players;
+
+    private List<List<Pair<Player, ICard>>> listTricks;
+    private byte[][] idTricks;
+    private int[][] seatTricks;
+    private CardSuit[] trumps;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<Player> seated = new ArrayList<>();
+        for (int seat = 0; seat < players; seat++) {
+            seated.add(new Player("p" + seat, "Player" + seat));
+        }
+        List<ICard> deck = new ArrayList<>(CardTable.all());
+        CardSuit[] suits = CardSuit.values();
+
+        listTricks = new ArrayList<>();
+        idTricks = new byte[TRICKS][players];
+        seatTricks = new int[TRICKS][players];
+        trumps = new CardSuit[TRICKS];
+        for (int trick = 0; trick < TRICKS; trick++) {
+            Collections.shuffle(deck, random);
+            int firstSeat = random.nextInt(players);
+            List<Pair<Player, ICard>> playedCards = new ArrayList<>();
+            for (int i = 0; i < players; i++) {
+                int seat = (firstSeat + i) % players;
+                playedCards.add(new Pair<>(seated.get(seat), deck.get(i)));
+                idTricks[trick][i] = deck.get(i).getId();
+                seatTricks[trick][i] = seat;
+            }
+            listTricks.add(playedCards);
+            trumps[trick] = suits[random.nextInt(suits.length)];
+        }
+    }
+
+    @Benchmark
+    public Player listBased() {
+        int trick = nextTrick();
+        return TrickRules.determineTrickWinner(listTricks.get(trick), trumps[trick]);
+    }
+
+    @Benchmark
+    public int idBased() {
+        int trick = nextTrick();
+        return TrickRules.determineTrickWinnerSeat(seatTricks[trick], idTricks[trick], players, trumps[trick]);
+    }
+
+    private int nextTrick() {
+        int trick = next;
+        next = (next + 1) & (TRICKS - 1);
+        return trick;
+    }
+}
@@ -0,0 +1,83 @@
+package benchmarks;
+
+import com.aau.wizard.dto.BinaryFrameCodec;
+import com.aau.wizard.dto.response.GameResponse;
+import com.aau.wizard.model.CardTable;
+import com.aau.wizard.model.Game;
+import com.aau.wizard.model.enums.CardSuit;
+import com.aau.wizard.service.impl.GameStateBroadcaster;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding and decoding the full state of a game as seen by one player, in JSON and in the
+ * {@link BinaryFrameCodec binary format}. The sizes of both payloads are printed when the state
+ * is set up.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    @Param({"6"})
+    public int players;
+
+    @Param({"1", "10"})
+    public int round;
+
+    // the broker converts with a plain object mapper as well
+    private final ObjectMapper mapper = new ObjectMapper();
+    // only builds the states, nothing is sent
+    private final GameStateBroadcaster broadcaster = new GameStateBroadcaster(null);
+    private GameResponse response;
+    private byte[] json;
+    private byte[] binary;
+
+    @Setup
+    public void setUp() throws IOException {
+        Game game = BenchmarkGames.playingGame(players, round);
+        response = broadcaster.createGameResponse(game, game.getPlayers().get(0).getPlayerId(),
+                CardTable.numberCard(CardSuit.GREEN, 11));
+        json = mapper.writeValueAsBytes(response);
+        binary = BinaryFrameCodec.encode(response);
+        System.out.printf(Locale.ROOT, "%nGameResponse with %d players in round %d: JSON %d bytes, binary %d bytes%n",
+                players, round, json.length, binary.length);
+    }
+
+    @Benchmark
+    public byte[] encodeJson() throws IOException {
+        return mapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public GameResponse decodeJson() throws IOException {
+        return mapper.readValue(json, GameResponse.class);
+    }
+
+    @Benchmark
+    public byte[] encodeBinary() {
+        return BinaryFrameCodec.encode(response);
+    }
+
+    @Benchmark
+    public Object decodeBinary() throws IOException {
+        return BinaryFrameCodec.decode(binary);
+    }
+}
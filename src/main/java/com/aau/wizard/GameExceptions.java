@@ -2,25 +2,38 @@ package com.aau.wizard;
 
 public class GameExceptions {
 
-    public static class GameNotFoundException extends RuntimeException {
+    /**
+     * A command that breaks a rule of the game or refers to a game or player that does not exist,
+     * e.g. a card played out of turn. Clients send such commands all the time, so these exceptions
+     * are thrown without a stack trace: capturing it would cost more than the whole command. They
+     * carry no cause and no suppressed exceptions either, so one instance with a fixed message can
+     * be created once and thrown again by every command that breaks the same rule.
+     */
+    public abstract static class RuleViolationException extends RuntimeException {
+        protected RuleViolationException(String message) {
+            super(message, null, false, false);
+        }
+    }
+
+    public static class GameNotFoundException extends RuleViolationException {
         public GameNotFoundException(String message) {
             super(message);
         }
     }
 
-    public static class GameStartException extends RuntimeException {
+    public static class GameStartException extends RuleViolationException {
         public GameStartException(String message) {
             super(message);
         }
     }
 
-    public static class InvalidPredictionException extends RuntimeException {
+    public static class InvalidPredictionException extends RuleViolationException {
         public InvalidPredictionException(String message) {
             super(message);
         }
     }
 
-    public static class PlayerNotFoundException extends RuntimeException {
+    public static class PlayerNotFoundException extends RuleViolationException {
         public PlayerNotFoundException(String message) {
             super(message);
         }
@@ -32,25 +45,25 @@ public class GameExceptions {
         }
     }
 
-    public static class InvalidTurnException extends RuntimeException {
+    public static class InvalidTurnException extends RuleViolationException {
         public InvalidTurnException(String message) {
             super(message);
         }
     }
 
-    public static class CardNotInHandException extends RuntimeException {
+    public static class CardNotInHandException extends RuleViolationException {
         public CardNotInHandException(String message) {
             super(message);
         }
     }
 
-    public static class GameAlreadyEndedException extends RuntimeException {
+    public static class GameAlreadyEndedException extends RuleViolationException {
         public GameAlreadyEndedException(String message) {
             super(message);
         }
     }
 
-    public static class GameNotActiveException extends RuntimeException {
+    public static class GameNotActiveException extends RuleViolationException {
         public GameNotActiveException(String message) {
             super(message);
         }
@@ -61,4 +74,20 @@ public class GameExceptions {
             super(message, cause);
         }
     }
+
+    /**
+     * A card that does not follow suit although the player could. The round service has always
+     * thrown an {@link IllegalStateException} for it, so it stays one, but like the
+     * {@link RuleViolationException}s it is thrown without a stack trace.
+     */
+    public static class InvalidCardPlayException extends IllegalStateException {
+        public InvalidCardPlayException(String message) {
+            super(message);
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
 }
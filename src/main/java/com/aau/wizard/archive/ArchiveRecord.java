@@ -0,0 +1,185 @@
+package com.aau.wizard.archive;
+
+import com.aau.wizard.model.Game;
+import com.aau.wizard.model.Player;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Layout and encoding of one archived game. All fixed-size parts come first, so every field can
+ * be read at a computed offset without parsing the record:
+ * <pre>
+ *  0  int    record length in bytes, written last
+ *  4  int    CRC32C of the bytes from offset 8 to the end
+ *  8  long   archive time, epoch millis
+ * 16  long   seed of the game
+ * 24  long   hash of the game id
+ * 32  long   address of the previous record with the same game id hash, -1 if none
+ * 40  byte   number of players n
+ * 41  byte   rounds played r
+ * 42  byte   rounds of a complete game
+ * 43  byte   reserved
+ * 44  short  offset of the game id string
+ * 46  short  reserved
+ * 48  n ×    long player id hash, long address of the previous record of the same player id hash,
+ *            int final score, short offset of the player id string, short offset of the name
+ *            string (0 if the player had no name)
+ *     r × n  byte prediction (-1 if not recorded), byte tricks won, short points of the round
+ *     strings, each an unsigned short length and the UTF-8 bytes
+ * </pre>
+ * The previous-record addresses chain all records of one game id and of one player id through the
+ * archive, so the in-memory index only needs the newest address per hash.
+ */
+final class ArchiveRecord {
+    static final int LENGTH = 0;
+    static final int CHECKSUM = 4;
+    static final int ARCHIVED_AT = 8;
+    static final int SEED = 16;
+    static final int GAME_HASH = 24;
+    static final int PREVIOUS_OF_GAME = 32;
+    static final int PLAYER_COUNT = 40;
+    static final int ROUNDS_PLAYED = 41;
+    static final int MAX_ROUNDS = 42;
+    static final int GAME_ID = 44;
+    static final int PLAYERS = 48;
+
+    static final int PLAYER_HASH = 0;
+    static final int PREVIOUS_OF_PLAYER = 8;
+    static final int FINAL_SCORE = 16;
+    static final int PLAYER_ID = 20;
+    static final int PLAYER_NAME = 22;
+    static final int PLAYER_BYTES = 24;
+
+    static final int ROUND_ENTRY_BYTES = 4;
+    /** String offsets are unsigned shorts, so a record cannot be longer. */
+    static final int MAX_BYTES = 0xFFFF;
+
+    private ArchiveRecord() {
+    }
+
+    /**
+     * A game prepared for writing: its strings are encoded and its length is known before the
+     * archive decides where the record goes.
+     */
+    static final class Prepared {
+        final Game game;
+        final long gameHash;
+        final long[] playerHashes;
+        final byte[] gameId;
+        final byte[][] playerIds;
+        final byte[][] names;
+        final int rounds;
+        final int length;
+
+        Prepared(Game game) {
+            List<Player> players = game.getPlayers();
+            if (players.size() > Byte.MAX_VALUE) {
+                throw new IllegalArgumentException("Zu viele Spieler für das Archiv: " + players.size());
+            }
+            this.game = game;
+            this.gameHash = ArchivedGame.hash(game.getGameId());
+            this.gameId = game.getGameId().getBytes(StandardCharsets.UTF_8);
+            this.playerHashes = new long[players.size()];
+            this.playerIds = new byte[players.size()][];
+            this.names = new byte[players.size()][];
+            int rounds = players.isEmpty() ? 0 : Integer.MAX_VALUE;
+            int stringBytes = 2 + gameId.length;
+            for (int i = 0; i < players.size(); i++) {
+                Player player = players.get(i);
+                playerHashes[i] = ArchivedGame.hash(player.getPlayerId());
+                playerIds[i] = player.getPlayerId().getBytes(StandardCharsets.UTF_8);
+                stringBytes += 2 + playerIds[i].length;
+                if (player.getName() != null) {
+                    names[i] = player.getName().getBytes(StandardCharsets.UTF_8);
+                    stringBytes += 2 + names[i].length;
+                }
+                rounds = Math.min(rounds, player.getRoundScores().size());
+            }
+            this.rounds = Math.min(rounds, Byte.MAX_VALUE);
+            long length = PLAYERS + (long) players.size() * PLAYER_BYTES
+                    + (long) this.rounds * players.size() * ROUND_ENTRY_BYTES + stringBytes;
+            if (length > MAX_BYTES) {
+                throw new IllegalArgumentException("Spiel " + game.getGameId() + " ist zu groß für das Archiv: " + length + " Bytes");
+            }
+            this.length = (int) length;
+        }
+    }
+
+    /**
+     * Writes a prepared game at the given position of the buffer. The length is written last, so
+     * a reader scanning the segment never sees a record before it is complete.
+     */
+    static void write(ByteBuffer buffer, int position, Prepared record, long archivedAt, long previousOfGame,
+                      long[] previousOfPlayers, CRC32C crc) {
+        Game game = record.game;
+        List<Player> players = game.getPlayers();
+        int n = players.size();
+        buffer.putLong(position + ARCHIVED_AT, archivedAt);
+        buffer.putLong(position + SEED, game.getSeed());
+        buffer.putLong(position + GAME_HASH, record.gameHash);
+        buffer.putLong(position + PREVIOUS_OF_GAME, previousOfGame);
+        buffer.put(position + PLAYER_COUNT, (byte) n);
+        buffer.put(position + ROUNDS_PLAYED, (byte) record.rounds);
+        buffer.put(position + MAX_ROUNDS, (byte) Math.min(game.getMaxRound(), Byte.MAX_VALUE));
+        buffer.put(position + MAX_ROUNDS + 1, (byte) 0);
+        buffer.putShort(position + GAME_ID + 2, (short) 0);
+
+        int strings = PLAYERS + n * PLAYER_BYTES + record.rounds * n * ROUND_ENTRY_BYTES;
+        buffer.putShort(position + GAME_ID, (short) strings);
+        strings = putString(buffer, position, strings, record.gameId);
+        for (int i = 0; i < n; i++) {
+            Player player = players.get(i);
+            int slot = position + PLAYERS + i * PLAYER_BYTES;
+            buffer.putLong(slot + PLAYER_HASH, record.playerHashes[i]);
+            buffer.putLong(slot + PREVIOUS_OF_PLAYER, previousOfPlayers[i]);
+            buffer.putInt(slot + FINAL_SCORE, player.getScore());
+            buffer.putShort(slot + PLAYER_ID, (short) strings);
+            strings = putString(buffer, position, strings, record.playerIds[i]);
+            buffer.putShort(slot + PLAYER_NAME, (short) (record.names[i] != null ? strings : 0));
+            if (record.names[i] != null) {
+                strings = putString(buffer, position, strings, record.names[i]);
+            }
+
+            List<Integer> scores = player.getRoundScores();
+            List<Integer> predictions = player.getRoundPredictions();
+            List<Integer> tricks = player.getRoundTricks();
+            // rounds scored without prediction and tricks (only in tests) come first
+            int missing = scores.size() - predictions.size();
+            for (int round = 0; round < record.rounds; round++) {
+                int entry = position + PLAYERS + n * PLAYER_BYTES + (round * n + i) * ROUND_ENTRY_BYTES;
+                boolean recorded = round >= missing;
+                buffer.put(entry, (byte) (recorded ? predictions.get(round - missing) : -1));
+                buffer.put(entry + 1, (byte) (recorded ? tricks.get(round - missing) : 0));
+                buffer.putShort(entry + 2, (short) (int) scores.get(round));
+            }
+        }
+
+        crc.reset();
+        crc.update(buffer.slice(position + ARCHIVED_AT, record.length - ARCHIVED_AT));
+        buffer.putInt(position + CHECKSUM, (int) crc.getValue());
+        buffer.putInt(position + LENGTH, record.length);
+    }
+
+    /**
+     * Checks the checksum of the record at the given position.
+     *
+     * @return {@code true} if the record is complete and undamaged
+     */
+    static boolean isValid(ByteBuffer buffer, int position, int length, CRC32C crc) {
+        if (length < PLAYERS || length > MAX_BYTES || position + length > buffer.limit()) {
+            return false;
+        }
+        crc.reset();
+        crc.update(buffer.slice(position + ARCHIVED_AT, length - ARCHIVED_AT));
+        return buffer.getInt(position + CHECKSUM) == (int) crc.getValue();
+    }
+
+    private static int putString(ByteBuffer buffer, int record, int offset, byte[] value) {
+        buffer.putShort(record + offset, (short) value.length);
+        buffer.put(record + offset + 2, value);
+        return offset + 2 + value.length;
+    }
+}
@@ -0,0 +1,177 @@
+package com.aau.wizard.archive;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static com.aau.wizard.archive.ArchiveRecord.*;
+
+/**
+ * Read-only view of one archived game, backed directly by the memory-mapped segment it is stored
+ * in. Nothing is copied onto the heap when a game is looked up; every accessor reads its field at
+ * a fixed offset of the record, only the strings are decoded when asked for.
+ * <p>
+ * Rounds are numbered from 1 like {@link com.aau.wizard.model.Game#getCurrentRound()}, players by
+ * their seat in the game.
+ */
+public final class ArchivedGame {
+    private final ByteBuffer record;
+    private final long address;
+    private final Path file;
+    private final long filePosition;
+
+    ArchivedGame(ByteBuffer record, long address, Path file, long filePosition) {
+        this.record = record;
+        this.address = address;
+        this.file = file;
+        this.filePosition = filePosition;
+    }
+
+    public String getGameId() {
+        return string(record.getShort(GAME_ID));
+    }
+
+    public long getArchivedAtMillis() {
+        return record.getLong(ARCHIVED_AT);
+    }
+
+    public long getSeed() {
+        return record.getLong(SEED);
+    }
+
+    public int getPlayerCount() {
+        return record.get(PLAYER_COUNT);
+    }
+
+    public int getRoundsPlayed() {
+        return record.get(ROUNDS_PLAYED);
+    }
+
+    public int getMaxRounds() {
+        return record.get(MAX_ROUNDS);
+    }
+
+    /**
+     * @return {@code true} if all rounds were played, {@code false} if the game was aborted
+     */
+    public boolean isCompleted() {
+        return getRoundsPlayed() >= getMaxRounds();
+    }
+
+    public String getPlayerId(int player) {
+        return string(record.getShort(slot(player) + PLAYER_ID));
+    }
+
+    /**
+     * @return the name of the player, or {@code null} if they had none
+     */
+    public String getPlayerName(int player) {
+        short offset = record.getShort(slot(player) + PLAYER_NAME);
+        return offset != 0 ? string(offset) : null;
+    }
+
+    public int getFinalScore(int player) {
+        return record.getInt(slot(player) + FINAL_SCORE);
+    }
+
+    /**
+     * @return the prediction of the player in the round, or -1 if it was not recorded
+     */
+    public int getPrediction(int round, int player) {
+        return record.get(roundEntry(round, player));
+    }
+
+    public int getTricksWon(int round, int player) {
+        return record.get(roundEntry(round, player) + 1);
+    }
+
+    public int getRoundScore(int round, int player) {
+        return record.getShort(roundEntry(round, player) + 2);
+    }
+
+    /**
+     * @return the encoded record as a read-only buffer over the mapped segment, see {@link ArchiveRecord}
+     */
+    public ByteBuffer bytes() {
+        return record.duplicate();
+    }
+
+    /**
+     * @return the length of the encoded record in bytes
+     */
+    public int length() {
+        return record.capacity();
+    }
+
+    /**
+     * @return the segment file holding the record, for sending it with {@code sendfile}
+     */
+    public Path file() {
+        return file;
+    }
+
+    /**
+     * @return the position of the record in its {@link #file()}
+     */
+    public long filePosition() {
+        return filePosition;
+    }
+
+    long address() {
+        return address;
+    }
+
+    long previousOfGame() {
+        return record.getLong(PREVIOUS_OF_GAME);
+    }
+
+    /**
+     * @return the seat of the first player with the given id hash, or -1
+     */
+    int seatOf(long playerHash) {
+        for (int player = 0; player < getPlayerCount(); player++) {
+            if (record.getLong(slot(player) + PLAYER_HASH) == playerHash) {
+                return player;
+            }
+        }
+        return -1;
+    }
+
+    long previousOfPlayer(int player) {
+        return record.getLong(slot(player) + PREVIOUS_OF_PLAYER);
+    }
+
+    private int slot(int player) {
+        return PLAYERS + player * PLAYER_BYTES;
+    }
+
+    private int roundEntry(int round, int player) {
+        if (round < 1 || round > getRoundsPlayed()) {
+            throw new IndexOutOfBoundsException("Runde " + round + " von " + getRoundsPlayed());
+        }
+        return PLAYERS + getPlayerCount() * PLAYER_BYTES + ((round - 1) * getPlayerCount() + player) * ROUND_ENTRY_BYTES;
+    }
+
+    private String string(short offset) {
+        int position = Short.toUnsignedInt(offset);
+        byte[] bytes = new byte[Short.toUnsignedInt(record.getShort(position))];
+        record.get(position + 2, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 64 bit hash of an id for the archive index: FNV-1a over the characters, finished with the
+     * MurmurHash3 mixer so that the low bits used for the table slot are well distributed.
+     */
+    static long hash(String id) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < id.length(); i++) {
+            hash = (hash ^ id.charAt(i)) * 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+}
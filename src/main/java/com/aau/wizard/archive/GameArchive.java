@@ -0,0 +1,70 @@
+package com.aau.wizard.archive;
+
+import com.aau.wizard.model.Game;
+
+import java.util.List;
+
+/**
+ * Permanent record of ended games: who played, what they predicted, which tricks they won and
+ * what every round scored. Unlike the {@link com.aau.wizard.journal.GameJournal} the archive holds
+ * one compact record per game that can be looked up by game id or player id.
+ */
+public interface GameArchive extends AutoCloseable {
+
+    /**
+     * An archive that keeps nothing, used when archiving is disabled.
+     */
+    GameArchive NONE = new GameArchive() {
+        @Override
+        public void append(Game game) {
+        }
+
+        @Override
+        public ArchivedGame find(String gameId) {
+            return null;
+        }
+
+        @Override
+        public List<ArchivedGame> findByPlayer(String playerId, int limit) {
+            return List.of();
+        }
+
+        @Override
+        public long size() {
+            return 0;
+        }
+    };
+
+    /**
+     * Archives an ended game. The game must not change while it is written.
+     *
+     * @param game the ended game
+     */
+    void append(Game game);
+
+    /**
+     * Looks up the newest archived game with the given id; ids are reused once a game has ended.
+     *
+     * @param gameId the id of the game
+     * @return the archived game, or {@code null} if there is none
+     */
+    ArchivedGame find(String gameId);
+
+    /**
+     * Looks up the games a player took part in.
+     *
+     * @param playerId the id of the player
+     * @param limit    maximum number of games returned
+     * @return the archived games, newest first
+     */
+    List<ArchivedGame> findByPlayer(String playerId, int limit);
+
+    /**
+     * @return the number of archived games
+     */
+    long size();
+
+    @Override
+    default void close() {
+    }
+}
@@ -0,0 +1,96 @@
+package com.aau.wizard.archive;
+
+/**
+ * Open addressing hash table from a 64 bit key hash to a record address, held in two primitive
+ * arrays. An entry costs 16 bytes per slot (about 24 at the maximum load) instead of the boxed key,
+ * boxed value and node of a {@code HashMap}, so the index of millions of archived games stays small.
+ * <p>
+ * Keys are expected to be well mixed hashes, see {@link ArchivedGame#hash(String)}. The key 0
+ * marks a free slot and is stored as 1. Not thread-safe.
+ */
+final class LongHashIndex {
+    /** Returned by {@link #get(long)} and {@link #put(long, long)} when there is no entry. */
+    static final long NONE = -1;
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;
+    private long[] values;
+    private int mask;
+    private int size;
+
+    LongHashIndex() {
+        allocate(MIN_CAPACITY);
+    }
+
+    /**
+     * @return the value stored for the key, or {@link #NONE}
+     */
+    long get(long key) {
+        key = key != 0 ? key : 1;
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            long current = keys[slot];
+            if (current == key) {
+                return values[slot];
+            }
+            if (current == 0) {
+                return NONE;
+            }
+        }
+    }
+
+    /**
+     * Stores the value for the key, replacing an existing one.
+     *
+     * @return the value stored before, or {@link #NONE}
+     */
+    long put(long key, long value) {
+        key = key != 0 ? key : 1;
+        int slot = slot(key);
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                long previous = values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        // resize at a load of 2/3, linear probing degrades quickly beyond
+        if (++size * 3L > keys.length * 2L) {
+            grow();
+        }
+        return NONE;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private int slot(long key) {
+        return (int) (key ^ (key >>> 32)) & mask;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(oldKeys.length * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            long key = oldKeys[i];
+            if (key != 0) {
+                int slot = slot(key);
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        mask = capacity - 1;
+    }
+}
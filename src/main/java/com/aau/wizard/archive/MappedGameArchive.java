@@ -0,0 +1,270 @@
+package com.aau.wizard.archive;
+
+import com.aau.wizard.model.Game;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * {@link GameArchive} storing the records in memory-mapped segment files.
+ * <p>
+ * Each segment is mapped once at its full size, records are written into the mapping one after
+ * the other and read back as slices of it, so archived games live in the page cache instead of
+ * the heap and a lookup copies nothing. Only the index is kept on the heap: the address of the
+ * newest record per game id hash and per player id hash in two {@link LongHashIndex}es. Older
+ * records of the same id are found through the previous-record addresses stored in each record,
+ * see {@link ArchiveRecord}. An address is the segment number in the upper and the position in
+ * the segment in the lower 32 bits.
+ * <p>
+ * Segment files are named after their number and start with a short header. On opening, all
+ * segments are scanned once to rebuild the index; a record that was torn by a crash ends the scan
+ * of its segment and, in the last segment, is overwritten by the next game. A full segment is
+ * left as it is and the next one started.
+ */
+public class MappedGameArchive implements GameArchive {
+    static final String SEGMENT_SUFFIX = ".archive";
+    private static final int MAGIC = 0x575A4152;
+    private static final byte FORMAT_VERSION = 1;
+    static final int HEADER_BYTES = 16;
+    private static final long MIN_SEGMENT_BYTES = 1 << 20;
+
+    private static final Logger logger = LoggerFactory.getLogger(MappedGameArchive.class);
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // guarded by lock
+    private final List<Segment> segments = new ArrayList<>();
+    private final LongHashIndex byGame = new LongHashIndex();
+    private final LongHashIndex byPlayer = new LongHashIndex();
+    private final CRC32C crc = new CRC32C();
+    private long size;
+    private int writePosition;
+    private boolean closed;
+
+    private record Segment(int number, Path file, MappedByteBuffer buffer, ByteBuffer readOnly) {
+    }
+
+    /**
+     * Opens the archive in the given directory, creating it if necessary, and indexes all
+     * archived games.
+     *
+     * @param directory    the directory holding the segment files
+     * @param segmentBytes size of a segment file
+     * @throws IOException if the directory or a segment cannot be read or written
+     */
+    public MappedGameArchive(Path directory, long segmentBytes) throws IOException {
+        if (segmentBytes < MIN_SEGMENT_BYTES || segmentBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("segmentBytes must be between " + MIN_SEGMENT_BYTES
+                    + " and " + Integer.MAX_VALUE + ": " + segmentBytes);
+        }
+        this.directory = directory;
+        this.segmentBytes = (int) segmentBytes;
+        Files.createDirectories(directory);
+        long start = System.nanoTime();
+        List<Path> files = segmentFiles();
+        for (int i = 0; i < files.size(); i++) {
+            openSegment(files.get(i), i == files.size() - 1);
+        }
+        if (segments.isEmpty()) {
+            createSegment(0);
+        }
+        logger.info("Archiv {} geöffnet: {} Spiele in {} Segmenten, indiziert in {} ms", directory, size,
+                segments.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Override
+    public void append(Game game) {
+        ArchiveRecord.Prepared record = new ArchiveRecord.Prepared(game);
+        lock.writeLock().lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Archiv ist geschlossen");
+            }
+            Segment segment = segments.get(segments.size() - 1);
+            if (writePosition + record.length > segment.buffer().capacity()) {
+                segment.buffer().force();
+                segment = createSegment(segment.number() + 1);
+            }
+            long address = address(segment.number(), writePosition);
+            // all previous addresses are looked up first, so two ids with the same hash never chain to this record
+            long previousOfGame = byGame.get(record.gameHash);
+            long[] previousOfPlayers = new long[record.playerHashes.length];
+            for (int i = 0; i < previousOfPlayers.length; i++) {
+                previousOfPlayers[i] = byPlayer.get(record.playerHashes[i]);
+            }
+            ArchiveRecord.write(segment.buffer(), writePosition, record, System.currentTimeMillis(),
+                    previousOfGame, previousOfPlayers, crc);
+            index(address, segment.buffer(), writePosition);
+            writePosition += record.length;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public ArchivedGame find(String gameId) {
+        lock.readLock().lock();
+        try {
+            long address = byGame.get(ArchivedGame.hash(gameId));
+            while (address != LongHashIndex.NONE) {
+                ArchivedGame game = view(address);
+                if (game.getGameId().equals(gameId)) {
+                    return game;
+                }
+                address = game.previousOfGame();
+            }
+            return null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<ArchivedGame> findByPlayer(String playerId, int limit) {
+        long hash = ArchivedGame.hash(playerId);
+        List<ArchivedGame> games = new ArrayList<>(Math.min(limit, 64));
+        lock.readLock().lock();
+        try {
+            long address = byPlayer.get(hash);
+            while (address != LongHashIndex.NONE && games.size() < limit) {
+                ArchivedGame game = view(address);
+                int seat = game.seatOf(hash);
+                if (seat < 0) {
+                    break;
+                }
+                if (game.getPlayerId(seat).equals(playerId)) {
+                    games.add(game);
+                }
+                address = game.previousOfPlayer(seat);
+            }
+            return games;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Forces the current segment to disk. Archived games already survive a crash of the process
+     * without it, because the mapped pages belong to the operating system.
+     */
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            if (!closed) {
+                closed = true;
+                segments.get(segments.size() - 1).buffer().force();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private ArchivedGame view(long address) {
+        Segment segment = segments.get((int) (address >>> 32));
+        int position = (int) address;
+        int length = segment.readOnly().getInt(position);
+        return new ArchivedGame(segment.readOnly().slice(position, length), address, segment.file(), position);
+    }
+
+    private void index(long address, ByteBuffer buffer, int position) {
+        byGame.put(buffer.getLong(position + ArchiveRecord.GAME_HASH), address);
+        int players = buffer.get(position + ArchiveRecord.PLAYER_COUNT);
+        for (int i = 0; i < players; i++) {
+            byPlayer.put(buffer.getLong(position + ArchiveRecord.PLAYERS + i * ArchiveRecord.PLAYER_BYTES
+                    + ArchiveRecord.PLAYER_HASH), address);
+        }
+        size++;
+    }
+
+    private void openSegment(Path file, boolean last) throws IOException {
+        int number = Integer.parseInt(file.getFileName().toString().replace(SEGMENT_SUFFIX, ""));
+        if (number != segments.size()) {
+            throw new IOException("Archiv-Segment " + segments.size() + " fehlt vor " + file);
+        }
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.min(channel.size(), Integer.MAX_VALUE));
+        }
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.get(4) != FORMAT_VERSION) {
+            throw new IOException("Keine Archivdatei im bekannten Format: " + file);
+        }
+        segments.add(new Segment(number, file, buffer, buffer.asReadOnlyBuffer()));
+
+        int position = HEADER_BYTES;
+        while (position + ArchiveRecord.PLAYERS <= buffer.capacity()) {
+            int length = buffer.getInt(position);
+            if (length == 0) {
+                break;
+            }
+            if (!ArchiveRecord.isValid(buffer, position, length, crc)) {
+                logger.warn("Archiv-Segment {} ist ab Position {} beschädigt, der Rest wird ignoriert", file, position);
+                if (last) {
+                    // the next game is written here, leftovers of the torn record must not look like records
+                    for (int i = position; i < buffer.capacity(); i++) {
+                        buffer.put(i, (byte) 0);
+                    }
+                }
+                break;
+            }
+            index(address(number, position), buffer, position);
+            position += length;
+        }
+        writePosition = position;
+    }
+
+    private Segment createSegment(int number) throws IOException {
+        Path file = directory.resolve(String.format("%010d%s", number, SEGMENT_SUFFIX));
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        }
+        buffer.putInt(0, MAGIC);
+        buffer.put(4, FORMAT_VERSION);
+        Segment segment = new Segment(number, file, buffer, buffer.asReadOnlyBuffer());
+        segments.add(segment);
+        writePosition = HEADER_BYTES;
+        return segment;
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            // zero padded, so the lexical order is the segment order
+            return files.filter(file -> file.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static long address(int segment, int position) {
+        return (long) segment << 32 | position;
+    }
+}
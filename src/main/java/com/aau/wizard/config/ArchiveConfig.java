@@ -0,0 +1,34 @@
+package com.aau.wizard.config;
+
+import com.aau.wizard.archive.GameArchive;
+import com.aau.wizard.archive.MappedGameArchive;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+@Configuration
+public class ArchiveConfig {
+
+    /**
+     * The archive ended games are recorded in.
+     *
+     * @param enabled     whether ended games are archived at all
+     * @param directory   directory of the segment files
+     * @param segmentSize size of one memory-mapped segment file
+     * @return the archive, or {@link GameArchive#NONE} if archiving is disabled
+     * @throws IOException if the archive directory cannot be opened
+     */
+    @Bean(destroyMethod = "close")
+    public GameArchive gameArchive(@Value("${wizard.archive.enabled:false}") boolean enabled,
+                                   @Value("${wizard.archive.directory:data/archive}") Path directory,
+                                   @Value("${wizard.archive.segment-size:256MB}") DataSize segmentSize) throws IOException {
+        if (!enabled) {
+            return GameArchive.NONE;
+        }
+        return new MappedGameArchive(directory, segmentSize.toBytes());
+    }
+}
@@ -0,0 +1,91 @@
+package com.aau.wizard.config;
+
+import com.aau.wizard.dto.BinaryFrameCodec;
+import com.aau.wizard.service.impl.GameStateBroadcaster;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lets clients receive the game's messages in the {@link BinaryFrameCodec binary format} instead of JSON.
+ * <p>
+ * A client asks for it with the header {@code wizard-format:binary} in its CONNECT frame. The frames
+ * a client sends are converted by their own content type, see {@link BinaryMessageConverter}.
+ * <p>
+ * The broker fans out one JSON message to all subscribers of a topic. The {@link GameJsonMessageConverter}
+ * keeps the typed payload of the game's messages with it, and on the way to a session that asked for
+ * the binary format, the messages of "/topic/game/" are sent in its binary encoding instead. Each
+ * message is encoded once and the bytes are shared by all binary sessions. Registered on the
+ * inbound channel for CONNECT and DISCONNECT and on the outbound channel for the messages.
+ */
+public class BinaryFormatInterceptor implements ChannelInterceptor {
+    public static final String FORMAT_HEADER = "wizard-format";
+    public static final String BINARY_FORMAT = "binary";
+
+    private static final Logger logger = LoggerFactory.getLogger(BinaryFormatInterceptor.class);
+
+    private final Set<String> binarySessions = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        SimpMessageType type = SimpMessageHeaderAccessor.getMessageType(message.getHeaders());
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        if (type == null || sessionId == null) {
+            return message;
+        }
+        switch (type) {
+            case CONNECT -> {
+                String format = SimpMessageHeaderAccessor.wrap(message).getFirstNativeHeader(FORMAT_HEADER);
+                if (BINARY_FORMAT.equalsIgnoreCase(format)) {
+                    binarySessions.add(sessionId);
+                }
+            }
+            case DISCONNECT -> binarySessions.remove(sessionId);
+            case MESSAGE -> {
+                if (binarySessions.contains(sessionId)) {
+                    return transcode(message);
+                }
+            }
+            default -> {
+                // other frames pass unchanged
+            }
+        }
+        return message;
+    }
+
+    /**
+     * @param sessionId the id of a WebSocket session
+     * @return whether the session receives the binary format
+     */
+    public boolean isBinary(String sessionId) {
+        return binarySessions.contains(sessionId);
+    }
+
+    private Message<?> transcode(Message<?> message) {
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        Object frame = message.getHeaders().get(GameJsonMessageConverter.BINARY_FRAME_HEADER);
+        if (destination == null || !destination.startsWith(GameStateBroadcaster.GAME_TOPIC_PREFIX)
+                || !(frame instanceof GameJsonMessageConverter.BinaryFrame binaryFrame)) {
+            return message;
+        }
+        byte[] binary;
+        try {
+            binary = binaryFrame.bytes();
+        } catch (IllegalArgumentException e) {
+            logger.debug("Nachricht wird als JSON gesendet, da sie nicht binär kodiert werden kann", e);
+            return message;
+        }
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+        accessor.setContentType(BinaryMessageConverter.BINARY);
+        accessor.removeHeader(GameJsonMessageConverter.BINARY_FRAME_HEADER);
+        return MessageBuilder.createMessage(binary, accessor.getMessageHeaders());
+    }
+}
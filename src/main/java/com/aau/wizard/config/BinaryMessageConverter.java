@@ -0,0 +1,57 @@
+package com.aau.wizard.config;
+
+import com.aau.wizard.dto.BinaryFrameCodec;
+import org.springframework.lang.Nullable;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.AbstractMessageConverter;
+import org.springframework.messaging.converter.MessageConversionException;
+import org.springframework.util.MimeType;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Converts the payloads of the game from and to the {@link BinaryFrameCodec binary format}.
+ * <p>
+ * Only frames with the content type {@link #BINARY} are converted, frames without a content type
+ * are left to the JSON converter, so JSON stays the default. The content type is a kind of
+ * {@code application/octet-stream}, which makes the STOMP handler send the frames as binary
+ * WebSocket messages.
+ */
+public class BinaryMessageConverter extends AbstractMessageConverter {
+    public static final MimeType BINARY = new MimeType("application", "octet-stream", Map.of("format", "wizard"));
+
+    public BinaryMessageConverter() {
+        super(BINARY);
+        setStrictContentTypeMatch(true);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return BinaryFrameCodec.supports(clazz);
+    }
+
+    @Override
+    protected Object convertFromInternal(Message<?> message, Class<?> targetClass, @Nullable Object conversionHint) {
+        if (!(message.getPayload() instanceof byte[] bytes)) {
+            return null;
+        }
+        Object payload;
+        try {
+            payload = BinaryFrameCodec.decode(bytes);
+        } catch (IOException e) {
+            throw new MessageConversionException(message, "Binäre Nachricht konnte nicht gelesen werden: " + e.getMessage(), e);
+        }
+        if (!targetClass.isInstance(payload)) {
+            throw new MessageConversionException(message, "Binäre Nachricht enthält " + payload.getClass().getSimpleName()
+                    + " statt " + targetClass.getSimpleName());
+        }
+        return payload;
+    }
+
+    @Override
+    protected Object convertToInternal(Object payload, @Nullable MessageHeaders headers, @Nullable Object conversionHint) {
+        return BinaryFrameCodec.canEncode(payload) ? BinaryFrameCodec.encode(payload) : null;
+    }
+}
@@ -0,0 +1,16 @@
+package com.aau.wizard.config;
+
+/**
+ * Threading model used for the STOMP message channels, selected with the
+ * {@code wizard.websocket.execution-mode} property.
+ */
+public enum ExecutionMode {
+    /**
+     * Spring's default bounded {@code ThreadPoolTaskExecutor} per channel.
+     */
+    PLATFORM,
+    /**
+     * One Java 21 virtual thread per message, so slow clients never exhaust a fixed pool.
+     */
+    VIRTUAL
+}
@@ -0,0 +1,98 @@
+package com.aau.wizard.config;
+
+import com.aau.wizard.dto.BinaryFrameCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.lang.Nullable;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.converter.SmartMessageConverter;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+
+/**
+ * Converts the game's messages to JSON with Spring's {@link ObjectMapper} and keeps their typed
+ * payload in the header {@link #BINARY_FRAME_HEADER}.
+ * <p>
+ * The broker fans out the one JSON message to all subscribers of a topic. The header travels with
+ * every copy, so the {@link BinaryFormatInterceptor} can send the {@link BinaryFrameCodec binary
+ * format} to the sessions that asked for it without reading the JSON back. Payloads the binary
+ * format has no encoding for are left to the other converters.
+ */
+public class GameJsonMessageConverter implements SmartMessageConverter {
+    public static final String BINARY_FRAME_HEADER = "wizardBinaryFrame";
+
+    private final MappingJackson2MessageConverter json = new MappingJackson2MessageConverter() {
+        @Override
+        protected boolean supports(Class<?> clazz) {
+            return BinaryFrameCodec.supports(clazz);
+        }
+
+        @Override
+        protected boolean canConvertTo(Object payload, @Nullable MessageHeaders headers) {
+            return supports(payload.getClass()) && super.canConvertTo(payload, headers);
+        }
+    };
+
+    /**
+     * @param objectMapper the object mapper of the application
+     */
+    public GameJsonMessageConverter(ObjectMapper objectMapper) {
+        json.setObjectMapper(objectMapper);
+    }
+
+    @Override
+    @Nullable
+    public Object fromMessage(Message<?> message, Class<?> targetClass) {
+        return json.fromMessage(message, targetClass);
+    }
+
+    @Override
+    @Nullable
+    public Object fromMessage(Message<?> message, Class<?> targetClass, @Nullable Object conversionHint) {
+        return json.fromMessage(message, targetClass, conversionHint);
+    }
+
+    @Override
+    @Nullable
+    public Message<?> toMessage(Object payload, @Nullable MessageHeaders headers) {
+        return toMessage(payload, headers, null);
+    }
+
+    @Override
+    @Nullable
+    public Message<?> toMessage(Object payload, @Nullable MessageHeaders headers, @Nullable Object conversionHint) {
+        Message<?> message = json.toMessage(payload, headers, conversionHint);
+        if (message == null || !BinaryFrameCodec.canEncode(payload)) {
+            return message;
+        }
+        MessageHeaderAccessor accessor = MessageHeaderAccessor.getMutableAccessor(message);
+        accessor.setHeader(BINARY_FRAME_HEADER, new BinaryFrame(payload));
+        return MessageBuilder.createMessage(message.getPayload(), accessor.getMessageHeaders());
+    }
+
+    /**
+     * The binary encoding of a payload, encoded once by the first binary session it is sent to.
+     */
+    static final class BinaryFrame {
+        private final Object payload;
+        private volatile byte[] bytes;
+
+        BinaryFrame(Object payload) {
+            this.payload = payload;
+        }
+
+        /**
+         * @return the encoded payload
+         * @throws IllegalArgumentException if the payload cannot be encoded, e.g. a card that is not in the deck
+         */
+        byte[] bytes() {
+            byte[] encoded = bytes;
+            if (encoded == null) {
+                encoded = BinaryFrameCodec.encode(payload);
+                bytes = encoded;
+            }
+            return encoded;
+        }
+    }
+}
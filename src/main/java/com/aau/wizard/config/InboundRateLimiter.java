@@ -0,0 +1,257 @@
+package com.aau.wizard.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limits how many frames each WebSocket session may send to a destination, so a client spamming
+ * "/app/game/play" or the scoreboard cannot make the server fan out game states to a whole table
+ * thousands of times per second. Frames over the limit are dropped and counted per limit.
+ * <p>
+ * Every session has a token bucket per {@link Limit}: it holds up to {@code burst} frames and
+ * refills with {@code framesPerSecond}. The bucket is kept as the theoretical arrival time of the
+ * next frame in one slot of an {@link AtomicLongArray} and updated with compare-and-set, so a
+ * frame takes no lock and allocates nothing once its session is connected.
+ * <p>
+ * The first limit whose destination matches a SEND frame applies. A {@code *} in a destination
+ * matches one segment, like the game id in "/app/game/*&#47;scoreboard". Destinations without a
+ * limit are not limited. Registered on the inbound channel in front of the message handlers.
+ */
+public class InboundRateLimiter implements ChannelInterceptor {
+
+    /**
+     * The limits used if none are configured.
+     */
+    public static final List<Limit> DEFAULT_LIMITS = List.of(
+            Limit.parse("/app/game/play=5:10"),
+            Limit.parse("/app/game/predict=5:10"),
+            Limit.parse("/app/game/*/scoreboard=2:5"),
+            Limit.parse("/app/game/resync=2:5"),
+            Limit.parse("/app/game/*=10:20"));
+
+    private static final Logger logger = LoggerFactory.getLogger(InboundRateLimiter.class);
+
+    private final List<Limit> limits;
+    private final String[] destinations;
+    private final long[] intervalNanos;
+    private final long[] toleranceNanos;
+    private final LongAdder[] dropped;
+    private final ConcurrentHashMap<String, AtomicLongArray> sessions = new ConcurrentHashMap<>();
+
+    /**
+     * How often a session may send frames to a destination.
+     *
+     * @param destination     the destination, a {@code *} matches one segment
+     * @param framesPerSecond the frames per second the bucket refills with
+     * @param burst           the frames the bucket holds, sent at once after a pause
+     */
+    public record Limit(String destination, double framesPerSecond, int burst) {
+        public Limit {
+            if (destination == null || !destination.startsWith("/")) {
+                throw new IllegalArgumentException("Ungültiges Ziel für ein Limit: " + destination);
+            }
+            if (!(framesPerSecond > 0) || burst < 1) {
+                throw new IllegalArgumentException("Ein Limit braucht eine positive Rate und mindestens einen Frame: "
+                        + destination);
+            }
+        }
+
+        /**
+         * Reads a limit written as {@code destination=framesPerSecond:burst}, for example
+         * {@code /app/game/play=5:10}.
+         *
+         * @param limit the limit as text
+         * @return the limit
+         * @throws IllegalArgumentException if the text is no limit
+         */
+        public static Limit parse(String limit) {
+            String text = limit.trim();
+            int equals = text.lastIndexOf('=');
+            int colon = text.lastIndexOf(':');
+            if (equals < 0 || colon < equals) {
+                throw new IllegalArgumentException("Limit muss als Ziel=Frames/s:Burst angegeben werden: " + limit);
+            }
+            try {
+                return new Limit(text.substring(0, equals).trim(),
+                        Double.parseDouble(text.substring(equals + 1, colon).trim()),
+                        Integer.parseInt(text.substring(colon + 1).trim()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Limit muss als Ziel=Frames/s:Burst angegeben werden: " + limit, e);
+            }
+        }
+    }
+
+    /**
+     * @param limits the limits, the first matching one applies to a frame
+     */
+    public InboundRateLimiter(List<Limit> limits) {
+        this.limits = List.copyOf(limits);
+        int count = this.limits.size();
+        destinations = new String[count];
+        intervalNanos = new long[count];
+        toleranceNanos = new long[count];
+        dropped = new LongAdder[count];
+        for (int i = 0; i < count; i++) {
+            Limit limit = this.limits.get(i);
+            destinations[i] = limit.destination();
+            intervalNanos[i] = Math.max(1, Math.round(1e9 / limit.framesPerSecond()));
+            toleranceNanos[i] = intervalNanos[i] * limit.burst();
+            dropped[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Reads the limits of the property {@code wizard.inbound.rate-limit.destinations}.
+     *
+     * @param limits the limits as {@code destination=framesPerSecond:burst}, empty for the
+     *               {@link #DEFAULT_LIMITS}
+     * @return the rate limiter
+     */
+    public static InboundRateLimiter parse(String... limits) {
+        List<Limit> parsed = new ArrayList<>();
+        for (String limit : limits) {
+            if (!limit.isBlank()) {
+                parsed.add(Limit.parse(limit));
+            }
+        }
+        return new InboundRateLimiter(parsed.isEmpty() ? DEFAULT_LIMITS : parsed);
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        SimpMessageType type = SimpMessageHeaderAccessor.getMessageType(message.getHeaders());
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        if (type == null || sessionId == null) {
+            return message;
+        }
+        switch (type) {
+            case CONNECT -> sessions.put(sessionId, newBuckets(System.nanoTime()));
+            case DISCONNECT -> sessions.remove(sessionId);
+            case MESSAGE -> {
+                String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+                if (destination != null && !tryAcquire(sessionId, destination, System.nanoTime())) {
+                    if (logger.isDebugEnabled()) {
+                        logger.debug("Frame von Session {} an {} verworfen, Limit überschritten", sessionId, destination);
+                    }
+                    return null;
+                }
+            }
+            default -> {
+                // other frames pass unchanged
+            }
+        }
+        return message;
+    }
+
+    /**
+     * Takes a frame from the session's bucket of the destination's limit.
+     *
+     * @param sessionId   the id of the WebSocket session
+     * @param destination the destination of the frame
+     * @param nowNanos    the current {@link System#nanoTime()}
+     * @return {@code true} if the frame may pass, {@code false} if it is dropped
+     */
+    public boolean tryAcquire(String sessionId, String destination, long nowNanos) {
+        int limit = limitOf(destination);
+        if (limit < 0) {
+            return true;
+        }
+        AtomicLongArray buckets = sessions.get(sessionId);
+        if (buckets == null) {
+            // a frame of a session whose CONNECT was not seen
+            buckets = sessions.computeIfAbsent(sessionId, id -> newBuckets(nowNanos));
+        }
+        long interval = intervalNanos[limit];
+        long tolerance = toleranceNanos[limit];
+        while (true) {
+            long nextArrival = buckets.get(limit);
+            long arrival = (nextArrival - nowNanos > 0 ? nextArrival : nowNanos) + interval;
+            if (arrival - nowNanos > tolerance) {
+                dropped[limit].increment();
+                return false;
+            }
+            if (buckets.compareAndSet(limit, nextArrival, arrival)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @return the limits, the first matching one applies to a frame
+     */
+    public List<Limit> getLimits() {
+        return limits;
+    }
+
+    /**
+     * @param limit one of the {@link #getLimits() limits}
+     * @return the frames dropped by the limit since the start of the server
+     */
+    public long getDroppedFrames(Limit limit) {
+        int index = limits.indexOf(limit);
+        return index < 0 ? 0 : dropped[index].sum();
+    }
+
+    /**
+     * @return the frames dropped by all limits since the start of the server
+     */
+    public long getDroppedFrames() {
+        return Arrays.stream(dropped).mapToLong(LongAdder::sum).sum();
+    }
+
+    /**
+     * @return the connected sessions with buckets
+     */
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    private AtomicLongArray newBuckets(long nowNanos) {
+        long[] nextArrivals = new long[limits.size()];
+        Arrays.fill(nextArrivals, nowNanos);
+        return new AtomicLongArray(nextArrivals);
+    }
+
+    private int limitOf(String destination) {
+        for (int i = 0; i < destinations.length; i++) {
+            if (matches(destinations[i], destination)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Compares a destination with a limit's destination, where a {@code *} matches one segment.
+     */
+    private static boolean matches(String pattern, String destination) {
+        int p = 0;
+        int d = 0;
+        while (p < pattern.length() && d < destination.length()) {
+            char c = pattern.charAt(p);
+            if (c == '*') {
+                int end = destination.indexOf('/', d);
+                d = end < 0 ? destination.length() : end;
+                p++;
+            } else if (c == destination.charAt(d)) {
+                p++;
+                d++;
+            } else {
+                return false;
+            }
+        }
+        return p == pattern.length() && d == destination.length();
+    }
+}
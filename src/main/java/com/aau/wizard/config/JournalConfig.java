@@ -0,0 +1,36 @@
+package com.aau.wizard.config;
+
+import com.aau.wizard.journal.FileGameJournal;
+import com.aau.wizard.journal.GameJournal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+@Configuration
+public class JournalConfig {
+
+    /**
+     * The journal all applied game commands are recorded in.
+     *
+     * @param enabled      whether commands are journaled at all
+     * @param directory    directory of the segment files
+     * @param segmentSize  size after which a new segment file is started
+     * @param fsync        whether each group commit is forced to disk
+     * @return the journal, or {@link GameJournal#NONE} if journaling is disabled
+     * @throws IOException if the journal directory cannot be opened
+     */
+    @Bean(destroyMethod = "close")
+    public GameJournal gameJournal(@Value("${wizard.journal.enabled:false}") boolean enabled,
+                                   @Value("${wizard.journal.directory:data/journal}") Path directory,
+                                   @Value("${wizard.journal.segment-size:64MB}") DataSize segmentSize,
+                                   @Value("${wizard.journal.fsync:true}") boolean fsync) throws IOException {
+        if (!enabled) {
+            return GameJournal.NONE;
+        }
+        return new FileGameJournal(directory, segmentSize.toBytes(), fsync);
+    }
+}
@@ -0,0 +1,149 @@
+package com.aau.wizard.config;
+
+import com.aau.wizard.model.enums.GameStatus;
+import com.aau.wizard.service.impl.GameCommandDispatcher;
+import com.aau.wizard.service.impl.GameMetrics;
+import com.aau.wizard.service.impl.GameRegistry;
+import com.aau.wizard.service.impl.MailboxMetrics;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * The counters of the play path, recorded by the game service, the round services and the
+     * WebSocket controller.
+     *
+     * @return the counters shared by all games
+     */
+    @Bean
+    public GameMetrics gameMetrics() {
+        return new GameMetrics();
+    }
+
+    /**
+     * Exports the game counters to the meter registry, scraped by Prometheus at
+     * {@code /actuator/prometheus}.
+     * <p>
+     * The meters only read the counters when they are scraped, so the play path never touches
+     * the meter registry. The live games and players are counted over the game registry on every
+     * scrape, without taking the locks of the games.
+     *
+     * @param metrics    the counters of the play path
+     * @param registry   the registry of all games in memory
+     * @param dispatcher the dispatcher of the game mailboxes
+     * @return the binder registering the meters
+     */
+    @Bean
+    public MeterBinder gameMeters(GameMetrics metrics, GameRegistry registry, GameCommandDispatcher dispatcher) {
+        return meters -> bind(meters, metrics, registry, dispatcher.getMetrics());
+    }
+
+    /**
+     * Exports the frames the {@link InboundRateLimiter} dropped, tagged with the destination of
+     * their limit.
+     *
+     * @param rateLimiter the rate limiter of the client inbound channel
+     * @return the binder registering the meters
+     */
+    @Bean
+    public MeterBinder inboundMeters(InboundRateLimiter rateLimiter) {
+        return meters -> bind(meters, rateLimiter);
+    }
+
+    static void bind(MeterRegistry meters, GameMetrics metrics, GameRegistry registry, MailboxMetrics mailboxes) {
+        for (GameMetrics.Operation operation : GameMetrics.Operation.values()) {
+            String tag = operation.name().toLowerCase(Locale.ROOT);
+            FunctionTimer.builder("wizard.game.operation", metrics,
+                            m -> m.getCount(operation), m -> m.getTotalNanos(operation), TimeUnit.NANOSECONDS)
+                    .tag("operation", tag)
+                    .description("Dauer der Spielzüge unter der Sperre des Spiels")
+                    .register(meters);
+            Gauge.builder("wizard.game.operation.max", metrics, m -> m.getMaxNanos(operation) / 1e9)
+                    .tag("operation", tag)
+                    .baseUnit("seconds")
+                    .description("Längste Dauer seit dem Start des Servers")
+                    .register(meters);
+        }
+
+        FunctionCounter.builder("wizard.game.moves", metrics, GameMetrics::getMoveCount)
+                .description("Angenommene Vorhersagen und gespielte Karten")
+                .register(meters);
+        for (Class<?> type : metrics.getRejectionTypes()) {
+            FunctionCounter.builder("wizard.game.moves.rejected", metrics, m -> m.getRejectedMoveCount(type))
+                    .tag("exception", type.getSimpleName())
+                    .description("Abgelehnte Vorhersagen und Karten")
+                    .register(meters);
+        }
+
+        FunctionCounter.builder("wizard.broadcast", metrics, GameMetrics::getBroadcastCount)
+                .description("Zustandsänderungen, die an die Spieler gesendet wurden")
+                .register(meters);
+        FunctionCounter.builder("wizard.broadcast.recipients", metrics, GameMetrics::getBroadcastRecipientCount)
+                .description("Empfänger aller Zustandsänderungen")
+                .register(meters);
+        Gauge.builder("wizard.broadcast.recipients.max", metrics, GameMetrics::getMaxBroadcastRecipients)
+                .description("Meiste Empfänger einer Zustandsänderung")
+                .register(meters);
+
+        for (GameStatus status : GameStatus.values()) {
+            Gauge.builder("wizard.games.live", registry, r -> countGames(r, status))
+                    .tag("status", status.name())
+                    .description("Spiele im Speicher")
+                    .register(meters);
+        }
+        Gauge.builder("wizard.players.live", registry, MetricsConfig::countPlayers)
+                .description("Spieler in Spielen, die noch nicht beendet sind")
+                .register(meters);
+
+        FunctionTimer.builder("wizard.mailbox.wait", mailboxes,
+                        MailboxMetrics::getCommandCount, MailboxMetrics::getTotalQueueWaitNanos, TimeUnit.NANOSECONDS)
+                .description("Wartezeit der Befehle in der Mailbox ihres Spiels")
+                .register(meters);
+        FunctionTimer.builder("wizard.mailbox.apply", mailboxes,
+                        MailboxMetrics::getCommandCount, MailboxMetrics::getTotalApplyNanos, TimeUnit.NANOSECONDS)
+                .description("Ausführungszeit der Befehle")
+                .register(meters);
+        FunctionCounter.builder("wizard.mailbox.failed", mailboxes, MailboxMetrics::getFailedCommandCount)
+                .description("Befehle mit unbehandeltem Fehler")
+                .register(meters);
+    }
+
+    static void bind(MeterRegistry meters, InboundRateLimiter rateLimiter) {
+        for (InboundRateLimiter.Limit limit : rateLimiter.getLimits()) {
+            FunctionCounter.builder("wizard.inbound.dropped", rateLimiter, r -> r.getDroppedFrames(limit))
+                    .tag("destination", limit.destination())
+                    .description("Verworfene Frames von Clients, die schneller senden als ihr Limit")
+                    .register(meters);
+        }
+    }
+
+    private static long countGames(GameRegistry registry, GameStatus status) {
+        long games = 0;
+        for (GameRegistry.Entry entry : registry.entries()) {
+            if (entry.getGame().getStatus() == status) {
+                games++;
+            }
+        }
+        return games;
+    }
+
+    private static long countPlayers(GameRegistry registry) {
+        long players = 0;
+        for (GameRegistry.Entry entry : registry.entries()) {
+            if (entry.getGame().getStatus() != GameStatus.ENDED) {
+                players += entry.getGame().getPlayers().size();
+            }
+        }
+        return players;
+    }
+}
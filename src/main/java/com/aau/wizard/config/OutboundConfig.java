@@ -0,0 +1,33 @@
+package com.aau.wizard.config;
+
+import com.aau.wizard.engine.DomainEventSink;
+import com.aau.wizard.service.impl.GameStateBroadcaster;
+import com.aau.wizard.service.impl.OutboundPublisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+@Configuration
+public class OutboundConfig {
+
+    /**
+     * The sink the game engine publishes all state changes to.
+     *
+     * @param messagingTemplate the template of the message broker
+     * @param async             whether the messages are encoded and sent by publisher threads instead
+     *                          of the thread applying the command
+     * @param threads           number of publisher threads, 0 for half the available processors
+     * @return the publisher, or a broadcaster sending right away if {@code async} is disabled
+     */
+    @Bean
+    public DomainEventSink gameEventSink(SimpMessagingTemplate messagingTemplate,
+                                         @Value("${wizard.outbound.async:true}") boolean async,
+                                         @Value("${wizard.outbound.threads:0}") int threads) {
+        if (!async) {
+            return new GameStateBroadcaster(messagingTemplate);
+        }
+        int lanes = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new OutboundPublisher(messagingTemplate, lanes);
+    }
+}
@@ -0,0 +1,29 @@
+package com.aau.wizard.config;
+
+import com.aau.wizard.util.HashedTimingWheel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class TimerConfig {
+
+    /**
+     * The timer shared by all game timeouts, e.g. the eviction of idle games.
+     * <p>
+     * With the default tick of 100 ms and 512 buckets one rotation of the wheel covers about 51 s;
+     * longer timeouts simply stay in their bucket for several rotations.
+     *
+     * @param tick          resolution of the timer
+     * @param ticksPerWheel number of buckets of the wheel
+     * @return the started timer, stopped when the context closes
+     */
+    @Bean(destroyMethod = "stop")
+    public HashedTimingWheel gameTimer(@Value("${wizard.timer.tick:PT0.1S}") Duration tick,
+                                       @Value("${wizard.timer.ticks-per-wheel:512}") int ticksPerWheel) {
+        return new HashedTimingWheel("game-timer", tick.toNanos(), TimeUnit.NANOSECONDS, ticksPerWheel);
+    }
+}
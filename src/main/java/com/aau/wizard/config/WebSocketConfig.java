@@ -1,22 +1,58 @@
 package com.aau.wizard.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.messaging.converter.MessageConverter;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocket;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
 
+import java.util.List;
+
 @Configuration
 @EnableWebSocketMessageBroker
 @EnableWebSocket
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
+    private final ExecutionMode executionMode;
+    private final BinaryFormatInterceptor binaryFormat = new BinaryFormatInterceptor();
+    private final InboundRateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+
+    public WebSocketConfig(ObjectMapper objectMapper,
+                           @Value("${wizard.websocket.execution-mode:platform}") ExecutionMode executionMode,
+                           @Value("${wizard.inbound.rate-limit.enabled:true}") boolean rateLimitEnabled,
+                           @Value("${wizard.inbound.rate-limit.destinations:}") String[] rateLimits) {
+        this.objectMapper = objectMapper;
+        this.executionMode = executionMode;
+        this.rateLimiter = rateLimitEnabled ? InboundRateLimiter.parse(rateLimits) : new InboundRateLimiter(List.of());
+    }
+
+    /**
+     * The rate limiter of the client inbound channel, as a bean for its metrics.
+     *
+     * @return the rate limiter registered on the client inbound channel
+     */
+    @Bean
+    public InboundRateLimiter inboundRateLimiter() {
+        return rateLimiter;
+    }
+
     /**
      * Configures the message broker for routing messages between clients and the server.
      * <p>
      * Enables a simple in-memory message broker for broadcasting messages to destinations
      * prefixed with "/topic". Also sets "/app" as the prefix for messages sent from clients
      * that should be routed to message-handling methods annotated with {@code @MessageMapping}.
+     * <p>
+     * The simple broker dispatches on the thread that publishes to it. In {@link ExecutionMode#VIRTUAL}
+     * mode those are virtual threads, and the outbound channel is switched to per-session publish
+     * order, because it no longer runs on a pool that happens to keep messages roughly in sequence.
      *
      * @param config the configuration object for setting up the message broker
      */
@@ -24,6 +60,57 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     public void configureMessageBroker(MessageBrokerRegistry config) {
         config.enableSimpleBroker("/topic");
         config.setApplicationDestinationPrefixes("/app");
+        if (executionMode == ExecutionMode.VIRTUAL) {
+            config.setPreservePublishOrder(true);
+        }
+    }
+
+    /**
+     * Adds the {@link BinaryMessageConverter} and the {@link GameJsonMessageConverter} in front of
+     * the other converters. The first only converts frames with its binary content type, the second
+     * writes the game's messages as JSON and keeps their typed payload for the binary sessions.
+     *
+     * @param messageConverters the converters to add to
+     * @return {@code true} to keep the default converters
+     */
+    @Override
+    public boolean configureMessageConverters(List<MessageConverter> messageConverters) {
+        messageConverters.add(0, new BinaryMessageConverter());
+        messageConverters.add(1, new GameJsonMessageConverter(objectMapper));
+        return true;
+    }
+
+    /**
+     * Runs inbound client messages on virtual threads in {@link ExecutionMode#VIRTUAL} mode,
+     * otherwise keeps Spring's default thread pool. The {@link InboundRateLimiter} drops the frames
+     * of sessions sending faster than their limits allow, before they reach a thread of the pool or
+     * the mailbox of a game. The {@link BinaryFormatInterceptor} notes which sessions asked for the
+     * binary format when they connect.
+     *
+     * @param registration the registration of the client inbound channel
+     */
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(rateLimiter, binaryFormat);
+        if (executionMode == ExecutionMode.VIRTUAL) {
+            registration.executor(new VirtualThreadTaskExecutor("ws-inbound-"));
+        }
+    }
+
+    /**
+     * Runs outbound deliveries on virtual threads in {@link ExecutionMode#VIRTUAL} mode, so a slow
+     * client only parks its own virtual thread instead of blocking a worker of a bounded pool that
+     * all tables share. The {@link BinaryFormatInterceptor} sends the game's messages in the binary
+     * format to sessions that asked for it.
+     *
+     * @param registration the registration of the client outbound channel
+     */
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.interceptors(binaryFormat);
+        if (executionMode == ExecutionMode.VIRTUAL) {
+            registration.executor(new VirtualThreadTaskExecutor("ws-outbound-"));
+        }
     }
 
     /**
@@ -38,5 +125,9 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         registry.addEndpoint("/ws")
                 .setAllowedOrigins("*");// CORS for local tests
+        if (executionMode == ExecutionMode.VIRTUAL) {
+            // keep the order of one client's frames although each may run on its own virtual thread
+            registry.setPreserveReceiveOrder(true);
+        }
     }
 }
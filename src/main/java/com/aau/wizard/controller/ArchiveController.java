@@ -0,0 +1,95 @@
+package com.aau.wizard.controller;
+
+import com.aau.wizard.archive.ArchivedGame;
+import com.aau.wizard.archive.GameArchive;
+import com.aau.wizard.dto.response.ArchivedGameResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.List;
+
+/**
+ * REST controller serving ended games from the {@link GameArchive}.
+ * <p>
+ * "/api/archive/games/{gameId}" returns a game as JSON, "/api/archive/players/{playerId}/games"
+ * the newest games of a player. "/api/archive/games/{gameId}/record" returns the binary record
+ * itself without reading it onto the heap: on Tomcat the response body is sent straight from the
+ * segment file with {@code sendfile}, elsewhere it is written from the mapped segment.
+ */
+@RestController
+@RequestMapping("/api/archive")
+public class ArchiveController {
+    // request attributes of Tomcat's sendfile support, as used by its DefaultServlet
+    static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    private static final int MAX_LIMIT = 100;
+
+    private final GameArchive archive;
+
+    public ArchiveController(GameArchive archive) {
+        this.archive = archive;
+    }
+
+    /**
+     * @param gameId the id of the game
+     * @return the newest archived game with the id, or 404
+     */
+    @GetMapping("/games/{gameId}")
+    public ResponseEntity<ArchivedGameResponse> getGame(@PathVariable String gameId) {
+        ArchivedGame game = archive.find(gameId);
+        if (game == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(ArchivedGameResponse.from(game));
+    }
+
+    /**
+     * @param playerId the id of the player
+     * @param limit    maximum number of games, at most 100
+     * @return the archived games of the player, newest first
+     */
+    @GetMapping("/players/{playerId}/games")
+    public List<ArchivedGameResponse> getGamesOfPlayer(@PathVariable String playerId,
+                                                       @RequestParam(defaultValue = "20") int limit) {
+        return archive.findByPlayer(playerId, Math.max(0, Math.min(limit, MAX_LIMIT))).stream()
+                .map(ArchivedGameResponse::from)
+                .toList();
+    }
+
+    /**
+     * Sends the binary record of a game, as returned by {@link ArchivedGame#bytes()}.
+     *
+     * @param gameId the id of the game
+     */
+    @GetMapping("/games/{gameId}/record")
+    public void getGameRecord(@PathVariable String gameId, HttpServletRequest request,
+                              HttpServletResponse response) throws IOException {
+        ArchivedGame game = archive.find(gameId);
+        if (game == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        response.setContentLengthLong(game.length());
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, game.file().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, game.filePosition());
+            request.setAttribute(SENDFILE_END, game.filePosition() + game.length());
+            return;
+        }
+        WritableByteChannel channel = Channels.newChannel(response.getOutputStream());
+        channel.write(game.bytes());
+    }
+}
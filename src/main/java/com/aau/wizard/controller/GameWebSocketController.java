@@ -1,18 +1,17 @@
 package com.aau.wizard.controller;
 
 import com.aau.wizard.GameExceptions;
-import com.aau.wizard.dto.PlayerDto;
 import com.aau.wizard.dto.request.GameRequest;
 import com.aau.wizard.dto.response.GameResponse;
+import com.aau.wizard.service.impl.GameCommandDispatcher;
+import com.aau.wizard.service.impl.GameMetrics;
 import com.aau.wizard.service.interfaces.GameService;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
-import org.springframework.messaging.handler.annotation.SendTo;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Controller;
 import com.aau.wizard.dto.request.PredictionRequest;
-import java.util.List;
 import com.aau.wizard.GameExceptions.GameNotFoundException;
 import com.aau.wizard.GameExceptions.PlayerNotFoundException;
 import com.aau.wizard.GameExceptions.InvalidTurnException;
@@ -23,19 +22,34 @@ import com.aau.wizard.GameExceptions.InvalidPredictionException;
  * WebSocket controller that handles game-related messages from clients.
  * This class maps incoming STOMP messages to service layer calls and broadcasts
  * the resulting game state to all subscribed clients.
+ * <p>
+ * Handlers do not touch game state on the inbound thread. They enqueue the service call in the
+ * game's mailbox via the {@link GameCommandDispatcher} and return immediately; results and errors
+ * are sent from the mailbox worker once the command has been applied.
+ * <p>
+ * Predictions and played cards are not answered individually: the service sends the resulting
+ * {@link com.aau.wizard.dto.response.GameDelta} to all players of the game. Predictions and cards
+ * that are answered with an error are counted as rejected moves in the {@link GameMetrics}.
  */
 @Controller
 public class GameWebSocketController {
     private final GameService gameService;
     private final SimpMessagingTemplate messagingTemplate;
+    private final GameCommandDispatcher dispatcher;
+    private final GameMetrics metrics;
      /**
      * Injects the game service to delegate game logic operations.
      *
      * @param gameService the service handling core game logic
+     * @param dispatcher the dispatcher applying commands through the per-game mailboxes
+     * @param metrics counts the rejected predictions and cards
      */
-    public GameWebSocketController(GameService gameService, SimpMessagingTemplate messagingTemplate) {
+    public GameWebSocketController(GameService gameService, SimpMessagingTemplate messagingTemplate,
+                                   GameCommandDispatcher dispatcher, GameMetrics metrics) {
         this.gameService = gameService;
         this.messagingTemplate = messagingTemplate;
+        this.dispatcher = dispatcher;
+        this.metrics = metrics;
     }
 
     /**
@@ -49,15 +63,16 @@ public class GameWebSocketController {
      */
     @MessageMapping("/game/join")
     public void joinGame(GameRequest gameRequest) {
-        try {
-            GameResponse response = gameService.joinGame(gameRequest);
-            messagingTemplate.convertAndSend("/topic/game", response);
-         } catch (Exception e) {
-            messagingTemplate.convertAndSend(
-                    "/topic/errors/" + gameRequest.getPlayerId(),
-                    "Fehler beim Beitritt zum Spiel: " + e.getMessage()
-            );
-        }
+        dispatcher.dispatchJoin(gameRequest.getGameId(), () -> {
+            try {
+                gameService.joinGame(gameRequest);
+             } catch (Exception e) {
+                messagingTemplate.convertAndSend(
+                        "/topic/errors/" + gameRequest.getPlayerId(),
+                        "Fehler beim Beitritt zum Spiel: " + e.getMessage()
+                );
+            }
+        });
     }
 
     @MessageMapping("/game/start")
@@ -65,80 +80,112 @@ public class GameWebSocketController {
         String cleanGameId = (gameId != null && gameId.startsWith("\"") && gameId.endsWith("\"")) ?
                 gameId.substring(1, gameId.length() - 1) : gameId;
 
-        try {
-            gameService.startGame(cleanGameId);
-        } catch (GameNotFoundException | GameExceptions.GameStartException e) {
-            messagingTemplate.convertAndSend(
-                    "/topic/errors",
-                    "Fehler beim Starten des Spiels " + cleanGameId + ": " + e.getMessage()
-            );
-        } catch (Exception e) {
-            messagingTemplate.convertAndSend(
-                    "/topic/errors",
-                    "Ein unerwarteter Fehler ist beim Starten des Spiels aufgetreten."
-            );
-        }
+        dispatcher.dispatch(cleanGameId, () -> {
+            try {
+                gameService.startGame(cleanGameId);
+            } catch (GameNotFoundException | GameExceptions.GameStartException e) {
+                messagingTemplate.convertAndSend(
+                        "/topic/errors",
+                        "Fehler beim Starten des Spiels " + cleanGameId + ": " + e.getMessage()
+                );
+            } catch (Exception e) {
+                messagingTemplate.convertAndSend(
+                        "/topic/errors",
+                        "Ein unerwarteter Fehler ist beim Starten des Spiels aufgetreten."
+                );
+            }
+        });
     }
 
     @MessageMapping("/game/predict")
     public void handlePrediction(PredictionRequest request) {
-        try {
-            GameResponse response = gameService.makePrediction(request);
-            messagingTemplate.convertAndSend("/topic/game/" + request.getPlayerId(), response);
-         } catch (GameNotFoundException | PlayerNotFoundException | InvalidTurnException | InvalidPredictionException e) {
-            messagingTemplate.convertAndSend(
-                    "/topic/errors/" + request.getPlayerId(),
-                    e.getMessage()
-            );
-        } catch (Exception e) {
-           messagingTemplate.convertAndSend(
-                    "/topic/errors/" + request.getPlayerId(),
-                    "Ein unerwarteter Fehler ist aufgetreten."
-            );
-        }
+        dispatcher.dispatch(request.getGameId(), () -> {
+            try {
+                gameService.makePrediction(request);
+             } catch (GameNotFoundException | PlayerNotFoundException | InvalidTurnException | InvalidPredictionException e) {
+                metrics.recordRejectedMove(e);
+                messagingTemplate.convertAndSend(
+                        "/topic/errors/" + request.getPlayerId(),
+                        e.getMessage()
+                );
+            } catch (Exception e) {
+               metrics.recordRejectedMove(e);
+               messagingTemplate.convertAndSend(
+                        "/topic/errors/" + request.getPlayerId(),
+                        "Ein unerwarteter Fehler ist aufgetreten."
+                );
+            }
+        });
     }
 
     @MessageMapping("/game/play")
-    @SendTo("/topic/game")
-    public GameResponse playCard(GameRequest request) {
-        try {
-             return gameService.playCard(request);
-        } catch (GameNotFoundException | GameExceptions.GameAlreadyEndedException |
-                 GameExceptions.GameNotActiveException |
-                 PlayerNotFoundException | InvalidTurnException | GameExceptions.RoundLogicException |
-                 GameExceptions.CardNotInHandException e) {
-           messagingTemplate.convertAndSend(
-                    "/topic/errors/" + request.getPlayerId(),
-                    e.getMessage()
-            );
-            return null;
-        } catch (Exception e) {
-           messagingTemplate.convertAndSend(
-                    "/topic/errors/" + request.getPlayerId(),
-                    "Ein unerwarteter Fehler ist beim Spielen der Karte aufgetreten."
-            );
-            return null;
-        }
+    public void playCard(GameRequest request) {
+        dispatcher.dispatch(request.getGameId(), () -> {
+            try {
+                gameService.playCard(request);
+            } catch (GameNotFoundException | GameExceptions.GameAlreadyEndedException |
+                     GameExceptions.GameNotActiveException |
+                     PlayerNotFoundException | InvalidTurnException | GameExceptions.RoundLogicException |
+                     GameExceptions.CardNotInHandException e) {
+               metrics.recordRejectedMove(e);
+               messagingTemplate.convertAndSend(
+                        "/topic/errors/" + request.getPlayerId(),
+                        e.getMessage()
+                );
+            } catch (Exception e) {
+               metrics.recordRejectedMove(e);
+               messagingTemplate.convertAndSend(
+                        "/topic/errors/" + request.getPlayerId(),
+                        "Ein unerwarteter Fehler ist beim Spielen der Karte aufgetreten."
+                );
+            }
+        });
+    }
+
+    /**
+     * Handles a client asking for a full snapshot of the game, e.g. after it detected a gap in
+     * the versions of the received deltas.
+     * <p>
+     * The snapshot is sent to "/topic/game/{playerId}/resync".
+     *
+     * @param request the request containing gameId and playerId
+     */
+    @MessageMapping("/game/resync")
+    public void resync(GameRequest request) {
+        dispatcher.dispatch(request.getGameId(), () -> {
+            try {
+                gameService.resyncPlayer(request);
+            } catch (GameNotFoundException | PlayerNotFoundException e) {
+                messagingTemplate.convertAndSend(
+                        "/topic/errors/" + request.getPlayerId(),
+                        e.getMessage()
+                );
+            } catch (Exception e) {
+                messagingTemplate.convertAndSend(
+                        "/topic/errors/" + request.getPlayerId(),
+                        "Ein unerwarteter Fehler ist bei der Synchronisierung aufgetreten."
+                );
+            }
+        });
     }
 
     @MessageMapping("/game/{gameId}/scoreboard")
-    @SendTo("/topic/game/{gameId}/scoreboard")
-    public List<PlayerDto> sendScoreboard(@DestinationVariable String gameId) {
-        try {
-           return gameService.getScoreboard(gameId);
-        } catch (GameNotFoundException e) {
-            messagingTemplate.convertAndSend(
-                    "/topic/errors/" + gameId,
-                    "Fehler beim Abrufen des Scoreboards: " + e.getMessage()
-            );
-            return List.of();
-        } catch (Exception e) {
-             messagingTemplate.convertAndSend(
-                    "/topic/errors/" + gameId,
-                    "Ein unerwarteter Fehler ist beim Abrufen des Scoreboards aufgetreten."
-            );
-            return List.of();
-        }
+    public void sendScoreboard(@DestinationVariable String gameId) {
+        dispatcher.dispatch(gameId, () -> {
+            try {
+                gameService.sendScoreboard(gameId);
+            } catch (GameNotFoundException e) {
+                messagingTemplate.convertAndSend(
+                        "/topic/errors/" + gameId,
+                        "Fehler beim Abrufen des Scoreboards: " + e.getMessage()
+                );
+            } catch (Exception e) {
+                 messagingTemplate.convertAndSend(
+                        "/topic/errors/" + gameId,
+                        "Ein unerwarteter Fehler ist beim Abrufen des Scoreboards aufgetreten."
+                );
+            }
+        });
     }
 
 
@@ -151,19 +198,21 @@ public class GameWebSocketController {
 
         String cleanGameId = (gameId != null && gameId.startsWith("\"") && gameId.endsWith("\"")) ?
                 gameId.substring(1, gameId.length() - 1) : gameId;
-        try {
-            gameService.proceedToNextRound(cleanGameId);
-       } catch (GameNotFoundException | GameExceptions.RoundLogicException | GameExceptions.RoundProgressionException e) {
-            messagingTemplate.convertAndSend(
-                    "/topic/errors/" + cleanGameId,
-                    "Fehler beim Fortfahren zur nächsten Runde in Spiel " + cleanGameId + ": " + e.getMessage()
-            );
-        } catch (Exception e) {
-            messagingTemplate.convertAndSend(
-                    "/topic/errors/" + cleanGameId,
-                    "Ein unerwarteter Fehler ist beim Fortfahren zur nächsten Runde aufgetreten."
-            );
-        }
+        dispatcher.dispatch(cleanGameId, () -> {
+            try {
+                gameService.proceedToNextRound(cleanGameId);
+           } catch (GameNotFoundException | GameExceptions.RoundLogicException | GameExceptions.RoundProgressionException e) {
+                messagingTemplate.convertAndSend(
+                        "/topic/errors/" + cleanGameId,
+                        "Fehler beim Fortfahren zur nächsten Runde in Spiel " + cleanGameId + ": " + e.getMessage()
+                );
+            } catch (Exception e) {
+                messagingTemplate.convertAndSend(
+                        "/topic/errors/" + cleanGameId,
+                        "Ein unerwarteter Fehler ist beim Fortfahren zur nächsten Runde aufgetreten."
+                );
+            }
+        });
     }
 
     /**
@@ -176,10 +225,12 @@ public class GameWebSocketController {
         String gameId = (jsonGameId != null && jsonGameId.startsWith("\"") && jsonGameId.endsWith("\"")) ?
                 jsonGameId.substring(1, jsonGameId.length() - 1) : jsonGameId;
 
-        try {
-            gameService.abortGame(gameId);
-        } catch (Exception e) {
-        }
+        dispatcher.dispatch(gameId, () -> {
+            try {
+                gameService.abortGame(gameId);
+            } catch (Exception e) {
+            }
+        });
     }
 
     @MessageMapping("/game/return-to-lobby")
@@ -187,9 +238,11 @@ public class GameWebSocketController {
         String gameId = (jsonGameId != null && jsonGameId.startsWith("\"") && jsonGameId.endsWith("\"")) ?
                 jsonGameId.substring(1, jsonGameId.length() - 1) : jsonGameId;
 
-        try {
-            gameService.signalReturnToLobby(gameId);
-        } catch (Exception e) {
-        }
+        dispatcher.dispatch(gameId, () -> {
+            try {
+                gameService.signalReturnToLobby(gameId);
+            } catch (Exception e) {
+            }
+        });
     }
 }
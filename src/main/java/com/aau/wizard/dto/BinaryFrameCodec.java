@@ -0,0 +1,529 @@
+package com.aau.wizard.dto;
+
+import com.aau.wizard.dto.request.BaseRequest;
+import com.aau.wizard.dto.request.GameRequest;
+import com.aau.wizard.dto.request.PredictionRequest;
+import com.aau.wizard.dto.response.GameDelta;
+import com.aau.wizard.dto.response.GameResponse;
+import com.aau.wizard.dto.response.HandResponse;
+import com.aau.wizard.model.CardTable;
+import com.aau.wizard.model.ICard;
+import com.aau.wizard.model.enums.CardType;
+import com.aau.wizard.model.enums.GameStatus;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary encoding of the STOMP payloads, for clients that negotiated it instead of JSON.
+ * <p>
+ * A frame starts with the format version and the kind of payload, followed by the fields in a
+ * fixed order without names. Cards, including the card strings of deltas and requests, are a
+ * single byte holding their {@link CardTable} id, {@code -1} for none; the copies of wizards and
+ * jesters all become the first copy, since the DTOs do not tell them apart. Enums are their
+ * ordinal, small numbers a byte or short, strings {@link DataOutput#writeUTF(String)} preceded by
+ * a flag for {@code null}. The optional fields of a {@link GameDelta} are announced by a bit mask.
+ */
+public final class BinaryFrameCodec {
+    public static final byte FORMAT_VERSION = 1;
+
+    private static final byte GAME_RESPONSE = 1;
+    private static final byte GAME_DELTA = 2;
+    private static final byte HAND = 3;
+    private static final byte SCOREBOARD = 4;
+    private static final byte GAME_REQUEST = 16;
+    private static final byte PREDICTION_REQUEST = 17;
+
+    private static final byte NONE = -1;
+
+    private static final int DELTA_STATUS = 1;
+    private static final int DELTA_CURRENT_ROUND = 1 << 1;
+    private static final int DELTA_CURRENT_PLAYER = 1 << 2;
+    private static final int DELTA_CURRENT_PREDICTION_PLAYER = 1 << 3;
+    private static final int DELTA_PLAYER = 1 << 4;
+    private static final int DELTA_PREDICTION = 1 << 5;
+    private static final int DELTA_PLAYED_CARD = 1 << 6;
+    private static final int DELTA_LAST_TRICK_WINNER = 1 << 7;
+    private static final int DELTA_TRUMP_CARD = 1 << 8;
+    private static final int DELTA_SCORE_DELTAS = 1 << 9;
+
+    private BinaryFrameCodec() {
+    }
+
+    /**
+     * @param type the type of a payload
+     * @return whether payloads of the type can be encoded and decoded
+     */
+    public static boolean supports(Class<?> type) {
+        return type == GameResponse.class || type == GameDelta.class || type == HandResponse.class
+                || type == GameRequest.class || type == PredictionRequest.class || List.class.isAssignableFrom(type);
+    }
+
+    /**
+     * @param payload a payload
+     * @return whether the payload can be encoded; lists only if they hold {@link PlayerDto}s
+     */
+    public static boolean canEncode(Object payload) {
+        if (payload instanceof List<?> list) {
+            return list.stream().allMatch(PlayerDto.class::isInstance);
+        }
+        return payload != null && supports(payload.getClass());
+    }
+
+    /**
+     * @param payload a payload for which {@link #canEncode(Object)} holds
+     * @return the encoded payload
+     * @throws IllegalArgumentException if the payload cannot be encoded, e.g. a card that is not in the deck
+     */
+    public static byte[] encode(Object payload) {
+        FrameOutput bytes = new FrameOutput(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            switch (payload) {
+                case GameResponse response -> {
+                    out.writeByte(GAME_RESPONSE);
+                    writeGameResponse(out, response);
+                }
+                case GameDelta delta -> {
+                    out.writeByte(GAME_DELTA);
+                    writeDelta(out, delta);
+                }
+                case HandResponse hand -> {
+                    out.writeByte(HAND);
+                    writeNullable(out, hand.getGameId());
+                    writeNullable(out, hand.getPlayerId());
+                    writeCards(out, hand.getHandCards());
+                }
+                case GameRequest request -> {
+                    out.writeByte(GAME_REQUEST);
+                    writeRequest(out, request);
+                    out.writeByte(cardId(request.getCard()));
+                    writeNullable(out, request.getAction());
+                    out.writeByte(request.getIsCheating() == null ? NONE : request.getIsCheating() ? 1 : 0);
+                }
+                case PredictionRequest request -> {
+                    out.writeByte(PREDICTION_REQUEST);
+                    writeRequest(out, request);
+                    out.writeByte(request.getPrediction());
+                }
+                case List<?> list when canEncode(list) -> {
+                    out.writeByte(SCOREBOARD);
+                    writePlayers(out, list);
+                }
+                default -> throw new IllegalArgumentException("Nachricht vom Typ "
+                        + (payload != null ? payload.getClass().getName() : null) + " kann nicht binär kodiert werden");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @param bytes an encoded payload
+     * @return the decoded payload, a {@link List} of {@link PlayerDto}s for a scoreboard
+     * @throws IOException if the bytes are no valid payload of this format
+     */
+    public static Object decode(byte[] bytes) throws IOException {
+        DataInputStream in = new DataInputStream(new FrameInput(bytes));
+        try {
+            byte version = in.readByte();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unbekannte Version des Binärformats: " + version);
+            }
+            byte kind = in.readByte();
+            Object payload = switch (kind) {
+                case GAME_RESPONSE -> readGameResponse(in);
+                case GAME_DELTA -> readDelta(in);
+                case HAND -> new HandResponse(readNullable(in), readNullable(in), readCards(in));
+                case SCOREBOARD -> readPlayers(in);
+                case GAME_REQUEST -> {
+                    GameRequest request = readRequest(in, new GameRequest());
+                    request.setCard(cardName(in.readByte()));
+                    request.setAction(readNullable(in));
+                    byte cheating = in.readByte();
+                    request.setIsCheating(cheating == NONE ? null : cheating == 1);
+                    yield request;
+                }
+                case PREDICTION_REQUEST -> {
+                    PredictionRequest request = readRequest(in, new PredictionRequest());
+                    request.setPrediction(in.readByte());
+                    yield request;
+                }
+                default -> throw new IOException("Unbekannte Art von Nachricht: " + kind);
+            };
+            if (in.available() > 0) {
+                throw new IOException(in.available() + " Bytes nach dem Ende der Nachricht");
+            }
+            return payload;
+        } catch (EOFException e) {
+            throw new IOException("Nachricht ist unvollständig", e);
+        }
+    }
+
+    private static void writeGameResponse(DataOutput out, GameResponse response) throws IOException {
+        writeNullable(out, response.getGameId());
+        writeStatus(out, response.getStatus());
+        writeNullable(out, response.getCurrentPlayerId());
+        writePlayers(out, response.getPlayers());
+        writeCards(out, response.getHandCards());
+        out.writeByte(cardId(response.getLastPlayedCard()));
+        out.writeByte(cardId(response.getTrumpCard()));
+        out.writeShort(response.getCurrentRound());
+        writeNullable(out, response.getCurrentPredictionPlayerId());
+        writeNullable(out, response.getLastTrickWinnerId());
+        out.writeLong(response.getVersion());
+    }
+
+    private static GameResponse readGameResponse(DataInput in) throws IOException {
+        GameResponse response = new GameResponse();
+        response.setGameId(readNullable(in));
+        response.setStatus(readStatus(in));
+        response.setCurrentPlayerId(readNullable(in));
+        response.setPlayers(readPlayers(in));
+        response.setHandCards(readCards(in));
+        response.setLastPlayedCard(cardName(in.readByte()));
+        response.setTrumpCard(cardDto(in.readByte()));
+        response.setCurrentRound(in.readShort());
+        response.setCurrentPredictionPlayerId(readNullable(in));
+        response.setLastTrickWinnerId(readNullable(in));
+        response.setVersion(in.readLong());
+        return response;
+    }
+
+    private static void writeDelta(DataOutput out, GameDelta delta) throws IOException {
+        writeNullable(out, delta.getGameId());
+        out.writeLong(delta.getVersion());
+        out.writeByte(delta.getType() != null ? delta.getType().ordinal() : NONE);
+        int mask = (delta.getStatus() != null ? DELTA_STATUS : 0)
+                | (delta.getCurrentRound() != null ? DELTA_CURRENT_ROUND : 0)
+                | (delta.getCurrentPlayerId() != null ? DELTA_CURRENT_PLAYER : 0)
+                | (delta.getCurrentPredictionPlayerId() != null ? DELTA_CURRENT_PREDICTION_PLAYER : 0)
+                | (delta.getPlayerId() != null ? DELTA_PLAYER : 0)
+                | (delta.getPrediction() != null ? DELTA_PREDICTION : 0)
+                | (delta.getPlayedCard() != null ? DELTA_PLAYED_CARD : 0)
+                | (delta.getLastTrickWinnerId() != null ? DELTA_LAST_TRICK_WINNER : 0)
+                | (delta.getTrumpCard() != null ? DELTA_TRUMP_CARD : 0)
+                | (delta.getScoreDeltas() != null ? DELTA_SCORE_DELTAS : 0);
+        out.writeShort(mask);
+        if ((mask & DELTA_STATUS) != 0) {
+            writeStatus(out, delta.getStatus());
+        }
+        if ((mask & DELTA_CURRENT_ROUND) != 0) {
+            out.writeShort(delta.getCurrentRound());
+        }
+        if ((mask & DELTA_CURRENT_PLAYER) != 0) {
+            out.writeUTF(delta.getCurrentPlayerId());
+        }
+        if ((mask & DELTA_CURRENT_PREDICTION_PLAYER) != 0) {
+            out.writeUTF(delta.getCurrentPredictionPlayerId());
+        }
+        if ((mask & DELTA_PLAYER) != 0) {
+            out.writeUTF(delta.getPlayerId());
+        }
+        if ((mask & DELTA_PREDICTION) != 0) {
+            out.writeByte(delta.getPrediction());
+        }
+        if ((mask & DELTA_PLAYED_CARD) != 0) {
+            out.writeByte(cardId(delta.getPlayedCard()));
+        }
+        if ((mask & DELTA_LAST_TRICK_WINNER) != 0) {
+            out.writeUTF(delta.getLastTrickWinnerId());
+        }
+        if ((mask & DELTA_TRUMP_CARD) != 0) {
+            out.writeByte(cardId(delta.getTrumpCard()));
+        }
+        if ((mask & DELTA_SCORE_DELTAS) != 0) {
+            out.writeByte(delta.getScoreDeltas().size());
+            for (Map.Entry<String, Integer> entry : delta.getScoreDeltas().entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeShort(entry.getValue());
+            }
+        }
+    }
+
+    private static GameDelta readDelta(DataInput in) throws IOException {
+        String gameId = readNullable(in);
+        long version = in.readLong();
+        byte type = in.readByte();
+        GameDelta delta = new GameDelta(gameId, version, type == NONE ? null : enumValue(GameDelta.Type.values(), type));
+        int mask = in.readUnsignedShort();
+        if ((mask & DELTA_STATUS) != 0) {
+            delta.setStatus(readStatus(in));
+        }
+        if ((mask & DELTA_CURRENT_ROUND) != 0) {
+            delta.setCurrentRound((int) in.readShort());
+        }
+        if ((mask & DELTA_CURRENT_PLAYER) != 0) {
+            delta.setCurrentPlayerId(in.readUTF());
+        }
+        if ((mask & DELTA_CURRENT_PREDICTION_PLAYER) != 0) {
+            delta.setCurrentPredictionPlayerId(in.readUTF());
+        }
+        if ((mask & DELTA_PLAYER) != 0) {
+            delta.setPlayerId(in.readUTF());
+        }
+        if ((mask & DELTA_PREDICTION) != 0) {
+            delta.setPrediction((int) in.readByte());
+        }
+        if ((mask & DELTA_PLAYED_CARD) != 0) {
+            delta.setPlayedCard(cardName(in.readByte()));
+        }
+        if ((mask & DELTA_LAST_TRICK_WINNER) != 0) {
+            delta.setLastTrickWinnerId(in.readUTF());
+        }
+        if ((mask & DELTA_TRUMP_CARD) != 0) {
+            delta.setTrumpCard(cardDto(in.readByte()));
+        }
+        if ((mask & DELTA_SCORE_DELTAS) != 0) {
+            int count = in.readUnsignedByte();
+            Map<String, Integer> scoreDeltas = new LinkedHashMap<>();
+            for (int i = 0; i < count; i++) {
+                scoreDeltas.put(in.readUTF(), (int) in.readShort());
+            }
+            delta.setScoreDeltas(scoreDeltas);
+        }
+        return delta;
+    }
+
+    private static void writePlayers(DataOutput out, List<?> players) throws IOException {
+        if (players == null) {
+            out.writeByte(NONE);
+            return;
+        }
+        out.writeByte(players.size());
+        for (Object element : players) {
+            PlayerDto player = (PlayerDto) element;
+            writeNullable(out, player.getPlayerId());
+            writeNullable(out, player.getPlayerName());
+            out.writeInt(player.getScore());
+            out.writeBoolean(player.isReady());
+            out.writeByte(player.getPrediction() != null ? player.getPrediction() : NONE);
+            out.writeByte(player.getTricksWon());
+            List<Integer> roundScores = player.getRoundScores();
+            out.writeByte(roundScores != null ? roundScores.size() : NONE);
+            if (roundScores != null) {
+                for (Integer score : roundScores) {
+                    out.writeShort(score);
+                }
+            }
+        }
+    }
+
+    private static List<PlayerDto> readPlayers(DataInput in) throws IOException {
+        int count = readCount(in);
+        if (count == NONE) {
+            return null;
+        }
+        List<PlayerDto> players = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            PlayerDto player = new PlayerDto(readNullable(in), readNullable(in), in.readInt(), in.readBoolean());
+            byte prediction = in.readByte();
+            player.setPrediction(prediction == NONE ? null : (int) prediction);
+            player.setTricksWon(in.readByte());
+            int rounds = readCount(in);
+            if (rounds == NONE) {
+                player.setRoundScores(null);
+            } else {
+                for (int r = 0; r < rounds; r++) {
+                    player.getRoundScores().add((int) in.readShort());
+                }
+            }
+            players.add(player);
+        }
+        return players;
+    }
+
+    private static void writeCards(DataOutput out, List<CardDto> cards) throws IOException {
+        if (cards == null) {
+            out.writeByte(NONE);
+            return;
+        }
+        out.writeByte(cards.size());
+        if (cards instanceof PreEncodedCards encoded) {
+            for (int i = 0; i < encoded.size(); i++) {
+                byte id = encoded.cardId(i);
+                out.writeByte(id != CardTable.NO_ID ? id : cardId(encoded.get(i)));
+            }
+            return;
+        }
+        for (CardDto card : cards) {
+            out.writeByte(cardId(card));
+        }
+    }
+
+    private static List<CardDto> readCards(DataInput in) throws IOException {
+        int count = readCount(in);
+        if (count == NONE) {
+            return null;
+        }
+        List<CardDto> cards = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            cards.add(cardDto(in.readByte()));
+        }
+        return cards;
+    }
+
+    /**
+     * Reads the length of a list, {@link #NONE} for a missing list.
+     */
+    private static int readCount(DataInput in) throws IOException {
+        byte count = in.readByte();
+        if (count < 0 && count != NONE) {
+            throw new IOException("Ungültige Anzahl: " + count);
+        }
+        return count;
+    }
+
+    private static void writeRequest(DataOutput out, BaseRequest request) throws IOException {
+        writeNullable(out, request.getGameId());
+        writeNullable(out, request.getPlayerId());
+        writeNullable(out, request.getPlayerName());
+    }
+
+    private static <R extends BaseRequest> R readRequest(DataInput in, R request) throws IOException {
+        request.setGameId(readNullable(in));
+        request.setPlayerId(readNullable(in));
+        request.setPlayerName(readNullable(in));
+        return request;
+    }
+
+    private static byte cardId(CardDto card) {
+        if (card == null) {
+            return NONE;
+        }
+        if (card instanceof PreEncodedCard encoded && encoded.cardId() != CardTable.NO_ID) {
+            return encoded.cardId();
+        }
+        String name = CardType.NUMBER.name().equals(card.getType())
+                ? card.getColor() + "_" + card.getValue()
+                : card.getType();
+        return cardId(name);
+    }
+
+    private static byte cardId(String name) {
+        if (name == null) {
+            return NONE;
+        }
+        ICard card = CardTable.byName(name);
+        if (card == null) {
+            throw new IllegalArgumentException("Karte " + name + " kann nicht binär kodiert werden");
+        }
+        return card.getId();
+    }
+
+    private static ICard card(byte id) throws IOException {
+        if (id == NONE) {
+            return null;
+        }
+        if (id < 0 || id >= CardTable.SIZE) {
+            throw new IOException("Ungültige Karten-ID: " + id);
+        }
+        return CardTable.byId(id);
+    }
+
+    private static CardDto cardDto(byte id) throws IOException {
+        ICard card = card(id);
+        return card != null ? CardDto.from(card) : null;
+    }
+
+    private static String cardName(byte id) throws IOException {
+        ICard card = card(id);
+        return card != null ? card.toString() : null;
+    }
+
+    private static void writeStatus(DataOutput out, GameStatus status) throws IOException {
+        out.writeByte(status != null ? status.ordinal() : NONE);
+    }
+
+    private static GameStatus readStatus(DataInput in) throws IOException {
+        byte ordinal = in.readByte();
+        return ordinal == NONE ? null : enumValue(GameStatus.values(), ordinal);
+    }
+
+    private static <E extends Enum<E>> E enumValue(E[] values, int ordinal) throws IOException {
+        if (ordinal < 0 || ordinal >= values.length) {
+            throw new IOException("Ungültiger Wert: " + ordinal);
+        }
+        return values[ordinal];
+    }
+
+    private static void writeNullable(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    /**
+     * The output of a frame. Unlike {@link ByteArrayOutputStream} it does not synchronize every byte.
+     */
+    private static final class FrameOutput extends ByteArrayOutputStream {
+        FrameOutput(int size) {
+            super(size);
+        }
+
+        @Override
+        public void write(int b) {
+            if (count == buf.length) {
+                buf = Arrays.copyOf(buf, buf.length * 2);
+            }
+            buf[count++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            if (count + len > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length * 2, count + len));
+            }
+            System.arraycopy(b, off, buf, count, len);
+            count += len;
+        }
+    }
+
+    /**
+     * The input of a frame. Unlike {@link ByteArrayInputStream} it does not synchronize every byte.
+     */
+    private static final class FrameInput extends ByteArrayInputStream {
+        FrameInput(byte[] bytes) {
+            super(bytes);
+        }
+
+        @Override
+        public int read() {
+            return pos < count ? buf[pos++] & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (pos >= count) {
+                return -1;
+            }
+            int n = Math.min(len, count - pos);
+            System.arraycopy(buf, pos, b, off, n);
+            pos += n;
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return count - pos;
+        }
+    }
+}
@@ -2,7 +2,6 @@ package com.aau.wizard.dto;
 
 import com.aau.wizard.model.ICard;
 import com.aau.wizard.model.Player;
-import com.aau.wizard.util.CollectionUtils;
 
 import java.util.List;
 
@@ -43,7 +42,8 @@ public class CardDto {
     }
 
     /**
-     * Safely maps a player's hand cards to a list of {@link CardDto}.
+     * Safely maps a player's hand cards to a list of {@link CardDto}s whose JSON is encoded once per card,
+     * see {@link PreEncodedCards}.
      * <p>
      * If the player is {@code null} or their hand cards are {@code null},
      * an empty list is returned instead of throwing a {@link NullPointerException}.
@@ -52,8 +52,8 @@ public class CardDto {
      * @return a list of mapped {@link CardDto} objects or an empty list if the player or their cards are null
      */
     public static List<CardDto> safeFromPlayer(Player player) {
-        if (player == null) return List.of();
-        return CollectionUtils.mapOrEmpty(player.getHandCards(), CardDto::from);
+        if (player == null || player.getHandCards() == null) return List.of();
+        return new PreEncodedCards(player.getHandCards());
     }
 
     public String getColor() {
@@ -33,7 +33,8 @@ public class PlayerDto {
     /**
      * Converts a {@link Player} domain object to a {@link PlayerDto} for data transfer.
      * <p>
-     * Extracts basic player information such as ID, name, score, and ready state.
+     * Extracts basic player information such as ID, name, score, and ready state. The round
+     * scores are copied, so the DTO keeps the state of the moment even if it is sent later.
      *
      * @param p the {@link Player} instance to convert (must not be {@code null})
      * @return the corresponding {@link PlayerDto}
@@ -43,7 +44,7 @@ public class PlayerDto {
         PlayerDto dto = new PlayerDto(p.getPlayerId(), p.getName(), p.getScore(), p.isReady());
         dto.setPrediction(p.getPrediction());
         dto.setTricksWon(p.getTricksWon());
-        dto.setRoundScores(p.getRoundScores());
+        dto.setRoundScores(p.getRoundScores() != null ? new ArrayList<>(p.getRoundScores()) : null);
         return dto;
     }
 
@@ -0,0 +1,69 @@
+package com.aau.wizard.dto;
+
+import com.aau.wizard.model.CardTable;
+import com.aau.wizard.model.ICard;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+
+import java.io.IOException;
+
+/**
+ * A single card, e.g. the trump card, written with the encoded fragment of its card like the
+ * cards of {@link PreEncodedCards}.
+ * <p>
+ * The DTO may be changed like any other {@link CardDto}. Once it is changed, it no longer stands
+ * for its card and is written from its fields.
+ */
+public final class PreEncodedCard extends CardDto implements JsonSerializable {
+    private ICard card;
+
+    /**
+     * @param card the card (must not be {@code null})
+     */
+    public PreEncodedCard(ICard card) {
+        super(card.getSuit().name(), Integer.toString(card.getValue()), card.getType().name());
+        this.card = card;
+    }
+
+    /**
+     * @return the {@link CardTable} id of the card, or {@link CardTable#NO_ID} if the DTO was changed
+     */
+    byte cardId() {
+        return card != null ? card.getId() : CardTable.NO_ID;
+    }
+
+    @Override
+    public void setColor(String color) {
+        card = null;
+        super.setColor(color);
+    }
+
+    @Override
+    public void setValue(String value) {
+        card = null;
+        super.setValue(value);
+    }
+
+    @Override
+    public void setType(String type) {
+        card = null;
+        super.setType(type);
+    }
+
+    @Override
+    public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        if (card != null) {
+            PreEncodedCards.writeCard(card, gen, serializers);
+        } else {
+            serializers.defaultSerializeValue(new CardDto(getColor(), getValue(), getType()), gen);
+        }
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer)
+            throws IOException {
+        serialize(gen, serializers);
+    }
+}
@@ -0,0 +1,89 @@
+package com.aau.wizard.dto;
+
+import com.aau.wizard.model.CardTable;
+import com.aau.wizard.model.ICard;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * An unmodifiable list of cards as sent to the clients, whose cards are encoded to JSON only once.
+ * <p>
+ * Each of the 60 cards of the {@link CardTable} has one encoded fragment, written on first use and
+ * copied into every later message containing the card, see {@link PreEncodedJson}. The trump card
+ * of a message uses the same fragments through {@link PreEncodedCard}. The list itself only holds the cards, so
+ * building it for a hand allocates no {@link CardDto}s. {@link #get(int)} returns a new
+ * {@link CardDto} for every call, which the caller may change without affecting the list.
+ * Cards outside the table, e.g. wizards of a color suit, are written like {@link CardDto#from(ICard)}.
+ */
+public final class PreEncodedCards extends AbstractList<CardDto> implements RandomAccess, JsonSerializable {
+    private static final PreEncodedJson[] FRAGMENTS = new PreEncodedJson[CardTable.SIZE];
+    // plain DTOs the fragments are encoded from, never handed out
+    private static final CardDto[] PLAIN = new CardDto[CardTable.SIZE];
+
+    static {
+        for (ICard card : CardTable.all()) {
+            FRAGMENTS[card.getId()] = new PreEncodedJson();
+            PLAIN[card.getId()] = CardDto.from(card);
+        }
+    }
+
+    private final ICard[] cards;
+
+    /**
+     * @param cards the cards, copied into the list (must not contain {@code null})
+     */
+    public PreEncodedCards(List<? extends ICard> cards) {
+        this.cards = cards.toArray(new ICard[0]);
+    }
+
+    @Override
+    public CardDto get(int index) {
+        return CardDto.from(cards[index]);
+    }
+
+    @Override
+    public int size() {
+        return cards.length;
+    }
+
+    /**
+     * @return the {@link CardTable} id of the card at the index, or {@link CardTable#NO_ID}
+     */
+    byte cardId(int index) {
+        return cards[index].getId();
+    }
+
+    @Override
+    public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        gen.writeStartArray(this, cards.length);
+        for (ICard card : cards) {
+            writeCard(card, gen, serializers);
+        }
+        gen.writeEndArray();
+    }
+
+    /**
+     * Writes the encoded fragment of a card, or a new {@link CardDto} for a card outside the table.
+     */
+    static void writeCard(ICard card, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        byte id = card.getId();
+        if (id == CardTable.NO_ID) {
+            serializers.defaultSerializeValue(CardDto.from(card), gen);
+        } else {
+            FRAGMENTS[id].write(PLAIN[id], gen, serializers);
+        }
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer)
+            throws IOException {
+        serialize(gen, serializers);
+    }
+}
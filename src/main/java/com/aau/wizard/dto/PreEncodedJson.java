@@ -0,0 +1,77 @@
+package com.aau.wizard.dto;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SegmentedStringWriter;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.json.JsonGeneratorImpl;
+import com.fasterxml.jackson.core.util.BufferRecycler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+
+/**
+ * The JSON of a value that does not change anymore. It is encoded the first time it is written
+ * and copied as raw bytes into every later message containing it.
+ * <p>
+ * The encoded JSON belongs to the object mapper of the generator that wrote it. A message written
+ * by another mapper encodes the value again with its own mapper, so every message carries the
+ * bytes it would carry without the cache. Generators of other formats, e.g. the token buffers of
+ * {@code convertValue}, get the value itself.
+ */
+final class PreEncodedJson {
+    private static final ObjectMapper DEFAULT_MAPPER = new ObjectMapper();
+    private static final FragmentFactory FRAGMENT_FACTORY = new FragmentFactory();
+
+    private volatile Encoded encoded;
+
+    /**
+     * @param value       the plain value, as Jackson would serialize it without the cache
+     * @param gen         the generator of the message
+     * @param serializers the serializers of the message
+     */
+    void write(Object value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        if (!(gen instanceof JsonGeneratorImpl)) {
+            serializers.defaultSerializeValue(value, gen);
+            return;
+        }
+        ObjectMapper mapper = gen.getCodec() instanceof ObjectMapper codec ? codec : DEFAULT_MAPPER;
+        Encoded current = encoded;
+        if (current == null || current.mapper() != mapper) {
+            // encoding twice when two threads race is harmless, both get the bytes of their mapper
+            current = new Encoded(mapper, encode(mapper, value));
+            encoded = current;
+        }
+        gen.writeRawValue(current.json());
+    }
+
+    private static SerializedString encode(ObjectMapper mapper, Object value) throws IOException {
+        SegmentedStringWriter writer = new SegmentedStringWriter(FRAGMENT_FACTORY._getBufferRecycler());
+        try (JsonGenerator gen = FRAGMENT_FACTORY.createGenerator(writer)) {
+            gen.setCodec(mapper);
+            mapper.writeValue(gen, value);
+        }
+        return new SerializedString(writer.getAndClear());
+    }
+
+    /**
+     * The JSON of the value as written by one object mapper.
+     */
+    private record Encoded(ObjectMapper mapper, SerializedString json) {
+    }
+
+    /**
+     * Creates the generators that encode fragments. A fragment is encoded while the generator of
+     * its message holds the buffers Jackson keeps per thread, so fragments get buffers of their
+     * own instead of allocating new ones for every fragment.
+     */
+    private static final class FragmentFactory extends JsonFactory {
+        private final transient ThreadLocal<BufferRecycler> recyclers = ThreadLocal.withInitial(BufferRecycler::new);
+
+        @Override
+        public BufferRecycler _getBufferRecycler() {
+            return recyclers.get();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.aau.wizard.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * An unmodifiable list whose JSON is encoded only once, however many messages contain it.
+ * <p>
+ * Meant for parts of messages that stay the same for a while, like the players of a game at one
+ * version. The elements must not be changed after the list was created, otherwise later messages
+ * would still carry the old JSON.
+ *
+ * @param <E> the type of the elements
+ */
+public final class PreEncodedList<E> extends AbstractList<E> implements RandomAccess, JsonSerializable {
+    private final List<E> elements;
+    private final PreEncodedJson json = new PreEncodedJson();
+
+    /**
+     * @param elements the elements, copied into the list (must not contain {@code null})
+     */
+    public PreEncodedList(List<? extends E> elements) {
+        this.elements = List.copyOf(elements);
+    }
+
+    @Override
+    public E get(int index) {
+        return elements.get(index);
+    }
+
+    @Override
+    public int size() {
+        return elements.size();
+    }
+
+    @Override
+    public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        json.write(elements, gen, serializers);
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer)
+            throws IOException {
+        serialize(gen, serializers);
+    }
+}
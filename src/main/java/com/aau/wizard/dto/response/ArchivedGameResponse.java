@@ -0,0 +1,189 @@
+package com.aau.wizard.dto.response;
+
+import com.aau.wizard.archive.ArchivedGame;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An archived game as returned by "/api/archive": every player with their final score and their
+ * prediction, tricks won and points of each round played.
+ */
+public class ArchivedGameResponse {
+    private String gameId;
+    private long archivedAt;
+    private long seed;
+    private int roundsPlayed;
+    private int maxRounds;
+    private boolean completed;
+    private List<PlayerResult> players;
+
+    /**
+     * Result of one player in an archived game. The lists hold one value per round played.
+     */
+    public static class PlayerResult {
+        private String playerId;
+        private String playerName;
+        private int score;
+        private List<Integer> predictions;
+        private List<Integer> tricksWon;
+        private List<Integer> roundScores;
+
+        /**
+         * No args constructor needed for Jackson / JSON deserialization
+         */
+        public PlayerResult() {}
+
+        public String getPlayerId() {
+            return playerId;
+        }
+
+        public void setPlayerId(String playerId) {
+            this.playerId = playerId;
+        }
+
+        public String getPlayerName() {
+            return playerName;
+        }
+
+        public void setPlayerName(String playerName) {
+            this.playerName = playerName;
+        }
+
+        public int getScore() {
+            return score;
+        }
+
+        public void setScore(int score) {
+            this.score = score;
+        }
+
+        public List<Integer> getPredictions() {
+            return predictions;
+        }
+
+        public void setPredictions(List<Integer> predictions) {
+            this.predictions = predictions;
+        }
+
+        public List<Integer> getTricksWon() {
+            return tricksWon;
+        }
+
+        public void setTricksWon(List<Integer> tricksWon) {
+            this.tricksWon = tricksWon;
+        }
+
+        public List<Integer> getRoundScores() {
+            return roundScores;
+        }
+
+        public void setRoundScores(List<Integer> roundScores) {
+            this.roundScores = roundScores;
+        }
+    }
+
+    /**
+     * No args constructor needed for Jackson / JSON deserialization
+     */
+    public ArchivedGameResponse() {}
+
+    /**
+     * Reads an {@link ArchivedGame} into a response.
+     *
+     * @param game the archived game (must not be {@code null})
+     * @return the corresponding response
+     */
+    public static ArchivedGameResponse from(ArchivedGame game) {
+        ArchivedGameResponse response = new ArchivedGameResponse();
+        response.setGameId(game.getGameId());
+        response.setArchivedAt(game.getArchivedAtMillis());
+        response.setSeed(game.getSeed());
+        response.setRoundsPlayed(game.getRoundsPlayed());
+        response.setMaxRounds(game.getMaxRounds());
+        response.setCompleted(game.isCompleted());
+        List<PlayerResult> players = new ArrayList<>(game.getPlayerCount());
+        for (int player = 0; player < game.getPlayerCount(); player++) {
+            PlayerResult result = new PlayerResult();
+            result.setPlayerId(game.getPlayerId(player));
+            result.setPlayerName(game.getPlayerName(player));
+            result.setScore(game.getFinalScore(player));
+            List<Integer> predictions = new ArrayList<>(game.getRoundsPlayed());
+            List<Integer> tricksWon = new ArrayList<>(game.getRoundsPlayed());
+            List<Integer> roundScores = new ArrayList<>(game.getRoundsPlayed());
+            for (int round = 1; round <= game.getRoundsPlayed(); round++) {
+                predictions.add(game.getPrediction(round, player));
+                tricksWon.add(game.getTricksWon(round, player));
+                roundScores.add(game.getRoundScore(round, player));
+            }
+            result.setPredictions(predictions);
+            result.setTricksWon(tricksWon);
+            result.setRoundScores(roundScores);
+            players.add(result);
+        }
+        response.setPlayers(players);
+        return response;
+    }
+
+    public String getGameId() {
+        return gameId;
+    }
+
+    public void setGameId(String gameId) {
+        this.gameId = gameId;
+    }
+
+    /**
+     * @return when the game was archived, epoch millis
+     */
+    public long getArchivedAt() {
+        return archivedAt;
+    }
+
+    public void setArchivedAt(long archivedAt) {
+        this.archivedAt = archivedAt;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public int getRoundsPlayed() {
+        return roundsPlayed;
+    }
+
+    public void setRoundsPlayed(int roundsPlayed) {
+        this.roundsPlayed = roundsPlayed;
+    }
+
+    public int getMaxRounds() {
+        return maxRounds;
+    }
+
+    public void setMaxRounds(int maxRounds) {
+        this.maxRounds = maxRounds;
+    }
+
+    /**
+     * @return {@code true} if all rounds were played, {@code false} if the game was aborted
+     */
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(boolean completed) {
+        this.completed = completed;
+    }
+
+    public List<PlayerResult> getPlayers() {
+        return players;
+    }
+
+    public void setPlayers(List<PlayerResult> players) {
+        this.players = players;
+    }
+}
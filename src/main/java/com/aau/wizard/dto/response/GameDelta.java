@@ -0,0 +1,168 @@
+package com.aau.wizard.dto.response;
+
+import com.aau.wizard.dto.CardDto;
+import com.aau.wizard.model.enums.GameStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Map;
+
+/**
+ * Incremental update of the public game state, sent to "/topic/game/{gameId}".
+ * <p>
+ * Only the fields changed by the update are set, everything else is left out of the JSON.
+ * A delta brings the game from {@code version - 1} to {@code version}; a client whose last known
+ * version is not {@code version - 1} has missed an update and requests a full snapshot via
+ * "/app/game/resync".
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class GameDelta {
+
+    /**
+     * The kind of state change a delta describes.
+     */
+    public enum Type {
+        /** {@code playerId} predicted {@code prediction} tricks. */
+        PREDICTION_MADE,
+        /** {@code playerId} played {@code playedCard}, the trick continues. */
+        CARD_PLAYED,
+        /** {@code playerId} played {@code playedCard} and {@code lastTrickWinnerId} won the trick. */
+        TRICK_ENDED,
+        /** The round has been scored, {@code scoreDeltas} holds the points of every player. */
+        ROUND_ENDED,
+        /** New hands have been dealt; predictions and tricks won of all players start over. */
+        ROUND_STARTED,
+        GAME_ENDED
+    }
+
+    private String gameId;
+    private long version;
+    private Type type;
+    private GameStatus status;
+    private Integer currentRound;
+    private String currentPlayerId;
+    private String currentPredictionPlayerId;
+    private String playerId;
+    private Integer prediction;
+    private String playedCard;
+    private String lastTrickWinnerId;
+    private CardDto trumpCard;
+    private Map<String, Integer> scoreDeltas;
+
+    /**
+     * No args constructor needed for Jackson / JSON deserialization
+     */
+    public GameDelta() {}
+
+    public GameDelta(String gameId, long version, Type type) {
+        this.gameId = gameId;
+        this.version = version;
+        this.type = type;
+    }
+
+    public String getGameId() {
+        return gameId;
+    }
+
+    public void setGameId(String gameId) {
+        this.gameId = gameId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public GameStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(GameStatus status) {
+        this.status = status;
+    }
+
+    public Integer getCurrentRound() {
+        return currentRound;
+    }
+
+    public void setCurrentRound(Integer currentRound) {
+        this.currentRound = currentRound;
+    }
+
+    public String getCurrentPlayerId() {
+        return currentPlayerId;
+    }
+
+    public void setCurrentPlayerId(String currentPlayerId) {
+        this.currentPlayerId = currentPlayerId;
+    }
+
+    public String getCurrentPredictionPlayerId() {
+        return currentPredictionPlayerId;
+    }
+
+    public void setCurrentPredictionPlayerId(String currentPredictionPlayerId) {
+        this.currentPredictionPlayerId = currentPredictionPlayerId;
+    }
+
+    public String getPlayerId() {
+        return playerId;
+    }
+
+    public void setPlayerId(String playerId) {
+        this.playerId = playerId;
+    }
+
+    public Integer getPrediction() {
+        return prediction;
+    }
+
+    public void setPrediction(Integer prediction) {
+        this.prediction = prediction;
+    }
+
+    public String getPlayedCard() {
+        return playedCard;
+    }
+
+    public void setPlayedCard(String playedCard) {
+        this.playedCard = playedCard;
+    }
+
+    public String getLastTrickWinnerId() {
+        return lastTrickWinnerId;
+    }
+
+    public void setLastTrickWinnerId(String lastTrickWinnerId) {
+        this.lastTrickWinnerId = lastTrickWinnerId;
+    }
+
+    public CardDto getTrumpCard() {
+        return trumpCard;
+    }
+
+    public void setTrumpCard(CardDto trumpCard) {
+        this.trumpCard = trumpCard;
+    }
+
+    /**
+     * @return the points each player scored in the round that just ended, keyed by playerId
+     */
+    public Map<String, Integer> getScoreDeltas() {
+        return scoreDeltas;
+    }
+
+    public void setScoreDeltas(Map<String, Integer> scoreDeltas) {
+        this.scoreDeltas = scoreDeltas;
+    }
+}
@@ -20,6 +20,7 @@ public class GameResponse {
     private int currentRound;
     private String currentPredictionPlayerId;
     private String lastTrickWinnerId;
+    private long version;
 
     /**
      * No args constructor needed for Jackson / JSON deserialization
@@ -118,4 +119,15 @@ public class GameResponse {
     public void setLastTrickWinnerId(String lastTrickWinnerId) {
         this.lastTrickWinnerId = lastTrickWinnerId;
     }
+
+    /**
+     * @return the version of the game state this snapshot reflects, see {@link GameDelta}
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
 }
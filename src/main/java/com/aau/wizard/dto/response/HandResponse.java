@@ -0,0 +1,53 @@
+package com.aau.wizard.dto.response;
+
+import com.aau.wizard.dto.CardDto;
+
+import java.util.List;
+
+/**
+ * Private part of the game state that is only sent to the owning player.
+ * <p>
+ * The public state shared by all players of a game is sent once as a {@link GameResponse}
+ * to "/topic/game/{gameId}", while every player additionally receives their hand cards
+ * in this response on "/topic/game/{playerId}".
+ */
+public class HandResponse {
+    private String gameId;
+    private String playerId;
+    private List<CardDto> handCards;
+
+    /**
+     * No args constructor needed for Jackson / JSON deserialization
+     */
+    public HandResponse() {}
+
+    public HandResponse(String gameId, String playerId, List<CardDto> handCards) {
+        this.gameId = gameId;
+        this.playerId = playerId;
+        this.handCards = handCards;
+    }
+
+    public String getGameId() {
+        return gameId;
+    }
+
+    public void setGameId(String gameId) {
+        this.gameId = gameId;
+    }
+
+    public String getPlayerId() {
+        return playerId;
+    }
+
+    public void setPlayerId(String playerId) {
+        this.playerId = playerId;
+    }
+
+    public List<CardDto> getHandCards() {
+        return handCards;
+    }
+
+    public void setHandCards(List<CardDto> handCards) {
+        this.handCards = handCards;
+    }
+}
@@ -0,0 +1,93 @@
+package com.aau.wizard.engine;
+
+import com.aau.wizard.model.Game;
+import com.aau.wizard.model.ICard;
+import com.aau.wizard.model.Player;
+import com.aau.wizard.model.enums.CardSuit;
+import com.aau.wizard.util.Pair;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A state change of a game, emitted by the {@link GameEngine} after the change was applied.
+ * <p>
+ * Every event advances the version of its game; {@link #version()} is the version the game had
+ * right after the change, which clients use to order updates and detect gaps. Events are emitted
+ * while the game's lock is held, so a sink may read the game, but it must not keep the game or
+ * its players for later: they change with the next command.
+ */
+public sealed interface DomainEvent {
+
+    /**
+     * @return the game that changed
+     */
+    Game game();
+
+    /**
+     * @return the version of the game after the change
+     */
+    long version();
+
+    /**
+     * The game was started: seats are shuffled and the first round is dealt.
+     *
+     * @param trumpCard the trump card of the first round, {@code null} if there is none
+     */
+    record GameStarted(Game game, long version, ICard trumpCard) implements DomainEvent {
+    }
+
+    /**
+     * A player predicted their tricks. After the last prediction the game is {@code PLAYING}.
+     *
+     * @param nextPredictionPlayerId the player who predicts next, {@code null} after the last prediction
+     */
+    record PredictionMade(Game game, long version, Player player, int prediction, String nextPredictionPlayerId)
+            implements DomainEvent {
+    }
+
+    /**
+     * A card was played and the trick goes on with the next player.
+     */
+    record CardPlayed(Game game, long version, Player player, ICard card) implements DomainEvent {
+    }
+
+    /**
+     * The last card of a trick was played and the trick was decided. If it was the last trick of
+     * the round, a {@link RoundEnded} follows.
+     *
+     * @param round     the round, starting at 1
+     * @param trick     the trick in the round, starting at 1
+     * @param cards     the cards of the trick in the order they were played
+     * @param trumpSuit the trump suit, {@code null} if there is none
+     * @param winner    the player who won the trick and leads the next one
+     */
+    record TrickCompleted(Game game, long version, Player player, ICard card, int round, int trick,
+                          List<Pair<Player, ICard>> cards, CardSuit trumpSuit, Player winner) implements DomainEvent {
+    }
+
+    /**
+     * The round was scored and the game shows the round summary.
+     *
+     * @param round           the scored round, starting at 1
+     * @param pointsThisRound the points of every player in this round, by player id in seating order
+     */
+    record RoundEnded(Game game, long version, int round, Map<String, Integer> pointsThisRound) implements DomainEvent {
+    }
+
+    /**
+     * The next round was dealt and its predictions begin.
+     *
+     * @param trumpCard              the trump card of the round, {@code null} if there is none
+     * @param nextPredictionPlayerId the player who predicts first
+     */
+    record RoundStarted(Game game, long version, int round, ICard trumpCard, String nextPredictionPlayerId)
+            implements DomainEvent {
+    }
+
+    /**
+     * The game ended, after its last round or because it was aborted.
+     */
+    record GameEnded(Game game, long version, boolean aborted) implements DomainEvent {
+    }
+}
@@ -0,0 +1,62 @@
+package com.aau.wizard.engine;
+
+import com.aau.wizard.model.Game;
+
+/**
+ * Receives the {@link DomainEvent}s of the {@link GameEngine}, e.g. to send them to the players,
+ * to drive bots or to collect statistics.
+ * <p>
+ * Events are published on the thread that applies the command, while the game's lock is held.
+ * A sink that does more than cheap bookkeeping should take what it needs from the event and hand
+ * the rest to another thread. {@link #flush(Game)} marks the end of a command, so such a sink can
+ * hand over all changes of a command at once.
+ */
+@FunctionalInterface
+public interface DomainEventSink {
+
+    /**
+     * A sink that ignores all events, for games nobody watches such as replays and simulations.
+     */
+    DomainEventSink NONE = event -> {
+    };
+
+    /**
+     * @param event the state change that was just applied
+     */
+    void publish(DomainEvent event);
+
+    /**
+     * Called after the last event of a command, still under the game's lock.
+     *
+     * @param game the game the command was applied to
+     */
+    default void flush(Game game) {
+    }
+
+    /**
+     * @param next the sink that receives every event after this one
+     * @return a sink publishing to this sink and then to {@code next}
+     */
+    default DomainEventSink andThen(DomainEventSink next) {
+        if (this == NONE) {
+            return next;
+        }
+        if (next == NONE) {
+            return this;
+        }
+        DomainEventSink first = this;
+        return new DomainEventSink() {
+            @Override
+            public void publish(DomainEvent event) {
+                first.publish(event);
+                next.publish(event);
+            }
+
+            @Override
+            public void flush(Game game) {
+                first.flush(game);
+                next.flush(game);
+            }
+        };
+    }
+}
@@ -0,0 +1,291 @@
+package com.aau.wizard.engine;
+
+import com.aau.wizard.GameExceptions.CardNotInHandException;
+import com.aau.wizard.GameExceptions.GameAlreadyEndedException;
+import com.aau.wizard.GameExceptions.GameNotActiveException;
+import com.aau.wizard.GameExceptions.GameStartException;
+import com.aau.wizard.GameExceptions.InvalidPredictionException;
+import com.aau.wizard.GameExceptions.InvalidTurnException;
+import com.aau.wizard.GameExceptions.PlayerNotFoundException;
+import com.aau.wizard.GameExceptions.RoundLogicException;
+import com.aau.wizard.jfr.GameStartedEvent;
+import com.aau.wizard.model.Game;
+import com.aau.wizard.model.ICard;
+import com.aau.wizard.model.Player;
+import com.aau.wizard.model.enums.GameStatus;
+import com.aau.wizard.service.impl.GameMetrics;
+import com.aau.wizard.service.impl.RoundServiceImpl;
+import com.aau.wizard.util.Pair;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The rules of a game from the first join to its end, without Spring, a broker or a registry.
+ * <p>
+ * The engine checks a command against the state of the game, applies it through the
+ * {@link RoundServiceImpl}, {@link com.aau.wizard.rules.TrickRules} and
+ * {@link com.aau.wizard.rules.BiddingRules} and publishes what changed as a {@link DomainEvent}
+ * to its {@link DomainEventSink}. A command that breaks a rule throws the matching
+ * {@link com.aau.wizard.GameExceptions} exception and leaves the game unchanged. After the events of
+ * a command the sink is {@linkplain DomainEventSink#flush(Game) flushed}.
+ * <p>
+ * The engine keeps no state of its own and may be shared, but the commands of one game must not
+ * run concurrently; the {@link com.aau.wizard.service.impl.GameServiceImpl} runs them under the
+ * game's lock. Games nobody watches, such as replays, simulations or bots playing each other, use
+ * an engine with {@link DomainEventSink#NONE}.
+ */
+public final class GameEngine {
+
+    // rule violations are stackless and immutable, so every rejected command throws the same instance
+    private static final GameStartException CANNOT_START =
+            new GameStartException("Spiel konnte nicht gestartet werden – evtl. zu wenig Spieler?");
+    private static final PlayerNotFoundException PREDICTING_PLAYER_NOT_FOUND =
+            new PlayerNotFoundException("Spieler nicht gefunden");
+    private static final InvalidTurnException NOT_YOUR_PREDICTION =
+            new InvalidTurnException("Du bist noch nicht an der Reihe, bitte warte.");
+    private static final InvalidPredictionException PREDICTION_MATCHES_TRICKS =
+            new InvalidPredictionException("Diese Vorhersage ergibt exakt die Anzahl der Stiche und ist damit verboten.");
+    private static final GameAlreadyEndedException GAME_ENDED =
+            new GameAlreadyEndedException("Das Spiel ist bereits beendet.");
+    private static final GameNotActiveException GAME_NOT_PLAYING =
+            new GameNotActiveException("Das Spiel ist nicht aktiv oder wurde nicht gefunden.");
+    private static final PlayerNotFoundException PLAYING_PLAYER_NOT_FOUND =
+            new PlayerNotFoundException("Spieler nicht gefunden.");
+    private static final InvalidTurnException NOT_YOUR_CARD =
+            new InvalidTurnException("Du bist nicht an der Reihe.");
+    private static final CardNotInHandException CARD_NOT_IN_HAND =
+            new CardNotInHandException("Die Karte ist nicht in deiner Hand.");
+
+    private final DomainEventSink sink;
+    private final GameMetrics metrics;
+
+    /**
+     * @param sink receives every state change
+     */
+    public GameEngine(DomainEventSink sink) {
+        this(sink, null);
+    }
+
+    /**
+     * @param sink    receives every state change
+     * @param metrics given to the round services of the started games, {@code null} to record nothing
+     */
+    public GameEngine(DomainEventSink sink, GameMetrics metrics) {
+        this.sink = sink;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Adds a player to the game unless they already joined.
+     *
+     * @param game       the game to join
+     * @param playerId   the id of the player
+     * @param playerName the name shown to the other players
+     */
+    public void join(Game game, String playerId, String playerName) {
+        if (game.getPlayerById(playerId) == null) {
+            game.getPlayers().add(new Player(playerId, playerName));
+        }
+        game.nextVersion();
+    }
+
+    /**
+     * Starts the game with its seed: the seats are shuffled and the first round is dealt.
+     *
+     * @param game the game in the lobby
+     * @return the round service that runs the rounds of the game
+     * @throws GameStartException if the game is not in the lobby or has fewer than two players
+     */
+    public RoundServiceImpl start(Game game) {
+        GameStartedEvent event = new GameStartedEvent();
+        event.begin();
+        if (!game.canStartGame()) {
+            throw CANNOT_START;
+        }
+        for (Player player : game.getPlayers()) {
+            player.setPrediction(null);
+            player.setTricksWon(0);
+        }
+        game.setMaxRound(60 / game.getPlayers().size()); // Wizard regel
+        game.setCurrentRound(1);
+        game.startGame();
+
+        RoundServiceImpl round = new RoundServiceImpl(game, metrics);
+        round.startRound(game.getCurrentRound());
+        if (event.shouldCommit()) {
+            event.setGame(game);
+            event.rounds = game.getMaxRound();
+            event.seed = game.getSeed();
+            event.commit();
+        }
+        sink.publish(new DomainEvent.GameStarted(game, game.nextVersion(), round.getTrumpCard()));
+        sink.flush(game);
+        return round;
+    }
+
+    /**
+     * Records the prediction of the player whose turn it is. The last player may not predict a
+     * number that makes the predictions add up to the number of tricks; after the last
+     * prediction the player first in the prediction order plays the first card.
+     *
+     * @param game       the game in its prediction phase
+     * @param playerId   the player who predicts
+     * @param prediction the number of tricks the player expects to win
+     */
+    public void predict(Game game, String playerId, int prediction) {
+        Player player = game.getPlayerById(playerId);
+        if (player == null) {
+            throw PREDICTING_PLAYER_NOT_FOUND;
+        }
+        List<String> order = game.getPredictionOrder();
+        int predicted = 0;
+        int sumOfOtherPredictions = 0;
+        for (Player other : game.getPlayers()) {
+            if (other.getPrediction() != null) {
+                predicted++;
+                if (other != player) {
+                    sumOfOtherPredictions += other.getPrediction();
+                }
+            }
+        }
+        if (predicted >= order.size() || !order.get(predicted).equals(playerId)) {
+            throw NOT_YOUR_PREDICTION;
+        }
+        if (predicted == order.size() - 1 && sumOfOtherPredictions + prediction == player.getHandCards().size()) {
+            throw PREDICTION_MATCHES_TRICKS;
+        }
+
+        player.setPrediction(prediction);
+        if (allPredicted(game)) {
+            game.setStatus(GameStatus.PLAYING);
+            game.setCurrentPlayerId(order.get(0));
+        }
+        sink.publish(new DomainEvent.PredictionMade(game, game.nextVersion(), player, prediction,
+                currentPredictionPlayerId(game)));
+        sink.flush(game);
+    }
+
+    /**
+     * Plays a card of the player whose turn it is. The next player follows, or, once everyone
+     * played, the trick is decided and its winner leads the next one; after the last trick the
+     * round is scored.
+     *
+     * @param game     the game in its playing phase
+     * @param round    the round service of the game
+     * @param playerId the player who plays
+     * @param card     the card to play
+     * @param cheating {@code true} if the player deliberately ignores the suit to follow
+     * @return the winner of the trick if the card completed it, otherwise {@code null}
+     */
+    public Player playCard(Game game, RoundServiceImpl round, String playerId, ICard card, boolean cheating) {
+        if (game.getStatus() == GameStatus.ENDED) {
+            throw GAME_ENDED;
+        }
+        if (game.getStatus() != GameStatus.PLAYING) {
+            throw GAME_NOT_PLAYING;
+        }
+        Player player = game.getPlayerById(playerId);
+        if (player == null) {
+            throw PLAYING_PLAYER_NOT_FOUND;
+        }
+        if (!playerId.equals(game.getCurrentPlayerId())) {
+            throw NOT_YOUR_CARD;
+        }
+        if (round == null) {
+            throw new RoundLogicException("Runden-Logik für dieses Spiel nicht gefunden.");
+        }
+        if (card == null || !player.getHandCards().contains(card)) {
+            throw CARD_NOT_IN_HAND;
+        }
+
+        round.playCard(player, card, cheating);
+
+        List<Player> players = game.getPlayers();
+        if (round.getPlayedCards().size() != players.size()) {
+            game.setCurrentPlayerId(players.get((players.indexOf(player) + 1) % players.size()).getPlayerId());
+            sink.publish(new DomainEvent.CardPlayed(game, game.nextVersion(), player, card));
+            sink.flush(game);
+            return null;
+        }
+
+        List<Pair<Player, ICard>> cards = List.copyOf(round.getPlayedCards());
+        int trick = round.currentTrickNumber + 1;
+        Player winner = round.endTrick();
+        game.setCurrentPlayerId(winner.getPlayerId());
+        sink.publish(new DomainEvent.TrickCompleted(game, game.nextVersion(), player, card, game.getCurrentRound(),
+                trick, cards, round.trumpCardSuit, winner));
+
+        if (winner.getHandCards().isEmpty()) {
+            Map<String, Integer> pointsThisRound = round.endRound();
+            sink.publish(new DomainEvent.RoundEnded(game, game.nextVersion(), game.getCurrentRound(), pointsThisRound));
+        }
+        sink.flush(game);
+        return winner;
+    }
+
+    /**
+     * Leaves the round summary: deals the next round, or ends the game after its last round.
+     * Does nothing if the game has already ended.
+     *
+     * @param game  the game
+     * @param round the round service of the game
+     */
+    public void proceed(Game game, RoundServiceImpl round) {
+        if (game.getStatus() == GameStatus.ENDED) {
+            return;
+        }
+        if (game.getCurrentRound() >= game.getMaxRound()) {
+            game.setStatus(GameStatus.ENDED);
+            sink.publish(new DomainEvent.GameEnded(game, game.nextVersion(), false));
+            sink.flush(game);
+            return;
+        }
+        if (round == null) {
+            throw new RoundLogicException("RoundService for game " + game.getGameId() + " not found during end of round processing.");
+        }
+        game.setCurrentRound(game.getCurrentRound() + 1);
+        round.startRound(game.getCurrentRound());
+        sink.publish(new DomainEvent.RoundStarted(game, game.nextVersion(), game.getCurrentRound(),
+                round.getTrumpCard(), currentPredictionPlayerId(game)));
+        sink.flush(game);
+    }
+
+    /**
+     * Ends the game for all players, whatever state it is in.
+     *
+     * @param game the game to abort
+     */
+    public void abort(Game game) {
+        game.setStatus(GameStatus.ENDED);
+        sink.publish(new DomainEvent.GameEnded(game, game.nextVersion(), true));
+        sink.flush(game);
+    }
+
+    /**
+     * @param game a game
+     * @return the player who predicts next, or {@code null} outside the prediction phase
+     */
+    public static String currentPredictionPlayerId(Game game) {
+        if (game.getStatus() != GameStatus.PREDICTION) {
+            return null;
+        }
+        int predicted = 0;
+        for (Player player : game.getPlayers()) {
+            if (player.getPrediction() != null) {
+                predicted++;
+            }
+        }
+        List<String> order = game.getPredictionOrder();
+        return predicted < order.size() ? order.get(predicted) : null;
+    }
+
+    private static boolean allPredicted(Game game) {
+        for (Player player : game.getPlayers()) {
+            if (player.getPrediction() == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
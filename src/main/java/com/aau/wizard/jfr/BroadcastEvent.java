@@ -0,0 +1,26 @@
+package com.aau.wizard.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The messages of one state change. When the messages are sent by the publisher threads, the
+ * event only covers building and queuing them; sending is recorded by the {@link OutboundBatchEvent}.
+ */
+@Name("com.aau.wizard.Broadcast")
+@Label("Broadcast")
+@Category({"Wizard", "Outbound"})
+@Description("The messages of a state change were built for the players of the game")
+public class BroadcastEvent extends GameActivityEvent {
+
+    @Label("Version")
+    public long version;
+
+    @Label("Change")
+    public String change;
+
+    @Label("Messages")
+    public int messages;
+}
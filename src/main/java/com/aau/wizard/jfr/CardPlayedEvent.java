@@ -0,0 +1,23 @@
+package com.aau.wizard.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.aau.wizard.CardPlayed")
+@Label("Card Played")
+@Description("A player put a card on the trick")
+public class CardPlayedEvent extends GameActivityEvent {
+
+    @Label("Trick")
+    public int trick;
+
+    @Label("Player Id")
+    public String playerId;
+
+    @Label("Card")
+    public String card;
+
+    @Label("Cheating")
+    public boolean cheating;
+}
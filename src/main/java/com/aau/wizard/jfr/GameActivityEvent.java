@@ -0,0 +1,38 @@
+package com.aau.wizard.jfr;
+
+import com.aau.wizard.model.Game;
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * The fields all flight recorder events of a game carry, so a recording can be filtered by game
+ * and the events during a GC pause can be told apart by the size of their table.
+ * <p>
+ * The events are created and {@linkplain #begin() begun} before the work they time; the fields
+ * are only filled in if {@link #shouldCommit()} says the event is recorded, so a disabled event
+ * costs little more than the check. They are recorded without stack traces.
+ */
+@Category({"Wizard", "Game"})
+@StackTrace(false)
+public abstract class GameActivityEvent extends Event {
+
+    @Label("Game Id")
+    public String gameId;
+
+    @Label("Round")
+    public int round;
+
+    @Label("Players")
+    public int players;
+
+    /**
+     * @param game the game the event belongs to, in the round the event happened in
+     */
+    public void setGame(Game game) {
+        gameId = game.getGameId();
+        round = game.getCurrentRound();
+        players = game.getPlayers().size();
+    }
+}
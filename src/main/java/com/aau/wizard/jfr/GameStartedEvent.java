@@ -0,0 +1,17 @@
+package com.aau.wizard.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.aau.wizard.GameStarted")
+@Label("Game Started")
+@Description("A game left the lobby: seats are shuffled and the first round is dealt")
+public class GameStartedEvent extends GameActivityEvent {
+
+    @Label("Rounds")
+    public int rounds;
+
+    @Label("Seed")
+    public long seed;
+}
@@ -0,0 +1,22 @@
+package com.aau.wizard.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.aau.wizard.OutboundBatch")
+@Label("Outbound Batch")
+@Category({"Wizard", "Outbound"})
+@Description("A publisher thread encoded and sent the queued messages of its games")
+@StackTrace(false)
+public class OutboundBatchEvent extends Event {
+
+    @Label("Sent")
+    public int sent;
+
+    @Label("Coalesced")
+    public int coalesced;
+}
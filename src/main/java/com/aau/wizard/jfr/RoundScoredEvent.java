@@ -0,0 +1,11 @@
+package com.aau.wizard.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.aau.wizard.RoundScored")
+@Label("Round Scored")
+@Description("The points of a finished round were added to the scores")
+public class RoundScoredEvent extends GameActivityEvent {
+}
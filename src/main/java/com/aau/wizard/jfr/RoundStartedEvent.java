@@ -0,0 +1,14 @@
+package com.aau.wizard.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.aau.wizard.RoundStarted")
+@Label("Round Started")
+@Description("The deck was shuffled and a round was dealt")
+public class RoundStartedEvent extends GameActivityEvent {
+
+    @Label("Trump Card")
+    public String trumpCard;
+}
@@ -0,0 +1,17 @@
+package com.aau.wizard.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.aau.wizard.TrickResolved")
+@Label("Trick Resolved")
+@Description("The winner of a complete trick was determined")
+public class TrickResolvedEvent extends GameActivityEvent {
+
+    @Label("Trick")
+    public int trick;
+
+    @Label("Winner Id")
+    public String winnerId;
+}
@@ -0,0 +1,281 @@
+package com.aau.wizard.journal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
+
+/**
+ * {@link GameJournal} writing to segment files with a {@link FileChannel}.
+ * <p>
+ * Events are encoded on the appending thread and handed to a single writer thread. The writer
+ * takes everything that queued up since its last write, frames each event with its length, a
+ * CRC32C checksum and a sequence number, writes the batch with as few {@code write} calls as the
+ * buffer allows and forces it to disk once (group commit). While one batch is being forced, the
+ * next one collects, so the number of fsyncs adapts to the load instead of growing with every move.
+ * <p>
+ * A segment is closed and the next one started once it would grow beyond the configured size.
+ * Segment files are named after the sequence number of their first record. On opening, a torn
+ * record at the end of the last segment is cut off and writing continues in a new segment.
+ */
+public class FileGameJournal implements GameJournal {
+    private static final int BATCH_BUFFER_BYTES = 1 << 20;
+    private static final int MAX_BATCH_RECORDS = 8_192;
+    private static final long POLL_MILLIS = 100;
+
+    private static final Logger logger = LoggerFactory.getLogger(FileGameJournal.class);
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final boolean fsync;
+    private final BlockingQueue<byte[]> queue = new LinkedBlockingQueue<>();
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final Object writtenMonitor = new Object();
+    private final JournalMetrics metrics = new JournalMetrics();
+    private final Thread writer;
+    /** Sequence number of the last record written before this journal was opened. */
+    private final long baseSequence;
+
+    /** Guarded by {@link #appendLock}. */
+    private long appended;
+    /** Number of appended events that have been written (and forced). */
+    private volatile long written;
+    private volatile boolean closed;
+    private volatile IOException failure;
+
+    // only accessed by the writer thread after construction
+    private final ByteBuffer batch = ByteBuffer.allocateDirect(BATCH_BUFFER_BYTES);
+    private final CRC32C crc = new CRC32C();
+    private FileChannel channel;
+    private long segmentPosition;
+    private long nextSequence;
+
+    /**
+     * Opens the journal in the given directory, creating it if necessary, and starts the writer.
+     *
+     * @param directory    the directory holding the segment files
+     * @param segmentBytes size after which a new segment is started
+     * @param fsync        whether every batch is forced to disk before it counts as written
+     * @throws IOException if the directory or the last segment cannot be read or written
+     */
+    public FileGameJournal(Path directory, long segmentBytes, boolean fsync) throws IOException {
+        if (segmentBytes < BATCH_BUFFER_BYTES) {
+            throw new IllegalArgumentException("segmentBytes must be at least " + BATCH_BUFFER_BYTES);
+        }
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.fsync = fsync;
+        Files.createDirectories(directory);
+        this.baseSequence = recoverTail();
+        this.nextSequence = baseSequence + 1;
+        openSegment();
+        this.writer = new Thread(this::run, "game-journal");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public long append(GameEvent event) {
+        byte[] encoded = GameEventCodec.encode(event, System.currentTimeMillis());
+        appendLock.lock();
+        try {
+            if (closed || failure != null) {
+                throw new IllegalStateException("Journal ist nicht beschreibbar", failure);
+            }
+            // the queue order is the journal order, so the sequence number is taken under the same lock
+            queue.add(encoded);
+            return baseSequence + ++appended;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    @Override
+    public long lastSequence() {
+        appendLock.lock();
+        try {
+            return baseSequence + appended;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    @Override
+    public void checkWritable() {
+        if (closed || failure != null) {
+            throw new IllegalStateException("Journal ist nicht beschreibbar", failure);
+        }
+    }
+
+    @Override
+    public void flush() {
+        long target;
+        appendLock.lock();
+        try {
+            target = appended;
+        } finally {
+            appendLock.unlock();
+        }
+        synchronized (writtenMonitor) {
+            while (written < target) {
+                if (failure != null) {
+                    throw new UncheckedIOException("Journal konnte nicht geschrieben werden", failure);
+                }
+                try {
+                    writtenMonitor.wait(POLL_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes all pending events and closes the current segment. Further appends are rejected.
+     */
+    @Override
+    public void close() {
+        appendLock.lock();
+        try {
+            closed = true;
+        } finally {
+            appendLock.unlock();
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public JournalMetrics getMetrics() {
+        return metrics;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Validates the last segment, cuts off a torn tail and removes it if it holds no record.
+     *
+     * @return the sequence number of the last valid record, 0 for an empty journal
+     */
+    private long recoverTail() throws IOException {
+        List<Path> segments = GameJournalReader.segments(directory);
+        if (segments.isEmpty()) {
+            return 0;
+        }
+        Path last = segments.get(segments.size() - 1);
+        long firstSequence = GameJournalReader.firstSequence(last);
+        GameJournalReader.SegmentResult result = GameJournalReader.readSegment(last, firstSequence, null);
+        if (!result.complete()) {
+            logger.warn("Unvollständiger Eintrag am Ende von {} ab Offset {} wird abgeschnitten", last, result.validEnd());
+            try (FileChannel tail = FileChannel.open(last, StandardOpenOption.WRITE)) {
+                tail.truncate(result.validEnd());
+                tail.force(true);
+            }
+        }
+        if (result.records() == 0) {
+            Files.delete(last);
+        }
+        return firstSequence + result.records() - 1;
+    }
+
+    private void openSegment() throws IOException {
+        Path segment = GameJournalReader.segmentPath(directory, nextSequence);
+        channel = FileChannel.open(segment, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        segmentPosition = 0;
+        metrics.recordSegment();
+    }
+
+    private void run() {
+        List<byte[]> drained = new ArrayList<>();
+        try {
+            while (true) {
+                byte[] first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    if (closed && queue.isEmpty()) {
+                        break;
+                    }
+                    continue;
+                }
+                drained.add(first);
+                queue.drainTo(drained, MAX_BATCH_RECORDS - 1);
+                writeBatch(drained);
+                drained.clear();
+            }
+            channel.force(true);
+            channel.close();
+        } catch (IOException e) {
+            failure = e;
+            logger.error("Journal in {} konnte nicht geschrieben werden, weitere Ereignisse werden abgelehnt", directory, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            synchronized (writtenMonitor) {
+                writtenMonitor.notifyAll();
+            }
+        }
+    }
+
+    private void writeBatch(List<byte[]> events) throws IOException {
+        long bytes = 0;
+        for (byte[] event : events) {
+            int recordBytes = GameJournalReader.RECORD_HEADER_BYTES + event.length;
+            if (batch.remaining() < recordBytes) {
+                writeBuffer();
+            }
+            if (segmentPosition + batch.position() + recordBytes > segmentBytes
+                    && segmentPosition + batch.position() > 0) {
+                writeBuffer();
+                rollSegment();
+            }
+            int start = batch.position();
+            batch.putInt(8 + event.length).putInt(0).putLong(nextSequence++).put(event);
+            crc.reset();
+            crc.update(batch.slice(start + 8, 8 + event.length));
+            batch.putInt(start + 4, (int) crc.getValue());
+            bytes += recordBytes;
+        }
+        writeBuffer();
+        if (fsync) {
+            long start = System.nanoTime();
+            channel.force(false);
+            metrics.recordSync(System.nanoTime() - start);
+        }
+        metrics.recordBatch(events.size(), bytes);
+        synchronized (writtenMonitor) {
+            written += events.size();
+            writtenMonitor.notifyAll();
+        }
+    }
+
+    private void writeBuffer() throws IOException {
+        batch.flip();
+        while (batch.hasRemaining()) {
+            segmentPosition += channel.write(batch);
+        }
+        batch.clear();
+    }
+
+    private void rollSegment() throws IOException {
+        channel.force(true);
+        channel.close();
+        openSegment();
+    }
+}
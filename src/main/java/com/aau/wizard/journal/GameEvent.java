@@ -0,0 +1,39 @@
+package com.aau.wizard.journal;
+
+/**
+ * A command that was applied to a game, as recorded in the {@link GameJournal}.
+ * <p>
+ * Events only carry the client input and the game seed. Everything else, e.g. the seating order,
+ * the dealt hands or the trick winners, follows deterministically when the events of a game are
+ * applied again in journal order.
+ */
+public sealed interface GameEvent {
+
+    String gameId();
+
+    /** A player joined the lobby, or joined again. */
+    record PlayerJoined(String gameId, String playerId, String playerName) implements GameEvent {
+    }
+
+    /** The game was started; the seed determines the seating order and all deals. */
+    record GameStarted(String gameId, long seed) implements GameEvent {
+    }
+
+    record PredictionMade(String gameId, String playerId, int prediction) implements GameEvent {
+    }
+
+    /** A card was played, identified by its {@link com.aau.wizard.model.CardTable} id. */
+    record CardPlayed(String gameId, String playerId, byte cardId, boolean cheating) implements GameEvent {
+    }
+
+    /** The round summary was left, starting the next round or ending the game. */
+    record RoundProceeded(String gameId) implements GameEvent {
+    }
+
+    record GameAborted(String gameId) implements GameEvent {
+    }
+
+    /** The game was evicted from memory because nobody played it anymore. */
+    record GameRemoved(String gameId) implements GameEvent {
+    }
+}
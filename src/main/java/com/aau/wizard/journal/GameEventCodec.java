@@ -0,0 +1,141 @@
+package com.aau.wizard.journal;
+
+import com.aau.wizard.journal.GameEvent.CardPlayed;
+import com.aau.wizard.journal.GameEvent.GameAborted;
+import com.aau.wizard.journal.GameEvent.GameRemoved;
+import com.aau.wizard.journal.GameEvent.GameStarted;
+import com.aau.wizard.journal.GameEvent.PlayerJoined;
+import com.aau.wizard.journal.GameEvent.PredictionMade;
+import com.aau.wizard.journal.GameEvent.RoundProceeded;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Binary encoding of {@link GameEvent}s.
+ * <p>
+ * Layout of an encoded event, all numbers big-endian:
+ * <pre>
+ * long   timestamp (epoch millis)
+ * byte   type
+ * string gameId
+ * ...    fields of the type, see below
+ * </pre>
+ * Strings are written as an unsigned short byte length followed by the UTF-8 bytes, with
+ * {@code 0xFFFF} standing for {@code null}. A played card takes two bytes (card id and flags), a
+ * prediction one.
+ */
+final class GameEventCodec {
+    static final byte PLAYER_JOINED = 1;
+    static final byte GAME_STARTED = 2;
+    static final byte PREDICTION_MADE = 3;
+    static final byte CARD_PLAYED = 4;
+    static final byte ROUND_PROCEEDED = 5;
+    static final byte GAME_ABORTED = 6;
+    static final byte GAME_REMOVED = 7;
+
+    private static final byte FLAG_CHEATING = 1;
+    /** Length written for a {@code null} string. */
+    private static final int NULL_STRING = 0xFFFF;
+    private static final int MAX_STRING_BYTES = NULL_STRING - 1;
+    private static final byte[] NULL_BYTES = new byte[0];
+
+    private GameEventCodec() {
+    }
+
+    /**
+     * @return the encoded event, see the class comment for the layout
+     */
+    static byte[] encode(GameEvent event, long timestampMillis) {
+        byte[] gameId = utf8(event.gameId());
+        return switch (event) {
+            case PlayerJoined joined -> {
+                byte[] playerId = utf8(joined.playerId());
+                byte[] playerName = utf8(joined.playerName());
+                ByteBuffer buffer = header(PLAYER_JOINED, timestampMillis, gameId,
+                        2 + playerId.length + 2 + playerName.length);
+                putString(buffer, playerId);
+                putString(buffer, playerName);
+                yield buffer.array();
+            }
+            case GameStarted started -> header(GAME_STARTED, timestampMillis, gameId, 8)
+                    .putLong(started.seed()).array();
+            case PredictionMade prediction -> {
+                byte[] playerId = utf8(prediction.playerId());
+                ByteBuffer buffer = header(PREDICTION_MADE, timestampMillis, gameId, 2 + playerId.length + 1);
+                putString(buffer, playerId);
+                yield buffer.put((byte) prediction.prediction()).array();
+            }
+            case CardPlayed played -> {
+                byte[] playerId = utf8(played.playerId());
+                ByteBuffer buffer = header(CARD_PLAYED, timestampMillis, gameId, 2 + playerId.length + 2);
+                putString(buffer, playerId);
+                yield buffer.put(played.cardId()).put(played.cheating() ? FLAG_CHEATING : 0).array();
+            }
+            case RoundProceeded ignored -> header(ROUND_PROCEEDED, timestampMillis, gameId, 0).array();
+            case GameAborted ignored -> header(GAME_ABORTED, timestampMillis, gameId, 0).array();
+            case GameRemoved ignored -> header(GAME_REMOVED, timestampMillis, gameId, 0).array();
+        };
+    }
+
+    /**
+     * Reads the timestamp at the start of an encoded event without decoding the rest.
+     */
+    static long timestamp(ByteBuffer encoded) {
+        return encoded.getLong(encoded.position());
+    }
+
+    /**
+     * Decodes an event, consuming the buffer up to its limit.
+     *
+     * @throws IllegalArgumentException if the type is unknown
+     */
+    static GameEvent decode(ByteBuffer buffer) {
+        buffer.getLong(); // timestamp
+        byte type = buffer.get();
+        String gameId = getString(buffer);
+        return switch (type) {
+            case PLAYER_JOINED -> new PlayerJoined(gameId, getString(buffer), getString(buffer));
+            case GAME_STARTED -> new GameStarted(gameId, buffer.getLong());
+            case PREDICTION_MADE -> new PredictionMade(gameId, getString(buffer), buffer.get());
+            case CARD_PLAYED -> new CardPlayed(gameId, getString(buffer), buffer.get(),
+                    (buffer.get() & FLAG_CHEATING) != 0);
+            case ROUND_PROCEEDED -> new RoundProceeded(gameId);
+            case GAME_ABORTED -> new GameAborted(gameId);
+            case GAME_REMOVED -> new GameRemoved(gameId);
+            default -> throw new IllegalArgumentException("Unbekannter Ereignistyp im Journal: " + type);
+        };
+    }
+
+    private static ByteBuffer header(byte type, long timestampMillis, byte[] gameId, int payloadBytes) {
+        ByteBuffer buffer = ByteBuffer.allocate(8 + 1 + 2 + gameId.length + payloadBytes);
+        buffer.putLong(timestampMillis).put(type);
+        putString(buffer, gameId);
+        return buffer;
+    }
+
+    private static byte[] utf8(String value) {
+        if (value == null) {
+            return NULL_BYTES;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_STRING_BYTES) {
+            throw new IllegalArgumentException("Text zu lang für das Journal: " + bytes.length + " Bytes");
+        }
+        return bytes;
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] bytes) {
+        buffer.putShort((short) (bytes == NULL_BYTES ? NULL_STRING : bytes.length)).put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = Short.toUnsignedInt(buffer.getShort());
+        if (length == NULL_STRING) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
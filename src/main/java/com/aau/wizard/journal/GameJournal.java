@@ -0,0 +1,63 @@
+package com.aau.wizard.journal;
+
+/**
+ * Append-only log of all commands applied to games, the source of truth for recovery and replay.
+ * <p>
+ * Events must be appended while holding the lock of their game, so the journal order of the
+ * events of one game is the order they were applied in.
+ */
+public interface GameJournal extends AutoCloseable {
+
+    /**
+     * A journal that records nothing, used when journaling is disabled.
+     */
+    GameJournal NONE = new GameJournal() {
+        @Override
+        public long append(GameEvent event) {
+            return 0;
+        }
+
+        @Override
+        public long lastSequence() {
+            return 0;
+        }
+
+        @Override
+        public void flush() {
+        }
+    };
+
+    /**
+     * Appends an event. The call does not wait until the event has been written.
+     *
+     * @param event the applied command
+     * @return the sequence number the event is written with
+     */
+    long append(GameEvent event);
+
+    /**
+     * Checks that appended events can still be written. Called before a command is applied, so a
+     * command that could not be journaled is rejected without changing the game.
+     *
+     * @throws IllegalStateException if the journal is closed or its writer has failed
+     */
+    default void checkWritable() {
+    }
+
+    /**
+     * Returns the sequence number of the last appended event. Read while holding a game's lock,
+     * it separates the events already applied to that game from all later ones.
+     *
+     * @return the last sequence number handed out, 0 if the journal is empty
+     */
+    long lastSequence();
+
+    /**
+     * Blocks until all events appended so far are written and, if enabled, forced to disk.
+     */
+    void flush();
+
+    @Override
+    default void close() {
+    }
+}
@@ -0,0 +1,186 @@
+package com.aau.wizard.journal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Reads the segments written by {@link FileGameJournal} in sequence order.
+ * <p>
+ * Segments are memory-mapped and decoded in place. Reading a segment stops at the first record
+ * that is incomplete, fails its checksum or breaks the sequence. In the last segment that is the
+ * torn tail of a crash and simply ends the journal; in any earlier segment it means the journal is
+ * damaged and an {@link IOException} is thrown.
+ */
+public final class GameJournalReader {
+    static final String SEGMENT_SUFFIX = ".journal";
+    /** Length, checksum and sequence number in front of every encoded event. */
+    static final int RECORD_HEADER_BYTES = 4 + 4 + 8;
+
+    private static final Logger logger = LoggerFactory.getLogger(GameJournalReader.class);
+
+    private GameJournalReader() {
+    }
+
+    /**
+     * Summary of a read journal.
+     *
+     * @param records      number of records read
+     * @param lastSequence sequence number of the last record, or 0 if the journal is empty
+     */
+    public record Result(long records, long lastSequence) {
+    }
+
+    /**
+     * Summary of one read segment.
+     *
+     * @param records   number of valid records
+     * @param validEnd  file offset right after the last valid record
+     * @param complete  {@code true} if the segment ended exactly after its last valid record
+     */
+    record SegmentResult(long records, long validEnd, boolean complete) {
+    }
+
+    /**
+     * Reads all records of a journal directory.
+     *
+     * @param directory the journal directory, a missing directory counts as empty
+     * @param consumer  receives every record in sequence order
+     * @return the number of records and the last sequence number
+     * @throws IOException if a segment cannot be read or a segment other than the last is damaged
+     */
+    public static Result read(Path directory, Consumer<JournalRecord> consumer) throws IOException {
+        return read(directory, 1, consumer);
+    }
+
+    /**
+     * Reads the records of a journal directory from the given sequence number on, e.g. the tail
+     * after a snapshot. Segments that only hold earlier records are not opened.
+     *
+     * @param directory    the journal directory, a missing directory counts as empty
+     * @param fromSequence sequence number of the first record passed to the consumer
+     * @param consumer     receives every record from {@code fromSequence} on in sequence order
+     * @return the number of records passed to the consumer and the last sequence number
+     * @throws IOException if a segment cannot be read, a segment other than the last is damaged or
+     *                     the records right before the first segment read are missing
+     */
+    public static Result read(Path directory, long fromSequence, Consumer<JournalRecord> consumer)
+            throws IOException {
+        List<Path> segments = segments(directory);
+        int first = 0;
+        while (first + 1 < segments.size() && firstSequence(segments.get(first + 1)) <= fromSequence) {
+            first++;
+        }
+        Consumer<JournalRecord> tail = fromSequence <= 1 ? consumer : record -> {
+            if (record.sequence() >= fromSequence) {
+                consumer.accept(record);
+            }
+        };
+        long records = 0;
+        long lastSequence = 0;
+        for (int i = first; i < segments.size(); i++) {
+            Path segment = segments.get(i);
+            long firstSequence = firstSequence(segment);
+            if (i == first && firstSequence > fromSequence) {
+                throw new IOException("Lücke im Journal vor " + segment + ": erwartet " + fromSequence);
+            }
+            if (lastSequence != 0 && firstSequence != lastSequence + 1) {
+                throw new IOException("Lücke im Journal vor " + segment + ": erwartet " + (lastSequence + 1));
+            }
+            SegmentResult result = readSegment(segment, firstSequence, tail);
+            if (!result.complete()) {
+                if (i < segments.size() - 1) {
+                    throw new IOException("Journal-Segment " + segment + " ist ab Offset " + result.validEnd() + " beschädigt");
+                }
+                logger.warn("Unvollständiger Eintrag am Ende von {} ab Offset {} wird ignoriert", segment, result.validEnd());
+            }
+            if (result.records() > 0) {
+                lastSequence = firstSequence + result.records() - 1;
+                records += Math.max(0, lastSequence - Math.max(firstSequence, fromSequence) + 1);
+            }
+        }
+        return new Result(records, lastSequence);
+    }
+
+    /**
+     * @return the segment files of the directory, ordered by their first sequence number
+     */
+    static List<Path> segments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            // the names are zero padded, so the lexical order is the sequence order
+            return files.filter(file -> file.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    static Path segmentPath(Path directory, long firstSequence) {
+        return directory.resolve(String.format("%020d%s", firstSequence, SEGMENT_SUFFIX));
+    }
+
+    static long firstSequence(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    /**
+     * Reads the valid records of one segment.
+     *
+     * @param segment       the segment file
+     * @param firstSequence sequence number the first record must have
+     * @param consumer      receives the records, may be {@code null} to only validate
+     */
+    static SegmentResult readSegment(Path segment, long firstSequence, Consumer<JournalRecord> consumer)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size == 0) {
+                return new SegmentResult(0, 0, true);
+            }
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Journal-Segment zu groß: " + segment);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            CRC32C crc = new CRC32C();
+            long expectedSequence = firstSequence;
+            long records = 0;
+            while (buffer.remaining() >= RECORD_HEADER_BYTES) {
+                int start = buffer.position();
+                int length = buffer.getInt();
+                int checksum = buffer.getInt();
+                if (length < 8 || length > buffer.remaining()) {
+                    return new SegmentResult(records, start, false);
+                }
+                ByteBuffer content = buffer.slice(buffer.position(), length);
+                crc.reset();
+                crc.update(content.duplicate());
+                long sequence = content.getLong();
+                if ((int) crc.getValue() != checksum || sequence != expectedSequence) {
+                    return new SegmentResult(records, start, false);
+                }
+                if (consumer != null) {
+                    long timestamp = GameEventCodec.timestamp(content);
+                    consumer.accept(new JournalRecord(sequence, timestamp, GameEventCodec.decode(content)));
+                }
+                buffer.position(buffer.position() + length);
+                expectedSequence++;
+                records++;
+            }
+            return new SegmentResult(records, buffer.position(), !buffer.hasRemaining());
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.aau.wizard.journal;
+
+import com.aau.wizard.model.CardTable;
+import com.aau.wizard.model.Deck;
+import com.aau.wizard.model.Game;
+import com.aau.wizard.model.ICard;
+import com.aau.wizard.model.Player;
+import com.aau.wizard.model.enums.CardSuit;
+import com.aau.wizard.model.enums.GameStatus;
+import com.aau.wizard.service.impl.RoundServiceImpl;
+import com.aau.wizard.util.Pair;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Binary encoding of the complete state of one game and its running round, as stored in a
+ * {@link SnapshotStore}.
+ * <p>
+ * Unlike a {@link GameEvent}, a snapshot does not rely on replaying anything: it holds the
+ * players with their hands, predictions, tricks and scores of the current and all finished rounds, the prediction order, the deck in its
+ * dealt order, the trump and the cards of the current trick. Cards are written as their
+ * {@link CardTable} id, hands as their {@link com.aau.wizard.model.Hand#getMask() mask} so the
+ * copies of wizards and jesters stay exactly the same, players inside the round as their index in
+ * the seating order. Strings use
+ * {@link DataOutput#writeUTF(String)}, preceded by a flag if they may be {@code null}.
+ */
+public final class GameSnapshotCodec {
+    private static final byte NO_ORDINAL = -1;
+
+    private GameSnapshotCodec() {
+    }
+
+    /**
+     * A game restored from a snapshot.
+     *
+     * @param sequence journal sequence number up to which the game's events are contained
+     * @param game     the restored game
+     * @param round    the restored round, or {@code null} if the game was not started
+     */
+    public record Restored(long sequence, Game game, RoundServiceImpl round) {
+    }
+
+    /**
+     * Encodes a game. Must be called while holding the game's lock.
+     *
+     * @param sequence journal sequence number of the last event applied to the game
+     * @param game     the game to encode
+     * @param round    the game's round service, may be {@code null}
+     * @return the encoded state
+     */
+    public static byte[] encode(long sequence, Game game, RoundServiceImpl round) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeLong(sequence);
+            out.writeUTF(game.getGameId());
+            out.writeLong(game.getSeed());
+            out.writeLong(game.getVersion());
+            out.writeByte(game.getStatus() != null ? game.getStatus().ordinal() : NO_ORDINAL);
+            writeNullable(out, game.getCurrentPlayerId());
+            writeNullable(out, game.getLastRoundWinnerId());
+            out.writeShort(game.getCurrentRound());
+            out.writeShort(game.getMaxRound());
+            out.writeByte(cardId(game.getTrumpCard()));
+
+            List<Player> players = game.getPlayers();
+            out.writeByte(players.size());
+            for (Player player : players) {
+                writePlayer(out, player);
+            }
+            List<String> predictionOrder = game.getPredictionOrder();
+            out.writeByte(predictionOrder.size());
+            for (String playerId : predictionOrder) {
+                out.writeUTF(playerId);
+            }
+
+            out.writeBoolean(round != null);
+            if (round != null) {
+                writeRound(out, round, players);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes a game.
+     *
+     * @param encoded      the encoded state
+     * @param roundFactory creates the empty round service for the decoded game, which is then filled in
+     * @return the restored game
+     * @throws IOException if the state is truncated or invalid
+     */
+    public static Restored decode(byte[] encoded, Function<Game, RoundServiceImpl> roundFactory) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(encoded));
+        long sequence = in.readLong();
+        Game game = new Game(in.readUTF());
+        game.setSeed(in.readLong());
+        game.setVersion(in.readLong());
+        byte status = in.readByte();
+        game.setStatus(status != NO_ORDINAL ? enumValue(GameStatus.values(), status) : null);
+        game.setCurrentPlayerId(readNullable(in));
+        game.setLastRoundWinnerId(readNullable(in));
+        game.setCurrentRound(in.readShort());
+        game.setMaxRound(in.readShort());
+        game.setTrumpCard(card(in.readByte()));
+
+        int playerCount = in.readUnsignedByte();
+        for (int i = 0; i < playerCount; i++) {
+            game.getPlayers().add(readPlayer(in));
+        }
+        int predictionOrderSize = in.readUnsignedByte();
+        List<String> predictionOrder = new ArrayList<>(predictionOrderSize);
+        for (int i = 0; i < predictionOrderSize; i++) {
+            predictionOrder.add(in.readUTF());
+        }
+        game.setPredictionOrder(predictionOrder);
+
+        RoundServiceImpl round = null;
+        if (in.readBoolean()) {
+            round = roundFactory.apply(game);
+            readRound(in, round, game.getPlayers());
+        }
+        return new Restored(sequence, game, round);
+    }
+
+    private static void writePlayer(DataOutput out, Player player) throws IOException {
+        out.writeUTF(player.getPlayerId());
+        writeNullable(out, player.getName());
+        out.writeInt(player.getScore());
+        out.writeInt(player.getBid());
+        out.writeBoolean(player.isReady());
+        out.writeBoolean(player.getPrediction() != null);
+        if (player.getPrediction() != null) {
+            out.writeInt(player.getPrediction());
+        }
+        out.writeByte(player.getTricksWon());
+        List<Integer> roundScores = player.getRoundScores();
+        List<Integer> roundPredictions = player.getRoundPredictions();
+        List<Integer> roundTricks = player.getRoundTricks();
+        out.writeByte(roundScores.size());
+        // rounds scored without their prediction and tricks (only in tests) keep them as -1
+        int missing = roundScores.size() - roundPredictions.size();
+        for (int i = 0; i < roundScores.size(); i++) {
+            out.writeInt(roundScores.get(i));
+            out.writeByte(i < missing ? -1 : roundPredictions.get(i - missing));
+            out.writeByte(i < missing ? -1 : roundTricks.get(i - missing));
+        }
+        out.writeLong(player.getHandCards().getMask());
+    }
+
+    private static Player readPlayer(DataInput in) throws IOException {
+        Player player = new Player(in.readUTF(), readNullable(in));
+        player.setScore(in.readInt());
+        player.setBid(in.readInt());
+        player.setReady(in.readBoolean());
+        player.setPrediction(in.readBoolean() ? in.readInt() : null);
+        player.setTricksWon(in.readUnsignedByte());
+        int rounds = in.readUnsignedByte();
+        for (int i = 0; i < rounds; i++) {
+            int score = in.readInt();
+            byte prediction = in.readByte();
+            byte tricks = in.readByte();
+            if (prediction < 0) {
+                player.addRoundScore(score);
+            } else {
+                player.addRoundResult(prediction, tricks, score);
+            }
+        }
+        try {
+            player.getHandCards().setMask(in.readLong());
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Ungültige Handkarten im Snapshot", e);
+        }
+        return player;
+    }
+
+    private static void writeRound(DataOutput out, RoundServiceImpl round, List<Player> players) throws IOException {
+        out.writeBoolean(round.deck != null);
+        if (round.deck != null) {
+            byte[] order = new byte[CardTable.SIZE];
+            round.deck.copyOrder(order);
+            out.write(order);
+            out.writeByte(round.deck.size());
+        }
+        out.writeByte(cardId(round.trumpCard));
+        out.writeByte(round.trumpCardSuit != null ? round.trumpCardSuit.ordinal() : NO_ORDINAL);
+        out.writeShort(round.currentTrickNumber);
+        List<Pair<Player, ICard>> playedCards = round.getPlayedCards();
+        out.writeByte(playedCards.size());
+        for (Pair<Player, ICard> played : playedCards) {
+            out.writeByte(players.indexOf(played.first));
+            out.writeByte(played.second.getId());
+        }
+    }
+
+    private static void readRound(DataInput in, RoundServiceImpl round, List<Player> players) throws IOException {
+        if (in.readBoolean()) {
+            byte[] order = new byte[CardTable.SIZE];
+            in.readFully(order);
+            round.deck = new Deck();
+            try {
+                round.deck.restore(order, in.readUnsignedByte());
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Ungültiger Kartenstapel im Snapshot", e);
+            }
+        }
+        round.trumpCard = card(in.readByte());
+        byte suit = in.readByte();
+        round.trumpCardSuit = suit != NO_ORDINAL ? enumValue(CardSuit.values(), suit) : null;
+        round.currentTrickNumber = in.readShort();
+        int played = in.readUnsignedByte();
+        for (int i = 0; i < played; i++) {
+            int playerIndex = in.readByte();
+            if (playerIndex < 0 || playerIndex >= players.size()) {
+                throw new IOException("Ungültiger Spielerindex im Snapshot: " + playerIndex);
+            }
+            round.getPlayedCards().add(new Pair<>(players.get(playerIndex), card(in.readByte())));
+        }
+    }
+
+    private static byte cardId(ICard card) {
+        return card != null ? card.getId() : CardTable.NO_ID;
+    }
+
+    private static ICard card(byte id) throws IOException {
+        if (id == CardTable.NO_ID) {
+            return null;
+        }
+        if (id < 0 || id >= CardTable.SIZE) {
+            throw new IOException("Ungültige Karten-ID im Snapshot: " + id);
+        }
+        return CardTable.byId(id);
+    }
+
+    private static <E extends Enum<E>> E enumValue(E[] values, int ordinal) throws IOException {
+        if (ordinal < 0 || ordinal >= values.length) {
+            throw new IOException("Ungültiger Wert im Snapshot: " + ordinal);
+        }
+        return values[ordinal];
+    }
+
+    private static void writeNullable(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -0,0 +1,74 @@
+package com.aau.wizard.journal;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of the {@link FileGameJournal}. The ratio of records to syncs shows how many events
+ * share one group commit.
+ */
+public class JournalMetrics {
+    private final LongAdder records = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder syncs = new LongAdder();
+    private final LongAdder totalSyncNanos = new LongAdder();
+    private final LongAccumulator maxBatchRecords = new LongAccumulator(Math::max, 0);
+    private final LongAdder segments = new LongAdder();
+
+    void recordBatch(int batchRecords, long batchBytes) {
+        records.add(batchRecords);
+        bytes.add(batchBytes);
+        batches.increment();
+        maxBatchRecords.accumulate(batchRecords);
+    }
+
+    void recordSync(long nanos) {
+        syncs.increment();
+        totalSyncNanos.add(nanos);
+    }
+
+    void recordSegment() {
+        segments.increment();
+    }
+
+    public long getRecordCount() {
+        return records.sum();
+    }
+
+    public long getByteCount() {
+        return bytes.sum();
+    }
+
+    public long getBatchCount() {
+        return batches.sum();
+    }
+
+    public long getSyncCount() {
+        return syncs.sum();
+    }
+
+    public long getMaxBatchRecords() {
+        return maxBatchRecords.get();
+    }
+
+    public long getSegmentCount() {
+        return segments.sum();
+    }
+
+    public long getAverageSyncNanos() {
+        long count = getSyncCount();
+        return count == 0 ? 0 : totalSyncNanos.sum() / count;
+    }
+
+    @Override
+    public String toString() {
+        return "JournalMetrics{records=" + getRecordCount()
+                + ", bytes=" + getByteCount()
+                + ", batches=" + getBatchCount()
+                + ", maxBatchRecords=" + getMaxBatchRecords()
+                + ", syncs=" + getSyncCount()
+                + ", avgSyncNanos=" + getAverageSyncNanos()
+                + ", segments=" + getSegmentCount() + "}";
+    }
+}
@@ -0,0 +1,11 @@
+package com.aau.wizard.journal;
+
+/**
+ * An event read back from the journal.
+ *
+ * @param sequence        position of the event in the journal, starting at 1 and without gaps
+ * @param timestampMillis wall-clock time the event was appended at
+ * @param event           the recorded event
+ */
+public record JournalRecord(long sequence, long timestampMillis, GameEvent event) {
+}
@@ -0,0 +1,176 @@
+package com.aau.wizard.journal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Stores periodic snapshots of all running games next to the journal.
+ * <p>
+ * A snapshot is a single file named after the journal sequence number at which it was started:
+ * <pre>
+ * int    magic "WZSN"
+ * byte   format version
+ * long   journal sequence number when the snapshot was started
+ * int    number of games
+ * n ×    int length, game encoded with {@link GameSnapshotCodec}
+ * int    CRC32C of everything before
+ * </pre>
+ * Each game carries the sequence number of its last applied event, so recovery replays only the
+ * later events of that game from the journal. A snapshot is written to a temporary file, forced to
+ * disk and then atomically renamed, so a crash never leaves a half-written snapshot behind. Only
+ * the newest snapshots are kept; an unreadable one is skipped in favour of its predecessor.
+ */
+public class SnapshotStore {
+    static final String SNAPSHOT_SUFFIX = ".snapshot";
+    private static final int MAGIC = 0x575A534E;
+    private static final byte FORMAT_VERSION = 2;
+    /** Upper bound for one encoded game, a larger length means the file is damaged. */
+    private static final int MAX_GAME_BYTES = 1 << 20;
+
+    private static final Logger logger = LoggerFactory.getLogger(SnapshotStore.class);
+
+    private final Path directory;
+    private final int retained;
+
+    /**
+     * @param directory the directory to store the snapshots in, usually the journal directory
+     * @param retained  number of snapshots kept, at least 1
+     */
+    public SnapshotStore(Path directory, int retained) {
+        if (retained < 1) {
+            throw new IllegalArgumentException("retained must be at least 1: " + retained);
+        }
+        this.directory = directory;
+        this.retained = retained;
+    }
+
+    /**
+     * A read snapshot.
+     *
+     * @param sequence journal sequence number when the snapshot was started; events up to it
+     *                 belong to games in the snapshot or to games that had ended or were removed
+     * @param games    the encoded games
+     */
+    public record Snapshot(long sequence, List<byte[]> games) {
+    }
+
+    /**
+     * Writes a snapshot and removes the snapshots that are no longer retained.
+     *
+     * @param sequence journal sequence number when the snapshot was started
+     * @param games    the games encoded with {@link GameSnapshotCodec}
+     * @return the written file
+     * @throws IOException if the snapshot cannot be written
+     */
+    public Path write(long sequence, List<byte[]> games) throws IOException {
+        Files.createDirectories(directory);
+        Path target = directory.resolve(String.format("%020d%s", sequence, SNAPSHOT_SUFFIX));
+        Path temporary = directory.resolve(target.getFileName() + ".tmp");
+        try (FileOutputStream file = new FileOutputStream(temporary.toFile())) {
+            CheckedOutputStream checked = new CheckedOutputStream(new BufferedOutputStream(file, 1 << 16), new CRC32C());
+            DataOutputStream out = new DataOutputStream(checked);
+            out.writeInt(MAGIC);
+            out.writeByte(FORMAT_VERSION);
+            out.writeLong(sequence);
+            out.writeInt(games.size());
+            for (byte[] game : games) {
+                out.writeInt(game.length);
+                out.write(game);
+            }
+            out.writeInt((int) checked.getChecksum().getValue());
+            out.flush();
+            file.getFD().sync();
+        }
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        prune();
+        return target;
+    }
+
+    /**
+     * Reads the newest readable snapshot.
+     *
+     * @return the snapshot, or empty if there is none
+     */
+    public Optional<Snapshot> latest() throws IOException {
+        List<Path> snapshots = snapshots();
+        for (int i = snapshots.size() - 1; i >= 0; i--) {
+            Path file = snapshots.get(i);
+            try {
+                return Optional.of(read(file));
+            } catch (IOException e) {
+                logger.warn("Snapshot {} ist nicht lesbar, der vorherige wird verwendet", file, e);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * @return the snapshot files, oldest first
+     */
+    public List<Path> snapshots() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            // zero padded like the journal segments, so the lexical order is the sequence order
+            return files.filter(file -> file.getFileName().toString().endsWith(SNAPSHOT_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static Snapshot read(Path file) throws IOException {
+        try (InputStream stream = Files.newInputStream(file)) {
+            CheckedInputStream checked = new CheckedInputStream(new BufferedInputStream(stream, 1 << 16), new CRC32C());
+            DataInputStream in = new DataInputStream(checked);
+            if (in.readInt() != MAGIC || in.readByte() != FORMAT_VERSION) {
+                throw new IOException("Kein Snapshot im bekannten Format: " + file);
+            }
+            long sequence = in.readLong();
+            int count = in.readInt();
+            if (count < 0) {
+                throw new IOException("Ungültige Anzahl Spiele im Snapshot: " + count);
+            }
+            List<byte[]> games = new ArrayList<>(Math.min(count, 1 << 16));
+            for (int i = 0; i < count; i++) {
+                int length = in.readInt();
+                if (length < 0 || length > MAX_GAME_BYTES) {
+                    throw new IOException("Ungültige Länge eines Spiels im Snapshot: " + length);
+                }
+                byte[] game = new byte[length];
+                in.readFully(game);
+                games.add(game);
+            }
+            int expected = (int) checked.getChecksum().getValue();
+            if (in.readInt() != expected) {
+                throw new IOException("Prüfsumme des Snapshots " + file + " stimmt nicht");
+            }
+            return new Snapshot(sequence, games);
+        }
+    }
+
+    private void prune() throws IOException {
+        List<Path> snapshots = snapshots();
+        for (int i = 0; i < snapshots.size() - retained; i++) {
+            Files.deleteIfExists(snapshots.get(i));
+        }
+    }
+}
@@ -6,9 +6,11 @@ import java.util.Objects;
 
 public abstract class AbstractSpecialCard implements ICard {
     protected final CardSuit cardSuit;
+    private final byte id;
 
-    public AbstractSpecialCard(CardSuit cardSuit) {
+    public AbstractSpecialCard(CardSuit cardSuit, byte id) {
         this.cardSuit = cardSuit;
+        this.id = id;
     }
 
     @Override
@@ -16,6 +18,11 @@ public abstract class AbstractSpecialCard implements ICard {
         return cardSuit;
     }
 
+    @Override
+    public byte getId() {
+        return id;
+    }
+
     @Override
     public abstract boolean equals(Object o);
 
@@ -2,14 +2,18 @@ package com.aau.wizard.model;
 
 import com.aau.wizard.model.enums.CardSuit;
 
+/**
+ * Creates cards by suit and value. Cards of the deck are taken from the {@link CardTable};
+ * only wizards and jesters of a color suit are allocated, since the deck has none of them.
+ */
 public class CardFactory {
     public static ICard createCard(CardSuit suit, int value) {
         if (value == 0) {
-            return new JesterCard(suit);
+            return suit == CardSuit.SPECIAL ? CardTable.jester() : new JesterCard(suit);
         } else if (value == 14) {
-            return new WizardCard(suit);
+            return suit == CardSuit.SPECIAL ? CardTable.wizard() : new WizardCard(suit);
         } else {
-            return new NumberCard(suit, value);
+            return CardTable.numberCard(suit, value);
         }
     }
 }
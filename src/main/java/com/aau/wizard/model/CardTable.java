@@ -0,0 +1,123 @@
+package com.aau.wizard.model;
+
+import com.aau.wizard.model.enums.CardSuit;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Canonical, immutable table of the 60 cards of a Wizard deck.
+ * <p>
+ * Every card has a stable byte id: the number cards of the four colors come first
+ * ({@code suit.ordinal() * 13 + value - 1}, i.e. 0–51), followed by the four wizards (52–55)
+ * and the four jesters (56–59). Parsing, dealing and hand lookups all hand out these shared
+ * instances, so no card objects are allocated while a game is running and cards can be compared
+ * by identity or id.
+ */
+public final class CardTable {
+    public static final int SIZE = 60;
+    public static final int VALUES_PER_SUIT = 13;
+    public static final int FIRST_WIZARD_ID = 52;
+    public static final int FIRST_JESTER_ID = 56;
+    public static final int SPECIAL_CARD_COPIES = 4;
+    /**
+     * Id of cards that are not part of the deck, e.g. number cards created with {@link CardSuit#SPECIAL}.
+     */
+    public static final byte NO_ID = -1;
+
+    private static final ICard[] CARDS = new ICard[SIZE];
+    private static final List<ICard> ALL;
+    private static final Map<String, ICard> BY_NAME = new HashMap<>();
+
+    static {
+        for (CardSuit suit : CardSuit.values()) {
+            if (suit != CardSuit.SPECIAL) {
+                for (int value = 1; value <= VALUES_PER_SUIT; value++) {
+                    NumberCard card = new NumberCard(suit, value);
+                    CARDS[card.getId()] = card;
+                    BY_NAME.put(card.toString(), card);
+                }
+            }
+        }
+        for (int copy = 0; copy < SPECIAL_CARD_COPIES; copy++) {
+            CARDS[FIRST_WIZARD_ID + copy] = new WizardCard(CardSuit.SPECIAL, (byte) (FIRST_WIZARD_ID + copy));
+            CARDS[FIRST_JESTER_ID + copy] = new JesterCard(CardSuit.SPECIAL, (byte) (FIRST_JESTER_ID + copy));
+        }
+        BY_NAME.put("WIZARD", CARDS[FIRST_WIZARD_ID]);
+        BY_NAME.put("JESTER", CARDS[FIRST_JESTER_ID]);
+        ALL = Collections.unmodifiableList(Arrays.asList(CARDS));
+    }
+
+    private CardTable() {
+    }
+
+    /**
+     * @param id the card id, 0–59
+     * @return the canonical card with that id
+     * @throws IllegalArgumentException if the id is outside the table
+     */
+    public static ICard byId(int id) {
+        if (id < 0 || id >= SIZE) {
+            throw new IllegalArgumentException("Ungültige Karten-ID: " + id);
+        }
+        return CARDS[id];
+    }
+
+    /**
+     * @return all 60 canonical cards ordered by id
+     */
+    public static List<ICard> all() {
+        return ALL;
+    }
+
+    /**
+     * Returns the canonical card for an exact card name as produced by {@link ICard#toString()},
+     * e.g. "RED_10", "WIZARD" or "JESTER". Wizards and jesters resolve to their first copy.
+     *
+     * @param name the card name
+     * @return the canonical card, or {@code null} if the name is not an exact card name
+     */
+    public static ICard byName(String name) {
+        return name == null ? null : BY_NAME.get(name);
+    }
+
+    /**
+     * Returns the canonical number card of a color. Number cards of {@link CardSuit#SPECIAL} are
+     * not part of the deck and are created on demand.
+     *
+     * @param suit  the suit of the card
+     * @param value the value, 1–13
+     * @return the number card
+     * @throws IllegalArgumentException if the value is outside 1–13
+     */
+    public static ICard numberCard(CardSuit suit, int value) {
+        if (suit == CardSuit.SPECIAL) {
+            return new NumberCard(suit, value);
+        }
+        if (value < 1 || value > VALUES_PER_SUIT) {
+            throw new IllegalArgumentException("Number card value must be between 1 and 13");
+        }
+        return CARDS[numberCardId(suit, value)];
+    }
+
+    /**
+     * @return the first canonical wizard
+     */
+    public static ICard wizard() {
+        return CARDS[FIRST_WIZARD_ID];
+    }
+
+    /**
+     * @return the first canonical jester
+     */
+    public static ICard jester() {
+        return CARDS[FIRST_JESTER_ID];
+    }
+
+    static byte numberCardId(CardSuit suit, int value) {
+        return (byte) (suit.ordinal() * VALUES_PER_SUIT + value - 1);
+    }
+}
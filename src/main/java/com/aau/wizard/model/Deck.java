@@ -1,52 +1,158 @@
 package com.aau.wizard.model;
 
-import com.aau.wizard.model.enums.CardSuit;
-
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
+/**
+ * The 60 cards of a Wizard deck as a primitive array of {@link CardTable} ids.
+ * <p>
+ * Cards are dealt by advancing a cursor over the array, {@link #shuffle()} is an in-place
+ * Fisher–Yates shuffle of the cards not dealt yet and {@link #reset()} puts all cards back, so a
+ * single deck can be reused for every round of a game without allocating.
+ * <p>
+ * The random generator is pluggable. Shuffling with a generator created from a known seed, e.g.
+ * {@code new SplittableRandom(seed)}, always yields the same order, which makes a dealt round
+ * reproducible from its seed.
+ */
 public class Deck {
-    private final List<ICard> cards = new ArrayList<>();
+    private static final byte[] INITIAL_ORDER = new byte[CardTable.SIZE];
 
-    public Deck() {
-        initializeDeck();
-    }
-
-    private void initializeDeck() {
-        // Standardkarten (1–13 in jeder Farbe außer SPECIAL)
-        for (CardSuit cardSuit : CardSuit.values()) {
-            if (cardSuit != CardSuit.SPECIAL) {
-                for (int value = 1; value <= 13; value++) {
-                    cards.add(CardFactory.createCard(cardSuit, value));
-                }
-            }
+    static {
+        // Standardkarten (1–13 in jeder Farbe außer SPECIAL), geteilt aus der CardTable
+        int index = 0;
+        for (int id = 0; id < CardTable.FIRST_WIZARD_ID; id++) {
+            INITIAL_ORDER[index++] = (byte) id;
         }
 
         // Spezialkarten (4 Wizard + 4 Jester)
-        for (int i = 0; i < 4; i++) {
-            cards.add(CardFactory.createCard(CardSuit.SPECIAL, 14));// Wizard
-            cards.add(CardFactory.createCard(CardSuit.SPECIAL, 0));//Jester
+        for (int i = 0; i < CardTable.SPECIAL_CARD_COPIES; i++) {
+            INITIAL_ORDER[index++] = (byte) (CardTable.FIRST_WIZARD_ID + i);// Wizard
+            INITIAL_ORDER[index++] = (byte) (CardTable.FIRST_JESTER_ID + i);//Jester
         }
     }
 
+    private final byte[] cards = new byte[CardTable.SIZE];
+    private final RandomGenerator random;
+    private int cursor;
+
+    /**
+     * Creates a full, unshuffled deck that shuffles with a randomly seeded {@link SplittableRandom}.
+     */
+    public Deck() {
+        this(new SplittableRandom());
+    }
+
+    /**
+     * Creates a full, unshuffled deck.
+     *
+     * @param random the generator used by {@link #shuffle()}
+     */
+    public Deck(RandomGenerator random) {
+        this.random = random;
+        reset();
+    }
+
+    /**
+     * Puts all dealt cards back into the deck in their initial order.
+     */
+    public void reset() {
+        System.arraycopy(INITIAL_ORDER, 0, cards, 0, CardTable.SIZE);
+        cursor = 0;
+    }
+
+    /**
+     * Shuffles the cards not dealt yet with the generator of this deck.
+     */
     public void shuffle() {
-        Collections.shuffle(cards);
+        shuffle(random);
     }
 
-    public List<ICard> draw(int amount) {
-        if (amount < 1 || amount > cards.size()) {
-            throw new IllegalArgumentException("Cannot draw " + amount + " cards from deck");
+    /**
+     * Shuffles the cards not dealt yet in place (Fisher–Yates).
+     *
+     * @param random the generator to draw the swaps from
+     */
+    public void shuffle(RandomGenerator random) {
+        for (int i = CardTable.SIZE - 1; i > cursor; i--) {
+            int j = cursor + random.nextInt(i - cursor + 1);
+            byte card = cards[i];
+            cards[i] = cards[j];
+            cards[j] = card;
         }
+    }
+
+    public List<ICard> draw(int amount) {
+        checkAmount(amount);
 
-        List<ICard> drawn = new ArrayList<>();
+        List<ICard> drawn = new ArrayList<>(amount);
         for (int i = 0; i < amount; i++) {
-            drawn.add(cards.remove(0));
+            drawn.add(CardTable.byId(cards[cursor++]));
         }
         return drawn;
     }
 
+    /**
+     * Deals cards straight into a hand, without creating an intermediate list.
+     *
+     * @param hand   the hand to add the cards to
+     * @param amount the number of cards to deal
+     */
+    public void dealTo(Hand hand, int amount) {
+        checkAmount(amount);
+
+        for (int i = 0; i < amount; i++) {
+            hand.add(CardTable.byId(cards[cursor++]));
+        }
+    }
+
+    /**
+     * @return the next card, or {@code null} if the deck is empty
+     */
+    public ICard drawCard() {
+        return cursor < CardTable.SIZE ? CardTable.byId(cards[cursor++]) : null;
+    }
+
     public int size() {
-        return cards.size();
+        return CardTable.SIZE - cursor;
+    }
+
+    /**
+     * Copies the order of all cards, dealt ones first, into the given array. Together with
+     * {@link #size()} this is the complete state of the deck.
+     *
+     * @param order array of at least {@link CardTable#SIZE} card ids to copy into
+     */
+    public void copyOrder(byte[] order) {
+        System.arraycopy(cards, 0, order, 0, CardTable.SIZE);
+    }
+
+    /**
+     * Restores a state taken with {@link #copyOrder(byte[])} and {@link #size()}, e.g. from a snapshot.
+     *
+     * @param order the ids of all cards in deck order, each card exactly once
+     * @param size  the number of cards not dealt yet
+     * @throws IllegalArgumentException if the order is not a permutation of all cards or the size is out of range
+     */
+    public void restore(byte[] order, int size) {
+        if (order.length != CardTable.SIZE || size < 0 || size > CardTable.SIZE) {
+            throw new IllegalArgumentException("Invalid deck state: " + order.length + " cards, " + size + " left");
+        }
+        long seen = 0;
+        for (byte id : order) {
+            seen |= id >= 0 && id < CardTable.SIZE ? 1L << id : 0;
+        }
+        if (seen != (1L << CardTable.SIZE) - 1) {
+            throw new IllegalArgumentException("Deck order is not a permutation of all cards");
+        }
+        System.arraycopy(order, 0, cards, 0, CardTable.SIZE);
+        cursor = CardTable.SIZE - size;
+    }
+
+    private void checkAmount(int amount) {
+        if (amount < 1 || amount > size()) {
+            throw new IllegalArgumentException("Cannot draw " + amount + " cards from deck");
+        }
     }
 }
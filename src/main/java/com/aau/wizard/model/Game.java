@@ -6,6 +6,8 @@ import com.aau.wizard.model.enums.GameStatus;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
 
 public class Game {
     private String gameId;
@@ -17,6 +19,8 @@ public class Game {
     private String lastRoundWinnerId;
     private int currentRound;
     private int maxRound;
+    private long version;
+    private long seed = ThreadLocalRandom.current().nextLong();
 
     public Game(String gameId) {
         this.gameId = gameId;
@@ -79,10 +83,16 @@ public class Game {
         return status == GameStatus.LOBBY && players.size() >= 2;
     }
 
+    /**
+     * Starts the game if enough players joined. The seating order is shuffled with the game's
+     * seed, so a game is reproducible from its seed and the order in which players joined.
+     *
+     * @return {@code true} if the game was started
+     */
     public boolean startGame() {
         if (!canStartGame()) return false;
 
-        Collections.shuffle(players);
+        Collections.shuffle(players, new SplittableRandom(seed));
         status = GameStatus.PLAYING;
         currentPlayerId = players.get(0).getPlayerId();
         return true;
@@ -129,4 +139,62 @@ public class Game {
     public void setMaxRound(int maxRound) {
         this.maxRound = maxRound;
     }
+
+    /**
+     * Returns the version of the game state that was last sent to the players.
+     * Every update sent to the clients carries the version it brings the game to, so a client
+     * that misses an update notices the gap and can ask for a full snapshot.
+     *
+     * @return the current state version, {@code 0} before the first update
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Advances the state version for an update that is about to be sent.
+     *
+     * @return the new version
+     */
+    public long nextVersion() {
+        return ++version;
+    }
+
+    /**
+     * Sets the state version, e.g. when the game is restored from a snapshot.
+     *
+     * @param version the version the clients last received
+     */
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    /**
+     * Returns the seed all rounds of this game are dealt from. It is chosen randomly when the game
+     * is created and can be set to replay the deals of an earlier game.
+     *
+     * @return the seed of this game
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Derives the seed the deck of a round is shuffled with, so that every round of a game can be
+     * reproduced from the game seed and the round number alone.
+     *
+     * @param round the round number, starting at 1
+     * @return the seed of that round
+     */
+    public long getRoundSeed(int round) {
+        // SplitMix64-Finalizer: benachbarte Runden bekommen unkorrelierte Seeds
+        long z = seed + round * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
 }
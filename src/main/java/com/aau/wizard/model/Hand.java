@@ -0,0 +1,234 @@
+package com.aau.wizard.model;
+
+import com.aau.wizard.model.enums.CardSuit;
+import com.aau.wizard.model.enums.CardType;
+
+import java.util.AbstractList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * The hand cards of a player, stored as a bitmask over the {@link CardTable} ids.
+ * <p>
+ * Bit {@code id} is set if the card with that id is in the hand, so membership, removal and
+ * "has a card of suit X" are single mask operations. The hand is also a {@code List<ICard>} of
+ * the canonical cards in ascending id order (colors in {@link CardSuit} order, then wizards, then
+ * jesters), so existing callers can keep iterating, copying and mapping it like any other list.
+ * <p>
+ * Wizards and jesters are equal by type, so the copies of each are interchangeable: adding one
+ * takes the next free copy, and removing one removes any copy held.
+ */
+public class Hand extends AbstractList<ICard> {
+    public static final long WIZARD_MASK = copiesMask(CardTable.FIRST_WIZARD_ID);
+    public static final long JESTER_MASK = copiesMask(CardTable.FIRST_JESTER_ID);
+
+    private static final long[] SUIT_MASKS = new long[CardSuit.values().length];
+
+    static {
+        long colorMask = (1L << CardTable.VALUES_PER_SUIT) - 1;
+        for (CardSuit suit : CardSuit.values()) {
+            SUIT_MASKS[suit.ordinal()] = suit == CardSuit.SPECIAL
+                    ? WIZARD_MASK | JESTER_MASK
+                    : colorMask << (suit.ordinal() * CardTable.VALUES_PER_SUIT);
+        }
+    }
+
+    private long cards;
+
+    public Hand() {
+    }
+
+    public Hand(Iterable<? extends ICard> cards) {
+        for (ICard card : cards) {
+            add(card);
+        }
+    }
+
+    /**
+     * @param suit a suit; {@link CardSuit#SPECIAL} covers all wizards and jesters
+     * @return the mask of all card ids of that suit
+     */
+    public static long suitMask(CardSuit suit) {
+        return SUIT_MASKS[suit.ordinal()];
+    }
+
+    /**
+     * @return the ids of the cards in the hand as a bitmask
+     */
+    public long getMask() {
+        return cards;
+    }
+
+    /**
+     * Replaces the cards of the hand with those of a mask taken with {@link #getMask()}, keeping
+     * the exact copies of wizards and jesters, e.g. when a hand is restored from a snapshot.
+     *
+     * @param mask the ids of the cards as a bitmask
+     * @throws IllegalArgumentException if the mask has bits outside the deck
+     */
+    public void setMask(long mask) {
+        if ((mask >>> CardTable.SIZE) != 0) {
+            throw new IllegalArgumentException("Maske enthält Karten außerhalb des Decks: " + Long.toHexString(mask));
+        }
+        cards = mask;
+        modCount++;
+    }
+
+    /**
+     * @param suit the suit to look for
+     * @return {@code true} if the hand holds at least one card of that suit
+     */
+    public boolean hasSuit(CardSuit suit) {
+        return suit != null && (cards & SUIT_MASKS[suit.ordinal()]) != 0;
+    }
+
+    /**
+     * @param id a card id, 0–59
+     * @return {@code true} if the card with exactly that id is in the hand
+     */
+    public boolean containsId(int id) {
+        return id >= 0 && id < CardTable.SIZE && (cards & (1L << id)) != 0;
+    }
+
+    /**
+     * Adds a card to the hand. Wizards and jesters take the next free copy.
+     *
+     * @throws IllegalArgumentException if the card is not part of the deck or already in the hand
+     * @throws IllegalStateException    if all four copies of a wizard or jester are already held
+     */
+    @Override
+    public boolean add(ICard card) {
+        cards |= freeBit(card);
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof ICard card && (cards & matchMask(card)) != 0;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (!(o instanceof ICard card)) {
+            return false;
+        }
+        long held = cards & matchMask(card);
+        if (held == 0) {
+            return false;
+        }
+        cards &= ~Long.lowestOneBit(held);
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public ICard remove(int index) {
+        long bit = bitAt(index);
+        cards &= ~bit;
+        modCount++;
+        return CardTable.byId(Long.numberOfTrailingZeros(bit));
+    }
+
+    @Override
+    public ICard get(int index) {
+        return CardTable.byId(Long.numberOfTrailingZeros(bitAt(index)));
+    }
+
+    @Override
+    public int size() {
+        return Long.bitCount(cards);
+    }
+
+    @Override
+    public void clear() {
+        cards = 0;
+        modCount++;
+    }
+
+    @Override
+    public Iterator<ICard> iterator() {
+        return new BitIterator();
+    }
+
+    private long bitAt(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        long remaining = cards;
+        for (int i = 0; i < index; i++) {
+            remaining &= remaining - 1;
+        }
+        return Long.lowestOneBit(remaining);
+    }
+
+    private long freeBit(ICard card) {
+        if (card == null) {
+            throw new IllegalArgumentException("Karte darf nicht null sein");
+        }
+        if (card.getType() == CardType.WIZARD || card.getType() == CardType.JESTER) {
+            long free = ~cards & matchMask(card);
+            if (free == 0) {
+                throw new IllegalStateException("Alle Kopien von " + card + " sind bereits auf der Hand");
+            }
+            return Long.lowestOneBit(free);
+        }
+        long bit = matchMask(card);
+        if (bit == 0 || (cards & bit) != 0) {
+            throw new IllegalArgumentException("Karte kann nicht auf die Hand genommen werden: " + card);
+        }
+        return bit;
+    }
+
+    private static long matchMask(ICard card) {
+        return switch (card.getType()) {
+            case WIZARD -> WIZARD_MASK;
+            case JESTER -> JESTER_MASK;
+            default -> card.getId() == CardTable.NO_ID ? 0 : 1L << card.getId();
+        };
+    }
+
+    private static long copiesMask(int firstId) {
+        return ((1L << CardTable.SPECIAL_CARD_COPIES) - 1) << firstId;
+    }
+
+    private class BitIterator implements Iterator<ICard> {
+        private long remaining = cards;
+        private long lastReturned;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return remaining != 0;
+        }
+
+        @Override
+        public ICard next() {
+            checkForComodification();
+            if (remaining == 0) {
+                throw new NoSuchElementException();
+            }
+            lastReturned = Long.lowestOneBit(remaining);
+            remaining &= remaining - 1;
+            return CardTable.byId(Long.numberOfTrailingZeros(lastReturned));
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned == 0) {
+                throw new IllegalStateException();
+            }
+            checkForComodification();
+            cards &= ~lastReturned;
+            lastReturned = 0;
+            expectedModCount = ++modCount;
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+}
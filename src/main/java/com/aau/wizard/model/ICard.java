@@ -9,22 +9,34 @@ public interface ICard {
     CardType getType();
     String toString();
 
+    /**
+     * @return the stable id of this card in the {@link CardTable}, or {@link CardTable#NO_ID}
+     *         for cards that are not part of the deck
+     */
+    byte getId();
+
 
     static ICard fromString(String cardString) {
         if (cardString == null || cardString.trim().isEmpty()) {
             throw new IllegalArgumentException("Karten-String darf nicht leer sein.");
         }
 
+        // fast path for the exact names clients send, without trimming, splitting or allocating
+        ICard canonical = CardTable.byName(cardString);
+        if (canonical != null) {
+            return canonical;
+        }
+
         String upperCaseCardString = cardString.trim().toUpperCase();
 
 
         if (upperCaseCardString.equals("WIZARD")) {
 
-            return new WizardCard(CardSuit.SPECIAL);
+            return CardTable.wizard();
         }
         if (upperCaseCardString.equals("JESTER")) {
 
-            return new JesterCard(CardSuit.SPECIAL);
+            return CardTable.jester();
         }
 
 
@@ -37,7 +49,7 @@ public interface ICard {
             CardSuit suit = CardSuit.valueOf(parts[0]);
             int value = Integer.parseInt(parts[1]);
 
-            return new NumberCard(suit, value);
+            return CardTable.numberCard(suit, value);
         } catch (IllegalArgumentException e) {
 
             throw new IllegalArgumentException("Ungültige Karten-Farbe oder Wert im String: " + cardString, e);
@@ -3,11 +3,13 @@ package com.aau.wizard.model;
 import com.aau.wizard.model.enums.CardSuit;
 import com.aau.wizard.model.enums.CardType;
 
-import java.util.Objects;
-
 public class JesterCard extends AbstractSpecialCard {
     public JesterCard(CardSuit cardSuit) {
-        super(cardSuit);
+        super(cardSuit, cardSuit == CardSuit.SPECIAL ? (byte) CardTable.FIRST_JESTER_ID : CardTable.NO_ID);
+    }
+
+    JesterCard(CardSuit cardSuit, byte id) {
+        super(cardSuit, id);
     }
 
     @Override
@@ -36,6 +38,6 @@ public class JesterCard extends AbstractSpecialCard {
 
     @Override
     public int hashCode() {
-        return Objects.hash(getClass());
+        return JesterCard.class.hashCode();
     }
 }
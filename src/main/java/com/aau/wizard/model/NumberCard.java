@@ -3,13 +3,11 @@ package com.aau.wizard.model;
 import com.aau.wizard.model.enums.CardSuit;
 import com.aau.wizard.model.enums.CardType;
 
-import java.util.Objects;
-
 public class NumberCard extends AbstractSpecialCard {
     private final int value;
 
     public NumberCard(CardSuit cardSuit, int value) {
-        super(cardSuit);
+        super(cardSuit, cardSuit == CardSuit.SPECIAL ? CardTable.NO_ID : CardTable.numberCardId(cardSuit, value));
         if (value <= 0 || value >= 14) {
             throw new IllegalArgumentException("Number card value must be between 1 and 13");
         }
@@ -41,6 +39,6 @@ public class NumberCard extends AbstractSpecialCard {
 
     @Override
     public int hashCode() {
-        return Objects.hash(getSuit(), getValue());
+        return getSuit().ordinal() * 14 + getValue();
     }
 }
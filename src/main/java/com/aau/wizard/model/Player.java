@@ -8,8 +8,10 @@ public class Player {
     private String name;
     private int score;
     private List<Integer> roundScores = new ArrayList<>(); // Punkte der Runde
+    private final List<Integer> roundPredictions = new ArrayList<>();
+    private final List<Integer> roundTricks = new ArrayList<>();
     private boolean ready;
-    private List<ICard> handCards = new ArrayList<>();
+    private final Hand handCards = new Hand();
     private Integer prediction; //kann null sein, noch keine Vorhersage
     private int tricksWon;
     private int bid;
@@ -38,12 +40,23 @@ public class Player {
         this.name = name;
     }
 
-    public List<ICard> getHandCards() {
+    /**
+     * @return the hand of this player; a live {@code List<ICard>} view backed by a card bitmask
+     */
+    public Hand getHandCards() {
         return handCards;
     }
 
+    /**
+     * Replaces the hand of this player with the given cards.
+     *
+     * @param handCards the new hand cards, {@code null} for an empty hand
+     */
     public void setHandCards(List<ICard> handCards) {
-        this.handCards = handCards;
+        this.handCards.clear();
+        if (handCards != null) {
+            this.handCards.addAll(handCards);
+        }
     }
 
     public boolean isReady() {
@@ -89,4 +102,31 @@ public class Player {
     public void addRoundScore(int scoreThisRound) {
         this.roundScores.add(scoreThisRound);
     }
+
+    /**
+     * @return the prediction of every finished round, in round order
+     */
+    public List<Integer> getRoundPredictions() {
+        return roundPredictions;
+    }
+
+    /**
+     * @return the tricks won in every finished round, in round order
+     */
+    public List<Integer> getRoundTricks() {
+        return roundTricks;
+    }
+
+    /**
+     * Records the outcome of a finished round.
+     *
+     * @param prediction     the prediction of the round
+     * @param tricksWon      the tricks won in the round
+     * @param scoreThisRound the points of the round
+     */
+    public void addRoundResult(int prediction, int tricksWon, int scoreThisRound) {
+        roundPredictions.add(prediction);
+        roundTricks.add(tricksWon);
+        addRoundScore(scoreThisRound);
+    }
 }
@@ -3,11 +3,13 @@ package com.aau.wizard.model;
 import com.aau.wizard.model.enums.CardSuit;
 import com.aau.wizard.model.enums.CardType;
 
-import java.util.Objects;
-
 public class WizardCard extends AbstractSpecialCard {
     public WizardCard(CardSuit cardSuit) {
-        super(cardSuit);
+        super(cardSuit, cardSuit == CardSuit.SPECIAL ? (byte) CardTable.FIRST_WIZARD_ID : CardTable.NO_ID);
+    }
+
+    WizardCard(CardSuit cardSuit, byte id) {
+        super(cardSuit, id);
     }
 
     @Override
@@ -36,6 +38,6 @@ public class WizardCard extends AbstractSpecialCard {
 
     @Override
     public int hashCode() {
-        return Objects.hash(getClass());
+        return WizardCard.class.hashCode();
     }
 }
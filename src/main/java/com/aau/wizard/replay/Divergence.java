@@ -0,0 +1,40 @@
+package com.aau.wizard.replay;
+
+/**
+ * A difference between a recorded game and its replay.
+ *
+ * @param kind       what differs
+ * @param round      the round it differs in, starting at 1, or 0 if it concerns the whole game
+ * @param playerId   the player it concerns, or {@code null}
+ * @param recorded   the recorded value, for a rejected command the command
+ * @param recomputed the value of the replay, for a rejected command the reason it was rejected
+ */
+public record Divergence(Kind kind, int round, String playerId, String recorded, String recomputed) {
+
+    /**
+     * The kinds of divergence.
+     */
+    public enum Kind {
+        /** A recorded command was rejected by the rules on replay; the replay stops there. */
+        REJECTED_COMMAND,
+        /** A recorded player did not take part in the replayed game. */
+        MISSING_PLAYER,
+        ROUNDS_PLAYED,
+        PREDICTION,
+        TRICKS_WON,
+        ROUND_SCORE,
+        FINAL_SCORE
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder(kind.name());
+        if (round > 0) {
+            text.append(" in Runde ").append(round);
+        }
+        if (playerId != null) {
+            text.append(" bei ").append(playerId);
+        }
+        return text.append(": aufgezeichnet ").append(recorded).append(", nachgespielt ").append(recomputed).toString();
+    }
+}
@@ -0,0 +1,135 @@
+package com.aau.wizard.replay;
+
+import com.aau.wizard.archive.ArchivedGame;
+import com.aau.wizard.model.Game;
+import com.aau.wizard.model.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * What a game came to: every player's prediction, tricks won and points per round and their
+ * final score, either as recorded in the {@link com.aau.wizard.archive.GameArchive} or as
+ * recomputed by the {@link GameReplayer}.
+ *
+ * @param roundsPlayed number of scored rounds
+ * @param players      the players in seating order
+ */
+public record GameOutcome(int roundsPlayed, List<PlayerOutcome> players) {
+
+    /**
+     * The outcome for one player. The arrays hold one value per scored round; a prediction that
+     * was not recorded is -1.
+     */
+    public record PlayerOutcome(String playerId, int finalScore, int[] predictions, int[] tricksWon, int[] roundScores) {
+    }
+
+    /**
+     * @param game a game, usually an ended one
+     * @return the outcome of the game so far
+     */
+    public static GameOutcome of(Game game) {
+        List<Player> players = game.getPlayers();
+        int rounds = players.isEmpty() ? 0 : players.get(0).getRoundScores().size();
+        List<PlayerOutcome> outcomes = new ArrayList<>(players.size());
+        for (Player player : players) {
+            outcomes.add(new PlayerOutcome(player.getPlayerId(), player.getScore(),
+                    toArray(player.getRoundPredictions(), rounds, -1), toArray(player.getRoundTricks(), rounds, 0),
+                    toArray(player.getRoundScores(), rounds, 0)));
+        }
+        return new GameOutcome(rounds, outcomes);
+    }
+
+    /**
+     * @param game an archived game
+     * @return the recorded outcome of the game
+     */
+    public static GameOutcome of(ArchivedGame game) {
+        int rounds = game.getRoundsPlayed();
+        List<PlayerOutcome> outcomes = new ArrayList<>(game.getPlayerCount());
+        for (int player = 0; player < game.getPlayerCount(); player++) {
+            int[] predictions = new int[rounds];
+            int[] tricksWon = new int[rounds];
+            int[] roundScores = new int[rounds];
+            for (int round = 1; round <= rounds; round++) {
+                predictions[round - 1] = game.getPrediction(round, player);
+                tricksWon[round - 1] = game.getTricksWon(round, player);
+                roundScores[round - 1] = game.getRoundScore(round, player);
+            }
+            outcomes.add(new PlayerOutcome(game.getPlayerId(player), game.getFinalScore(player),
+                    predictions, tricksWon, roundScores));
+        }
+        return new GameOutcome(rounds, outcomes);
+    }
+
+    /**
+     * Compares this recorded outcome with a recomputed one. Players are matched by id, so a
+     * different seating order alone is no divergence.
+     *
+     * @param recomputed the outcome of the replay
+     * @return the differences, empty if the outcomes agree
+     */
+    public List<Divergence> compare(GameOutcome recomputed) {
+        List<Divergence> divergences = new ArrayList<>();
+        if (roundsPlayed != recomputed.roundsPlayed) {
+            divergences.add(new Divergence(Divergence.Kind.ROUNDS_PLAYED, 0, null,
+                    String.valueOf(roundsPlayed), String.valueOf(recomputed.roundsPlayed)));
+        }
+        int rounds = Math.min(roundsPlayed, recomputed.roundsPlayed);
+        for (PlayerOutcome expected : players) {
+            PlayerOutcome actual = recomputed.player(expected.playerId());
+            if (actual == null) {
+                divergences.add(new Divergence(Divergence.Kind.MISSING_PLAYER, 0, expected.playerId(),
+                        expected.playerId(), "-"));
+                continue;
+            }
+            for (int round = 0; round < rounds; round++) {
+                if (expected.predictions()[round] >= 0 && expected.predictions()[round] != actual.predictions()[round]) {
+                    divergences.add(divergence(Divergence.Kind.PREDICTION, round + 1, expected,
+                            expected.predictions()[round], actual.predictions()[round]));
+                }
+                if (expected.tricksWon()[round] != actual.tricksWon()[round]) {
+                    divergences.add(divergence(Divergence.Kind.TRICKS_WON, round + 1, expected,
+                            expected.tricksWon()[round], actual.tricksWon()[round]));
+                }
+                if (expected.roundScores()[round] != actual.roundScores()[round]) {
+                    divergences.add(divergence(Divergence.Kind.ROUND_SCORE, round + 1, expected,
+                            expected.roundScores()[round], actual.roundScores()[round]));
+                }
+            }
+            if (expected.finalScore() != actual.finalScore()) {
+                divergences.add(divergence(Divergence.Kind.FINAL_SCORE, 0, expected,
+                        expected.finalScore(), actual.finalScore()));
+            }
+        }
+        return divergences;
+    }
+
+    /**
+     * @return the outcome of the player with the given id, or {@code null}
+     */
+    public PlayerOutcome player(String playerId) {
+        for (PlayerOutcome player : players) {
+            if (player.playerId().equals(playerId)) {
+                return player;
+            }
+        }
+        return null;
+    }
+
+    private static Divergence divergence(Divergence.Kind kind, int round, PlayerOutcome player, int recorded, int recomputed) {
+        return new Divergence(kind, round, player.playerId(), String.valueOf(recorded), String.valueOf(recomputed));
+    }
+
+    /**
+     * Copies the last {@code rounds} values, filling rounds without a value (only in tests) from the front.
+     */
+    private static int[] toArray(List<Integer> values, int rounds, int missing) {
+        int[] array = new int[rounds];
+        int offset = rounds - values.size();
+        for (int i = 0; i < rounds; i++) {
+            array[i] = i < offset ? missing : values.get(i - offset);
+        }
+        return array;
+    }
+}
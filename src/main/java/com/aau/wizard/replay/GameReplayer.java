@@ -0,0 +1,183 @@
+package com.aau.wizard.replay;
+
+import com.aau.wizard.engine.DomainEvent;
+import com.aau.wizard.engine.DomainEventSink;
+import com.aau.wizard.engine.GameEngine;
+import com.aau.wizard.journal.GameEvent;
+import com.aau.wizard.model.CardTable;
+import com.aau.wizard.model.Game;
+import com.aau.wizard.model.ICard;
+import com.aau.wizard.model.Player;
+import com.aau.wizard.model.enums.CardSuit;
+import com.aau.wizard.model.enums.GameStatus;
+import com.aau.wizard.service.impl.RoundServiceImpl;
+import com.aau.wizard.util.Pair;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Replays recorded games without Spring, WebSockets or a registry and reports where the replay
+ * differs from the recording.
+ * <p>
+ * A game is rebuilt from its commands alone: players join in the recorded order, the recorded
+ * seed shuffles the seats and deals every round, and predictions, cards and round changes go
+ * through the same {@link GameEngine} as in the game service, with the same turn and prediction
+ * checks, but its events reach nobody except a {@link TrickListener}. A command the rules reject ends
+ * the replay of its game and is reported with the reason; afterwards the outcome of the replay is
+ * compared with the recorded one round by round.
+ * <p>
+ * A replay only touches its own game, so replays are thread-safe and {@link #replayAll(Collection)}
+ * runs them in parallel. The same recordings replayed after a change of the rules show whether the
+ * change altered any outcome.
+ */
+public final class GameReplayer {
+
+    /**
+     * Sees every trick of a replay, e.g. to show how a disputed trick was decided.
+     */
+    @FunctionalInterface
+    public interface TrickListener {
+        TrickListener NONE = (round, trick, cards, trumpSuit, winner) -> {
+        };
+
+        /**
+         * @param round     the round, starting at 1
+         * @param trick     the trick in the round, starting at 1
+         * @param cards     the cards in the order they were played
+         * @param trumpSuit the trump suit, {@code null} if there is none
+         * @param winner    the player who won the trick
+         */
+        void onTrick(int round, int trick, List<Pair<Player, ICard>> cards, CardSuit trumpSuit, Player winner);
+    }
+
+    /**
+     * Summary of replaying many games.
+     *
+     * @param games    number of replayed games
+     * @param commands number of applied commands
+     * @param nanos    duration of the whole replay
+     * @param diverged the results of the games that did not agree with their recording
+     */
+    public record Report(int games, long commands, long nanos, List<ReplayResult> diverged) {
+
+        public double gamesPerSecond() {
+            return nanos > 0 ? games * 1e9 / nanos : 0;
+        }
+    }
+
+    private final GameEngine engine;
+
+    public GameReplayer() {
+        this(TrickListener.NONE);
+    }
+
+    /**
+     * @param trickListener told about every trick of every replayed game
+     */
+    public GameReplayer(TrickListener trickListener) {
+        this.engine = new GameEngine(trickSink(trickListener));
+    }
+
+    /**
+     * Replays one game.
+     *
+     * @param recorded the recorded game
+     * @return the recomputed outcome and the differences to the recording
+     */
+    public ReplayResult replay(RecordedGame recorded) {
+        Table table = new Table(recorded.gameId());
+        List<Divergence> divergences = new ArrayList<>();
+        int applied = 0;
+        for (GameEvent command : recorded.commands()) {
+            try {
+                apply(table, command);
+            } catch (RuntimeException e) {
+                divergences.add(new Divergence(Divergence.Kind.REJECTED_COMMAND, table.game.getCurrentRound(),
+                        null, command.toString(), e.getClass().getSimpleName() + ": " + e.getMessage()));
+                break;
+            }
+            applied++;
+        }
+        GameOutcome recomputed = GameOutcome.of(table.game);
+        if (recorded.recorded() != null) {
+            divergences.addAll(recorded.recorded().compare(recomputed));
+        }
+        return new ReplayResult(recorded.gameId(), applied, recomputed, divergences);
+    }
+
+    /**
+     * Replays many games in parallel.
+     *
+     * @param games the recorded games
+     * @return how many games and commands were replayed and which games diverged
+     */
+    public Report replayAll(Collection<RecordedGame> games) {
+        long start = System.nanoTime();
+        List<ReplayResult> results = games.parallelStream().map(this::replay).toList();
+        long nanos = System.nanoTime() - start;
+        long commands = 0;
+        List<ReplayResult> diverged = new ArrayList<>();
+        for (ReplayResult result : results) {
+            commands += result.commands();
+            if (result.diverged()) {
+                diverged.add(result);
+            }
+        }
+        return new Report(results.size(), commands, nanos, diverged);
+    }
+
+    private void apply(Table table, GameEvent command) {
+        switch (command) {
+            case GameEvent.PlayerJoined joined -> join(table, joined.playerId(), joined.playerName());
+            case GameEvent.GameStarted started -> {
+                table.game.setSeed(started.seed());
+                table.round = engine.start(table.game);
+            }
+            case GameEvent.PredictionMade prediction ->
+                    engine.predict(table.game, prediction.playerId(), prediction.prediction());
+            case GameEvent.CardPlayed played -> engine.playCard(table.game, table.round, played.playerId(),
+                    CardTable.byId(played.cardId()), played.cheating());
+            case GameEvent.RoundProceeded proceeded -> engine.proceed(table.game, table.round);
+            case GameEvent.GameAborted aborted -> engine.abort(table.game);
+            case GameEvent.GameRemoved removed -> {
+                // only leaves memory, the game itself does not change
+            }
+        }
+    }
+
+    private void join(Table table, String playerId, String playerName) {
+        if (table.game.getStatus() == GameStatus.ENDED) {
+            table.game = new Game(table.game.getGameId());
+            table.round = null;
+        }
+        engine.join(table.game, playerId, playerName);
+    }
+
+    /**
+     * @return a sink passing the completed tricks to the listener
+     */
+    private static DomainEventSink trickSink(TrickListener listener) {
+        if (listener == TrickListener.NONE) {
+            return DomainEventSink.NONE;
+        }
+        return event -> {
+            if (event instanceof DomainEvent.TrickCompleted trick) {
+                listener.onTrick(trick.round(), trick.trick(), trick.cards(), trick.trumpSuit(), trick.winner());
+            }
+        };
+    }
+
+    /**
+     * The game being replayed with its round.
+     */
+    private static final class Table {
+        Game game;
+        RoundServiceImpl round;
+
+        Table(String gameId) {
+            this.game = new Game(gameId);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.aau.wizard.replay;
+
+import com.aau.wizard.journal.GameEvent;
+
+import java.util.List;
+
+/**
+ * One recorded game: the commands applied to it, from the first join to its end, and what it
+ * came to.
+ *
+ * @param gameId   the id of the game
+ * @param commands the applied commands in journal order, including the seed in {@link GameEvent.GameStarted}
+ * @param recorded the recorded outcome, or {@code null} if none is known
+ */
+public record RecordedGame(String gameId, List<GameEvent> commands, GameOutcome recorded) {
+}
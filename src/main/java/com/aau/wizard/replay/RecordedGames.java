@@ -0,0 +1,118 @@
+package com.aau.wizard.replay;
+
+import com.aau.wizard.archive.ArchivedGame;
+import com.aau.wizard.archive.GameArchive;
+import com.aau.wizard.journal.GameEvent;
+import com.aau.wizard.journal.GameJournalReader;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reads recorded games from a {@link com.aau.wizard.journal.GameJournal} directory.
+ * <p>
+ * The commands of the journal are split into games by id. A game id is used again once its game
+ * has ended, so a join after the last round or an abort starts the next game under that id, and
+ * an eviction ends the game as well. The recorded outcome of a game is taken from the
+ * {@link GameArchive}, which keeps the newest game per id; it is only used if it was dealt from
+ * the same seed, so older games under a reused id are replayed without an outcome to compare.
+ */
+public final class RecordedGames {
+
+    private RecordedGames() {
+    }
+
+    /**
+     * @param journalDirectory the directory of the journal segments
+     * @param archive          the archive with the recorded outcomes, {@link GameArchive#NONE} if there is none
+     * @return the recorded games in the order they were created
+     * @throws IOException if the journal cannot be read
+     */
+    public static List<RecordedGame> fromJournal(Path journalDirectory, GameArchive archive) throws IOException {
+        Map<String, Recording> open = new HashMap<>();
+        List<Recording> finished = new ArrayList<>();
+        GameJournalReader.read(journalDirectory, record -> {
+            GameEvent event = record.event();
+            Recording recording = open.get(event.gameId());
+            if (recording != null && recording.ended && event instanceof GameEvent.PlayerJoined) {
+                finished.add(open.remove(event.gameId()));
+                recording = null;
+            }
+            if (event instanceof GameEvent.GameRemoved) {
+                if (recording != null) {
+                    finished.add(open.remove(event.gameId()));
+                }
+                return;
+            }
+            if (recording == null) {
+                recording = new Recording(event.gameId(), record.sequence());
+                open.put(event.gameId(), recording);
+            }
+            recording.add(event);
+        });
+        finished.addAll(open.values());
+        finished.sort(Comparator.comparingLong(recording -> recording.firstSequence));
+
+        List<RecordedGame> games = new ArrayList<>(finished.size());
+        for (Recording recording : finished) {
+            games.add(new RecordedGame(recording.gameId, List.copyOf(recording.commands), recording.outcome(archive)));
+        }
+        return games;
+    }
+
+    /**
+     * The commands of one game while the journal is read, with just enough state to tell when the game ends.
+     */
+    private static final class Recording {
+        final String gameId;
+        final long firstSequence;
+        final List<GameEvent> commands = new ArrayList<>();
+        final Set<String> players = new HashSet<>();
+        boolean started;
+        long seed;
+        int maxRounds;
+        int roundsProceeded;
+        boolean ended;
+
+        Recording(String gameId, long firstSequence) {
+            this.gameId = gameId;
+            this.firstSequence = firstSequence;
+        }
+
+        void add(GameEvent event) {
+            commands.add(event);
+            switch (event) {
+                case GameEvent.PlayerJoined joined -> players.add(joined.playerId());
+                case GameEvent.GameStarted started -> {
+                    this.started = true;
+                    this.seed = started.seed();
+                    this.maxRounds = players.isEmpty() ? 0 : 60 / players.size();
+                }
+                case GameEvent.RoundProceeded proceeded -> {
+                    // the proceed after the last round ends the game
+                    if (started && ++roundsProceeded >= maxRounds) {
+                        ended = true;
+                    }
+                }
+                case GameEvent.GameAborted aborted -> ended = true;
+                default -> {
+                }
+            }
+        }
+
+        GameOutcome outcome(GameArchive archive) {
+            if (!started || !ended) {
+                return null;
+            }
+            ArchivedGame archived = archive.find(gameId);
+            return archived != null && archived.getSeed() == seed ? GameOutcome.of(archived) : null;
+        }
+    }
+}
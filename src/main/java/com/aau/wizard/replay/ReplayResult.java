@@ -0,0 +1,21 @@
+package com.aau.wizard.replay;
+
+import java.util.List;
+
+/**
+ * Result of replaying one {@link RecordedGame}.
+ *
+ * @param gameId      the id of the game
+ * @param commands    number of commands applied before the replay ended or a command was rejected
+ * @param recomputed  the outcome of the replay
+ * @param divergences the differences to the recording, empty if the replay agrees
+ */
+public record ReplayResult(String gameId, int commands, GameOutcome recomputed, List<Divergence> divergences) {
+
+    /**
+     * @return {@code true} if the replay does not agree with the recording
+     */
+    public boolean diverged() {
+        return !divergences.isEmpty();
+    }
+}
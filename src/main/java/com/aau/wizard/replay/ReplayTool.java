@@ -0,0 +1,82 @@
+package com.aau.wizard.replay;
+
+import com.aau.wizard.archive.GameArchive;
+import com.aau.wizard.archive.MappedGameArchive;
+import com.aau.wizard.model.ICard;
+import com.aau.wizard.model.Player;
+import com.aau.wizard.util.Pair;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Replays the journal of a server from the command line.
+ * <p>
+ * Usage: {@code ReplayTool <journal-directory> [archive-directory] [gameId]}. Without a game id all
+ * games of the journal are replayed and the games that differ from the archive are listed; with a
+ * game id only that game is replayed and every trick is printed.
+ */
+public final class ReplayTool {
+
+    private ReplayTool() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || args.length > 3) {
+            System.err.println("Aufruf: ReplayTool <Journal-Verzeichnis> [Archiv-Verzeichnis] [Spiel-ID]");
+            System.exit(2);
+        }
+        Path journalDirectory = Path.of(args[0]);
+        GameArchive archive = args.length > 1 && Files.isDirectory(Path.of(args[1]))
+                ? new MappedGameArchive(Path.of(args[1]), 1L << 28)
+                : GameArchive.NONE;
+        try (archive) {
+            List<RecordedGame> games = RecordedGames.fromJournal(journalDirectory, archive);
+            if (args.length == 3) {
+                replayOne(games, args[2]);
+            } else {
+                replayAll(games);
+            }
+        }
+    }
+
+    private static void replayAll(List<RecordedGame> games) {
+        GameReplayer.Report report = new GameReplayer().replayAll(games);
+        System.out.printf(Locale.ROOT, "%d Spiele mit %d Befehlen in %d ms nachgespielt (%.0f Spiele/s)%n",
+                report.games(), report.commands(), report.nanos() / 1_000_000, report.gamesPerSecond());
+        for (ReplayResult result : report.diverged()) {
+            System.out.println(result.gameId() + ":");
+            result.divergences().forEach(divergence -> System.out.println("  " + divergence));
+        }
+        System.out.println(report.diverged().isEmpty()
+                ? "Alle Spiele stimmen mit der Aufzeichnung überein."
+                : report.diverged().size() + " Spiele weichen von der Aufzeichnung ab.");
+    }
+
+    private static void replayOne(List<RecordedGame> games, String gameId) {
+        GameReplayer replayer = new GameReplayer((round, trick, cards, trumpSuit, winner) ->
+                System.out.printf("Runde %d, Stich %d (Trumpf %s): %s -> %s%n", round, trick,
+                        trumpSuit != null ? trumpSuit : "keiner", describe(cards), winner.getPlayerId()));
+        List<RecordedGame> matching = games.stream().filter(game -> game.gameId().equals(gameId)).toList();
+        if (matching.isEmpty()) {
+            System.out.println("Spiel " + gameId + " ist nicht im Journal.");
+            return;
+        }
+        for (RecordedGame game : matching) {
+            ReplayResult result = replayer.replay(game);
+            result.recomputed().players().forEach(player ->
+                    System.out.println(player.playerId() + ": " + player.finalScore() + " Punkte"));
+            result.divergences().forEach(System.out::println);
+        }
+    }
+
+    private static String describe(List<Pair<Player, ICard>> cards) {
+        return cards.stream()
+                .map(pair -> pair.first.getPlayerId() + " " + pair.second)
+                .collect(Collectors.joining(", "));
+    }
+}
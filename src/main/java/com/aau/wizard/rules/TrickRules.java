@@ -1,4 +1,5 @@
 package com.aau.wizard.rules;
+import com.aau.wizard.model.CardTable;
 import com.aau.wizard.model.ICard;
 import com.aau.wizard.model.Player;
 import com.aau.wizard.model.enums.CardSuit;
@@ -10,6 +11,10 @@ import java.util.List;
 
 
 public final class TrickRules {
+    /**
+     * Most cards a single trick can hold, one per player.
+     */
+    public static final int MAX_TRICK_SIZE = 6;
 
     private TrickRules() {
         //wird gebraucht...
@@ -66,6 +71,72 @@ public final class TrickRules {
         return winnerInfo.player;
     }
 
+    /**
+     * Allocation-free variant of {@link #determineTrickWinner(List, CardSuit)} working on card ids
+     * of the {@link CardTable}. Lead suit, wizard/jester precedence and trump are resolved in a
+     * single pass over the played cards, with the same tie rule as the list based variant: of
+     * equally ranked cards, the one played later wins.
+     *
+     * @param cardIds       ids of the played cards in play order; only the first {@code count} are read
+     * @param count         number of played cards
+     * @param trumpCardSuit the trump suit, or {@code null} if there is none
+     * @return the position of the winning card within {@code cardIds}
+     * @throws IllegalArgumentException if no card has been played
+     */
+    public static int determineTrickWinnerIndex(byte[] cardIds, int count, CardSuit trumpCardSuit) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("No cards played");
+        }
+        int trumpSuit = trumpCardSuit == null ? -1 : trumpCardSuit.ordinal();
+        int leadSuit = -1;
+        boolean leadResolved = false;
+        int winner = -1;
+        int bestScore = Integer.MIN_VALUE;
+
+        for (int i = 0; i < count; i++) {
+            int id = cardIds[i];
+            int score;
+            if (id >= CardTable.FIRST_JESTER_ID) {
+                score = Integer.MIN_VALUE;
+            } else if (id >= CardTable.FIRST_WIZARD_ID) {
+                leadResolved = true; // ein Zauberer vor der ersten Zahlenkarte: keine Farbe zu bedienen
+                score = Integer.MAX_VALUE;
+            } else {
+                int suit = id / CardTable.VALUES_PER_SUIT;
+                int value = id % CardTable.VALUES_PER_SUIT + 1;
+                if (!leadResolved) {
+                    leadSuit = suit;
+                    leadResolved = true;
+                }
+                if (suit == trumpSuit) {
+                    score = 1000 + value;
+                } else if (suit == leadSuit) {
+                    score = 100 + value;
+                } else {
+                    score = 0;
+                }
+            }
+            if (score >= bestScore) {
+                bestScore = score;
+                winner = i;
+            }
+        }
+        return winner;
+    }
+
+    /**
+     * Seat based variant of {@link #determineTrickWinnerIndex(byte[], int, CardSuit)}.
+     *
+     * @param seats         seat index of the player who played each card, parallel to {@code cardIds}
+     * @param cardIds       ids of the played cards in play order
+     * @param count         number of played cards
+     * @param trumpCardSuit the trump suit, or {@code null} if there is none
+     * @return the seat of the player who won the trick
+     */
+    public static int determineTrickWinnerSeat(int[] seats, byte[] cardIds, int count, CardSuit trumpCardSuit) {
+        return seats[determineTrickWinnerIndex(cardIds, count, trumpCardSuit)];
+    }
+
     public static boolean isValidPlay(Player player, ICard card, List<Pair<Player, ICard>> currentTrick, CardSuit trumpCardSuit, boolean isCheating) {
         if (isCheating) {
             return true;
@@ -79,8 +150,8 @@ public final class TrickRules {
         }
 
         CardSuit leadCardSuit = currentTrick.get(0).second.getSuit();
-        boolean hasLeadSuit = player.getHandCards().stream().anyMatch(c -> c.getSuit() == leadCardSuit);
-        boolean hasTrumpSuitInHand = player.getHandCards().stream().anyMatch(c -> c.getSuit() == trumpCardSuit);
+        boolean hasLeadSuit = player.getHandCards().hasSuit(leadCardSuit);
+        boolean hasTrumpSuitInHand = player.getHandCards().hasSuit(trumpCardSuit);
 
         boolean isValid;
 
@@ -0,0 +1,44 @@
+package com.aau.wizard.service.impl;
+
+import com.aau.wizard.archive.GameArchive;
+import com.aau.wizard.model.Game;
+import com.aau.wizard.model.enums.GameStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes every game to the {@link GameArchive} once it has ended, by playing all rounds or by
+ * {@code abortGame}. Games aborted in the lobby have nothing worth keeping and are skipped.
+ * <p>
+ * The game is archived after the command that ended it, on the thread that applied the command.
+ * An ended game does not change anymore, a new game under the same id gets a new entry.
+ */
+@Component
+public class GameArchiver implements GameRegistry.Listener {
+    private static final Logger logger = LoggerFactory.getLogger(GameArchiver.class);
+
+    private final GameArchive archive;
+
+    public GameArchiver(GameRegistry registry, GameArchive archive) {
+        this.archive = archive;
+        registry.addListener(this);
+    }
+
+    @Override
+    public void onActivity(GameRegistry.Entry entry) {
+        Game game = entry.getGame();
+        if (game.getStatus() != GameStatus.ENDED || entry.archived) {
+            return;
+        }
+        entry.archived = true;
+        if (game.getCurrentRound() < 1) {
+            return;
+        }
+        try {
+            archive.append(game);
+        } catch (RuntimeException e) {
+            logger.error("Spiel {} konnte nicht archiviert werden", game.getGameId(), e);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.aau.wizard.service.impl;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Applies client commands to games through their {@link GameMailbox}.
+ * <p>
+ * Commands are enqueued on the calling thread (usually a STOMP inbound thread), which returns
+ * immediately. Each mailbox is drained by at most one worker at a time, so all commands of a
+ * table are applied in arrival order by a single writer, while different tables are drained
+ * in parallel by the shared worker pool.
+ * <p>
+ * Every applied command counts as activity of its game in the {@link GameRegistry}.
+ */
+@Component
+public class GameCommandDispatcher {
+    /**
+     * Maximum number of commands applied per drain before the worker is handed back to the pool,
+     * so a single busy table cannot starve the others.
+     */
+    private static final int MAX_COMMANDS_PER_DRAIN = 64;
+
+    private static final Logger logger = LoggerFactory.getLogger(GameCommandDispatcher.class);
+
+    private final GameRegistry registry;
+    private final Executor executor;
+    private final MailboxMetrics metrics = new MailboxMetrics();
+
+    @Autowired
+    public GameCommandDispatcher(GameRegistry registry) {
+        this(registry, createWorkerPool());
+    }
+
+    public GameCommandDispatcher(GameRegistry registry, Executor executor) {
+        this.registry = registry;
+        this.executor = executor;
+    }
+
+    /**
+     * Enqueues a command for an existing game.
+     * <p>
+     * If no game with that id exists and no join of it is queued, the command runs directly on the
+     * calling thread, since it will only be rejected by the service and there is no table whose
+     * order must be kept.
+     *
+     * @param gameId  the game the command belongs to
+     * @param command the command to apply
+     */
+    public void dispatch(String gameId, Runnable command) {
+        GameMailbox mailbox = gameId == null ? null : registry.offerIfPresent(gameId, applied(gameId, command));
+        if (mailbox == null) {
+            apply(new GameMailbox.Command(command, System.nanoTime()));
+            return;
+        }
+        scheduleIfIdle(mailbox);
+    }
+
+    /**
+     * Enqueues a join command in the mailbox of the game id, also if the game does not exist yet,
+     * so that concurrent joins of a new table already go through the same mailbox. The game is
+     * created by the command, not on the calling thread.
+     *
+     * @param gameId  the game to join
+     * @param command the join command
+     */
+    public void dispatchJoin(String gameId, Runnable command) {
+        if (gameId == null) {
+            apply(new GameMailbox.Command(command, System.nanoTime()));
+            return;
+        }
+        enqueue(gameId, command);
+    }
+
+    /**
+     * Enqueues housekeeping work for a game, e.g. an eviction check, so it is applied in order
+     * with the game's commands. Unlike a command it does not count as activity of the game.
+     *
+     * @param entry the entry whose mailbox runs the task
+     * @param task  the task to run
+     */
+    public void dispatchHousekeeping(GameRegistry.Entry entry, Runnable task) {
+        GameMailbox mailbox = entry.getMailbox();
+        mailbox.offer(task);
+        scheduleIfIdle(mailbox);
+    }
+
+    /**
+     * @return queue wait and apply time counters of all mailboxes
+     */
+    public MailboxMetrics getMetrics() {
+        return metrics;
+    }
+
+    private void enqueue(String gameId, Runnable command) {
+        scheduleIfIdle(registry.offer(gameId, applied(gameId, command)));
+    }
+
+    /**
+     * @return the command followed by recording the activity of its game
+     */
+    private Runnable applied(String gameId, Runnable command) {
+        return () -> {
+            try {
+                command.run();
+            } finally {
+                // the command may have created, replaced or removed the game
+                GameRegistry.Entry entry = registry.get(gameId);
+                if (entry != null) {
+                    registry.touch(entry);
+                } else {
+                    registry.releaseMailbox(gameId);
+                }
+            }
+        };
+    }
+
+    private void scheduleIfIdle(GameMailbox mailbox) {
+        if (mailbox.tryClaim()) {
+            executor.execute(() -> drain(mailbox));
+        }
+    }
+
+    private void drain(GameMailbox mailbox) {
+        int applied = 0;
+        GameMailbox.Command command;
+        while (applied < MAX_COMMANDS_PER_DRAIN && (command = mailbox.poll()) != null) {
+            apply(command);
+            applied++;
+        }
+        mailbox.release();
+        // a command may have arrived between the last poll and the release
+        if (!mailbox.isEmpty()) {
+            scheduleIfIdle(mailbox);
+        }
+    }
+
+    private void apply(GameMailbox.Command command) {
+        long start = System.nanoTime();
+        try {
+            command.action().run();
+        } catch (RuntimeException e) {
+            metrics.recordFailure();
+            logger.error("Unhandled error while applying game command", e);
+        } finally {
+            metrics.record(start - command.enqueuedAtNanos(), System.nanoTime() - start);
+        }
+    }
+
+    private static ExecutorService createWorkerPool() {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "game-mailbox-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), threadFactory);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdown();
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.aau.wizard.service.impl;
+
+import com.aau.wizard.journal.GameEvent;
+import com.aau.wizard.journal.GameJournal;
+import com.aau.wizard.model.Game;
+import com.aau.wizard.model.Player;
+import com.aau.wizard.model.enums.GameStatus;
+import com.aau.wizard.service.impl.GameLifecycleMetrics.EvictionReason;
+import com.aau.wizard.util.HashedTimingWheel;
+import com.google.common.annotations.VisibleForTesting;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evicts games from the {@link GameRegistry} that nobody plays anymore, so ended, aborted and
+ * abandoned tables do not keep their game, round service and deck on the heap forever.
+ * <p>
+ * Every game has exactly one eviction check pending on the shared {@link HashedTimingWheel}. The
+ * registry only stamps the time of the last command on the entry, which costs a volatile write
+ * per command and no timer operation. When the check fires it compares the idle time with the TTL
+ * of the game's current status: if the TTL has passed the game is removed, otherwise the check is
+ * rescheduled for the remaining time. The only exception is the transition to
+ * {@link GameStatus#ENDED} (also by {@code abortGame}), which replaces the pending check once, so
+ * finished games go away after the shorter ended TTL. Evictions are recorded in the
+ * {@link GameJournal}, so recovery does not bring evicted games back.
+ * <p>
+ * The timer thread only hands a due check to the game's mailbox via the
+ * {@link GameCommandDispatcher}, so evictions are ordered with the commands of the table and a
+ * game is never removed while one of its commands is being applied.
+ * <p>
+ * TTLs are configured with ISO-8601 durations:
+ * <ul>
+ *     <li>{@code wizard.games.ended-ttl} – ended or aborted games, default 2 minutes</li>
+ *     <li>{@code wizard.games.lobby-idle-ttl} – lobbies without a join, default 30 minutes</li>
+ *     <li>{@code wizard.games.playing-idle-ttl} – started games without a move, default 30 minutes</li>
+ * </ul>
+ */
+@Component
+public class GameLifecycleManager implements GameRegistry.Listener {
+    // rough heap footprint on a 64 bit JVM with compressed oops, see estimateRetainedBytes
+    private static final long GAME_BASE_BYTES = 1_024;
+    private static final long PLAYER_BASE_BYTES = 160;
+    private static final long STRING_BASE_BYTES = 40;
+    private static final long ROUND_SCORE_BYTES = 20;
+
+    private static final Logger logger = LoggerFactory.getLogger(GameLifecycleManager.class);
+
+    private final GameRegistry registry;
+    private final HashedTimingWheel timer;
+    private final GameCommandDispatcher dispatcher;
+    private final long endedTtlNanos;
+    private final long lobbyIdleTtlNanos;
+    private final long playingIdleTtlNanos;
+    private final GameJournal journal;
+    private final GameLifecycleMetrics metrics = new GameLifecycleMetrics();
+
+    public GameLifecycleManager(GameRegistry registry, HashedTimingWheel timer, GameCommandDispatcher dispatcher,
+                                Duration endedTtl, Duration lobbyIdleTtl, Duration playingIdleTtl) {
+        this(registry, timer, dispatcher, GameJournal.NONE, endedTtl, lobbyIdleTtl, playingIdleTtl);
+    }
+
+    @Autowired
+    public GameLifecycleManager(GameRegistry registry, HashedTimingWheel timer, GameCommandDispatcher dispatcher,
+                                GameJournal journal,
+                                @Value("${wizard.games.ended-ttl:PT2M}") Duration endedTtl,
+                                @Value("${wizard.games.lobby-idle-ttl:PT30M}") Duration lobbyIdleTtl,
+                                @Value("${wizard.games.playing-idle-ttl:PT30M}") Duration playingIdleTtl) {
+        this.registry = registry;
+        this.timer = timer;
+        this.dispatcher = dispatcher;
+        this.journal = journal != null ? journal : GameJournal.NONE;
+        this.endedTtlNanos = endedTtl.toNanos();
+        this.lobbyIdleTtlNanos = lobbyIdleTtl.toNanos();
+        this.playingIdleTtlNanos = playingIdleTtl.toNanos();
+        registry.addListener(this);
+        // games registered before the listener was set would otherwise never be checked
+        for (GameRegistry.Entry entry : registry.entries()) {
+            onCreated(entry);
+        }
+    }
+
+    @Override
+    public void onCreated(GameRegistry.Entry entry) {
+        metrics.recordLiveGames(registry.size());
+        scheduleCheck(entry, ttlNanos(entry.getGame().getStatus()));
+    }
+
+    @Override
+    public void onActivity(GameRegistry.Entry entry) {
+        if (entry.getGame().getStatus() == GameStatus.ENDED && !entry.endedEvictionScheduled
+                && registry.get(entry.getGame().getGameId()) == entry) {
+            entry.endedEvictionScheduled = true;
+            scheduleCheck(entry, endedTtlNanos);
+        }
+    }
+
+    @Override
+    public void onRemoved(GameRegistry.Entry entry) {
+        metrics.recordLiveGames(registry.size());
+        synchronized (entry) {
+            if (entry.evictionTimeout != null) {
+                entry.evictionTimeout.cancel();
+                entry.evictionTimeout = null;
+            }
+        }
+    }
+
+    /**
+     * @return live game and eviction counters
+     */
+    public GameLifecycleMetrics getMetrics() {
+        metrics.recordLiveGames(registry.size());
+        return metrics;
+    }
+
+    private void scheduleCheck(GameRegistry.Entry entry, long delayNanos) {
+        synchronized (entry) {
+            if (entry.evictionTimeout != null) {
+                entry.evictionTimeout.cancel();
+            }
+            entry.evictionTimeout = timer.schedule(() -> expire(entry), delayNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Runs on the timer thread and only hands the check to the game's mailbox.
+     */
+    private void expire(GameRegistry.Entry entry) {
+        dispatcher.dispatchHousekeeping(entry, () -> check(entry));
+    }
+
+    /**
+     * Evicts the game if it has been idle for longer than the TTL of its status, otherwise checks
+     * again once the rest of the TTL has passed.
+     * <p>
+     * <strong>Visible for testing only.</strong> Checks are run by the mailbox of their game.
+     */
+    @VisibleForTesting
+    public void check(GameRegistry.Entry entry) {
+        Game game = entry.getGame();
+        registry.withLock(game.getGameId(), () -> {
+            if (registry.get(game.getGameId()) != entry) {
+                return; // removed or replaced in the meantime
+            }
+            GameStatus status = game.getStatus();
+            long idleNanos = System.nanoTime() - entry.getLastActivityNanos();
+            long ttlNanos = ttlNanos(status);
+            if (idleNanos < ttlNanos) {
+                scheduleCheck(entry, ttlNanos - idleNanos);
+                return;
+            }
+            if (registry.remove(entry)) {
+                journal.append(new GameEvent.GameRemoved(game.getGameId()));
+                EvictionReason reason = reasonFor(status);
+                metrics.recordEviction(reason, estimateRetainedBytes(entry));
+                logger.info("Spiel {} nach {} ms ohne Aktivität entfernt ({})", game.getGameId(),
+                        TimeUnit.NANOSECONDS.toMillis(idleNanos), reason);
+            }
+        });
+    }
+
+    private long ttlNanos(GameStatus status) {
+        if (status == null || status == GameStatus.LOBBY) {
+            return lobbyIdleTtlNanos;
+        }
+        return status == GameStatus.ENDED ? endedTtlNanos : playingIdleTtlNanos;
+    }
+
+    private static EvictionReason reasonFor(GameStatus status) {
+        if (status == null || status == GameStatus.LOBBY) {
+            return EvictionReason.IDLE_LOBBY;
+        }
+        return status == GameStatus.ENDED ? EvictionReason.ENDED : EvictionReason.IDLE_PLAYING;
+    }
+
+    /**
+     * Estimates the heap retained by an entry: a fixed share for the entry, game, mailbox, round
+     * service and deck, plus every player with its strings and round scores. It is meant to show
+     * the order of magnitude freed by evictions, not to be exact.
+     *
+     * @param entry the entry to estimate
+     * @return the estimated size in bytes
+     */
+    static long estimateRetainedBytes(GameRegistry.Entry entry) {
+        long bytes = GAME_BASE_BYTES;
+        List<Player> players = entry.getGame().getPlayers();
+        for (Player player : players) {
+            bytes += PLAYER_BASE_BYTES
+                    + stringBytes(player.getPlayerId())
+                    + stringBytes(player.getName())
+                    + (long) player.getRoundScores().size() * ROUND_SCORE_BYTES;
+        }
+        return bytes;
+    }
+
+    private static long stringBytes(String value) {
+        return value == null ? 0 : STRING_BASE_BYTES + value.length();
+    }
+}
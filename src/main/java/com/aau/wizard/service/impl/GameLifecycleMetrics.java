@@ -0,0 +1,81 @@
+package com.aau.wizard.service.impl;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of the {@link GameLifecycleManager}: how many games are registered and how many were
+ * evicted for which reason, together with an estimate of the heap that was freed.
+ */
+public class GameLifecycleMetrics {
+
+    /**
+     * Why a game was evicted.
+     */
+    public enum EvictionReason {
+        /** The game ended or was aborted and nobody joined it again. */
+        ENDED,
+        /** The lobby was never started. */
+        IDLE_LOBBY,
+        /** A started game received no commands anymore. */
+        IDLE_PLAYING
+    }
+
+    private final LongAdder[] evictions = new LongAdder[EvictionReason.values().length];
+    private final LongAdder reclaimedBytes = new LongAdder();
+    private final LongAccumulator peakLiveGames = new LongAccumulator(Math::max, 0);
+    private volatile int liveGames;
+
+    GameLifecycleMetrics() {
+        for (int i = 0; i < evictions.length; i++) {
+            evictions[i] = new LongAdder();
+        }
+    }
+
+    void recordLiveGames(int games) {
+        liveGames = games;
+        peakLiveGames.accumulate(games);
+    }
+
+    void recordEviction(EvictionReason reason, long estimatedBytes) {
+        evictions[reason.ordinal()].increment();
+        reclaimedBytes.add(estimatedBytes);
+    }
+
+    public int getLiveGames() {
+        return liveGames;
+    }
+
+    public long getPeakLiveGames() {
+        return peakLiveGames.get();
+    }
+
+    public long getEvictionCount(EvictionReason reason) {
+        return evictions[reason.ordinal()].sum();
+    }
+
+    public long getEvictionCount() {
+        long total = 0;
+        for (LongAdder adder : evictions) {
+            total += adder.sum();
+        }
+        return total;
+    }
+
+    /**
+     * @return the estimated heap retained by all evicted games, see {@link GameLifecycleManager#estimateRetainedBytes}
+     */
+    public long getReclaimedBytes() {
+        return reclaimedBytes.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "GameLifecycleMetrics{liveGames=" + getLiveGames()
+                + ", peakLiveGames=" + getPeakLiveGames()
+                + ", evictedEnded=" + getEvictionCount(EvictionReason.ENDED)
+                + ", evictedIdleLobby=" + getEvictionCount(EvictionReason.IDLE_LOBBY)
+                + ", evictedIdlePlaying=" + getEvictionCount(EvictionReason.IDLE_PLAYING)
+                + ", reclaimedBytes=" + getReclaimedBytes() + "}";
+    }
+}
@@ -0,0 +1,53 @@
+package com.aau.wizard.service.impl;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Queue of pending commands for a single game.
+ * <p>
+ * Any thread may enqueue, but only the thread that successfully {@linkplain #tryClaim() claims}
+ * the mailbox drains it. The {@link GameCommandDispatcher} uses this to apply all commands of a
+ * table in arrival order on exactly one worker at a time.
+ */
+public class GameMailbox {
+    private final Queue<Command> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean claimed = new AtomicBoolean();
+
+    void offer(Runnable action) {
+        queue.offer(new Command(action, System.nanoTime()));
+    }
+
+    Command poll() {
+        return queue.poll();
+    }
+
+    /**
+     * @return {@code true} if the caller is now the single drainer of this mailbox
+     */
+    boolean tryClaim() {
+        return claimed.compareAndSet(false, true);
+    }
+
+    void release() {
+        claimed.set(false);
+    }
+
+    boolean isEmpty() {
+        return queue.isEmpty();
+    }
+
+    /**
+     * @return the number of commands waiting to be applied
+     */
+    public int size() {
+        return queue.size();
+    }
+
+    /**
+     * A queued command together with the time it was enqueued, used for the queue wait metric.
+     */
+    record Command(Runnable action, long enqueuedAtNanos) {
+    }
+}
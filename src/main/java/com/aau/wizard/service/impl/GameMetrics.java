@@ -0,0 +1,183 @@
+package com.aau.wizard.service.impl;
+
+import com.aau.wizard.GameExceptions;
+import com.aau.wizard.engine.DomainEvent;
+import com.aau.wizard.engine.DomainEventSink;
+import com.aau.wizard.model.Game;
+
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of the play path: how long the commands of the games take, how many moves are made
+ * and rejected and to how many players the state changes are broadcast.
+ * <p>
+ * Recording only adds to striped counters, it neither allocates nor blocks, so it is done under
+ * the game's lock. The counters only grow; rates such as moves per second are derived from them
+ * by whoever reads them, e.g. Prometheus through the {@link com.aau.wizard.config.MetricsConfig}.
+ * <p>
+ * Its {@link #eventSink() event sink}, behind the sink of the game engine, counts the moves and
+ * the recipients of every command.
+ */
+public class GameMetrics {
+
+    /**
+     * What is timed.
+     */
+    public enum Operation {
+        /** {@link GameServiceImpl#startGame(String)}, dealing the first round. */
+        START_GAME,
+        /** {@link GameServiceImpl#makePrediction(com.aau.wizard.dto.request.PredictionRequest)}. */
+        MAKE_PREDICTION,
+        /** {@link GameServiceImpl#playCard(com.aau.wizard.dto.request.GameRequest)}, including the end of a trick or round. */
+        PLAY_CARD,
+        /** {@link RoundServiceImpl#endRound()}, scoring a round. */
+        END_ROUND
+    }
+
+    private final LongAdder[] operations = new LongAdder[Operation.values().length];
+    private final LongAdder[] operationNanos = new LongAdder[Operation.values().length];
+    private final LongAccumulator[] maxOperationNanos = new LongAccumulator[Operation.values().length];
+    private final LongAdder moves = new LongAdder();
+    private final Map<Class<?>, LongAdder> rejectedMoves;
+    private final LongAdder broadcasts = new LongAdder();
+    private final LongAdder broadcastRecipients = new LongAdder();
+    private final LongAccumulator maxBroadcastRecipients = new LongAccumulator(Math::max, 0);
+    private final DomainEventSink eventSink = new DomainEventSink() {
+        @Override
+        public void publish(DomainEvent event) {
+            recordEvent(event);
+        }
+
+        @Override
+        public void flush(Game game) {
+            recordBroadcast(game);
+        }
+    };
+
+    public GameMetrics() {
+        for (int i = 0; i < operations.length; i++) {
+            operations[i] = new LongAdder();
+            operationNanos[i] = new LongAdder();
+            maxOperationNanos[i] = new LongAccumulator(Math::max, 0);
+        }
+        // one counter per exception of the rules, any other exception is counted as RuntimeException
+        Map<Class<?>, LongAdder> rejected = new HashMap<>();
+        for (Class<?> type : GameExceptions.class.getDeclaredClasses()) {
+            if (RuntimeException.class.isAssignableFrom(type) && !Modifier.isAbstract(type.getModifiers())) {
+                rejected.put(type, new LongAdder());
+            }
+        }
+        rejected.put(RuntimeException.class, new LongAdder());
+        this.rejectedMoves = Map.copyOf(rejected);
+    }
+
+    /**
+     * @param operation the operation that completed
+     * @param nanos     how long it took
+     */
+    public void record(Operation operation, long nanos) {
+        int i = operation.ordinal();
+        operations[i].increment();
+        operationNanos[i].add(nanos);
+        maxOperationNanos[i].accumulate(nanos);
+    }
+
+    /**
+     * Counts a prediction or card the game did not accept.
+     *
+     * @param e the exception the move failed with
+     */
+    public void recordRejectedMove(Exception e) {
+        LongAdder counter = rejectedMoves.get(e.getClass());
+        (counter != null ? counter : rejectedMoves.get(RuntimeException.class)).increment();
+    }
+
+    /**
+     * @return the sink counting the moves and broadcast recipients of the events it receives
+     */
+    public DomainEventSink eventSink() {
+        return eventSink;
+    }
+
+    /**
+     * Counts predictions and played cards.
+     */
+    private void recordEvent(DomainEvent event) {
+        if (event instanceof DomainEvent.PredictionMade || event instanceof DomainEvent.CardPlayed
+                || event instanceof DomainEvent.TrickCompleted) {
+            moves.increment();
+        }
+    }
+
+    /**
+     * Counts the players the changes of a command are broadcast to.
+     */
+    private void recordBroadcast(Game game) {
+        int recipients = game.getPlayers().size();
+        broadcasts.increment();
+        broadcastRecipients.add(recipients);
+        maxBroadcastRecipients.accumulate(recipients);
+    }
+
+    public long getCount(Operation operation) {
+        return operations[operation.ordinal()].sum();
+    }
+
+    public long getTotalNanos(Operation operation) {
+        return operationNanos[operation.ordinal()].sum();
+    }
+
+    public long getMaxNanos(Operation operation) {
+        return maxOperationNanos[operation.ordinal()].get();
+    }
+
+    public long getMoveCount() {
+        return moves.sum();
+    }
+
+    /**
+     * @return the exception types rejected moves are counted by
+     */
+    public Set<Class<?>> getRejectionTypes() {
+        return rejectedMoves.keySet();
+    }
+
+    /**
+     * @param type one of the {@link #getRejectionTypes() rejection types}
+     * @return how many moves were rejected with that type
+     */
+    public long getRejectedMoveCount(Class<?> type) {
+        LongAdder counter = rejectedMoves.get(type);
+        return counter != null ? counter.sum() : 0;
+    }
+
+    public long getBroadcastCount() {
+        return broadcasts.sum();
+    }
+
+    public long getBroadcastRecipientCount() {
+        return broadcastRecipients.sum();
+    }
+
+    public long getMaxBroadcastRecipients() {
+        return maxBroadcastRecipients.get();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("GameMetrics{");
+        for (Operation operation : Operation.values()) {
+            long count = getCount(operation);
+            sb.append(operation).append("=").append(count)
+                    .append("/avgNanos=").append(count == 0 ? 0 : getTotalNanos(operation) / count).append(", ");
+        }
+        return sb.append("moves=").append(getMoveCount())
+                .append(", broadcasts=").append(getBroadcastCount())
+                .append(", broadcastRecipients=").append(getBroadcastRecipientCount()).append("}").toString();
+    }
+}
@@ -0,0 +1,312 @@
+package com.aau.wizard.service.impl;
+
+import com.aau.wizard.dto.request.GameRequest;
+import com.aau.wizard.dto.request.PredictionRequest;
+import com.aau.wizard.engine.DomainEventSink;
+import com.aau.wizard.journal.GameEvent;
+import com.aau.wizard.journal.GameJournal;
+import com.aau.wizard.journal.GameJournalReader;
+import com.aau.wizard.journal.GameSnapshotCodec;
+import com.aau.wizard.journal.SnapshotStore;
+import com.aau.wizard.model.CardTable;
+import com.aau.wizard.model.Game;
+import com.aau.wizard.model.enums.GameStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.converter.SimpleMessageConverter;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Brings the running games back after a restart and takes the periodic snapshots that keep this fast.
+ * <p>
+ * At startup, before the server accepts connections, the newest snapshot of the {@link SnapshotStore}
+ * is loaded and the journal is read from the sequence number the snapshot was started at. The
+ * events are grouped by game and every game is rebuilt on its own, in parallel: games from the
+ * snapshot are restored with their deck, trump, current trick and prediction order and only their
+ * later events are applied, all other games are replayed from their first event. The events are
+ * applied through a {@link GameServiceImpl} of its own whose engine publishes to
+ * {@link DomainEventSink#NONE} and that records nothing, so the rules run exactly as they did when
+ * the commands were first applied. Games that are not ended afterwards are registered in the
+ * {@link GameRegistry} as they are, and their turn timers and eviction checks start anew.
+ * <p>
+ * A snapshot encodes every running game under its lock together with the journal sequence number
+ * at that moment. The journal is flushed before the snapshot file is written, so a snapshot never
+ * contains a state the journal on disk could not continue from.
+ * <p>
+ * Recovery only runs with {@code wizard.journal.enabled}. Snapshots are taken every
+ * {@code wizard.journal.snapshot-interval} (ISO-8601, default 5 minutes, {@code PT0S} disables
+ * them) and once more on shutdown.
+ */
+@Component
+public class GameRecoveryService implements SmartInitializingSingleton, DisposableBean {
+    private static final int RETAINED_SNAPSHOTS = 2;
+
+    private static final Logger logger = LoggerFactory.getLogger(GameRecoveryService.class);
+
+    private final GameRegistry registry;
+    private final GameJournal journal;
+    private final GameMetrics metrics;
+    private final boolean enabled;
+    private final Path journalDirectory;
+    private final SnapshotStore snapshots;
+    private final long snapshotIntervalNanos;
+    private ScheduledExecutorService scheduler;
+    private volatile RecoveryResult lastRecovery;
+
+    /**
+     * @param metrics given to the round services of the recovered games
+     */
+    public GameRecoveryService(GameRegistry registry, GameJournal journal, GameMetrics metrics,
+                               @Value("${wizard.journal.enabled:false}") boolean enabled,
+                               @Value("${wizard.journal.directory:data/journal}") Path journalDirectory,
+                               @Value("${wizard.journal.snapshot-interval:PT5M}") Duration snapshotInterval) {
+        this.registry = registry;
+        this.journal = journal;
+        this.metrics = metrics;
+        this.enabled = enabled;
+        this.journalDirectory = journalDirectory;
+        this.snapshots = new SnapshotStore(journalDirectory, RETAINED_SNAPSHOTS);
+        this.snapshotIntervalNanos = snapshotInterval.toNanos();
+    }
+
+    /**
+     * Outcome of a recovery.
+     *
+     * @param games            number of games registered again
+     * @param snapshotSequence journal sequence number of the snapshot used, 0 without snapshot
+     * @param snapshotGames    number of games restored from the snapshot
+     * @param journalRecords   number of journal records read after the snapshot
+     * @param skippedEvents    events of games that had already ended or been removed at the snapshot
+     * @param failedEvents     events the rules rejected on replay, which means the state diverged
+     * @param nanos            duration of the whole recovery
+     */
+    public record RecoveryResult(int games, long snapshotSequence, int snapshotGames, long journalRecords,
+                                 long skippedEvents, long failedEvents, long nanos) {
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            recover();
+        } catch (IOException e) {
+            throw new IllegalStateException("Spiele konnten nicht aus " + journalDirectory + " wiederhergestellt werden", e);
+        }
+        if (snapshotIntervalNanos > 0) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "game-snapshot");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(this::snapshotQuietly, snapshotIntervalNanos, snapshotIntervalNanos,
+                    TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Stops the periodic snapshots and takes a last one, so the next start replays hardly anything.
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        if (!enabled) {
+            return;
+        }
+        if (scheduler != null) {
+            scheduler.shutdown();
+            scheduler.awaitTermination(1, TimeUnit.MINUTES);
+        }
+        snapshotQuietly();
+    }
+
+    /**
+     * @return the result of the recovery at startup, or {@code null} if none ran
+     */
+    public RecoveryResult getLastRecovery() {
+        return lastRecovery;
+    }
+
+    /**
+     * Rebuilds all games from the newest snapshot and the journal and registers those that are not ended.
+     *
+     * @return what was recovered
+     * @throws IOException if the snapshot or the journal cannot be read
+     */
+    public RecoveryResult recover() throws IOException {
+        long start = System.nanoTime();
+        GameRegistry staging = new GameRegistry();
+        GameServiceImpl replayService = new GameServiceImpl(silentTemplate(), staging, GameJournal.NONE,
+                DomainEventSink.NONE);
+
+        Map<String, GameReplay> replays = new HashMap<>();
+        Optional<SnapshotStore.Snapshot> snapshot = snapshots.latest();
+        long snapshotSequence = snapshot.map(SnapshotStore.Snapshot::sequence).orElse(0L);
+        for (byte[] encoded : snapshot.map(SnapshotStore.Snapshot::games).orElse(List.of())) {
+            GameSnapshotCodec.Restored restored = GameSnapshotCodec.decode(encoded, RoundServiceImpl::new);
+            replays.put(restored.game().getGameId(), new GameReplay(restored));
+        }
+        int snapshotGames = replays.size();
+
+        GameJournalReader.Result tail = GameJournalReader.read(journalDirectory, snapshotSequence + 1, record -> {
+            GameReplay replay = replays.computeIfAbsent(record.event().gameId(), id -> new GameReplay(null));
+            if (record.sequence() > replay.sequence) {
+                replay.events.add(record.event());
+            }
+        });
+
+        LongAdder skipped = new LongAdder();
+        LongAdder failed = new LongAdder();
+        replays.values().parallelStream().forEach(replay -> replay.apply(staging, replayService, skipped, failed));
+
+        int games = 0;
+        for (GameRegistry.Entry replayed : staging.entries()) {
+            Game game = replayed.getGame();
+            if (game.getStatus() == GameStatus.ENDED) {
+                continue;
+            }
+            RoundServiceImpl round = replayed.getRoundService();
+            registry.withLock(game.getGameId(), () -> {
+                GameRegistry.Entry entry = registry.put(game);
+                if (round != null) {
+                    entry.setRoundService(new RoundServiceImpl(round, metrics));
+                }
+                registry.touch(entry);
+            });
+            games++;
+        }
+
+        RecoveryResult result = new RecoveryResult(games, snapshotSequence, snapshotGames, tail.records(),
+                skipped.sum(), failed.sum(), System.nanoTime() - start);
+        lastRecovery = result;
+        logger.info("{} Spiele in {} ms wiederhergestellt ({} aus Snapshot {}, {} Journal-Einträge)", games,
+                TimeUnit.NANOSECONDS.toMillis(result.nanos()), snapshotGames, snapshotSequence, tail.records());
+        if (result.failedEvents() > 0) {
+            logger.warn("{} Ereignisse konnten bei der Wiederherstellung nicht angewendet werden", result.failedEvents());
+        }
+        return result;
+    }
+
+    /**
+     * Writes a snapshot of all running games.
+     *
+     * @return the written snapshot file
+     * @throws IOException if the journal cannot be flushed or the snapshot not be written
+     */
+    public Path writeSnapshot() throws IOException {
+        long start = System.nanoTime();
+        // every game's own sequence number is at least this one, so its events up to here are covered
+        long sequence = journal.lastSequence();
+        List<byte[]> games = new ArrayList<>(registry.size());
+        for (GameRegistry.Entry entry : registry.entries()) {
+            Game game = entry.getGame();
+            byte[] encoded = registry.withLock(game.getGameId(), () -> {
+                if (registry.get(game.getGameId()) != entry || game.getStatus() == GameStatus.ENDED) {
+                    return null;
+                }
+                return GameSnapshotCodec.encode(journal.lastSequence(), game, entry.getRoundService());
+            });
+            if (encoded != null) {
+                games.add(encoded);
+            }
+        }
+        journal.flush();
+        Path file = snapshots.write(sequence, games);
+        logger.info("Snapshot {} mit {} Spielen in {} ms geschrieben", file.getFileName(), games.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return file;
+    }
+
+    private void snapshotQuietly() {
+        try {
+            writeSnapshot();
+        } catch (IOException | RuntimeException e) {
+            logger.error("Snapshot der Spiele in {} konnte nicht geschrieben werden", journalDirectory, e);
+        }
+    }
+
+    /**
+     * A template for the replaying service, which only needs it for resyncs and lobby signals that
+     * never happen on replay: messages are neither serialized nor sent anywhere.
+     */
+    private static SimpMessagingTemplate silentTemplate() {
+        SimpMessagingTemplate template = new SimpMessagingTemplate((message, timeout) -> true);
+        template.setMessageConverter(new SimpleMessageConverter());
+        return template;
+    }
+
+    /**
+     * The snapshot state and the later events of one game.
+     */
+    private static final class GameReplay {
+        final GameSnapshotCodec.Restored restored;
+        final long sequence;
+        final List<GameEvent> events = new ArrayList<>();
+
+        GameReplay(GameSnapshotCodec.Restored restored) {
+            this.restored = restored;
+            this.sequence = restored != null ? restored.sequence() : 0;
+        }
+
+        void apply(GameRegistry staging, GameServiceImpl service, LongAdder skipped, LongAdder failed) {
+            if (restored != null) {
+                staging.put(restored.game()).setRoundService(restored.round());
+            }
+            for (GameEvent event : events) {
+                // a game missing from the snapshot had ended or was removed, only a new join brings it back
+                if (staging.get(event.gameId()) == null && !(event instanceof GameEvent.PlayerJoined)) {
+                    skipped.increment();
+                    continue;
+                }
+                try {
+                    apply(staging, service, event);
+                } catch (RuntimeException e) {
+                    failed.increment();
+                    logger.warn("Ereignis {} konnte bei der Wiederherstellung nicht angewendet werden", event, e);
+                }
+            }
+        }
+
+        private static void apply(GameRegistry staging, GameServiceImpl service, GameEvent event) {
+            switch (event) {
+                case GameEvent.PlayerJoined joined -> {
+                    GameRequest request = new GameRequest(joined.gameId(), joined.playerId());
+                    request.setPlayerName(joined.playerName());
+                    service.joinGame(request);
+                }
+                case GameEvent.GameStarted started -> {
+                    staging.getGame(started.gameId()).setSeed(started.seed());
+                    service.startGame(started.gameId());
+                }
+                case GameEvent.PredictionMade prediction -> service.makePrediction(
+                        new PredictionRequest(prediction.gameId(), prediction.playerId(), prediction.prediction()));
+                case GameEvent.CardPlayed played -> {
+                    GameRequest request = new GameRequest(played.gameId(), played.playerId());
+                    request.setCard(CardTable.byId(played.cardId()).toString());
+                    request.setIsCheating(played.cheating());
+                    service.playCard(request);
+                }
+                case GameEvent.RoundProceeded proceeded -> service.processEndOfRound(proceeded.gameId());
+                case GameEvent.GameAborted aborted -> service.abortGame(aborted.gameId());
+                case GameEvent.GameRemoved removed -> staging.remove(removed.gameId());
+            }
+        }
+    }
+}
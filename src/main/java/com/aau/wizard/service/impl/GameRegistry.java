@@ -0,0 +1,344 @@
+package com.aau.wizard.service.impl;
+
+import com.aau.wizard.model.Game;
+import com.aau.wizard.util.HashedTimingWheel;
+import com.google.common.util.concurrent.Striped;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Supplier;
+
+/**
+ * Thread-safe registry of all games running on this node.
+ * <p>
+ * Each {@link Entry} owns a {@link Game} together with its {@link RoundServiceImpl}, so both are
+ * always created, replaced and removed as one unit. Mutations of a single game are serialized by a
+ * striped lock keyed by the gameId, while independent games only share a lock if their ids hash to
+ * the same stripe. This lets hundreds of tables progress in parallel on all cores.
+ * <p>
+ * Every game id has one {@link GameMailbox} through which the {@link GameCommandDispatcher}
+ * applies client commands to its game one at a time. The mailbox exists before the first join
+ * creates the game and is shared by every entry registered under the id, e.g. when an ended game
+ * is joined again, so the commands of a table are never drained by two workers. Every entry
+ * records when its game was last active.
+ * {@link Listener}s are told when entries are created, touched and removed, which is how the
+ * {@link GameLifecycleManager} schedules the eviction of idle and finished games, the
+ * {@link TurnTimerService} the deadline of the current turn and the {@link GameArchiver} archives
+ * ended games.
+ */
+@Component
+public class GameRegistry {
+    /**
+     * Number of lock stripes per available core. A few stripes per core keep the chance that two
+     * busy tables share a lock low without allocating a lock per game.
+     */
+    private static final int STRIPES_PER_CORE = 8;
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, GameMailbox> mailboxes = new ConcurrentHashMap<>();
+    private final Striped<Lock> locks;
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    public GameRegistry() {
+        this(Runtime.getRuntime().availableProcessors() * STRIPES_PER_CORE);
+    }
+
+    public GameRegistry(int stripes) {
+        this.locks = Striped.lock(stripes);
+    }
+
+    /**
+     * Returns the entry for the given gameId.
+     *
+     * @param gameId the unique identifier of the game
+     * @return the entry if present; otherwise {@code null}
+     */
+    public Entry get(String gameId) {
+        return gameId == null ? null : entries.get(gameId);
+    }
+
+    /**
+     * Returns the game for the given gameId.
+     *
+     * @param gameId the unique identifier of the game
+     * @return the game if present; otherwise {@code null}
+     */
+    public Game getGame(String gameId) {
+        Entry entry = get(gameId);
+        return entry != null ? entry.getGame() : null;
+    }
+
+    /**
+     * Returns the round service for the given gameId.
+     *
+     * @param gameId the unique identifier of the game
+     * @return the round service if the game exists and has been started; otherwise {@code null}
+     */
+    public RoundServiceImpl getRoundService(String gameId) {
+        Entry entry = get(gameId);
+        return entry != null ? entry.getRoundService() : null;
+    }
+
+    /**
+     * Returns the entry for the given gameId, creating a new game in the LOBBY state if absent.
+     *
+     * @param gameId the unique identifier of the game
+     * @return the existing or newly created entry
+     */
+    public Entry getOrCreate(String gameId) {
+        Entry entry = entries.get(gameId);
+        if (entry != null) {
+            return entry;
+        }
+        Entry created = new Entry(new Game(gameId), mailboxFor(gameId));
+        entry = entries.putIfAbsent(gameId, created);
+        if (entry != null) {
+            return entry;
+        }
+        listeners.forEach(listener -> listener.onCreated(created));
+        return created;
+    }
+
+    /**
+     * Registers the given game, replacing any entry with the same id.
+     *
+     * @param game the game to register
+     * @return the new entry
+     */
+    public Entry put(Game game) {
+        Entry entry = new Entry(game, mailboxFor(game.getGameId()));
+        Entry replaced = entries.put(game.getGameId(), entry);
+        if (replaced != null) {
+            listeners.forEach(listener -> listener.onRemoved(replaced));
+        }
+        listeners.forEach(listener -> listener.onCreated(entry));
+        return entry;
+    }
+
+    /**
+     * Removes the entry for the given gameId together with its round service.
+     *
+     * @param gameId the unique identifier of the game
+     * @return the removed entry, or {@code null} if no game was registered under that id
+     */
+    public Entry remove(String gameId) {
+        Entry removed = gameId == null ? null : entries.remove(gameId);
+        if (removed != null) {
+            releaseMailbox(gameId);
+            listeners.forEach(listener -> listener.onRemoved(removed));
+        }
+        return removed;
+    }
+
+    /**
+     * Removes the given entry, but only if it is still the one registered under its gameId.
+     *
+     * @param entry the entry to remove
+     * @return {@code true} if the entry was removed
+     */
+    public boolean remove(Entry entry) {
+        boolean removed = entries.remove(entry.getGame().getGameId(), entry);
+        if (removed) {
+            releaseMailbox(entry.getGame().getGameId());
+            listeners.forEach(listener -> listener.onRemoved(entry));
+        }
+        return removed;
+    }
+
+    /**
+     * Adds a task to the mailbox of the game id, creating the mailbox if the id has none yet.
+     * The game itself is not created.
+     *
+     * @param gameId the game the task belongs to
+     * @param task   the task to run
+     * @return the mailbox the task was added to
+     */
+    GameMailbox offer(String gameId, Runnable task) {
+        // atomic with releaseMailbox, so a task never lands in a mailbox that was just dropped
+        return mailboxes.compute(gameId, (id, mailbox) -> {
+            GameMailbox target = mailbox != null ? mailbox : new GameMailbox();
+            target.offer(task);
+            return target;
+        });
+    }
+
+    /**
+     * Adds a task to the mailbox of the game id, but only if the id has one, i.e. its game exists
+     * or a join of it is queued.
+     *
+     * @param gameId the game the task belongs to
+     * @param task   the task to run
+     * @return the mailbox the task was added to, or {@code null} if the id has none
+     */
+    GameMailbox offerIfPresent(String gameId, Runnable task) {
+        return mailboxes.computeIfPresent(gameId, (id, mailbox) -> {
+            mailbox.offer(task);
+            return mailbox;
+        });
+    }
+
+    /**
+     * Drops the mailbox of a game id that has neither a registered game nor queued tasks.
+     *
+     * @param gameId the game id
+     */
+    void releaseMailbox(String gameId) {
+        mailboxes.computeIfPresent(gameId, (id, mailbox) ->
+                entries.containsKey(id) || !mailbox.isEmpty() ? mailbox : null);
+    }
+
+    private GameMailbox mailboxFor(String gameId) {
+        return mailboxes.computeIfAbsent(gameId, id -> new GameMailbox());
+    }
+
+    /**
+     * Records activity on the given entry, e.g. after a command was applied to its game.
+     *
+     * @param entry the entry whose game was active
+     */
+    public void touch(Entry entry) {
+        entry.lastActivityNanos = System.nanoTime();
+        listeners.forEach(listener -> listener.onActivity(entry));
+    }
+
+    /**
+     * Adds a listener notified about the lifecycle of entries.
+     *
+     * @param listener the listener to add
+     */
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Runs the given action while holding the lock of the game's stripe.
+     * <p>
+     * The lock is reentrant, so actions may call back into other locked operations of the same game.
+     *
+     * @param gameId the game whose state the action reads or mutates
+     * @param action the action to run
+     * @return the result of the action
+     */
+    public <T> T withLock(String gameId, Supplier<T> action) {
+        Lock lock = lockFor(gameId);
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Runs the given action while holding the lock of the game's stripe.
+     *
+     * @param gameId the game whose state the action reads or mutates
+     * @param action the action to run
+     */
+    public void withLock(String gameId, Runnable action) {
+        Lock lock = lockFor(gameId);
+        lock.lock();
+        try {
+            action.run();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Lock lockFor(String gameId) {
+        // null ids are rejected later by the game lookup, they just need some stripe to lock on
+        return locks.get(gameId != null ? gameId : "");
+    }
+
+    /**
+     * @return the number of registered games
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return a read-only, weakly consistent view of all registered entries
+     */
+    public Collection<Entry> entries() {
+        return Collections.unmodifiableCollection(entries.values());
+    }
+
+    /**
+     * Callbacks about the lifecycle of entries. They run on the thread that caused the change and
+     * must not block.
+     */
+    public interface Listener {
+        /**
+         * Called after a new entry was registered.
+         */
+        default void onCreated(Entry entry) {
+        }
+
+        /**
+         * Called after activity was recorded on an entry via {@link #touch(Entry)}.
+         */
+        default void onActivity(Entry entry) {
+        }
+
+        /**
+         * Called after an entry was removed or replaced.
+         */
+        default void onRemoved(Entry entry) {
+        }
+    }
+
+    /**
+     * A registered game together with the round logic driving it.
+     */
+    public static class Entry {
+        private final Game game;
+        private final GameMailbox mailbox;
+        private volatile RoundServiceImpl roundService;
+        private volatile long lastActivityNanos = System.nanoTime();
+        // eviction state, owned by the GameLifecycleManager
+        volatile HashedTimingWheel.Timeout evictionTimeout;
+        volatile boolean endedEvictionScheduled;
+        // turn deadline, owned by the TurnTimerService
+        volatile HashedTimingWheel.Timeout turnTimeout;
+        volatile long turnVersion = -1;
+        // set once the ended game has been written to the archive, owned by the GameArchiver
+        volatile boolean archived;
+
+        Entry(Game game, GameMailbox mailbox) {
+            this.game = game;
+            this.mailbox = mailbox;
+        }
+
+        /**
+         * @return the {@link System#nanoTime()} of the last recorded activity, or of the creation
+         */
+        public long getLastActivityNanos() {
+            return lastActivityNanos;
+        }
+
+        public Game getGame() {
+            return game;
+        }
+
+        public RoundServiceImpl getRoundService() {
+            return roundService;
+        }
+
+        public void setRoundService(RoundServiceImpl roundService) {
+            this.roundService = roundService;
+        }
+
+        public GameMailbox getMailbox() {
+            return mailbox;
+        }
+    }
+}
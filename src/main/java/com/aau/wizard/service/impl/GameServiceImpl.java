@@ -1,76 +1,142 @@
 package com.aau.wizard.service.impl;
 import com.aau.wizard.GameExceptions;
-import com.aau.wizard.dto.CardDto;
 import com.aau.wizard.dto.PlayerDto;
 import com.aau.wizard.dto.request.GameRequest;
 import com.aau.wizard.dto.request.PredictionRequest;
+import com.aau.wizard.dto.response.GameDelta;
 import com.aau.wizard.dto.response.GameResponse;
+import com.aau.wizard.engine.DomainEventSink;
+import com.aau.wizard.engine.GameEngine;
+import com.aau.wizard.journal.GameEvent;
+import com.aau.wizard.journal.GameJournal;
 import com.aau.wizard.model.Game;
 import com.aau.wizard.model.ICard;
 import com.aau.wizard.model.Player;
 import com.aau.wizard.model.enums.GameStatus;
 import com.aau.wizard.service.interfaces.GameService;
 import com.google.common.annotations.VisibleForTesting;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import static com.aau.wizard.util.CollectionUtils.mapOrEmpty;
-import com.aau.wizard.GameExceptions.CardNotInHandException;
-import com.aau.wizard.GameExceptions.GameAlreadyEndedException;
-import com.aau.wizard.GameExceptions.GameNotActiveException;
 import com.aau.wizard.GameExceptions.GameNotFoundException;
-import com.aau.wizard.GameExceptions.GameStartException;
-import com.aau.wizard.GameExceptions.InvalidPredictionException;
-import com.aau.wizard.GameExceptions.InvalidTurnException;
 import com.aau.wizard.GameExceptions.PlayerNotFoundException;
-import com.aau.wizard.GameExceptions.RoundLogicException;
 import com.aau.wizard.GameExceptions.RoundProgressionException;
 
 /**
  * Default implementation of the GameService interface.
  * Manages active games in memory and handles game-related logic like joining and tracking player state.
+ * <p>
+ * All operations on a game run under that game's lock in the {@link GameRegistry}, so commands
+ * arriving concurrently on the STOMP inbound threads are applied one after another per game
+ * while different games proceed in parallel.
+ * <p>
+ * The rules themselves run in the {@link GameEngine}; the service finds the game, takes its lock,
+ * hands the command to the engine and records it. The engine publishes every state change to a
+ * {@link DomainEventSink}, by default the {@link GameStateBroadcaster}: the public state is built
+ * once per change for the whole table, only the hand cards are sent per player. During a game only
+ * the changed fields are sent as versioned {@link GameDelta}s; clients that miss a version request
+ * a full snapshot through {@link #resyncPlayer(GameRequest)}.
+ * <p>
+ * Every applied command is recorded in the {@link GameJournal} while the game's lock is held, so
+ * the journal holds the commands of each game in the order they were applied.
+ * <p>
+ * The time a command takes under the lock is recorded in the {@link GameMetrics}, which also
+ * receives the state changes after the sink to count the moves and broadcasts.
  */
 @Service
 public class GameServiceImpl implements GameService {
     /**
-     * In-memory storage of all active games, keyed by their gameId.
+     * In-memory storage of all active games and their round logic, keyed by their gameId.
      */
-    private final Map<String, Game> games = new HashMap<>();
-    private final Map<String, RoundServiceImpl> roundServices = new HashMap<>();
+    private final GameRegistry registry;
 
     private final SimpMessagingTemplate messagingTemplate;
 
-    private static final String GAME_TOPIC_PREFIX = "/topic/game/";
+    private final GameStateBroadcaster broadcaster;
 
-    public GameServiceImpl(SimpMessagingTemplate messagingTemplate) {
+    private final GameEngine engine;
+
+    private final GameJournal journal;
+
+    private final GameMetrics metrics;
+
+    private static final Logger logger = LoggerFactory.getLogger(GameServiceImpl.class);
+    private static final String GAME_TOPIC_PREFIX = GameStateBroadcaster.GAME_TOPIC_PREFIX;
+
+    // stackless and immutable, thrown again for every command to an unknown game
+    private static final GameNotFoundException GAME_NOT_FOUND = new GameNotFoundException("Spiel nicht gefunden");
+
+    public GameServiceImpl(SimpMessagingTemplate messagingTemplate, GameRegistry registry) {
+        this(messagingTemplate, registry, GameJournal.NONE);
+    }
+
+    public GameServiceImpl(SimpMessagingTemplate messagingTemplate, GameRegistry registry, GameJournal journal) {
+        this(messagingTemplate, registry, journal, null);
+    }
+
+    /**
+     * @param sink receives the state changes of all games, {@code null} to send them to the
+     *             players through a {@link GameStateBroadcaster} on the messaging template
+     */
+    public GameServiceImpl(SimpMessagingTemplate messagingTemplate, GameRegistry registry, GameJournal journal,
+                           DomainEventSink sink) {
+        this(messagingTemplate, registry, journal, sink, null);
+    }
+
+    /**
+     * @param sink    receives the state changes of all games, {@code null} to send them to the
+     *                players through a {@link GameStateBroadcaster} on the messaging template
+     * @param metrics records the duration of the commands and receives the state changes after
+     *                the sink, {@code null} for metrics of this service only
+     */
+    @Autowired
+    public GameServiceImpl(SimpMessagingTemplate messagingTemplate, GameRegistry registry, GameJournal journal,
+                           DomainEventSink sink, GameMetrics metrics) {
         this.messagingTemplate = messagingTemplate;
+        this.registry = registry;
+        // snapshots must take the same path as the deltas of the sink, or they could overtake them
+        this.broadcaster = sink instanceof GameStateBroadcaster sinkBroadcaster
+                ? sinkBroadcaster
+                : new GameStateBroadcaster(messagingTemplate);
+        registry.addListener(broadcaster);
+        this.metrics = metrics != null ? metrics : new GameMetrics();
+        this.engine = new GameEngine((sink != null ? sink : broadcaster).andThen(this.metrics.eventSink()), this.metrics);
+        this.journal = journal != null ? journal : GameJournal.NONE;
     }
 
     /**
      * Handles a player joining a game. Creates the game if it doesn't exist,
-     * adds the player if not already present, and returns the updated game state.
+     * adds the player if not already present, and sends the updated game state to "/topic/game"
+     * through the broadcaster, behind the messages of the game sent before.
      *
      * @param request contains the gameId and player details
      * @return a GameResponse reflecting the current state of the game
      */
     @Override
     public GameResponse joinGame(GameRequest request) {
-
         String gameId = request.getGameId();
-        Game existingGame = games.get(gameId);
-
-        if (existingGame != null && existingGame.getStatus() == GameStatus.ENDED) {
-            games.remove(gameId);
-            roundServices.remove(gameId);
-        }
-
-        Game game = games.computeIfAbsent(gameId, id -> new Game(id));
+        return registry.withLock(gameId, () -> {
+            journal.checkWritable();
+            Game existingGame = registry.getGame(gameId);
+
+            Game game;
+            if (existingGame != null && existingGame.getStatus() == GameStatus.ENDED) {
+                // a new game in place of the ended one, keeping the table's mailbox
+                game = registry.put(new Game(gameId)).getGame();
+            } else {
+                game = registry.getOrCreate(gameId).getGame();
+            }
 
-        addPlayerIfAbsent(game, request);
+            engine.join(game, request.getPlayerId(), request.getPlayerName());
+            appendToJournal(new GameEvent.PlayerJoined(gameId, request.getPlayerId(), request.getPlayerName()));
 
-        return createGameResponse(game, request.getPlayerId(), null);
+            GameResponse response = createGameResponse(game, request.getPlayerId(), null);
+            broadcaster.sendJoined(game, response);
+            return response;
+        });
     }
 
     /**
@@ -84,86 +150,62 @@ public class GameServiceImpl implements GameService {
 
     @Override
     public GameResponse createGameResponse(Game game, String requestingPlayerId, ICard trumpCard) {
-        List<PlayerDto> playerDtos = mapOrEmpty(game.getPlayers(), PlayerDto::from);
-        Player requestingPlayer = game.getPlayerById(requestingPlayerId);
-        List<CardDto> handCards = CardDto.safeFromPlayer(requestingPlayer);
-
-        String currentPredictionPlayerId = null;
-        if (game.getStatus() == GameStatus.PREDICTION) {
-            long predictedCount = game.getPlayers().stream().filter(p -> p.getPrediction() != null).count();
-            if (!game.getPredictionOrder().isEmpty() && (int)predictedCount < game.getPredictionOrder().size()) {
-                currentPredictionPlayerId = game.getPredictionOrder().get((int) predictedCount);
-            }
-        }
-        CardDto trumpCardDto = trumpCard != null ? CardDto.from(trumpCard) : null;
-
-        return new GameResponse(
-                game.getGameId(),
-                game.getStatus(),
-                game.getCurrentPlayerId(),
-                playerDtos,
-                handCards,
-                null,// lastPlayedCard can be set here later on
-                trumpCardDto,
-                game.getCurrentRound(),
-                currentPredictionPlayerId
-        );
+        return broadcaster.createGameResponse(game, requestingPlayerId, trumpCard);
     }
 
     /**
-     * Adds a new player to the game if they are not already part of it.
+     * Sends a full snapshot of the game, including the player's hand, to a single player.
+     * Clients request this after joining a running game or when they detect a gap in the
+     * delta versions. The version is not advanced, since the state does not change.
      *
-     * @param game the game the player wants to join
-     * @param request the request containing playerId and playerName
+     * @param request contains the gameId and the playerId to resync
      */
-    private void addPlayerIfAbsent(Game game, GameRequest request) {
-        if (game.getPlayerById(request.getPlayerId()) == null) {
-            game.getPlayers().add(new Player(request.getPlayerId(), request.getPlayerName()));
-        }
+    @Override
+    public void resyncPlayer(GameRequest request) {
+        registry.withLock(request.getGameId(), () -> {
+            Game game = registry.getGame(request.getGameId());
+            if (game == null) {
+                throw GAME_NOT_FOUND;
+            }
+            Player player = getPlayerOrThrow(game, request.getPlayerId());
+            RoundServiceImpl roundService = registry.getRoundService(game.getGameId());
+            ICard trumpCard = roundService != null ? roundService.getTrumpCard() : null;
+
+            broadcaster.sendSnapshot(game, player, createGameResponse(game, player.getPlayerId(), trumpCard));
+        });
     }
 
     /**
-     * Checks whether the player is not yet part of the game.
-     * Used to avoid duplicate joins.
+     * Starts a game. The new state is sent to the players by the sink of the engine.
      */
-
     @Override
-    public GameResponse startGame(String gameId) {
-        Game game = games.get(gameId);
+    public void startGame(String gameId) {
+        registry.withLock(gameId, () -> {
+            long start = System.nanoTime();
+            doStartGame(gameId);
+            metrics.record(GameMetrics.Operation.START_GAME, System.nanoTime() - start);
+        });
+    }
+
+    private void doStartGame(String gameId) {
+        GameRegistry.Entry entry = registry.get(gameId);
+        Game game = entry != null ? entry.getGame() : null;
         if (game == null) {
             throw new GameNotFoundException("Spiel nicht gefunden: " + gameId);
         }
 
-        for (Player player : game.getPlayers()) {
-            player.setPrediction(null);
-            player.setTricksWon(0);
-        }
-
-        int numPlayers=game.getPlayers().size();
-        game.setMaxRound(60/numPlayers); //Wizard regel
-        game.setCurrentRound(1);
-
-        if (!game.startGame()) {
-            throw new GameStartException("Spiel konnte nicht gestartet werden – evtl. zu wenig Spieler?");
-        }
-
-        RoundServiceImpl roundService = new RoundServiceImpl(game, messagingTemplate, this);
-        roundService.startRound(game.getCurrentRound());
-        ICard trumpCard = roundService.trumpCard;
-        roundServices.put(gameId, roundService);
-
-        for (Player player : game.getPlayers()) {
-            GameResponse response = createGameResponse(game, player.getPlayerId(), trumpCard);
-            messagingTemplate.convertAndSend(GAME_TOPIC_PREFIX + player.getPlayerId(), response);
-        }
-
-        return createGameResponse(game, game.getCurrentPlayerId(), trumpCard);
+        journal.checkWritable();
+        RoundServiceImpl roundService = engine.start(game);
+        appendToJournal(new GameEvent.GameStarted(gameId, game.getSeed()));
+        entry.setRoundService(roundService);
     }
 
     @Override
     public boolean canStartGame(String gameId) {
-        Game game = games.get(gameId);
-        return game != null && game.canStartGame();
+        return registry.withLock(gameId, () -> {
+            Game game = registry.getGame(gameId);
+            return game != null && game.canStartGame();
+        });
     }
 
 
@@ -178,166 +220,135 @@ public class GameServiceImpl implements GameService {
      */
     @VisibleForTesting
     public Game getGameById(String gameId) {
-        return games.get(gameId);
+        return registry.getGame(gameId);
     }
 
-    @Override
-    public GameResponse makePrediction(PredictionRequest request) {
-        Game game = games.get(request.getGameId());
-        if (game == null) {
-            throw new GameNotFoundException("Spiel nicht gefunden");
-        }
-
-        Player player = game.getPlayerById(request.getPlayerId());
-        if (player == null) {
-            throw new PlayerNotFoundException("Spieler nicht gefunden");
-        }
-
-        validatePredictionTurn(game, player);
-
-        validateLastPlayerPrediction(game, player, request.getPrediction());
-
-        player.setPrediction(request.getPrediction());
-
-        boolean allPredicted = game.getPlayers().stream().allMatch(p -> p.getPrediction() != null);
-        RoundServiceImpl roundService = roundServices.get(game.getGameId());
-        ICard trumpCard = roundService != null ? roundService.getTrumpCard() : null;
-
-        if (allPredicted) {
-            game.setStatus(GameStatus.PLAYING);
-            game.setCurrentPlayerId(game.getPredictionOrder().get(0));
-
-            notifyAllPlayersOfGameUpdate(game, trumpCard);
-        }
-        notifyAllPlayersOfGameUpdate(game, trumpCard);
-        return createGameResponse(game, player.getPlayerId(), trumpCard);
-    }
-    private void validatePredictionTurn(Game game, Player player) {
-        long alreadyPredicted = game.getPlayers().stream().filter(p -> p.getPrediction() != null).count();
-        String expectedPlayerId = game.getPredictionOrder().get((int) alreadyPredicted);
-        if (!expectedPlayerId.equals(player.getPlayerId())) {
-            throw new InvalidTurnException("Du bist noch nicht an der Reihe, bitte warte.");
-        }
+    /**
+     * Returns the registry holding all games of this service.
+     * <p>
+     * <strong>Visible for testing only.</strong> Allows tests to register prepared games and round services.
+     *
+     * @return the game registry
+     */
+    @VisibleForTesting
+    public GameRegistry getRegistry() {
+        return registry;
     }
 
-    private void validateLastPlayerPrediction(Game game, Player player, int prediction) {
-        boolean isLastPlayer = game.getPredictionOrder().indexOf(player.getPlayerId()) == game.getPredictionOrder().size() - 1;
-        if (isLastPlayer) {
-            int sumOfOtherPredictions = game.getPlayers().stream()
-                    .filter(p -> !p.getPlayerId().equals(player.getPlayerId()))
-                    .map(p -> p.getPrediction() != null ? p.getPrediction() : 0)
-                    .reduce(0, Integer::sum);
-            int totalTricks = player.getHandCards().size();
-            if (sumOfOtherPredictions + prediction == totalTricks) {
-                throw new InvalidPredictionException("Diese Vorhersage ergibt exakt die Anzahl der Stiche und ist damit verboten.");
-            }
-        }
+    /**
+     * @return the durations of the commands and the moves and broadcasts of all games
+     */
+    public GameMetrics getMetrics() {
+        return metrics;
     }
 
-    private void notifyAllPlayersOfGameUpdate(Game game, ICard trumpCard) {
-        for (Player p : game.getPlayers()) {
-            GameResponse response = createGameResponse(game, p.getPlayerId(), trumpCard);
+    /**
+     * Records a prediction. The change is sent to the players by the sink of the engine.
+     */
+    @Override
+    public void makePrediction(PredictionRequest request) {
+        registry.withLock(request.getGameId(), () -> {
+            long start = System.nanoTime();
+            doMakePrediction(request);
+            metrics.record(GameMetrics.Operation.MAKE_PREDICTION, System.nanoTime() - start);
+        });
+    }
 
-            messagingTemplate.convertAndSend(GAME_TOPIC_PREFIX + p.getPlayerId(), response);
+    private void doMakePrediction(PredictionRequest request) {
+        Game game = registry.getGame(request.getGameId());
+        if (game == null) {
+            throw GAME_NOT_FOUND;
         }
-    }
 
-    public PlayerDto toDto(Player player) {
-        PlayerDto dto = new PlayerDto();
-        dto.setPlayerId(player.getPlayerId());
-        dto.setPlayerName(player.getName());
-        dto.setPrediction(player.getPrediction());
-        dto.setTricksWon(player.getTricksWon());
-        dto.setScore(player.getScore());
-        dto.setRoundScores(player.getRoundScores());
-        return dto;
+        journal.checkWritable();
+        engine.predict(game, request.getPlayerId(), request.getPrediction());
+        appendToJournal(new GameEvent.PredictionMade(game.getGameId(), request.getPlayerId(), request.getPrediction()));
     }
 
+    /**
+     * Returns the players of a game with their scores. The list is shared with the scoreboard
+     * broadcast after the round, so it is built and encoded once per version of the game.
+     */
+    @Override
     public List<PlayerDto> getScoreboard(String gameId) {
-        Game game = games.get(gameId);
-        if (game == null) {
-            throw new GameNotFoundException("Spiel nicht gefunden");
-         }
+        return registry.withLock(gameId, () -> {
+            Game game = registry.getGame(gameId);
+            if (game == null) {
+                throw GAME_NOT_FOUND;
+            }
+
+            return broadcaster.scoreboard(game);
+        });
+    }
 
-        return game.getPlayers().stream()
-                .map(this::toDto)
-                .toList();
+    /**
+     * Sends the scoreboard of a game to its scoreboard topic through the broadcaster, behind the
+     * messages of the game sent before.
+     */
+    @Override
+    public void sendScoreboard(String gameId) {
+        registry.withLock(gameId, () -> {
+            Game game = registry.getGame(gameId);
+            if (game == null) {
+                throw GAME_NOT_FOUND;
+            }
+            broadcaster.sendScoreboard(game);
+        });
     }
 
     @Override
     public void processEndOfRound(String gameId){
-        Game game = games.get(gameId);
+        registry.withLock(gameId, () -> doProcessEndOfRound(gameId));
+    }
+
+    private void doProcessEndOfRound(String gameId) {
+        Game game = registry.getGame(gameId);
         if (game == null) {
             return;
         }
         if (game.getStatus() == GameStatus.ENDED) return;
 
-        if(game.getCurrentRound() >= game.getMaxRound()){
-            game.setStatus(GameStatus.ENDED);
-
-            for (Player player : game.getPlayers()){
-                GameResponse finalResponse = createGameResponse(game, player.getPlayerId(), null);
-                messagingTemplate.convertAndSend(GAME_TOPIC_PREFIX + player.getPlayerId(), finalResponse);
-            }
-        }else {
-            try {
-                game.setCurrentRound(game.getCurrentRound() + 1);
-
-                RoundServiceImpl roundService = roundServices.get(gameId);
-                if (roundService == null) {
-                   throw new RoundLogicException("RoundService for game " + gameId + " not found during end of round processing.");
-                }
-                roundService.startRound(game.getCurrentRound());
-
-                for (Player player : game.getPlayers()) {
-                    GameResponse response = createGameResponse(game, player.getPlayerId(), roundService.trumpCard);
-                    messagingTemplate.convertAndSend(GAME_TOPIC_PREFIX + player.getPlayerId(), response);
-                }
-            } catch (Exception e) {
-                throw new RoundProgressionException("Fehler beim Start der nächsten Runde in processEndOfRound", e);
-            }
+        journal.checkWritable();
+        try {
+            engine.proceed(game, registry.getRoundService(gameId));
+        } catch (Exception e) {
+            throw new RoundProgressionException("Fehler beim Start der nächsten Runde in processEndOfRound", e);
         }
+        appendToJournal(new GameEvent.RoundProceeded(gameId));
     }
+
     @Override
     public void proceedToNextRound(String gameId) {
         processEndOfRound(gameId);
     }
 
+    /**
+     * Plays a card. The change is sent to the players by the sink of the engine.
+     */
     @Override
-    public GameResponse playCard(GameRequest request) {
-        Game game = games.get(request.getGameId());
+    public void playCard(GameRequest request) {
+        registry.withLock(request.getGameId(), () -> {
+            long start = System.nanoTime();
+            doPlayCard(request);
+            metrics.record(GameMetrics.Operation.PLAY_CARD, System.nanoTime() - start);
+        });
+    }
+
+    private void doPlayCard(GameRequest request) {
+        Game game = registry.getGame(request.getGameId());
 
         boolean isCheating = Boolean.TRUE.equals(request.getIsCheating());
 
         if (game == null) {
-            throw new GameNotFoundException("Spiel nicht gefunden");
-        }
-
-        if (game.getStatus() == GameStatus.ENDED) {
-            throw new GameAlreadyEndedException("Das Spiel ist bereits beendet.");
-        }
-
-        if (game.getStatus() != GameStatus.PLAYING) {
-            throw new GameNotActiveException("Das Spiel ist nicht aktiv oder wurde nicht gefunden.");
+            throw GAME_NOT_FOUND;
         }
 
-        Player player = getPlayerOrThrow(game, request.getPlayerId());
-        validatePlayerTurn(game, player);
-
-        RoundServiceImpl roundService = getRoundServiceOrThrow(request.getGameId());
-        ICard cardToPlay = resolveCardToPlay(player, request.getCard());
+        ICard cardToPlay = ICard.fromString(request.getCard());
+        RoundServiceImpl roundService = registry.getRoundService(request.getGameId());
 
-
-        roundService.playCard(player, cardToPlay, isCheating);
-        return handlePostPlay(game, roundService, player, cardToPlay);
-    }
-
-    private Game getActiveGameOrThrow(String gameId) {
-        Game game = games.get(gameId);
-        if (game == null || game.getStatus() != GameStatus.PLAYING) {
-            throw new GameNotActiveException("Das Spiel ist nicht aktiv oder wurde nicht gefunden.");
-        }
-        return game;
+        journal.checkWritable();
+        engine.playCard(game, roundService, request.getPlayerId(), cardToPlay, isCheating);
+        appendToJournal(new GameEvent.CardPlayed(game.getGameId(), request.getPlayerId(), cardToPlay.getId(), isCheating));
     }
 
     private Player getPlayerOrThrow(Game game, String playerId) {
@@ -348,88 +359,33 @@ public class GameServiceImpl implements GameService {
         return player;
     }
 
-    private void validatePlayerTurn(Game game, Player player) {
-        String currentPlayerId = game.getCurrentPlayerId();
-        if (currentPlayerId == null || !currentPlayerId.equals(player.getPlayerId())) {
-            throw new InvalidTurnException("Du bist nicht an der Reihe.");
-        }
-    }
-
-    private RoundServiceImpl getRoundServiceOrThrow(String gameId) {
-        RoundServiceImpl roundService = roundServices.get(gameId);
-        if (roundService == null) {
-            throw new RoundLogicException("Runden-Logik für dieses Spiel nicht gefunden.");
-        }
-        return roundService;
-    }
-
-    private ICard resolveCardToPlay(Player player, String cardStr) {
-        ICard cardObject = ICard.fromString(cardStr);
-        if (!player.getHandCards().contains(cardObject)) {
-            throw new CardNotInHandException("Die Karte ist nicht in deiner Hand.");
-        }
-        return cardObject;
-    }
-
-    private GameResponse handlePostPlay(Game game, RoundServiceImpl roundService, Player player, ICard cardToPlay) {
-        if (roundService.getPlayedCards().size() == game.getPlayers().size()) {
-            return handleEndOfTrick(game, roundService, cardToPlay);
-        } else {
-            return handleNextPlayer(game, roundService, player, cardToPlay);
-        }
-    }
-
-    private GameResponse handleEndOfTrick(Game game, RoundServiceImpl roundService, ICard cardToPlay) {
-        Player trickWinner = roundService.endTrick();
-        game.setCurrentPlayerId(trickWinner.getPlayerId());
-
-        for (Player p : game.getPlayers()) {
-            GameResponse response = createGameResponse(game, p.getPlayerId(), roundService.getTrumpCard());
-            response.setLastPlayedCard(cardToPlay.toString());
-            response.setLastTrickWinnerId(trickWinner.getPlayerId());
-            messagingTemplate.convertAndSend(GAME_TOPIC_PREFIX + p.getPlayerId(), response);
-        }
-
-        if (trickWinner.getHandCards().isEmpty()) {
-            roundService.endRound();
-            return null;
-        }
-
-        GameResponse response = createGameResponse(game, trickWinner.getPlayerId(), roundService.getTrumpCard());
-        response.setLastPlayedCard(cardToPlay.toString());
-        response.setLastTrickWinnerId(trickWinner.getPlayerId());
-        return response;
-    }
-
-    private GameResponse handleNextPlayer(Game game, RoundServiceImpl roundService, Player currentPlayer, ICard cardToPlay) {
-        int currentPlayerIndex = game.getPlayers().indexOf(currentPlayer);
-        int nextPlayerIndex = (currentPlayerIndex + 1) % game.getPlayers().size();
-        game.setCurrentPlayerId(game.getPlayers().get(nextPlayerIndex).getPlayerId());
-
-        for (Player p : game.getPlayers()) {
-            GameResponse response = createGameResponse(game, p.getPlayerId(), roundService.getTrumpCard());
-            response.setLastPlayedCard(cardToPlay.toString());
-            messagingTemplate.convertAndSend(GAME_TOPIC_PREFIX + p.getPlayerId(), response);
-        }
-
-        GameResponse response = createGameResponse(game, currentPlayer.getPlayerId(), roundService.getTrumpCard());
-        response.setLastPlayedCard(cardToPlay.toString());
-        return response;
-    }
-
     @Override
     public void abortGame(String gameId) {
+        registry.withLock(gameId, () -> doAbortGame(gameId));
+    }
+
+    private void doAbortGame(String gameId) {
         Game game = getGameById(gameId);
 
         if (game == null) {
             throw new GameExceptions.GameNotFoundException("Spiel mit ID " + gameId + " für Abbruch nicht gefunden.");
         }
 
-        game.setStatus(GameStatus.ENDED);
-        GameResponse finalResponse = createGameResponse(game, null, null);
+        journal.checkWritable();
+        engine.abort(game);
+        appendToJournal(new GameEvent.GameAborted(gameId));
+    }
 
-        for (Player player : game.getPlayers()) {
-            messagingTemplate.convertAndSend(GAME_TOPIC_PREFIX + player.getPlayerId(), finalResponse);
+    /**
+     * Journals a command that has been applied. The journal was writable when the command was
+     * accepted; if its writer fails in between, the failure is logged, since the players have
+     * already been sent the change.
+     */
+    private void appendToJournal(GameEvent event) {
+        try {
+            journal.append(event);
+        } catch (IllegalStateException e) {
+            logger.error("Angewendeter Befehl konnte nicht ins Journal geschrieben werden: {}", event, e);
         }
     }
 
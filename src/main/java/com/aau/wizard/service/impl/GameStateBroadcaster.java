@@ -0,0 +1,280 @@
+package com.aau.wizard.service.impl;
+
+import com.aau.wizard.dto.CardDto;
+import com.aau.wizard.dto.PlayerDto;
+import com.aau.wizard.dto.PreEncodedCard;
+import com.aau.wizard.dto.PreEncodedCards;
+import com.aau.wizard.dto.response.GameDelta;
+import com.aau.wizard.dto.response.GameResponse;
+import com.aau.wizard.dto.response.HandResponse;
+import com.aau.wizard.engine.DomainEvent;
+import com.aau.wizard.engine.DomainEventSink;
+import com.aau.wizard.engine.GameEngine;
+import com.aau.wizard.jfr.BroadcastEvent;
+import com.aau.wizard.model.Game;
+import com.aau.wizard.model.ICard;
+import com.aau.wizard.model.Player;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.List;
+
+/**
+ * Sends game state changes to the players of a game.
+ * <p>
+ * The public part of the state (players, scores, trump, current player) is built and serialized
+ * once per state change and sent to "/topic/game/{gameId}", from where the broker fans the same
+ * message out to every subscribed player. Each player then only receives their own hand cards as
+ * a small {@link HandResponse} on "/topic/game/{playerId}".
+ * <p>
+ * Once a round is running, most changes are sent as a {@link GameDelta} containing only the changed
+ * fields. Full snapshots are sent when a game starts and to single players that resync.
+ * <p>
+ * As a {@link DomainEventSink} the broadcaster turns the events of the {@link GameEngine} into
+ * these messages, tagged with the version the event carries.
+ * <p>
+ * Parts of the messages that repeat are encoded to JSON only once: hand cards are sent as
+ * {@link PreEncodedCards}, which encode each card only once, the trump card reuses the fragment
+ * of its card as a {@link PreEncodedCard}, and the players of a game are built
+ * once per version and shared by the full states and scoreboards sent at that version. As a
+ * {@link GameRegistry.Listener} the broadcaster drops the players of a game once it is removed
+ * from the registry.
+ */
+public class GameStateBroadcaster implements DomainEventSink, GameRegistry.Listener {
+    public static final String LOBBY_TOPIC = "/topic/game";
+    public static final String GAME_TOPIC_PREFIX = "/topic/game/";
+    public static final String RESYNC_TOPIC_SUFFIX = "/resync";
+    public static final String SCOREBOARD_TOPIC_SUFFIX = "/scoreboard";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final RosterCache rosters = new RosterCache();
+
+    public GameStateBroadcaster(SimpMessagingTemplate messagingTemplate) {
+        this.messagingTemplate = messagingTemplate;
+    }
+
+    /**
+     * Sends the public state once to the game topic and the hand of every player to their own topic.
+     *
+     * @param game        the game whose state changed
+     * @param publicState the state visible to all players, without hand cards
+     */
+    public void broadcast(Game game, GameResponse publicState) {
+        broadcastPublic(game, publicState);
+        for (Player player : game.getPlayers()) {
+            sendHand(game, player);
+        }
+    }
+
+    /**
+     * Sends only the public state to the game topic.
+     *
+     * @param game        the game whose state changed
+     * @param publicState the state visible to all players, without hand cards
+     */
+    public void broadcastPublic(Game game, GameResponse publicState) {
+        send(game, GAME_TOPIC_PREFIX + game.getGameId(), publicState);
+    }
+
+    /**
+     * Sends an incremental update of the public state to the game topic.
+     *
+     * @param game  the game whose state changed
+     * @param delta the changed fields, tagged with the new version of the game
+     */
+    public void broadcastDelta(Game game, GameDelta delta) {
+        send(game, GAME_TOPIC_PREFIX + game.getGameId(), delta);
+    }
+
+    /**
+     * Sends a full snapshot including the hand cards to a single player, e.g. after a join or
+     * when the player's client detected a gap in the delta versions. The snapshot is sent after
+     * all messages of the game sent before, so it never overtakes a delta it already contains.
+     *
+     * @param game     the game the player takes part in
+     * @param player   the player to resync
+     * @param snapshot the full state as seen by that player
+     */
+    public void sendSnapshot(Game game, Player player, GameResponse snapshot) {
+        send(game, GAME_TOPIC_PREFIX + player.getPlayerId() + RESYNC_TOPIC_SUFFIX, snapshot);
+        flush(game);
+    }
+
+    /**
+     * Sends the state of a game to "/topic/game" after a player joined it, after all messages of
+     * the game sent before.
+     *
+     * @param game  the joined game
+     * @param state the state of the game, tagged with its version
+     */
+    public void sendJoined(Game game, GameResponse state) {
+        send(game, LOBBY_TOPIC, state);
+        flush(game);
+    }
+
+    /**
+     * Sends the scoreboard of a game to its scoreboard topic, after all messages of the game sent before.
+     * Must be called while the game's lock is held.
+     *
+     * @param game the game
+     */
+    public void sendScoreboard(Game game) {
+        send(game, GAME_TOPIC_PREFIX + game.getGameId() + SCOREBOARD_TOPIC_SUFFIX, scoreboard(game));
+        flush(game);
+    }
+
+    /**
+     * Sends the current hand cards of the given player to that player only.
+     *
+     * @param game   the game the player takes part in
+     * @param player the player whose hand is sent
+     */
+    public void sendHand(Game game, Player player) {
+        HandResponse hand = new HandResponse(game.getGameId(), player.getPlayerId(), CardDto.safeFromPlayer(player));
+        send(game, GAME_TOPIC_PREFIX + player.getPlayerId(), hand);
+    }
+
+    /**
+     * Sends one message of a game, either for a state change or an answer to a single command.
+     *
+     * @param game        the game whose state changed
+     * @param destination the topic to send to
+     * @param payload     the message, converted by the messaging template
+     */
+    protected void send(Game game, String destination, Object payload) {
+        messagingTemplate.convertAndSend(destination, payload);
+    }
+
+    /**
+     * Sends the messages for a state change of a game: the full state when it starts, a delta
+     * for every other change, the hand of every player whose cards changed and the scoreboard
+     * after each round.
+     *
+     * @param event the state change
+     */
+    @Override
+    public void publish(DomainEvent event) {
+        BroadcastEvent recording = new BroadcastEvent();
+        recording.begin();
+        Game game = event.game();
+        // the number of messages is only recorded, it does not change what is sent
+        int messages = switch (event) {
+            case DomainEvent.GameStarted started -> {
+                GameResponse publicState = createGameResponse(game, null, started.trumpCard());
+                publicState.setHandCards(null);
+                broadcast(game, publicState);
+                yield 1 + game.getPlayers().size();
+            }
+            case DomainEvent.PredictionMade prediction -> {
+                GameDelta delta = createDelta(event, GameDelta.Type.PREDICTION_MADE);
+                delta.setPlayerId(prediction.player().getPlayerId());
+                delta.setPrediction(prediction.prediction());
+                delta.setCurrentPredictionPlayerId(prediction.nextPredictionPlayerId());
+                broadcastDelta(game, delta);
+                yield 1;
+            }
+            case DomainEvent.CardPlayed played -> {
+                GameDelta delta = createDelta(event, GameDelta.Type.CARD_PLAYED);
+                delta.setPlayerId(played.player().getPlayerId());
+                delta.setPlayedCard(played.card().toString());
+                broadcastDelta(game, delta);
+                sendHand(game, played.player());
+                yield 2;
+            }
+            case DomainEvent.TrickCompleted trick -> {
+                GameDelta delta = createDelta(event, GameDelta.Type.TRICK_ENDED);
+                delta.setPlayerId(trick.player().getPlayerId());
+                delta.setPlayedCard(trick.card().toString());
+                delta.setLastTrickWinnerId(trick.winner().getPlayerId());
+                broadcastDelta(game, delta);
+                sendHand(game, trick.player());
+                yield 2;
+            }
+            case DomainEvent.RoundEnded ended -> {
+                send(game, GAME_TOPIC_PREFIX + game.getGameId() + SCOREBOARD_TOPIC_SUFFIX, scoreboard(game));
+                GameDelta delta = createDelta(event, GameDelta.Type.ROUND_ENDED);
+                delta.setScoreDeltas(ended.pointsThisRound());
+                broadcastDelta(game, delta);
+                yield 2;
+            }
+            case DomainEvent.RoundStarted started -> {
+                GameDelta delta = createDelta(event, GameDelta.Type.ROUND_STARTED);
+                delta.setCurrentRound(started.round());
+                delta.setCurrentPredictionPlayerId(started.nextPredictionPlayerId());
+                delta.setTrumpCard(started.trumpCard() != null ? new PreEncodedCard(started.trumpCard()) : null);
+                broadcastDelta(game, delta);
+                for (Player player : game.getPlayers()) {
+                    sendHand(game, player);
+                }
+                yield 1 + game.getPlayers().size();
+            }
+            case DomainEvent.GameEnded ended -> {
+                broadcastDelta(game, createDelta(event, GameDelta.Type.GAME_ENDED));
+                yield 1;
+            }
+        };
+        if (recording.shouldCommit()) {
+            recording.setGame(game);
+            recording.version = event.version();
+            recording.change = event.getClass().getSimpleName();
+            recording.messages = messages;
+            recording.commit();
+        }
+    }
+
+    /**
+     * Returns the scoreboard of a game, shared by all messages at the game's current version.
+     * Must be called while the game's lock is held.
+     *
+     * @param game the game
+     * @return the players with their scores, unmodifiable
+     */
+    public List<PlayerDto> scoreboard(Game game) {
+        return rosters.players(game);
+    }
+
+    /**
+     * Builds the full state of a game as seen by one player, including that player's hand.
+     *
+     * @param game               the game
+     * @param requestingPlayerId the player the state is built for, {@code null} for no hand cards
+     * @param trumpCard          the trump card of the current round, may be {@code null}
+     * @return the state, tagged with the current version of the game
+     */
+    public GameResponse createGameResponse(Game game, String requestingPlayerId, ICard trumpCard) {
+        List<PlayerDto> playerDtos = rosters.players(game);
+        Player requestingPlayer = game.getPlayerById(requestingPlayerId);
+        List<CardDto> handCards = CardDto.safeFromPlayer(requestingPlayer);
+        CardDto trumpCardDto = trumpCard != null ? new PreEncodedCard(trumpCard) : null;
+
+        GameResponse response = new GameResponse(
+                game.getGameId(),
+                game.getStatus(),
+                game.getCurrentPlayerId(),
+                playerDtos,
+                handCards,
+                null,// lastPlayedCard can be set here later on
+                trumpCardDto,
+                game.getCurrentRound(),
+                GameEngine.currentPredictionPlayerId(game)
+        );
+        response.setVersion(game.getVersion());
+        return response;
+    }
+
+    @Override
+    public void onRemoved(GameRegistry.Entry entry) {
+        rosters.forget(entry.getGame());
+    }
+
+    /**
+     * Creates the delta for an event. Status and current player are always included since they
+     * change with almost every update and are cheap to send.
+     */
+    private static GameDelta createDelta(DomainEvent event, GameDelta.Type type) {
+        Game game = event.game();
+        GameDelta delta = new GameDelta(game.getGameId(), event.version(), type);
+        delta.setStatus(game.getStatus());
+        delta.setCurrentPlayerId(game.getCurrentPlayerId());
+        return delta;
+    }
+}
@@ -0,0 +1,73 @@
+package com.aau.wizard.service.impl;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency counters of the game mailboxes, split into the time a command waited in its
+ * mailbox and the time it took to apply it to the game.
+ */
+public class MailboxMetrics {
+    private final LongAdder commands = new LongAdder();
+    private final LongAdder failedCommands = new LongAdder();
+    private final LongAdder totalQueueWaitNanos = new LongAdder();
+    private final LongAdder totalApplyNanos = new LongAdder();
+    private final LongAccumulator maxQueueWaitNanos = new LongAccumulator(Math::max, 0);
+    private final LongAccumulator maxApplyNanos = new LongAccumulator(Math::max, 0);
+
+    void record(long queueWaitNanos, long applyNanos) {
+        commands.increment();
+        totalQueueWaitNanos.add(queueWaitNanos);
+        totalApplyNanos.add(applyNanos);
+        maxQueueWaitNanos.accumulate(queueWaitNanos);
+        maxApplyNanos.accumulate(applyNanos);
+    }
+
+    void recordFailure() {
+        failedCommands.increment();
+    }
+
+    public long getCommandCount() {
+        return commands.sum();
+    }
+
+    public long getFailedCommandCount() {
+        return failedCommands.sum();
+    }
+
+    public long getTotalQueueWaitNanos() {
+        return totalQueueWaitNanos.sum();
+    }
+
+    public long getTotalApplyNanos() {
+        return totalApplyNanos.sum();
+    }
+
+    public long getMaxQueueWaitNanos() {
+        return maxQueueWaitNanos.get();
+    }
+
+    public long getMaxApplyNanos() {
+        return maxApplyNanos.get();
+    }
+
+    public long getAverageQueueWaitNanos() {
+        long count = getCommandCount();
+        return count == 0 ? 0 : getTotalQueueWaitNanos() / count;
+    }
+
+    public long getAverageApplyNanos() {
+        long count = getCommandCount();
+        return count == 0 ? 0 : getTotalApplyNanos() / count;
+    }
+
+    @Override
+    public String toString() {
+        return "MailboxMetrics{commands=" + getCommandCount()
+                + ", failed=" + getFailedCommandCount()
+                + ", avgQueueWaitNanos=" + getAverageQueueWaitNanos()
+                + ", maxQueueWaitNanos=" + getMaxQueueWaitNanos()
+                + ", avgApplyNanos=" + getAverageApplyNanos()
+                + ", maxApplyNanos=" + getMaxApplyNanos() + "}";
+    }
+}
@@ -0,0 +1,70 @@
+package com.aau.wizard.service.impl;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of the {@link OutboundPublisher}: messages queued by the game threads, messages sent
+ * after coalescing and the time the publisher threads spent encoding and sending them.
+ */
+public class OutboundMetrics {
+    private final LongAdder queued = new LongAdder();
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder totalSendNanos = new LongAdder();
+
+    void recordQueued() {
+        queued.increment();
+    }
+
+    void recordBatch(int sentMessages, int coalescedMessages, long sendNanos) {
+        batches.increment();
+        sent.add(sentMessages);
+        coalesced.add(coalescedMessages);
+        totalSendNanos.add(sendNanos);
+    }
+
+    void recordFailure() {
+        failed.increment();
+    }
+
+    public long getQueuedCount() {
+        return queued.sum();
+    }
+
+    public long getSentCount() {
+        return sent.sum();
+    }
+
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    public long getBatchCount() {
+        return batches.sum();
+    }
+
+    public long getTotalSendNanos() {
+        return totalSendNanos.sum();
+    }
+
+    public long getAverageSendNanos() {
+        long count = getSentCount();
+        return count == 0 ? 0 : getTotalSendNanos() / count;
+    }
+
+    @Override
+    public String toString() {
+        return "OutboundMetrics{queued=" + getQueuedCount()
+                + ", sent=" + getSentCount()
+                + ", coalesced=" + getCoalescedCount()
+                + ", failed=" + getFailedCount()
+                + ", batches=" + getBatchCount()
+                + ", avgSendNanos=" + getAverageSendNanos() + "}";
+    }
+}
@@ -0,0 +1,199 @@
+package com.aau.wizard.service.impl;
+
+import com.aau.wizard.dto.response.HandResponse;
+import com.aau.wizard.jfr.OutboundBatchEvent;
+import com.aau.wizard.model.Game;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.converter.MessageConversionException;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends the state changes of games from threads of its own instead of the thread applying the command.
+ * <p>
+ * The messages of a command are still built by the {@link GameStateBroadcaster} while the game's
+ * lock is held, since they read the game, but there they are only queued. Each game is served by
+ * one of a few lanes, chosen by its id, so the messages of a game keep their order. A lane takes
+ * everything queued at once when a command is {@linkplain #flush(Game) flushed}, converts each
+ * message once into the bytes the broker sends and hands the encoded message to the broker, which
+ * fans it out to the subscribers on the lane's thread as well.
+ * <p>
+ * Hands and scoreboards carry the complete state of their topic. If several of them for the same
+ * topic are queued when a lane takes its batch, e.g. the hand after a card and the hand dealt for
+ * the next round, only the last one is sent. Deltas are all sent, in order, since every version
+ * counts for the clients. Snapshots for a resync are queued on the lane of their game as well, so
+ * a client never receives a delta older than the snapshot after it.
+ */
+public class OutboundPublisher extends GameStateBroadcaster implements AutoCloseable {
+    /**
+     * Maximum number of messages a lane takes at once, so one busy game cannot delay the others of its lane for long.
+     */
+    private static final int MAX_BATCH = 512;
+
+    /**
+     * Longest time an idle lane waits before it looks at its queue again without being flushed.
+     */
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboundPublisher.class);
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final Lane[] lanes;
+    private final OutboundMetrics metrics = new OutboundMetrics();
+    private volatile boolean running = true;
+
+    /**
+     * @param messagingTemplate the template whose converter encodes the messages and whose channel reaches the broker
+     * @param threads           number of lanes, each with a thread of its own
+     */
+    public OutboundPublisher(SimpMessagingTemplate messagingTemplate, int threads) {
+        super(messagingTemplate);
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be at least 1: " + threads);
+        }
+        this.messagingTemplate = messagingTemplate;
+        this.lanes = new Lane[threads];
+        for (int i = 0; i < threads; i++) {
+            lanes[i] = new Lane();
+        }
+        for (int i = 0; i < threads; i++) {
+            Thread thread = new Thread(lanes[i], "game-outbound-" + (i + 1));
+            thread.setDaemon(true);
+            lanes[i].thread = thread;
+            thread.start();
+        }
+    }
+
+    @Override
+    protected void send(Game game, String destination, Object payload) {
+        lane(game).queue.add(new Frame(destination, payload));
+        metrics.recordQueued();
+    }
+
+    /**
+     * Wakes the lane of the game, which sends everything the command queued.
+     */
+    @Override
+    public void flush(Game game) {
+        LockSupport.unpark(lane(game).thread);
+    }
+
+    /**
+     * @return counters of queued, sent and coalesced messages
+     */
+    public OutboundMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Sends what is still queued and stops the lanes.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        for (Lane lane : lanes) {
+            LockSupport.unpark(lane.thread);
+        }
+        for (Lane lane : lanes) {
+            lane.thread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    private Lane lane(Game game) {
+        int hash = game.getGameId().hashCode();
+        return lanes[Math.floorMod(hash ^ (hash >>> 16), lanes.length)];
+    }
+
+    /**
+     * Converts a message the way {@link SimpMessagingTemplate#convertAndSend(Object, Object)} does,
+     * leaving the headers open for the destination.
+     */
+    private Message<?> encode(Object payload) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setLeaveMutable(true);
+        Message<?> message = messagingTemplate.getMessageConverter().toMessage(payload, accessor.getMessageHeaders());
+        if (message == null) {
+            throw new MessageConversionException("Nachricht vom Typ " + payload.getClass().getName()
+                    + " konnte nicht konvertiert werden");
+        }
+        return message;
+    }
+
+    /**
+     * A queued message. Hands and scoreboards replace earlier ones for the same topic.
+     */
+    private record Frame(String destination, Object payload, boolean replaceable) {
+        Frame(String destination, Object payload) {
+            this(destination, payload, payload instanceof HandResponse || payload instanceof List<?>);
+        }
+    }
+
+    private final class Lane implements Runnable {
+        final Queue<Frame> queue = new ConcurrentLinkedQueue<>();
+        final List<Frame> batch = new ArrayList<>();
+        final Map<String, Integer> lastReplaceable = new HashMap<>();
+        Thread thread;
+
+        @Override
+        public void run() {
+            while (running || !queue.isEmpty()) {
+                Frame frame;
+                while (batch.size() < MAX_BATCH && (frame = queue.poll()) != null) {
+                    batch.add(frame);
+                }
+                if (batch.isEmpty()) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                } else {
+                    sendBatch();
+                }
+            }
+        }
+
+        private void sendBatch() {
+            OutboundBatchEvent event = new OutboundBatchEvent();
+            event.begin();
+            long start = System.nanoTime();
+            for (int i = 0; i < batch.size(); i++) {
+                if (batch.get(i).replaceable()) {
+                    lastReplaceable.put(batch.get(i).destination(), i);
+                }
+            }
+            int sent = 0;
+            int coalesced = 0;
+            for (int i = 0; i < batch.size(); i++) {
+                Frame frame = batch.get(i);
+                if (frame.replaceable() && lastReplaceable.get(frame.destination()) != i) {
+                    coalesced++;
+                    continue;
+                }
+                try {
+                    messagingTemplate.send(frame.destination(), encode(frame.payload()));
+                    sent++;
+                } catch (RuntimeException e) {
+                    metrics.recordFailure();
+                    logger.error("Nachricht an {} konnte nicht gesendet werden", frame.destination(), e);
+                }
+            }
+            metrics.recordBatch(sent, coalesced, System.nanoTime() - start);
+            if (event.shouldCommit()) {
+                event.sent = sent;
+                event.coalesced = coalesced;
+                event.commit();
+            }
+            batch.clear();
+            lastReplaceable.clear();
+        }
+    }
+}
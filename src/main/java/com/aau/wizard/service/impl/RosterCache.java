@@ -0,0 +1,70 @@
+package com.aau.wizard.service.impl;
+
+import com.aau.wizard.dto.PlayerDto;
+import com.aau.wizard.dto.PreEncodedList;
+import com.aau.wizard.model.Game;
+
+import java.lang.ref.WeakReference;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static com.aau.wizard.util.CollectionUtils.mapOrEmpty;
+
+/**
+ * The players of the games as sent in full states and scoreboards, built and encoded once per
+ * version of a game.
+ * <p>
+ * Every change of a game advances its version, so the list built for a version stays valid until
+ * the next change. The scoreboard after a round, the scoreboards the players request while the
+ * round summary is shown, and the full states of joins and resyncs at that version all share one
+ * {@link PreEncodedList}, encoded by the first message that contains it.
+ * <p>
+ * The cache is direct-mapped: each game has one slot chosen by its id. A game whose slot was taken
+ * by another game simply builds its list again. Slots only hold a weak reference to their game and
+ * are cleared when the game is removed, so the cache never keeps a removed game reachable.
+ */
+final class RosterCache {
+    private static final int SLOTS = 1024;
+
+    private record Slot(WeakReference<Game> game, long version, List<PlayerDto> players) {
+    }
+
+    private final AtomicReferenceArray<Slot> slots = new AtomicReferenceArray<>(SLOTS);
+
+    /**
+     * Must be called while the game's lock is held, so the game does not change while its list is built.
+     *
+     * @param game the game
+     * @return the players of the game at its current version
+     */
+    List<PlayerDto> players(Game game) {
+        int index = index(game);
+        long version = game.getVersion();
+        Slot slot = slots.get(index);
+        boolean sameGame = slot != null && slot.game().get() == game;
+        if (sameGame && slot.version() == version) {
+            return slot.players();
+        }
+        List<PlayerDto> players = new PreEncodedList<>(mapOrEmpty(game.getPlayers(), PlayerDto::from));
+        slots.set(index, new Slot(sameGame ? slot.game() : new WeakReference<>(game), version, players));
+        return players;
+    }
+
+    /**
+     * Clears the slot of a game, e.g. after it was removed from the registry.
+     *
+     * @param game the game to forget
+     */
+    void forget(Game game) {
+        int index = index(game);
+        Slot slot = slots.get(index);
+        if (slot != null && slot.game().get() == game) {
+            slots.compareAndSet(index, slot, null);
+        }
+    }
+
+    private static int index(Game game) {
+        int hash = game.getGameId().hashCode();
+        return (hash ^ (hash >>> 16)) & (SLOTS - 1);
+    }
+}
@@ -1,21 +1,25 @@
 package com.aau.wizard.service.impl;
 
-import com.aau.wizard.dto.response.GameResponse;
+import com.aau.wizard.GameExceptions.InvalidCardPlayException;
+import com.aau.wizard.jfr.CardPlayedEvent;
+import com.aau.wizard.jfr.RoundScoredEvent;
+import com.aau.wizard.jfr.RoundStartedEvent;
+import com.aau.wizard.jfr.TrickResolvedEvent;
 import com.aau.wizard.model.ICard;
 import com.aau.wizard.model.Deck;
 import com.aau.wizard.model.Game;
 import com.aau.wizard.model.Player;
 import com.aau.wizard.model.enums.CardSuit;
 import com.aau.wizard.model.enums.GameStatus;
-import com.aau.wizard.service.interfaces.GameService;
 import com.aau.wizard.rules.BiddingRules;
 import com.aau.wizard.util.Pair;
 import com.aau.wizard.rules.TrickRules;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.SplittableRandom;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -29,62 +33,103 @@ public class RoundServiceImpl {
     public final List<Pair<Player, ICard>> playedCards = new ArrayList<>();
     public int currentTrickNumber = 0;
     private final Game game;
-    private final SimpMessagingTemplate messagingTemplate;
-    private final GameService gameService;
+    private final GameMetrics metrics;
     private static final Logger logger = LoggerFactory.getLogger(RoundServiceImpl.class);
 
 
-    public RoundServiceImpl(Game game, SimpMessagingTemplate messagingTemplate, GameService gameService) {
+    public RoundServiceImpl(Game game) {
+        this(game, null);
+    }
+
+    /**
+     * @param metrics records how long scoring a round takes, {@code null} to not record it
+     */
+    public RoundServiceImpl(Game game, GameMetrics metrics) {
         this.players = game.getPlayers();
         this.game=game;
-        this.messagingTemplate = messagingTemplate;
-        this.gameService = gameService;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Continues the round of another service, e.g. one rebuilt from the journal, which must not be used afterwards.
+     *
+     * @param round   the service whose deck, trump and current trick are taken over
+     * @param metrics records how long scoring a round takes, {@code null} to not record it
+     */
+    public RoundServiceImpl(RoundServiceImpl round, GameMetrics metrics) {
+        this(round.game, metrics);
+        this.deck = round.deck;
+        this.trumpCard = round.trumpCard;
+        this.trumpCardSuit = round.trumpCardSuit;
+        this.playedCards.addAll(round.playedCards);
+        this.currentTrickNumber = round.currentTrickNumber;
     }
 
     public void startRound(int roundNumber) {
-        this.deck = new Deck();
-        deck.shuffle();
+        RoundStartedEvent event = new RoundStartedEvent();
+        event.begin();
+        if (deck == null) {
+            deck = new Deck();
+        }
+        deck.reset();
+        long roundSeed = game.getRoundSeed(roundNumber);
+        deck.shuffle(new SplittableRandom(roundSeed));
+        logger.debug("Runde {} von Spiel {} wird mit Seed {} gegeben", roundNumber, game.getGameId(), roundSeed);
 
         game.setStatus(GameStatus.PREDICTION);
         game.setPredictionOrder(createPredictionOrder(players, game.getCurrentPlayerId()));
 
         for (Player player : players) {
-            List<ICard> hand = new ArrayList<>(deck.draw(roundNumber));
-            player.setHandCards(hand);
+            player.getHandCards().clear();
+            deck.dealTo(player.getHandCards(), roundNumber);
             player.setTricksWon(0);
             player.setBid(0);
             player.setPrediction(null);
         }
 
-        if (deck.size() < 1) {
-            trumpCard = null;
-            trumpCardSuit = null;
-        } else {
-            List<ICard> drawn = deck.draw(1);
-            trumpCard = drawn.isEmpty() ? null : drawn.get(0);
-            trumpCardSuit = trumpCard != null ? trumpCard.getSuit() : null;
-        }
+        trumpCard = deck.drawCard();
+        trumpCardSuit = trumpCard != null ? trumpCard.getSuit() : null;
 
         currentTrickNumber = 0;
         playedCards.clear();
+
+        if (event.shouldCommit()) {
+            event.setGame(game);
+            event.round = roundNumber;
+            event.trumpCard = trumpCard != null ? trumpCard.toString() : null;
+            event.commit();
+        }
     }
 
     public void playCard(Player player, ICard card, boolean isCheating) {
+        CardPlayedEvent event = new CardPlayedEvent();
+        event.begin();
         if (!player.getHandCards().contains(card)) {
             throw new IllegalArgumentException("Player doesn't have that card");
         }
         synchronized (playedCards) {
 
             if (!playedCards.isEmpty() && !TrickRules.isValidPlay(player, card, playedCards, trumpCardSuit, isCheating)) {
-                throw new IllegalStateException("Invalid card play: " + card + " by " + player.getName());
+                throw new InvalidCardPlayException("Invalid card play: " + card + " by " + player.getName());
             }
 
             player.getHandCards().remove(card);
             playedCards.add(new Pair<>(player, card));
         }
+
+        if (event.shouldCommit()) {
+            event.setGame(game);
+            event.trick = currentTrickNumber + 1;
+            event.playerId = player.getPlayerId();
+            event.card = card.toString();
+            event.cheating = isCheating;
+            event.commit();
+        }
     }
 
     public Player endTrick() {
+        TrickResolvedEvent event = new TrickResolvedEvent();
+        event.begin();
         if (playedCards.isEmpty()) {
             throw new IllegalStateException("No cards played in this trick");
         }
@@ -94,6 +139,13 @@ public class RoundServiceImpl {
 
         playedCards.clear();
         currentTrickNumber++;
+
+        if (event.shouldCommit()) {
+            event.setGame(game);
+            event.trick = currentTrickNumber;
+            event.winnerId = winner.getPlayerId();
+            event.commit();
+        }
         return winner;
     }
 
@@ -124,18 +176,29 @@ public class RoundServiceImpl {
     }
 
 
-    public void endRound() {
-
-        String gameId = game.getGameId();
+    /**
+     * Scores the finished round: adds the points to every player's score and round results, lets
+     * the player with the most tricks open the next prediction order and moves the game to the
+     * round summary. Nothing is sent, the {@link com.aau.wizard.engine.GameEngine} publishes the
+     * end of the round.
+     *
+     * @return the points of every player in this round, by player id in seating order
+     */
+    public Map<String, Integer> endRound() {
+        RoundScoredEvent event = new RoundScoredEvent();
+        event.begin();
+        long start = System.nanoTime();
         Map<String, Integer> scoresBeforeRound = new HashMap<>();
         for (Player player : players) {
             scoresBeforeRound.put(player.getPlayerId(), player.getScore());
         }
         BiddingRules.calculateScores(players);
 
+        Map<String, Integer> pointsThisRound = new LinkedHashMap<>();
         for (Player player : players) {
-            int pointsThisRound = player.getScore() - scoresBeforeRound.get(player.getPlayerId());
-            player.addRoundScore(pointsThisRound);
+            int points = player.getScore() - scoresBeforeRound.get(player.getPlayerId());
+            player.addRoundResult(player.getPrediction(), player.getTricksWon(), points);
+            pointsThisRound.put(player.getPlayerId(), points);
         }
 
         Player winner = players.stream()
@@ -146,16 +209,14 @@ public class RoundServiceImpl {
         game.setPredictionOrder(predictionOrder);
 
         game.setStatus(GameStatus.ROUND_END_SUMMARY);
-
-        messagingTemplate.convertAndSend(
-                "/topic/game/" + gameId + "/scoreboard",
-                gameService.getScoreboard(gameId)
-        );
-
-        for (Player player : players) {
-            GameResponse response = gameService.createGameResponse(game, player.getPlayerId(), trumpCard);
-            messagingTemplate.convertAndSend("/topic/game/" + player.getPlayerId(), response);
+        if (metrics != null) {
+            metrics.record(GameMetrics.Operation.END_ROUND, System.nanoTime() - start);
+        }
+        if (event.shouldCommit()) {
+            event.setGame(game);
+            event.commit();
         }
+        return pointsThisRound;
     }
 
     public List<Pair<Player, ICard>> getPlayedCards() {
@@ -165,8 +226,4 @@ public class RoundServiceImpl {
     public ICard getTrumpCard() {
         return trumpCard;
     }
-
-    public void proceedToNextRound(String gameId) {
-        gameService.processEndOfRound(gameId);
-    }
 }
\ No newline at end of file
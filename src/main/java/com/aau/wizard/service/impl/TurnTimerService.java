@@ -0,0 +1,226 @@
+package com.aau.wizard.service.impl;
+
+import com.aau.wizard.dto.request.GameRequest;
+import com.aau.wizard.dto.request.PredictionRequest;
+import com.aau.wizard.model.CardTable;
+import com.aau.wizard.model.Game;
+import com.aau.wizard.model.ICard;
+import com.aau.wizard.model.Player;
+import com.aau.wizard.model.enums.CardSuit;
+import com.aau.wizard.model.enums.CardType;
+import com.aau.wizard.model.enums.GameStatus;
+import com.aau.wizard.rules.TrickRules;
+import com.aau.wizard.service.interfaces.GameService;
+import com.aau.wizard.util.HashedTimingWheel;
+import com.aau.wizard.util.Pair;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Gives every turn a deadline, so a single disconnected player cannot freeze a table.
+ * <p>
+ * After each applied command the registry reports activity; if the game's version changed and
+ * the game now waits for a prediction or a card, the deadline of the previous turn is cancelled
+ * and a new one is scheduled on the shared {@link HashedTimingWheel}. When a deadline expires the
+ * move is enqueued in the game's mailbox like a client command and made through
+ * {@link GameService#makePrediction} or {@link GameService#playCard}, so it is validated and
+ * broadcast exactly like a move of the player. It is dropped if the game moved on in the meantime.
+ * <p>
+ * The automatic move is the smallest legal one: a prediction of 0 (or 1 if 0 is forbidden for
+ * the last player) and the lowest legal card, playing off-suit cards before trumps.
+ * <p>
+ * The time per turn is set with {@code wizard.turn.timeout} (ISO-8601, default 60 seconds);
+ * {@code PT0S} disables the timer.
+ */
+@Component
+public class TurnTimerService implements GameRegistry.Listener {
+    // jesters rank 0, number cards 1–13, trumps 14–26, wizards 27
+    private static final int TRUMP_RANK_OFFSET = CardTable.VALUES_PER_SUIT;
+    private static final int WIZARD_RANK = 2 * CardTable.VALUES_PER_SUIT + 1;
+
+    private static final Logger logger = LoggerFactory.getLogger(TurnTimerService.class);
+
+    private final GameRegistry registry;
+    private final HashedTimingWheel timer;
+    private final GameCommandDispatcher dispatcher;
+    private final GameService gameService;
+    private final long timeoutNanos;
+    private final LongAdder autoPredictions = new LongAdder();
+    private final LongAdder autoPlays = new LongAdder();
+
+    public TurnTimerService(GameRegistry registry, HashedTimingWheel timer, GameCommandDispatcher dispatcher,
+                            GameService gameService, @Value("${wizard.turn.timeout:PT60S}") Duration timeout) {
+        this.registry = registry;
+        this.timer = timer;
+        this.dispatcher = dispatcher;
+        this.gameService = gameService;
+        this.timeoutNanos = timeout.toNanos();
+        if (timeoutNanos > 0) {
+            registry.addListener(this);
+        }
+    }
+
+    @Override
+    public void onActivity(GameRegistry.Entry entry) {
+        Game game = entry.getGame();
+        long version = game.getVersion();
+        if (version == entry.turnVersion) {
+            return; // rejected command or resync, the turn has not changed
+        }
+        synchronized (entry) {
+            if (version == entry.turnVersion) {
+                return;
+            }
+            entry.turnVersion = version;
+            cancelTurn(entry);
+            if (registry.get(game.getGameId()) != entry) {
+                return;
+            }
+            String playerId = expectedPlayerId(game);
+            if (playerId != null) {
+                entry.turnTimeout = timer.schedule(() -> expire(entry, version, playerId),
+                        timeoutNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    @Override
+    public void onRemoved(GameRegistry.Entry entry) {
+        synchronized (entry) {
+            cancelTurn(entry);
+        }
+    }
+
+    public long getAutoPredictionCount() {
+        return autoPredictions.sum();
+    }
+
+    public long getAutoPlayCount() {
+        return autoPlays.sum();
+    }
+
+    private static void cancelTurn(GameRegistry.Entry entry) {
+        if (entry.turnTimeout != null) {
+            entry.turnTimeout.cancel();
+            entry.turnTimeout = null;
+        }
+    }
+
+    /**
+     * Runs on the timer thread and only hands the move to the game's mailbox.
+     */
+    private void expire(GameRegistry.Entry entry, long version, String playerId) {
+        dispatcher.dispatch(entry.getGame().getGameId(), () -> autoMove(entry, version, playerId));
+    }
+
+    /**
+     * Makes the move for a player whose turn expired, unless the game moved on in the meantime.
+     */
+    void autoMove(GameRegistry.Entry entry, long version, String playerId) {
+        Game game = entry.getGame();
+        String gameId = game.getGameId();
+        try {
+            registry.withLock(gameId, () -> {
+                if (registry.get(gameId) != entry || game.getVersion() != version
+                        || !playerId.equals(expectedPlayerId(game))) {
+                    return;
+                }
+                Player player = game.getPlayerById(playerId);
+                if (game.getStatus() == GameStatus.PREDICTION) {
+                    int prediction = smallestLegalPrediction(game, player);
+                    logger.info("Zeit abgelaufen: Vorhersage {} für Spieler {} in Spiel {}", prediction, playerId, gameId);
+                    gameService.makePrediction(new PredictionRequest(gameId, playerId, prediction));
+                    autoPredictions.increment();
+                } else {
+                    RoundServiceImpl roundService = entry.getRoundService();
+                    ICard card = lowestLegalCard(player, roundService.getPlayedCards(), roundService.trumpCardSuit);
+                    logger.info("Zeit abgelaufen: Karte {} für Spieler {} in Spiel {}", card, playerId, gameId);
+                    GameRequest request = new GameRequest(gameId, playerId);
+                    request.setCard(card.toString());
+                    gameService.playCard(request);
+                    autoPlays.increment();
+                }
+            });
+        } catch (RuntimeException e) {
+            logger.warn("Automatischer Zug für Spieler {} in Spiel {} fehlgeschlagen", playerId, gameId, e);
+        }
+    }
+
+    /**
+     * @return the player the game is waiting for, or {@code null} if it waits for nobody in particular
+     */
+    static String expectedPlayerId(Game game) {
+        if (game.getStatus() == GameStatus.PREDICTION) {
+            List<String> order = game.getPredictionOrder();
+            int predicted = 0;
+            for (Player player : game.getPlayers()) {
+                if (player.getPrediction() != null) {
+                    predicted++;
+                }
+            }
+            return predicted < order.size() ? order.get(predicted) : null;
+        }
+        if (game.getStatus() == GameStatus.PLAYING) {
+            return game.getCurrentPlayerId();
+        }
+        return null;
+    }
+
+    /**
+     * @return 0, or 1 if the player predicts last and 0 would make the predictions add up to the number of tricks
+     */
+    static int smallestLegalPrediction(Game game, Player player) {
+        List<String> order = game.getPredictionOrder();
+        if (order.indexOf(player.getPlayerId()) != order.size() - 1) {
+            return 0;
+        }
+        int sumOfOtherPredictions = 0;
+        for (Player other : game.getPlayers()) {
+            if (other != player && other.getPrediction() != null) {
+                sumOfOtherPredictions += other.getPrediction();
+            }
+        }
+        return sumOfOtherPredictions == player.getHandCards().size() ? 1 : 0;
+    }
+
+    /**
+     * Picks the legal card of lowest rank: jesters, then number cards by value with trumps after
+     * all other suits, then wizards.
+     */
+    static ICard lowestLegalCard(Player player, List<Pair<Player, ICard>> currentTrick,
+                                 CardSuit trumpSuit) {
+        ICard lowest = null;
+        int lowestRank = Integer.MAX_VALUE;
+        for (ICard card : player.getHandCards()) {
+            if (!TrickRules.isValidPlay(player, card, currentTrick, trumpSuit, false)) {
+                continue;
+            }
+            int rank = rank(card, trumpSuit);
+            if (rank < lowestRank) {
+                lowest = card;
+                lowestRank = rank;
+            }
+        }
+        if (lowest == null) {
+            throw new IllegalStateException("Spieler " + player.getPlayerId() + " hat keine spielbare Karte");
+        }
+        return lowest;
+    }
+
+    private static int rank(ICard card, CardSuit trumpSuit) {
+        if (card.getType() == CardType.JESTER) {
+            return 0;
+        }
+        if (card.getType() == CardType.WIZARD) {
+            return WIZARD_RANK;
+        }
+        return card.getSuit() == trumpSuit ? TRUMP_RANK_OFFSET + card.getValue() : card.getValue();
+    }
+}
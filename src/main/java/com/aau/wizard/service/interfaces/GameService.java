@@ -11,14 +11,16 @@ import java.util.List;
 
 public interface GameService {
     GameResponse joinGame(GameRequest request);
-    GameResponse startGame(String gameId);
+    void startGame(String gameId);
     boolean canStartGame(String gameId);
-    GameResponse makePrediction(PredictionRequest request);
+    void makePrediction(PredictionRequest request);
     List<PlayerDto> getScoreboard(String gameId);
+    void sendScoreboard(String gameId);
     void processEndOfRound(String gameId);
-    GameResponse playCard(GameRequest request);
+    void playCard(GameRequest request);
     void proceedToNextRound(String gameId);
     GameResponse createGameResponse(Game game, String requestingPlayerId, ICard trumpCard);
+    void resyncPlayer(GameRequest request);
     void abortGame(String gameId);
     void signalReturnToLobby(String gameId);
 }
@@ -0,0 +1,202 @@
+package archive;
+
+import com.aau.wizard.archive.ArchivedGame;
+import com.aau.wizard.archive.GameArchive;
+import com.aau.wizard.archive.MappedGameArchive;
+import com.aau.wizard.dto.request.GameRequest;
+import com.aau.wizard.journal.GameJournal;
+import com.aau.wizard.model.Game;
+import com.aau.wizard.model.Player;
+import com.aau.wizard.model.enums.GameStatus;
+import com.aau.wizard.service.impl.GameArchiver;
+import com.aau.wizard.service.impl.GameRegistry;
+import com.aau.wizard.service.impl.GameServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import testutil.GameMoves;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedGameArchiveTest {
+
+    private static final long SEGMENT_BYTES = 1 << 20;
+    private static final SimpMessagingTemplate TEMPLATE = new SimpMessagingTemplate((message, timeout) -> true);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void everyRoundOfAPlayedGameIsReadBack() throws IOException {
+        GameServiceImpl service = new GameServiceImpl(TEMPLATE, new GameRegistry(), GameJournal.NONE);
+        Game game = GameMoves.startGame(service, "game-1", 3);
+        while (GameMoves.playMove(service, "game-1")) {
+            // play all 20 rounds
+        }
+        game.getPlayers().get(0).setName(null);
+
+        try (MappedGameArchive archive = new MappedGameArchive(directory, SEGMENT_BYTES)) {
+            archive.append(game);
+            ArchivedGame archived = archive.find("game-1");
+
+            assertNotNull(archived);
+            assertEquals("game-1", archived.getGameId());
+            assertEquals(game.getSeed(), archived.getSeed());
+            assertEquals(20, archived.getRoundsPlayed());
+            assertTrue(archived.isCompleted());
+            assertEquals(3, archived.getPlayerCount());
+            for (int seat = 0; seat < 3; seat++) {
+                Player player = game.getPlayers().get(seat);
+                assertEquals(player.getPlayerId(), archived.getPlayerId(seat));
+                assertEquals(player.getName(), archived.getPlayerName(seat));
+                assertEquals(player.getScore(), archived.getFinalScore(seat));
+                for (int round = 1; round <= 20; round++) {
+                    assertEquals((int) player.getRoundPredictions().get(round - 1), archived.getPrediction(round, seat));
+                    assertEquals((int) player.getRoundTricks().get(round - 1), archived.getTricksWon(round, seat));
+                    assertEquals((int) player.getRoundScores().get(round - 1), archived.getRoundScore(round, seat));
+                }
+            }
+            assertEquals(archived.length(), archived.bytes().remaining());
+        }
+    }
+
+    @Test
+    void gamesAreFoundByPlayerNewestFirst() throws IOException {
+        try (MappedGameArchive archive = new MappedGameArchive(directory, SEGMENT_BYTES)) {
+            archive.append(endedGame("game-1", "alice", "bob"));
+            archive.append(endedGame("game-2", "bob", "carol"));
+            archive.append(endedGame("game-3", "alice", "carol"));
+
+            assertEquals(List.of("game-3", "game-1"), gameIds(archive.findByPlayer("alice", 10)));
+            assertEquals(List.of("game-2", "game-1"), gameIds(archive.findByPlayer("bob", 10)));
+            assertEquals(List.of("game-3"), gameIds(archive.findByPlayer("carol", 1)));
+            assertTrue(archive.findByPlayer("dave", 10).isEmpty());
+            assertNull(archive.find("game-4"));
+        }
+    }
+
+    @Test
+    void reusedGameIdFindsTheNewestGame() throws IOException {
+        try (MappedGameArchive archive = new MappedGameArchive(directory, SEGMENT_BYTES)) {
+            archive.append(endedGame("game-1", "alice", "bob"));
+            archive.append(endedGame("game-1", "carol", "dave"));
+
+            assertEquals("carol", archive.find("game-1").getPlayerId(0));
+            assertEquals(List.of("game-1"), gameIds(archive.findByPlayer("alice", 10)));
+        }
+    }
+
+    @Test
+    void indexIsRebuiltAcrossSegmentsOnReopening() throws IOException {
+        int games = 10_000;
+        try (MappedGameArchive archive = new MappedGameArchive(directory, SEGMENT_BYTES)) {
+            for (int i = 0; i < games; i++) {
+                archive.append(endedGame("game-" + i, "player-" + i, "player-" + (i + 1)));
+            }
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            assertTrue(files.count() > 1, "games should fill more than one segment");
+        }
+
+        try (MappedGameArchive archive = new MappedGameArchive(directory, SEGMENT_BYTES)) {
+            assertEquals(games, archive.size());
+            for (int i = 0; i < games; i++) {
+                assertEquals("player-" + i, archive.find("game-" + i).getPlayerId(0));
+            }
+            assertEquals(List.of("game-42", "game-41"), gameIds(archive.findByPlayer("player-42", 10)));
+
+            archive.append(endedGame("game-x", "player-42", "player-43"));
+            assertEquals(List.of("game-x", "game-42", "game-41"), gameIds(archive.findByPlayer("player-42", 10)));
+        }
+    }
+
+    @Test
+    void tornRecordIsOverwrittenByTheNextGame() throws IOException {
+        try (MappedGameArchive archive = new MappedGameArchive(directory, SEGMENT_BYTES)) {
+            archive.append(endedGame("game-1", "alice", "bob"));
+            archive.append(endedGame("game-2", "alice", "bob"));
+        }
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.findFirst().orElseThrow();
+        }
+        try (MappedGameArchive archive = new MappedGameArchive(directory, SEGMENT_BYTES)) {
+            ArchivedGame second = archive.find("game-2");
+            // damage the checksummed part of the second record, as if the crash hit while it was written
+            try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+                channel.write(ByteBuffer.wrap(new byte[]{1, 2, 3}), second.filePosition() + second.length() - 3);
+            }
+        }
+
+        try (MappedGameArchive archive = new MappedGameArchive(directory, SEGMENT_BYTES)) {
+            assertEquals(1, archive.size());
+            assertNull(archive.find("game-2"));
+            archive.append(endedGame("game-3", "carol", "dave"));
+        }
+        try (MappedGameArchive archive = new MappedGameArchive(directory, SEGMENT_BYTES)) {
+            assertEquals(2, archive.size());
+            assertEquals("carol", archive.find("game-3").getPlayerId(0));
+        }
+    }
+
+    @Test
+    void archiverWritesEndedGamesOnce() throws IOException {
+        GameRegistry registry = new GameRegistry();
+        GameServiceImpl service = new GameServiceImpl(TEMPLATE, registry, GameJournal.NONE);
+        try (MappedGameArchive archive = new MappedGameArchive(directory, SEGMENT_BYTES)) {
+            new GameArchiver(registry, archive);
+            GameMoves.startGame(service, "started", 3);
+            GameMoves.playMove(service, "started");
+            service.joinGame(new GameRequest("lobby", "p1"));
+
+            registry.touch(registry.get("started"));
+            service.abortGame("started");
+            service.abortGame("lobby");
+            registry.touch(registry.get("started"));
+            registry.touch(registry.get("started"));
+            registry.touch(registry.get("lobby"));
+
+            assertEquals(1, archive.size());
+            ArchivedGame archived = archive.find("started");
+            assertEquals(0, archived.getRoundsPlayed());
+            assertFalse(archived.isCompleted());
+        }
+    }
+
+    @Test
+    void disabledArchiveFindsNothing() {
+        GameArchive.NONE.append(endedGame("game-1", "alice", "bob"));
+
+        assertNull(GameArchive.NONE.find("game-1"));
+        assertEquals(0, GameArchive.NONE.size());
+    }
+
+    private static Game endedGame(String gameId, String... playerIds) {
+        Game game = new Game(gameId);
+        game.setSeed(gameId.hashCode());
+        game.setMaxRound(2);
+        game.setCurrentRound(2);
+        game.setStatus(GameStatus.ENDED);
+        for (String playerId : playerIds) {
+            Player player = new Player(playerId, "Name " + playerId);
+            player.addRoundResult(1, 1, 30);
+            player.addRoundResult(0, 1, -10);
+            player.setScore(20);
+            game.getPlayers().add(player);
+        }
+        return game;
+    }
+
+    private static List<String> gameIds(List<ArchivedGame> games) {
+        return games.stream().map(ArchivedGame::getGameId).toList();
+    }
+}
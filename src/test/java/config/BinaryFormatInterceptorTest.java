@@ -0,0 +1,118 @@
+package config;
+
+import com.aau.wizard.config.BinaryFormatInterceptor;
+import com.aau.wizard.config.BinaryMessageConverter;
+import com.aau.wizard.config.GameJsonMessageConverter;
+import com.aau.wizard.dto.BinaryFrameCodec;
+import com.aau.wizard.dto.request.GameRequest;
+import com.aau.wizard.dto.response.GameDelta;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.MessageConversionException;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryFormatInterceptorTest {
+
+    private static final GameJsonMessageConverter JSON = new GameJsonMessageConverter(new ObjectMapper());
+
+    private final BinaryFormatInterceptor interceptor = new BinaryFormatInterceptor();
+
+    @Test
+    void onlySessionsThatAskedReceiveTheBinaryFormat() throws Exception {
+        connect("binary-1", "binary");
+        connect("binary-2", "BINARY");
+        connect("json", null);
+        Message<?> delta = json(new GameDelta("game-1", 7, GameDelta.Type.GAME_ENDED));
+
+        Message<?> first = interceptor.preSend(toSession(delta, "binary-1", "/topic/game/game-1"), null);
+        Message<?> second = interceptor.preSend(toSession(delta, "binary-2", "/topic/game/game-1"), null);
+        Message<?> plain = interceptor.preSend(toSession(delta, "json", "/topic/game/game-1"), null);
+
+        assertEquals(BinaryMessageConverter.BINARY, first.getHeaders().get(MessageHeaders.CONTENT_TYPE));
+        assertEquals("binary-1", SimpMessageHeaderAccessor.getSessionId(first.getHeaders()));
+        GameDelta decoded = (GameDelta) BinaryFrameCodec.decode((byte[]) first.getPayload());
+        assertEquals(7, decoded.getVersion());
+        assertSame(first.getPayload(), second.getPayload(), "Jede Nachricht wird nur einmal kodiert.");
+        assertSame(delta.getPayload(), plain.getPayload());
+        assertTrue(new String((byte[]) plain.getPayload()).contains("GAME_ENDED"));
+    }
+
+    @Test
+    void messagesWithoutABinaryEncodingStayJson() {
+        connect("binary-1", "binary");
+        Message<?> list = JSON.toMessage(List.of("no player"), null);
+
+        Message<?> sent = interceptor.preSend(toSession(list, "binary-1", "/topic/game/game-1"), null);
+
+        assertNull(list.getHeaders().get(GameJsonMessageConverter.BINARY_FRAME_HEADER));
+        assertSame(list.getPayload(), sent.getPayload());
+        assertNull(JSON.toMessage("text", null), "Andere Nachrichten bleiben den übrigen Konvertern.");
+    }
+
+    @Test
+    void otherTopicsAndDisconnectedSessionsStayJson() {
+        connect("binary-1", "binary");
+        Message<?> delta = json(new GameDelta("game-1", 7, GameDelta.Type.GAME_ENDED));
+
+        Message<?> errors = interceptor.preSend(toSession(delta, "binary-1", "/topic/errors/game-1"), null);
+        interceptor.preSend(frame(SimpMessageType.DISCONNECT, "binary-1", null), null);
+        Message<?> afterDisconnect = interceptor.preSend(toSession(delta, "binary-1", "/topic/game/game-1"), null);
+
+        assertSame(delta.getPayload(), errors.getPayload());
+        assertFalse(interceptor.isBinary("binary-1"));
+        assertSame(delta.getPayload(), afterDisconnect.getPayload());
+    }
+
+    @Test
+    void converterReadsOnlyFramesWithTheBinaryContentType() {
+        BinaryMessageConverter converter = new BinaryMessageConverter();
+        GameRequest request = new GameRequest("game-1", "p1");
+        request.setCard("BLUE_1");
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(BinaryMessageConverter.BINARY);
+        Message<byte[]> binary = MessageBuilder.createMessage(BinaryFrameCodec.encode(request), accessor.getMessageHeaders());
+
+        GameRequest decoded = (GameRequest) converter.fromMessage(binary, GameRequest.class);
+
+        assertEquals("BLUE_1", decoded.getCard());
+        assertNull(converter.fromMessage(json(request), GameRequest.class));
+        assertNull(converter.toMessage(request, null), "Ohne Content-Type bleibt JSON der Standard.");
+        assertThrows(MessageConversionException.class, () -> converter.fromMessage(binary, GameDelta.class));
+    }
+
+    private void connect(String sessionId, String format) {
+        interceptor.preSend(frame(SimpMessageType.CONNECT, sessionId, format), null);
+    }
+
+    private static Message<byte[]> frame(SimpMessageType type, String sessionId, String format) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(type);
+        accessor.setSessionId(sessionId);
+        if (format != null) {
+            accessor.setNativeHeader(BinaryFormatInterceptor.FORMAT_HEADER, format);
+        }
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private static Message<?> json(Object payload) {
+        return JSON.toMessage(payload, null);
+    }
+
+    /**
+     * The copy of a broker message for one subscriber, sharing the payload and headers like the simple broker's copies.
+     */
+    private static Message<?> toSession(Message<?> message, String sessionId, String destination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(sessionId);
+        accessor.setDestination(destination);
+        accessor.copyHeadersIfAbsent(message.getHeaders());
+        return MessageBuilder.createMessage(message.getPayload(), accessor.getMessageHeaders());
+    }
+}
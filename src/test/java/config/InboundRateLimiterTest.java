@@ -0,0 +1,101 @@
+package config;
+
+import com.aau.wizard.config.InboundRateLimiter;
+import com.aau.wizard.config.InboundRateLimiter.Limit;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InboundRateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final InboundRateLimiter limiter = InboundRateLimiter.parse(
+            "/app/game/play=10:3", " /app/game/*/scoreboard = 1 : 1 ");
+
+    @Test
+    void burstPassesAndTheBucketRefillsWithTheRate() {
+        long now = 5 * SECOND;
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limiter.tryAcquire("s1", "/app/game/play", now), "Frame " + i + " des Bursts");
+        }
+        assertFalse(limiter.tryAcquire("s1", "/app/game/play", now));
+        assertFalse(limiter.tryAcquire("s1", "/app/game/play", now + SECOND / 20));
+
+        assertTrue(limiter.tryAcquire("s1", "/app/game/play", now + SECOND / 10));
+        assertFalse(limiter.tryAcquire("s1", "/app/game/play", now + SECOND / 10));
+        // after a long pause the bucket holds no more than the burst
+        long later = now + 60 * SECOND;
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limiter.tryAcquire("s1", "/app/game/play", later));
+        }
+        assertFalse(limiter.tryAcquire("s1", "/app/game/play", later));
+
+        assertEquals(4, limiter.getDroppedFrames(limiter.getLimits().get(0)));
+        assertEquals(4, limiter.getDroppedFrames());
+    }
+
+    @Test
+    void everySessionAndLimitHasItsOwnBucket() {
+        long now = -SECOND;
+        assertTrue(limiter.tryAcquire("s1", "/app/game/game-1/scoreboard", now));
+        assertFalse(limiter.tryAcquire("s1", "/app/game/game-2/scoreboard", now), "Alle Spiele teilen ein Limit.");
+        assertTrue(limiter.tryAcquire("s2", "/app/game/game-1/scoreboard", now));
+        assertTrue(limiter.tryAcquire("s1", "/app/game/play", now));
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limiter.tryAcquire("s1", "/app/game/join", now), "Ziele ohne Limit werden nicht begrenzt.");
+            assertTrue(limiter.tryAcquire("s1", "/app/game/game-1/scoreboard/extra", now));
+        }
+        assertEquals(1, limiter.getDroppedFrames(limiter.getLimits().get(1)));
+        assertEquals(0, limiter.getDroppedFrames(limiter.getLimits().get(0)));
+    }
+
+    @Test
+    void preSendDropsFramesOverTheLimitUntilTheSessionReconnects() {
+        InboundRateLimiter oneFrame = new InboundRateLimiter(List.of(new Limit("/app/game/play", 0.001, 1)));
+        oneFrame.preSend(frame(SimpMessageType.CONNECT, "s1", null), null);
+        Message<byte[]> play = frame(SimpMessageType.MESSAGE, "s1", "/app/game/play");
+
+        assertSame(play, oneFrame.preSend(play, null));
+        assertNull(oneFrame.preSend(play, null));
+        Message<byte[]> subscribe = frame(SimpMessageType.SUBSCRIBE, "s1", "/app/game/play");
+        assertSame(subscribe, oneFrame.preSend(subscribe, null), "Nur gesendete Frames werden begrenzt.");
+        assertEquals(1, oneFrame.getSessionCount());
+
+        oneFrame.preSend(frame(SimpMessageType.DISCONNECT, "s1", null), null);
+        assertEquals(0, oneFrame.getSessionCount());
+        oneFrame.preSend(frame(SimpMessageType.CONNECT, "s1", null), null);
+        assertSame(play, oneFrame.preSend(play, null));
+        assertEquals(1, oneFrame.getDroppedFrames());
+    }
+
+    @Test
+    void limitsAreReadFromTheirTextOrTheDefaults() {
+        assertEquals(new Limit("/app/game/*/scoreboard", 1, 1), limiter.getLimits().get(1));
+        assertEquals(InboundRateLimiter.DEFAULT_LIMITS, InboundRateLimiter.parse("", " ").getLimits());
+        assertEquals(new Limit("/app/game/play", 0.5, 2), Limit.parse("/app/game/play=0.5:2"));
+
+        assertThrows(IllegalArgumentException.class, () -> Limit.parse("/app/game/play=5"));
+        assertThrows(IllegalArgumentException.class, () -> Limit.parse("/app/game/play=fast:5"));
+        assertThrows(IllegalArgumentException.class, () -> Limit.parse("/app/game/play=0:5"));
+        assertThrows(IllegalArgumentException.class, () -> Limit.parse("/app/game/play=5:0"));
+        assertThrows(IllegalArgumentException.class, () -> Limit.parse("app/game/play=5:5"));
+    }
+
+    private static Message<byte[]> frame(SimpMessageType type, String sessionId, String destination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(type);
+        accessor.setSessionId(sessionId);
+        if (destination != null) {
+            accessor.setDestination(destination);
+        }
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
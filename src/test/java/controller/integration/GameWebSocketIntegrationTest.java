@@ -9,10 +9,12 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
 import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.messaging.simp.stomp.*;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.web.socket.WebSocketHttpHeaders;
@@ -43,6 +45,9 @@ public class GameWebSocketIntegrationTest {
     @MockBean
     private GameService gameService;
 
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
     private WebSocketStompClient stompClient;
     private final BlockingQueue<GameResponse> blockingQueue = new LinkedBlockingDeque<>();
     private static final WebSocketHttpHeaders headers = new WebSocketHttpHeaders();
@@ -52,7 +57,7 @@ public class GameWebSocketIntegrationTest {
 
     /**
      * Prepares the mocked GameService and sets up a stubbed GameResponse
-     * that will be returned when joinGame(...) is called.
+     * that is sent to /topic/game and returned when joinGame(...) is called, as the real service does.
      */
     @BeforeEach
     void setup() {
@@ -66,8 +71,10 @@ public class GameWebSocketIntegrationTest {
 
         GameResponse mockedResponse = createDefaultGameResponse(player1, player2);
 
-        Mockito.when(gameService.joinGame(Mockito.any(GameRequest.class)))
-                .thenReturn(mockedResponse);
+        Mockito.when(gameService.joinGame(Mockito.any(GameRequest.class))).thenAnswer(invocation -> {
+            messagingTemplate.convertAndSend(GAME_TOPIC, mockedResponse);
+            return mockedResponse;
+        });
     }
 
     /**
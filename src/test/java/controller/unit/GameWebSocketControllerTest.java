@@ -2,21 +2,20 @@ package controller.unit;
 
 import com.aau.wizard.GameExceptions;
 import com.aau.wizard.controller.GameWebSocketController;
-import com.aau.wizard.dto.PlayerDto;
 import com.aau.wizard.dto.request.GameRequest;
 import com.aau.wizard.dto.request.PredictionRequest;
 import com.aau.wizard.dto.response.GameResponse;
-import com.aau.wizard.model.enums.GameStatus;
+import com.aau.wizard.service.impl.GameCommandDispatcher;
+import com.aau.wizard.service.impl.GameMetrics;
+import com.aau.wizard.service.impl.GameRegistry;
 import com.aau.wizard.service.interfaces.GameService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 
-import java.util.Collections;
-import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -33,11 +32,21 @@ class GameWebSocketControllerTest {
     @Mock
     private SimpMessagingTemplate messagingTemplate;
 
-    @InjectMocks
     private GameWebSocketController gameWebSocketController;
 
     /**
-     * Tests that joinGame() returns a valid GameResponse when the GameService returns one.
+     * Creates the controller with a dispatcher that applies commands on the calling thread,
+     * so the effects of each handler can be verified right after it returns.
+     */
+    @BeforeEach
+    void setUp() {
+        GameCommandDispatcher dispatcher = new GameCommandDispatcher(new GameRegistry(), Runnable::run);
+        gameWebSocketController = new GameWebSocketController(gameService, messagingTemplate, dispatcher, new GameMetrics());
+    }
+
+    /**
+     * Tests that joinGame() leaves sending the joined game to the GameService, which sends it
+     * behind the other messages of the game.
      */
     @Test
     void testJoinGame() {
@@ -49,7 +58,7 @@ class GameWebSocketControllerTest {
         gameWebSocketController.joinGame(request);
 
         verify(gameService, times(1)).joinGame(any(GameRequest.class));
-        verify(messagingTemplate, times(1)).convertAndSend("/topic/game", expectedResponse);
+        verify(messagingTemplate, never()).convertAndSend(anyString(), any(Object.class));
 
     }
 
@@ -71,8 +80,7 @@ class GameWebSocketControllerTest {
     @Test
     void testStartGame_Success() {
         String gameId = TEST_GAME_ID;
-        GameResponse dummyResponse = new GameResponse(gameId, GameStatus.PLAYING, null, null, null, null, null, 1, null);
-        when(gameService.startGame(gameId)).thenReturn(dummyResponse);
+        doNothing().when(gameService).startGame(gameId);
 
         gameWebSocketController.startGame(gameId);
 
@@ -84,8 +92,7 @@ class GameWebSocketControllerTest {
     void testStartGameCleansQuotedGameId() {
         String quotedGameId = "\"test-game-id\"";
         String cleanGameId = "test-game-id";
-        GameResponse dummyResponse = new GameResponse(cleanGameId, GameStatus.PLAYING, null, null, null, null, null, 1, null);
-        when(gameService.startGame(cleanGameId)).thenReturn(dummyResponse);
+        doNothing().when(gameService).startGame(cleanGameId);
 
         gameWebSocketController.startGame(quotedGameId);
         verify(gameService).startGame(cleanGameId);
@@ -138,13 +145,13 @@ class GameWebSocketControllerTest {
     @Test
     void testHandlePrediction_Success() {
         PredictionRequest request = new PredictionRequest(TEST_GAME_ID, TEST_PLAYER_ID, 3);
-        GameResponse expectedResponse = createDefaultGameResponse(createDefaultPlayerDto());
-        when(gameService.makePrediction(request)).thenReturn(expectedResponse);
+        doNothing().when(gameService).makePrediction(request);
 
         gameWebSocketController.handlePrediction(request);
 
         verify(gameService, times(1)).makePrediction(request);
-        verify(messagingTemplate, times(1)).convertAndSend("/topic/game/" + request.getPlayerId(), expectedResponse);
+        // the service broadcasts the resulting delta itself
+        verify(messagingTemplate, never()).convertAndSend(anyString(), any(Object.class));
     }
 
     @Test
@@ -196,13 +203,37 @@ class GameWebSocketControllerTest {
     void testPlayCard_Success() {
         GameRequest request = createDefaultGameRequest();
         request.setCard("R10");
-        GameResponse expectedResponse = createDefaultGameResponse(createDefaultPlayerDto());
-        when(gameService.playCard(request)).thenReturn(expectedResponse);
+        doNothing().when(gameService).playCard(request);
 
-        GameResponse actualResponse = gameWebSocketController.playCard(request);
+        gameWebSocketController.playCard(request);
 
         verify(gameService, times(1)).playCard(request);
-        assertEquals(expectedResponse, actualResponse);
+        // the service broadcasts the resulting delta itself
+        verify(messagingTemplate, never()).convertAndSend(anyString(), any(Object.class));
+    }
+
+    @Test
+    void testResync_Success() {
+        GameRequest request = createDefaultGameRequest();
+
+        gameWebSocketController.resync(request);
+
+        verify(gameService, times(1)).resyncPlayer(request);
+        verify(messagingTemplate, never()).convertAndSend(anyString(), any(Object.class));
+    }
+
+    @Test
+    void testResync_PlayerNotFoundException() {
+        GameRequest request = createDefaultGameRequest();
+        String errorMessage = "Spieler nicht gefunden.";
+        doThrow(new GameExceptions.PlayerNotFoundException(errorMessage)).when(gameService).resyncPlayer(request);
+
+        gameWebSocketController.resync(request);
+
+        verify(messagingTemplate, times(1)).convertAndSend(
+                eq("/topic/errors/" + request.getPlayerId()),
+                eq(errorMessage)
+        );
     }
 
     @Test
@@ -212,10 +243,10 @@ class GameWebSocketControllerTest {
         String errorMessage = "Das Spiel ist nicht aktiv.";
         doThrow(new GameExceptions.GameNotActiveException(errorMessage)).when(gameService).playCard(request);
 
-        GameResponse actualResponse = gameWebSocketController.playCard(request);
+        gameWebSocketController.playCard(request);
 
         verify(gameService, times(1)).playCard(request);
-        assertNull(actualResponse);
+        verify(messagingTemplate, never()).convertAndSend(eq("/topic/game"), any(Object.class));
         verify(messagingTemplate, times(1)).convertAndSend(
                 eq("/topic/errors/" + request.getPlayerId()),
                 eq(errorMessage)
@@ -229,10 +260,10 @@ class GameWebSocketControllerTest {
         String errorMessage = "Die Karte ist nicht in deiner Hand.";
         doThrow(new GameExceptions.CardNotInHandException(errorMessage)).when(gameService).playCard(request);
 
-        GameResponse actualResponse = gameWebSocketController.playCard(request);
+        gameWebSocketController.playCard(request);
 
         verify(gameService, times(1)).playCard(request);
-        assertNull(actualResponse);
+        verify(messagingTemplate, never()).convertAndSend(eq("/topic/game"), any(Object.class));
         verify(messagingTemplate, times(1)).convertAndSend(
                 eq("/topic/errors/" + request.getPlayerId()),
                 eq(errorMessage)
@@ -245,10 +276,10 @@ class GameWebSocketControllerTest {
         request.setCard("R10");
         doThrow(new RuntimeException("Unerwarteter Fehler beim Spielen")).when(gameService).playCard(request);
 
-        GameResponse actualResponse = gameWebSocketController.playCard(request);
+        gameWebSocketController.playCard(request);
 
         verify(gameService, times(1)).playCard(request);
-        assertNull(actualResponse);
+        verify(messagingTemplate, never()).convertAndSend(eq("/topic/game"), any(Object.class));
         verify(messagingTemplate, times(1)).convertAndSend(
                 eq("/topic/errors/" + request.getPlayerId()),
                 eq("Ein unerwarteter Fehler ist beim Spielen der Karte aufgetreten.")
@@ -258,25 +289,24 @@ class GameWebSocketControllerTest {
     @Test
     void testSendScoreboard_Success() {
         String gameId = TEST_GAME_ID;
-        List<PlayerDto> expectedScoreboard = Collections.singletonList(createDefaultPlayerDto());
-        when(gameService.getScoreboard(gameId)).thenReturn(expectedScoreboard);
+        doNothing().when(gameService).sendScoreboard(gameId);
 
-        List<PlayerDto> actualScoreboard = gameWebSocketController.sendScoreboard(gameId);
+        gameWebSocketController.sendScoreboard(gameId);
 
-        verify(gameService, times(1)).getScoreboard(gameId);
-        assertEquals(expectedScoreboard, actualScoreboard);
+        verify(gameService, times(1)).sendScoreboard(gameId);
+        verify(messagingTemplate, never()).convertAndSend(anyString(), any(Object.class));
     }
 
     @Test
     void testSendScoreboard_GameNotFoundException() {
         String gameId = "nonExistentGame";
         String errorMessage = "Spiel nicht gefunden";
-        doThrow(new GameExceptions.GameNotFoundException(errorMessage)).when(gameService).getScoreboard(gameId);
+        doThrow(new GameExceptions.GameNotFoundException(errorMessage)).when(gameService).sendScoreboard(gameId);
 
-        List<PlayerDto> actualScoreboard = gameWebSocketController.sendScoreboard(gameId);
+        gameWebSocketController.sendScoreboard(gameId);
 
-        verify(gameService, times(1)).getScoreboard(gameId);
-        assertTrue(actualScoreboard.isEmpty());
+        verify(gameService, times(1)).sendScoreboard(gameId);
+        verify(messagingTemplate, never()).convertAndSend(eq("/topic/game/" + gameId + "/scoreboard"), any(Object.class));
         verify(messagingTemplate, times(1)).convertAndSend(
                 eq("/topic/errors/" + gameId),
                 contains(errorMessage)
@@ -286,12 +316,12 @@ class GameWebSocketControllerTest {
     @Test
     void testSendScoreboard_UnexpectedException() {
         String gameId = TEST_GAME_ID;
-        doThrow(new RuntimeException("DB Fehler")).when(gameService).getScoreboard(gameId);
+        doThrow(new RuntimeException("DB Fehler")).when(gameService).sendScoreboard(gameId);
 
-        List<PlayerDto> actualScoreboard = gameWebSocketController.sendScoreboard(gameId);
+        gameWebSocketController.sendScoreboard(gameId);
 
-        verify(gameService, times(1)).getScoreboard(gameId);
-        assertTrue(actualScoreboard.isEmpty());
+        verify(gameService, times(1)).sendScoreboard(gameId);
+        verify(messagingTemplate, never()).convertAndSend(eq("/topic/game/" + gameId + "/scoreboard"), any(Object.class));
         verify(messagingTemplate, times(1)).convertAndSend(
                 eq("/topic/errors/" + gameId),
                 eq("Ein unerwarteter Fehler ist beim Abrufen des Scoreboards aufgetreten.")
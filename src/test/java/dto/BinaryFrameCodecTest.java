@@ -0,0 +1,129 @@
+package dto;
+
+import com.aau.wizard.dto.BinaryFrameCodec;
+import com.aau.wizard.dto.CardDto;
+import com.aau.wizard.dto.PlayerDto;
+import com.aau.wizard.dto.request.GameRequest;
+import com.aau.wizard.dto.request.PredictionRequest;
+import com.aau.wizard.dto.response.GameDelta;
+import com.aau.wizard.dto.response.GameResponse;
+import com.aau.wizard.dto.response.HandResponse;
+import com.aau.wizard.model.CardTable;
+import com.aau.wizard.model.Game;
+import com.aau.wizard.model.enums.GameStatus;
+import com.aau.wizard.service.impl.GameRegistry;
+import com.aau.wizard.service.impl.GameServiceImpl;
+import com.aau.wizard.service.impl.GameStateBroadcaster;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import testutil.GameMoves;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryFrameCodecTest {
+    private static final SimpMessagingTemplate TEMPLATE = new SimpMessagingTemplate((message, timeout) -> true);
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    // only builds the states, nothing is sent
+    private final GameStateBroadcaster broadcaster = new GameStateBroadcaster(null);
+    private final GameServiceImpl service = new GameServiceImpl(TEMPLATE, new GameRegistry());
+
+    @Test
+    void gameResponseOfSixPlayersIsTheSameAfterDecodingAndSmallerThanJson() throws Exception {
+        Game game = GameMoves.startGame(service, "game-1", 6);
+        GameResponse response = broadcaster.createGameResponse(game, game.getPlayers().get(0).getPlayerId(), CardTable.wizard());
+        response.setLastPlayedCard("RED_7");
+        response.setLastTrickWinnerId("p2");
+
+        byte[] binary = BinaryFrameCodec.encode(response);
+
+        assertSameJson(response, BinaryFrameCodec.decode(binary));
+        assertTrue(binary.length * 3 < mapper.writeValueAsBytes(response).length,
+                binary.length + " Bytes binär, " + mapper.writeValueAsBytes(response).length + " Bytes JSON");
+    }
+
+    @Test
+    void everyCardIsOneByte() throws Exception {
+        List<CardDto> all = CardTable.all().stream().map(CardDto::from).toList();
+        HandResponse empty = new HandResponse("game-1", "p1", List.of());
+        HandResponse hand = new HandResponse("game-1", "p1", all);
+
+        byte[] binary = BinaryFrameCodec.encode(hand);
+
+        assertEquals(BinaryFrameCodec.encode(empty).length + all.size(), binary.length);
+        HandResponse decoded = (HandResponse) BinaryFrameCodec.decode(binary);
+        for (int i = 0; i < all.size(); i++) {
+            assertEquals(mapper.writeValueAsString(all.get(i)), mapper.writeValueAsString(decoded.getHandCards().get(i)));
+        }
+    }
+
+    @Test
+    void deltasKeepOnlyTheirFields() throws Exception {
+        GameDelta roundEnded = new GameDelta("game-1", 42, GameDelta.Type.ROUND_ENDED);
+        roundEnded.setStatus(GameStatus.ROUND_END_SUMMARY);
+        roundEnded.setScoreDeltas(Map.of("p1", 40, "p2", -20));
+        GameDelta trick = new GameDelta("game-1", 43, GameDelta.Type.TRICK_ENDED);
+        trick.setPlayerId("p1");
+        trick.setPlayedCard("JESTER");
+        trick.setLastTrickWinnerId("p2");
+        trick.setCurrentPlayerId("p2");
+        GameDelta roundStarted = new GameDelta("game-1", 44, GameDelta.Type.ROUND_STARTED);
+        roundStarted.setCurrentRound(3);
+        roundStarted.setPrediction(0);
+        roundStarted.setTrumpCard(CardDto.from(CardTable.byId(12)));
+
+        for (GameDelta delta : List.of(roundEnded, trick, roundStarted)) {
+            assertSameJson(delta, BinaryFrameCodec.decode(BinaryFrameCodec.encode(delta)));
+        }
+    }
+
+    @Test
+    void scoreboardAndRequestsAreTheSameAfterDecoding() throws Exception {
+        Game game = GameMoves.startGame(service, "game-1", 3);
+        game.getPlayers().get(0).addRoundScore(-30);
+        List<PlayerDto> scoreboard = game.getPlayers().stream().map(PlayerDto::from).toList();
+        GameRequest play = new GameRequest("game-1", "p1");
+        play.setCard("GREEN_13");
+        play.setIsCheating(true);
+        GameRequest join = new GameRequest("game-1", "p2");
+        join.setPlayerName("Bob");
+        PredictionRequest prediction = new PredictionRequest("game-1", "p3", 2);
+
+        for (Object payload : List.of(scoreboard, play, join, prediction)) {
+            assertSameJson(payload, BinaryFrameCodec.decode(BinaryFrameCodec.encode(payload)));
+        }
+    }
+
+    @Test
+    void invalidFramesAndPayloadsAreRejected() throws Exception {
+        byte[] hand = BinaryFrameCodec.encode(new HandResponse("game-1", "p1", List.of(CardDto.from(CardTable.byId(3)))));
+        byte[] badCard = hand.clone();
+        badCard[badCard.length - 1] = 60;
+        byte[] badCount = BinaryFrameCodec.encode(new HandResponse("game-1", "p1", List.of()));
+        badCount[badCount.length - 1] = -2;
+
+        assertThrows(IOException.class, () -> BinaryFrameCodec.decode(Arrays.copyOf(hand, hand.length - 1)));
+        assertThrows(IOException.class, () -> BinaryFrameCodec.decode(badCard));
+        assertThrows(IOException.class, () -> BinaryFrameCodec.decode(badCount));
+        assertThrows(IOException.class, () -> BinaryFrameCodec.decode(new byte[]{BinaryFrameCodec.FORMAT_VERSION + 1, 1}));
+        assertThrows(IOException.class, () -> BinaryFrameCodec.decode(Arrays.copyOf(hand, hand.length + 1)));
+        GameRequest unknownCard = new GameRequest("game-1", "p1");
+        unknownCard.setCard("RED_14");
+        assertThrows(IllegalArgumentException.class, () -> BinaryFrameCodec.encode(unknownCard));
+        assertFalse(BinaryFrameCodec.canEncode(List.of("RETURN")));
+    }
+
+    private void assertSameJson(Object expected, Object actual) throws Exception {
+        assertEquals(expected instanceof List<?>, actual instanceof List<?>);
+        if (!(expected instanceof List<?>)) {
+            assertEquals(expected.getClass(), actual.getClass());
+        }
+        assertEquals(mapper.readTree(mapper.writeValueAsBytes(expected)), mapper.readTree(mapper.writeValueAsBytes(actual)));
+    }
+}
@@ -0,0 +1,96 @@
+package dto;
+
+import com.aau.wizard.dto.CardDto;
+import com.aau.wizard.dto.PreEncodedCard;
+import com.aau.wizard.dto.PreEncodedCards;
+import com.aau.wizard.model.CardTable;
+import com.aau.wizard.model.ICard;
+import com.aau.wizard.model.WizardCard;
+import com.aau.wizard.model.enums.CardSuit;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PreEncodedCardsTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void allCardsAreTheSameJsonAsNewDtos() throws Exception {
+        PreEncodedCards cards = new PreEncodedCards(CardTable.all());
+        List<CardDto> plain = CardTable.all().stream().map(CardDto::from).toList();
+
+        String expected = mapper.writeValueAsString(plain);
+        assertEquals(expected, mapper.writeValueAsString(cards));
+        // the second message copies the encoded cards
+        assertEquals(expected, mapper.writeValueAsString(cards));
+        assertEquals(mapper.valueToTree(plain), mapper.valueToTree(cards));
+    }
+
+    @Test
+    void changingAReturnedDtoDoesNotChangeTheList() throws Exception {
+        ICard card = CardTable.byId(0);
+        PreEncodedCards cards = new PreEncodedCards(List.of(card));
+        String before = mapper.writeValueAsString(cards);
+
+        CardDto dto = cards.get(0);
+        dto.setColor("BLUE");
+
+        assertEquals("BLUE", dto.getColor());
+        assertEquals(card.getSuit().name(), cards.get(0).getColor());
+        assertEquals(before, mapper.writeValueAsString(cards));
+        assertThrows(UnsupportedOperationException.class, () -> cards.add(CardDto.from(card)));
+    }
+
+    @Test
+    void listKeepsTheCardsItWasCreatedWith() {
+        List<ICard> hand = new ArrayList<>(List.of(CardTable.byId(0), CardTable.byId(1)));
+        PreEncodedCards cards = new PreEncodedCards(hand);
+        hand.remove(0);
+
+        assertEquals(2, cards.size());
+        assertEquals(CardDto.from(CardTable.byId(0)).getValue(), cards.get(0).getValue());
+    }
+
+    @Test
+    void coloredWizardKeepsItsSuit() throws Exception {
+        ICard card = new WizardCard(CardSuit.RED);
+
+        PreEncodedCards cards = new PreEncodedCards(List.of(card, CardTable.wizard()));
+
+        assertEquals(CardSuit.RED.name(), cards.get(0).getColor());
+        assertEquals(mapper.writeValueAsString(List.of(CardDto.from(card), CardDto.from(CardTable.wizard()))),
+                mapper.writeValueAsString(cards));
+    }
+
+    @Test
+    void eachObjectMapperWritesTheCardsWithItsOwnSettings() throws Exception {
+        ObjectMapper upperCase = new ObjectMapper().setPropertyNamingStrategy(PropertyNamingStrategies.UPPER_CAMEL_CASE);
+        PreEncodedCards cards = new PreEncodedCards(CardTable.all());
+        List<CardDto> plain = CardTable.all().stream().map(CardDto::from).toList();
+
+        for (int i = 0; i < 2; i++) {
+            assertEquals(mapper.writeValueAsString(plain), mapper.writeValueAsString(cards));
+            assertEquals(upperCase.writeValueAsString(plain), upperCase.writeValueAsString(cards));
+        }
+    }
+
+    @Test
+    void singleCardIsTheSameJsonAsANewDtoUntilItIsChanged() throws Exception {
+        ICard card = CardTable.byId(7);
+        PreEncodedCard trump = new PreEncodedCard(card);
+
+        assertEquals(mapper.writeValueAsString(CardDto.from(card)), mapper.writeValueAsString(trump));
+        trump.setValue("99");
+
+        CardDto changed = CardDto.from(card);
+        changed.setValue("99");
+        assertEquals(mapper.writeValueAsString(changed), mapper.writeValueAsString(trump));
+        assertEquals(mapper.writeValueAsString(CardDto.from(card)), mapper.writeValueAsString(new PreEncodedCard(card)));
+    }
+}
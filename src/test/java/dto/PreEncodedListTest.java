@@ -0,0 +1,77 @@
+package dto;
+
+import com.aau.wizard.dto.CardDto;
+import com.aau.wizard.dto.PlayerDto;
+import com.aau.wizard.dto.PreEncodedList;
+import com.aau.wizard.dto.response.GameResponse;
+import com.aau.wizard.model.Game;
+import com.aau.wizard.service.impl.GameRegistry;
+import com.aau.wizard.service.impl.GameServiceImpl;
+import com.aau.wizard.service.impl.GameStateBroadcaster;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import testutil.GameMoves;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PreEncodedListTest {
+    private static final SimpMessagingTemplate TEMPLATE = new SimpMessagingTemplate((message, timeout) -> true);
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    // only builds the states, nothing is sent
+    private final GameStateBroadcaster broadcaster = new GameStateBroadcaster(null);
+    private final GameServiceImpl service = new GameServiceImpl(TEMPLATE, new GameRegistry());
+
+    @Test
+    void stateWithSharedPartsIsTheSameJsonAsWithNewDtos() throws Exception {
+        Game game = GameMoves.startGame(service, "game-1", 3);
+        String playerId = game.getPlayers().get(0).getPlayerId();
+        GameResponse shared = broadcaster.createGameResponse(game, playerId, game.getPlayers().get(0).getHandCards().get(0));
+        GameResponse plain = broadcaster.createGameResponse(game, playerId, null);
+        plain.setPlayers(game.getPlayers().stream().map(PlayerDto::from).toList());
+        plain.setHandCards(game.getPlayerById(playerId).getHandCards().stream().map(CardDto::from).toList());
+        plain.setTrumpCard(CardDto.from(game.getPlayers().get(0).getHandCards().get(0)));
+
+        String expected = mapper.writeValueAsString(plain);
+        assertEquals(expected, mapper.writeValueAsString(shared));
+        // the second message copies the encoded parts
+        assertEquals(expected, mapper.writeValueAsString(shared));
+        assertEquals(mapper.valueToTree(plain), mapper.valueToTree(shared));
+        assertEquals(expected, mapper.writeValueAsString(mapper.readValue(expected, GameResponse.class)));
+    }
+
+    @Test
+    void scoreboardIsSharedUntilTheNextVersion() throws Exception {
+        Game game = GameMoves.startGame(service, "game-1", 3);
+        List<PlayerDto> scoreboard = broadcaster.scoreboard(game);
+        String before = mapper.writeValueAsString(scoreboard);
+
+        assertSame(scoreboard, broadcaster.scoreboard(game));
+        assertSame(scoreboard, broadcaster.createGameResponse(game, null, null).getPlayers());
+        assertThrows(UnsupportedOperationException.class, () -> scoreboard.add(new PlayerDto()));
+
+        game.getPlayers().get(0).addRoundScore(40);
+        game.nextVersion();
+
+        List<PlayerDto> next = broadcaster.scoreboard(game);
+        assertNotSame(scoreboard, next);
+        assertEquals(List.of(40), next.get(0).getRoundScores());
+        assertEquals(before, mapper.writeValueAsString(scoreboard), "Die alte Version bleibt unverändert.");
+        assertNotEquals(before, mapper.writeValueAsString(next));
+    }
+
+    @Test
+    void listBehavesLikeItsElements() {
+        List<String> elements = new ArrayList<>(List.of("a", "b"));
+        PreEncodedList<String> list = new PreEncodedList<>(elements);
+        elements.add("c");
+
+        assertEquals(List.of("a", "b"), list);
+        assertEquals(List.of("a", "b").hashCode(), list.hashCode());
+        assertEquals("b", list.get(1));
+    }
+}
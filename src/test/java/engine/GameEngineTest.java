@@ -0,0 +1,148 @@
+package engine;
+
+import com.aau.wizard.GameExceptions;
+import com.aau.wizard.engine.DomainEvent;
+import com.aau.wizard.engine.DomainEventSink;
+import com.aau.wizard.engine.GameEngine;
+import com.aau.wizard.journal.GameJournal;
+import com.aau.wizard.model.Game;
+import com.aau.wizard.model.ICard;
+import com.aau.wizard.model.Player;
+import com.aau.wizard.model.enums.GameStatus;
+import com.aau.wizard.service.impl.GameRegistry;
+import com.aau.wizard.service.impl.GameServiceImpl;
+import com.aau.wizard.service.impl.RoundServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import testutil.GameMoves;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameEngineTest {
+
+    private static final SimpMessagingTemplate TEMPLATE = new SimpMessagingTemplate((message, timeout) -> true);
+
+    private final List<DomainEvent> events = new ArrayList<>();
+
+    @Test
+    void completeGamePublishesEveryChangeWithTheNextVersion() {
+        GameServiceImpl service = new GameServiceImpl(TEMPLATE, new GameRegistry(), GameJournal.NONE, events::add);
+        Game game = GameMoves.startGame(service, "game-1", 3);
+        while (GameMoves.playMove(service, "game-1")) {
+            // play the whole game
+        }
+
+        assertInstanceOf(DomainEvent.GameStarted.class, events.get(0));
+        assertEquals(new DomainEvent.GameEnded(game, game.getVersion(), false), events.get(events.size() - 1));
+        for (int i = 1; i < events.size(); i++) {
+            assertEquals(events.get(i - 1).version() + 1, events.get(i).version(), "Ereignis " + i);
+        }
+        assertEquals(game.getMaxRound(), count(DomainEvent.RoundEnded.class));
+        assertEquals(game.getMaxRound() - 1, count(DomainEvent.RoundStarted.class));
+        // round r has r tricks of three cards each
+        int tricks = game.getMaxRound() * (game.getMaxRound() + 1) / 2;
+        assertEquals(tricks, count(DomainEvent.TrickCompleted.class));
+        assertEquals(2 * tricks, count(DomainEvent.CardPlayed.class));
+    }
+
+    @Test
+    void roundEndsRightAfterItsLastTrick() {
+        GameServiceImpl service = new GameServiceImpl(TEMPLATE, new GameRegistry(), GameJournal.NONE, events::add);
+        Game game = GameMoves.startGame(service, "game-1", 4);
+        while (game.getCurrentRound() < 3 && GameMoves.playMove(service, "game-1")) {
+            // play the first two rounds
+        }
+
+        List<String> seats = game.getPlayers().stream().map(Player::getPlayerId).toList();
+        int rounds = 0;
+        for (int i = 0; i < events.size(); i++) {
+            if (events.get(i) instanceof DomainEvent.RoundEnded ended) {
+                rounds++;
+                DomainEvent.TrickCompleted trick = assertInstanceOf(DomainEvent.TrickCompleted.class, events.get(i - 1));
+                assertEquals(ended.round(), trick.round());
+                assertEquals(ended.round(), trick.trick(), "Die letzte Runde hat so viele Stiche wie ihre Nummer.");
+                assertEquals(4, trick.cards().size());
+                assertEquals(seats, List.copyOf(ended.pointsThisRound().keySet()));
+            }
+        }
+        assertEquals(2, rounds);
+    }
+
+    @Test
+    void rejectedCommandPublishesNothingAndLeavesTheVersion() {
+        GameEngine engine = new GameEngine(events::add);
+        Game game = new Game("game-1");
+        engine.join(game, "p1", "Alice");
+        engine.join(game, "p2", "Bob");
+        RoundServiceImpl round = engine.start(game);
+        events.clear();
+        long version = game.getVersion();
+
+        String waiting = game.getPredictionOrder().get(1);
+        assertThrows(GameExceptions.InvalidTurnException.class, () -> engine.predict(game, waiting, 0));
+        Player notOnTurn = game.getPlayerById(waiting);
+        ICard card = notOnTurn.getHandCards().get(0);
+        assertThrows(GameExceptions.GameNotActiveException.class,
+                () -> engine.playCard(game, round, waiting, card, false));
+
+        assertTrue(events.isEmpty());
+        assertEquals(version, game.getVersion());
+        assertEquals(GameStatus.PREDICTION, game.getStatus());
+        assertTrue(notOnTurn.getHandCards().contains(card));
+    }
+
+    @Test
+    void startNeedsTwoPlayersAndJoiningPublishesNothing() {
+        GameEngine engine = new GameEngine(events::add);
+        Game game = new Game("game-1");
+        engine.join(game, "p1", "Alice");
+        engine.join(game, "p1", "Alice");
+
+        assertEquals(1, game.getPlayers().size());
+        assertThrows(GameExceptions.GameStartException.class, () -> engine.start(game));
+        assertTrue(events.isEmpty());
+        assertEquals(GameStatus.LOBBY, game.getStatus());
+    }
+
+    @Test
+    void repeatedRuleViolationsThrowTheSameStacklessException() {
+        GameEngine engine = new GameEngine(events::add);
+        Game game = new Game("game-1");
+        engine.join(game, "p1", "Alice");
+        engine.join(game, "p2", "Bob");
+        engine.start(game);
+        String waiting = game.getPredictionOrder().get(1);
+
+        GameExceptions.InvalidTurnException first =
+                assertThrows(GameExceptions.InvalidTurnException.class, () -> engine.predict(game, waiting, 0));
+        GameExceptions.InvalidTurnException second =
+                assertThrows(GameExceptions.InvalidTurnException.class, () -> engine.predict(game, waiting, 1));
+
+        assertSame(first, second);
+        assertEquals(0, first.getStackTrace().length);
+        first.addSuppressed(new IllegalStateException("wird ignoriert"));
+        assertEquals(0, first.getSuppressed().length);
+        assertEquals("Du bist noch nicht an der Reihe, bitte warte.", first.getMessage());
+    }
+
+    @Test
+    void abortEndsTheGame() {
+        GameEngine engine = new GameEngine(DomainEventSink.NONE.andThen(events::add));
+        Game game = new Game("game-1");
+        engine.join(game, "p1", "Alice");
+        engine.join(game, "p2", "Bob");
+        engine.start(game);
+
+        engine.abort(game);
+
+        assertEquals(GameStatus.ENDED, game.getStatus());
+        assertEquals(new DomainEvent.GameEnded(game, game.getVersion(), true), events.get(events.size() - 1));
+    }
+
+    private long count(Class<? extends DomainEvent> type) {
+        return events.stream().filter(type::isInstance).count();
+    }
+}
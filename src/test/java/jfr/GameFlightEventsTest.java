@@ -0,0 +1,83 @@
+package jfr;
+
+import com.aau.wizard.model.Game;
+import com.aau.wizard.service.impl.GameRegistry;
+import com.aau.wizard.service.impl.GameServiceImpl;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import testutil.GameMoves;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameFlightEventsTest {
+
+    private static final SimpMessagingTemplate TEMPLATE = new SimpMessagingTemplate((message, timeout) -> true);
+
+    private static final List<String> EVENTS = List.of("GameStarted", "RoundStarted", "CardPlayed",
+            "TrickResolved", "RoundScored", "Broadcast");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void completeGameRecordsEveryStepWithItsGame() throws IOException {
+        GameServiceImpl service = new GameServiceImpl(TEMPLATE, new GameRegistry());
+        Path file = directory.resolve("game.jfr");
+        Game game;
+        try (Recording recording = new Recording()) {
+            for (String event : EVENTS) {
+                recording.enable("com.aau.wizard." + event).withThreshold(Duration.ZERO);
+            }
+            recording.start();
+            game = GameMoves.startGame(service, "game-1", 3);
+            while (GameMoves.playMove(service, "game-1")) {
+                // play the whole game
+            }
+            recording.stop();
+            recording.dump(file);
+        }
+        // the events are written per thread buffer, not in the order they happened
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .sorted(Comparator.comparing(RecordedEvent::getStartTime))
+                .toList();
+
+        int rounds = game.getMaxRound();
+        // round r has r tricks of three cards each
+        int tricks = rounds * (rounds + 1) / 2;
+        assertEquals(1, count(events, "GameStarted"));
+        assertEquals(rounds, count(events, "RoundStarted"));
+        assertEquals(rounds, count(events, "RoundScored"));
+        assertEquals(tricks, count(events, "TrickResolved"));
+        assertEquals(3 * tricks, count(events, "CardPlayed"));
+        for (RecordedEvent event : events) {
+            assertEquals("game-1", event.getString("gameId"), event.getEventType().getName());
+            assertEquals(3, event.getInt("players"), event.getEventType().getName());
+            assertTrue(event.getInt("round") >= 1 && event.getInt("round") <= rounds);
+        }
+
+        RecordedEvent lastScored = events.stream()
+                .filter(e -> e.getEventType().getName().equals("com.aau.wizard.RoundScored"))
+                .reduce((first, second) -> second).orElseThrow();
+        assertEquals(rounds, lastScored.getInt("round"));
+        RecordedEvent lastBroadcast = events.stream()
+                .filter(e -> e.getEventType().getName().equals("com.aau.wizard.Broadcast"))
+                .reduce((first, second) -> second).orElseThrow();
+        assertEquals("GameEnded", lastBroadcast.getString("change"));
+        assertEquals(game.getVersion(), lastBroadcast.getLong("version"));
+        assertEquals(1, lastBroadcast.getInt("messages"));
+    }
+
+    private static long count(List<RecordedEvent> events, String name) {
+        return events.stream().filter(e -> e.getEventType().getName().equals("com.aau.wizard." + name)).count();
+    }
+}
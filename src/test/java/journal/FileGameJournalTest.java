@@ -0,0 +1,182 @@
+package journal;
+
+import com.aau.wizard.journal.FileGameJournal;
+import com.aau.wizard.journal.GameEvent;
+import com.aau.wizard.journal.GameJournalReader;
+import com.aau.wizard.journal.JournalRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileGameJournalTest {
+
+    private static final long SEGMENT_BYTES = 1 << 20;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void everyEventTypeIsReadBackAsWritten() throws IOException {
+        List<GameEvent> events = List.of(
+                new GameEvent.PlayerJoined("game-1", "p1", "Älice"),
+                new GameEvent.PlayerJoined("game-1", "p2", null),
+                new GameEvent.GameStarted("game-1", -42L),
+                new GameEvent.PredictionMade("game-1", "p1", 3),
+                new GameEvent.CardPlayed("game-1", "p2", (byte) 57, true),
+                new GameEvent.RoundProceeded("game-1"),
+                new GameEvent.GameAborted("game-1"),
+                new GameEvent.GameRemoved("game-1"));
+
+        try (FileGameJournal journal = new FileGameJournal(directory, SEGMENT_BYTES, true)) {
+            events.forEach(journal::append);
+        }
+
+        List<JournalRecord> records = readAll();
+        assertEquals(events.size(), records.size());
+        for (int i = 0; i < events.size(); i++) {
+            assertEquals(i + 1, records.get(i).sequence());
+            assertEquals(events.get(i), records.get(i).event());
+        }
+    }
+
+    /**
+     * Appenders of different games run concurrently; the journal must keep each game's order and
+     * share fsyncs between them.
+     */
+    @Test
+    @Timeout(30)
+    void concurrentAppendsKeepTheOrderOfEachGameAndShareSyncs() throws Exception {
+        int games = 8;
+        int eventsPerGame = 2_000;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        FileGameJournal journal = new FileGameJournal(directory, SEGMENT_BYTES, true);
+        for (int game = 0; game < games; game++) {
+            String gameId = "game-" + game;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < eventsPerGame; i++) {
+                    journal.append(new GameEvent.PredictionMade(gameId, "p" + i, i % 20));
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        journal.flush();
+        journal.close();
+
+        Map<String, Integer> nextPerGame = new HashMap<>();
+        List<JournalRecord> records = readAll();
+        assertEquals(games * eventsPerGame, records.size());
+        for (JournalRecord record : records) {
+            GameEvent.PredictionMade event = (GameEvent.PredictionMade) record.event();
+            int expected = nextPerGame.merge(event.gameId(), 1, Integer::sum) - 1;
+            assertEquals("p" + expected, event.playerId());
+        }
+        assertEquals(games * eventsPerGame, journal.getMetrics().getRecordCount());
+        assertTrue(journal.getMetrics().getSyncCount() < journal.getMetrics().getRecordCount(),
+                "Events must be group committed: " + journal.getMetrics());
+    }
+
+    @Test
+    void fullSegmentsAreRolledAndReadInOrder() throws IOException {
+        int events = 60_000;
+        try (FileGameJournal journal = new FileGameJournal(directory, SEGMENT_BYTES, false)) {
+            for (int i = 0; i < events; i++) {
+                journal.append(new GameEvent.GameStarted("game-" + i, i));
+            }
+        }
+
+        assertTrue(segmentCount() > 1);
+        List<JournalRecord> records = readAll();
+        assertEquals(events, records.size());
+        for (int i = 0; i < events; i++) {
+            assertEquals(i + 1, records.get(i).sequence());
+            assertEquals(new GameEvent.GameStarted("game-" + i, i), records.get(i).event());
+        }
+    }
+
+    @Test
+    void tornTailIsCutOffAndTheSequenceContinues() throws IOException {
+        try (FileGameJournal journal = new FileGameJournal(directory, SEGMENT_BYTES, true)) {
+            for (int i = 0; i < 10; i++) {
+                journal.append(new GameEvent.RoundProceeded("game-1"));
+            }
+        }
+        // a record whose write was interrupted by a crash
+        try (Stream<Path> files = Files.list(directory);
+             FileChannel channel = FileChannel.open(files.findFirst().orElseThrow(), StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0, 0, 0, 40, 1, 2, 3}));
+        }
+
+        try (FileGameJournal journal = new FileGameJournal(directory, SEGMENT_BYTES, true)) {
+            assertEquals(10, journal.lastSequence());
+            assertEquals(11, journal.append(new GameEvent.GameAborted("game-1")));
+        }
+
+        List<JournalRecord> records = readAll();
+        assertEquals(11, records.size());
+        assertEquals(11, records.get(10).sequence());
+        assertEquals(new GameEvent.GameAborted("game-1"), records.get(10).event());
+    }
+
+    @Test
+    void appendAfterCloseIsRejected() throws IOException {
+        FileGameJournal journal = new FileGameJournal(directory, SEGMENT_BYTES, true);
+        journal.close();
+
+        assertThrows(IllegalStateException.class, () -> journal.append(new GameEvent.GameAborted("game-1")));
+    }
+
+    @Test
+    void readingFromASequenceSkipsEarlierSegments() throws IOException {
+        try (FileGameJournal journal = new FileGameJournal(directory, SEGMENT_BYTES, false)) {
+            for (int i = 0; i < 100_000; i++) {
+                journal.append(new GameEvent.PredictionMade("game-" + (i % 7), "player", i % 5));
+            }
+        }
+
+        List<JournalRecord> tail = new ArrayList<>();
+        GameJournalReader.Result result = GameJournalReader.read(directory, 99_001, tail::add);
+
+        assertEquals(1_000, result.records());
+        assertEquals(100_000, result.lastSequence());
+        assertEquals(99_001, tail.get(0).sequence());
+        assertEquals(1_000, tail.size());
+    }
+
+    private List<JournalRecord> readAll() throws IOException {
+        List<JournalRecord> records = new ArrayList<>();
+        GameJournalReader.read(directory, records::add);
+        return records;
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package load;
+
+import com.aau.wizard.WizardApplication;
+import com.aau.wizard.config.ExecutionMode;
+import com.aau.wizard.dto.request.GameRequest;
+import com.aau.wizard.dto.response.GameResponse;
+import com.aau.wizard.dto.response.HandResponse;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.messaging.converter.CompositeMessageConverter;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.converter.StringMessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the p99 round trip latency of {@code /app/game/play} between the platform thread pools
+ * and the virtual thread execution mode of the STOMP channels.
+ * <p>
+ * Every simulated client sits at a started two-player table that is still in the prediction
+ * phase, so each play runs the full inbound, mailbox and outbound path and is answered
+ * deterministically on {@code /topic/errors/{playerId}}.
+ * <p>
+ * Only runs with {@code mvn -Pload test}.
+ */
+@Tag("load")
+class ExecutionModeLoadTest {
+
+    private static final int CLIENTS = 200;
+    private static final int PLAYS_PER_CLIENT = 100;
+    private static final long REPLY_TIMEOUT_SECONDS = 10;
+
+    @Test
+    void compareP99LatencyOfPlayBetweenExecutionModes() throws Exception {
+        long[] platform = measurePlayLatencies(ExecutionMode.PLATFORM);
+        long[] virtual = measurePlayLatencies(ExecutionMode.VIRTUAL);
+
+        System.out.printf(Locale.ROOT, "/app/game/play p99 platform=%.2f ms, virtual=%.2f ms (p50 %.2f ms / %.2f ms)%n",
+                percentile(platform, 0.99) / 1e6, percentile(virtual, 0.99) / 1e6,
+                percentile(platform, 0.50) / 1e6, percentile(virtual, 0.50) / 1e6);
+
+        assertEquals(CLIENTS * PLAYS_PER_CLIENT, platform.length);
+        assertEquals(CLIENTS * PLAYS_PER_CLIENT, virtual.length);
+    }
+
+    private long[] measurePlayLatencies(ExecutionMode mode) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(WizardApplication.class)
+                .properties("server.port=0", "wizard.websocket.execution-mode=" + mode.name().toLowerCase(Locale.ROOT),
+                        "wizard.inbound.rate-limit.enabled=false")
+                .run()) {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+
+            WebSocketStompClient stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+            stompClient.setMessageConverter(new CompositeMessageConverter(List.of(
+                    new StringMessageConverter(), new MappingJackson2MessageConverter())));
+
+            List<SimulatedClient> clients = new ArrayList<>();
+            CountDownLatch started = new CountDownLatch(CLIENTS);
+            for (int i = 0; i < CLIENTS; i++) {
+                clients.add(SimulatedClient.connect(stompClient, port, "load-" + (i / 2), "load-p" + i, started));
+            }
+            CountDownLatch joined = clients.get(0).countLobbyUpdates(CLIENTS);
+            for (SimulatedClient client : clients) {
+                client.join();
+            }
+            assertTrue(joined.await(REPLY_TIMEOUT_SECONDS, TimeUnit.SECONDS), "All players must have joined");
+            for (int i = 0; i < CLIENTS; i += 2) {
+                clients.get(i).startGame();
+            }
+            assertTrue(started.await(REPLY_TIMEOUT_SECONDS, TimeUnit.SECONDS), "All tables must have been started");
+
+            ExecutorService drivers = Executors.newFixedThreadPool(CLIENTS);
+            try {
+                List<Future<long[]>> results = new ArrayList<>();
+                for (SimulatedClient client : clients) {
+                    results.add(drivers.submit(() -> client.playRepeatedly(PLAYS_PER_CLIENT)));
+                }
+                long[] latencies = new long[CLIENTS * PLAYS_PER_CLIENT];
+                int offset = 0;
+                for (Future<long[]> result : results) {
+                    long[] clientLatencies = result.get();
+                    System.arraycopy(clientLatencies, 0, latencies, offset, clientLatencies.length);
+                    offset += clientLatencies.length;
+                }
+                return latencies;
+            } finally {
+                drivers.shutdownNow();
+                clients.forEach(SimulatedClient::disconnect);
+            }
+        }
+    }
+
+    private static long percentile(long[] values, double percentile) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)];
+    }
+
+    /**
+     * One STOMP client that measures the time from sending a play until its reply arrives.
+     */
+    private static final class SimulatedClient {
+        private final StompSession session;
+        private final String gameId;
+        private final String playerId;
+        private final BlockingQueue<String> replies = new LinkedBlockingQueue<>();
+
+        private SimulatedClient(StompSession session, String gameId, String playerId) {
+            this.session = session;
+            this.gameId = gameId;
+            this.playerId = playerId;
+        }
+
+        static SimulatedClient connect(WebSocketStompClient stompClient, int port, String gameId, String playerId,
+                                       CountDownLatch started) throws Exception {
+            StompSession session = stompClient
+                    .connect("ws://localhost:" + port + "/ws", new WebSocketHttpHeaders(), new StompSessionHandlerAdapter() {})
+                    .get(REPLY_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            SimulatedClient client = new SimulatedClient(session, gameId, playerId);
+
+            session.subscribe("/topic/errors/" + playerId, new StompFrameHandler() {
+                @Override
+                public Type getPayloadType(StompHeaders headers) {
+                    return String.class;
+                }
+
+                @Override
+                public void handleFrame(StompHeaders headers, Object payload) {
+                    client.replies.offer((String) payload);
+                }
+            });
+            CountDownLatch firstUpdate = new CountDownLatch(1);
+            session.subscribe("/topic/game/" + playerId, new StompFrameHandler() {
+                @Override
+                public Type getPayloadType(StompHeaders headers) {
+                    return HandResponse.class;
+                }
+
+                @Override
+                public void handleFrame(StompHeaders headers, Object payload) {
+                    if (firstUpdate.getCount() > 0) {
+                        firstUpdate.countDown();
+                        started.countDown();
+                    }
+                }
+            });
+            return client;
+        }
+
+        CountDownLatch countLobbyUpdates(int expected) {
+            CountDownLatch latch = new CountDownLatch(expected);
+            session.subscribe("/topic/game", new StompFrameHandler() {
+                @Override
+                public Type getPayloadType(StompHeaders headers) {
+                    return GameResponse.class;
+                }
+
+                @Override
+                public void handleFrame(StompHeaders headers, Object payload) {
+                    latch.countDown();
+                }
+            });
+            return latch;
+        }
+
+        void join() {
+            GameRequest request = new GameRequest(gameId, playerId);
+            request.setPlayerName(playerId);
+            session.send("/app/game/join", request);
+        }
+
+        void startGame() {
+            session.send("/app/game/start", gameId);
+        }
+
+        long[] playRepeatedly(int plays) throws InterruptedException {
+            long[] latencies = new long[plays];
+            GameRequest request = new GameRequest(gameId, playerId);
+            request.setCard("RED_1");
+            // the error subscription may not be registered yet, so warm up until the first reply arrives
+            String warmUp = null;
+            for (int attempt = 0; warmUp == null && attempt < REPLY_TIMEOUT_SECONDS; attempt++) {
+                session.send("/app/game/play", request);
+                warmUp = replies.poll(1, TimeUnit.SECONDS);
+            }
+            assertNotNull(warmUp, "No reply to warm-up play of " + playerId);
+            replies.clear();
+            for (int i = 0; i < plays; i++) {
+                long start = System.nanoTime();
+                session.send("/app/game/play", request);
+                String reply = replies.poll(REPLY_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                latencies[i] = System.nanoTime() - start;
+                assertNotNull(reply, "No reply for play " + i + " of " + playerId);
+            }
+            return latencies;
+        }
+
+        void disconnect() {
+            session.disconnect();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package load;
+
+import com.aau.wizard.archive.ArchivedGame;
+import com.aau.wizard.archive.MappedGameArchive;
+import com.aau.wizard.model.Game;
+import com.aau.wizard.model.Player;
+import com.aau.wizard.model.enums.GameStatus;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Archives a large number of finished games, reopens the archive and looks games up by game and
+ * player id. Reports the write and lookup rates, the time to rebuild the index and the heap the
+ * reopened archive retains, which must stay a small fraction of the archived bytes.
+ * <p>
+ * Only runs with {@code mvn -Pload test}. The size of the run is set with system properties:
+ * <ul>
+ *     <li>{@code load.archiveGames} – number of archived games, default 1000000</li>
+ *     <li>{@code load.players} – players per game (2–6), default 4</li>
+ *     <li>{@code load.archivePlayers} – number of distinct players, default 200000</li>
+ * </ul>
+ */
+@Tag("load")
+class GameArchiveLoadTest {
+
+    private static final int GAMES = Integer.getInteger("load.archiveGames", 1_000_000);
+    private static final int PLAYERS = Integer.getInteger("load.players", 4);
+    private static final int DISTINCT_PLAYERS = Integer.getInteger("load.archivePlayers", 200_000);
+    private static final int LOOKUPS = 200_000;
+    private static final long SEGMENT_BYTES = 256L << 20;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void archiveMillionsOfGames() throws IOException {
+        SplittableRandom random = new SplittableRandom(42);
+        long bytes = 0;
+        long start = System.nanoTime();
+        try (MappedGameArchive archive = new MappedGameArchive(directory, SEGMENT_BYTES)) {
+            for (int i = 0; i < GAMES; i++) {
+                archive.append(endedGame(i, random));
+            }
+        }
+        long writeNanos = System.nanoTime() - start;
+
+        long heapBefore = usedHeap();
+        start = System.nanoTime();
+        try (MappedGameArchive archive = new MappedGameArchive(directory, SEGMENT_BYTES)) {
+            long openNanos = System.nanoTime() - start;
+            long indexHeap = usedHeap() - heapBefore;
+            assertEquals(GAMES, archive.size());
+            for (int i = 0; i < GAMES; i++) {
+                bytes += archive.find(gameId(i)).length();
+            }
+
+            start = System.nanoTime();
+            for (int i = 0; i < LOOKUPS; i++) {
+                int game = random.nextInt(GAMES);
+                ArchivedGame archived = archive.find(gameId(game));
+                assertEquals(gameId(game), archived.getGameId());
+                assertEquals(60 / PLAYERS, archived.getRoundsPlayed());
+            }
+            long lookupNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            long playerGames = 0;
+            for (int i = 0; i < LOOKUPS / 10; i++) {
+                playerGames += archive.findByPlayer("player-" + random.nextInt(DISTINCT_PLAYERS), 20).size();
+            }
+            long playerLookupNanos = System.nanoTime() - start;
+
+            System.out.printf(Locale.ROOT, "%d games archived in %d ms (%.0f games/s), %d MB of records%n",
+                    GAMES, TimeUnit.NANOSECONDS.toMillis(writeNanos), GAMES * 1e9 / writeNanos, bytes >> 20);
+            System.out.printf(Locale.ROOT, "Reopened and indexed in %d ms, index heap about %d MB%n",
+                    TimeUnit.NANOSECONDS.toMillis(openNanos), indexHeap >> 20);
+            System.out.printf(Locale.ROOT, "Lookup by game: %.0f/s, by player: %.0f/s (%.1f games each)%n",
+                    LOOKUPS * 1e9 / lookupNanos, LOOKUPS / 10 * 1e9 / playerLookupNanos, playerGames / (LOOKUPS / 10.0));
+            // the index must not grow with the records: 64 bytes per game is far below one record
+            assertTrue(indexHeap < (long) GAMES * 64 + (64L << 20), "Index retains " + (indexHeap >> 20) + " MB");
+        }
+    }
+
+    private static Game endedGame(int index, SplittableRandom random) {
+        Game game = new Game(gameId(index));
+        game.setSeed(random.nextLong());
+        game.setMaxRound(60 / PLAYERS);
+        game.setCurrentRound(60 / PLAYERS);
+        game.setStatus(GameStatus.ENDED);
+        for (int seat = 0; seat < PLAYERS; seat++) {
+            String playerId = "player-" + random.nextInt(DISTINCT_PLAYERS);
+            Player player = new Player(playerId, "Spieler " + playerId);
+            for (int round = 1; round <= game.getMaxRound(); round++) {
+                int prediction = random.nextInt(round + 1);
+                int tricks = random.nextInt(round + 1);
+                int points = prediction == tricks ? 20 + 10 * tricks : -10 * Math.abs(prediction - tricks);
+                player.addRoundResult(prediction, tricks, points);
+                player.setScore(player.getScore() + points);
+            }
+            game.getPlayers().add(player);
+        }
+        return game;
+    }
+
+    private static String gameId(int index) {
+        return "archived-" + index;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
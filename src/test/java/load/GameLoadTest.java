@@ -0,0 +1,158 @@
+package load;
+
+import com.aau.wizard.WizardApplication;
+import com.aau.wizard.dto.PlayerDto;
+import com.aau.wizard.dto.response.GameResponse;
+import load.LoadMetrics.MessageType;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.messaging.converter.CompositeMessageConverter;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.converter.StringMessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Boots the real server and lets simulated STOMP clients play complete games through
+ * {@code /app/game/join}, {@code /start}, {@code /predict}, {@code /play} and
+ * {@code /proceedToNextRound}, recording the end-to-end latency of each message type in HDR
+ * histograms and the total moves (predictions and played cards) per second.
+ * <p>
+ * Only runs with {@code mvn -Pload test}. The size of the run is set with system properties:
+ * <ul>
+ *     <li>{@code load.tables} – number of tables, default 250</li>
+ *     <li>{@code load.players} – players per table (2–6), default 4</li>
+ *     <li>{@code load.executionMode} – {@code platform} or {@code virtual}, default {@code virtual}</li>
+ *     <li>{@code load.timeoutMinutes} – time all games must be finished in, default 10</li>
+ * </ul>
+ * e.g. {@code mvn -Pload test -Dtest=GameLoadTest -Dload.tables=1000 -Dload.players=6}.
+ */
+@Tag("load")
+class GameLoadTest {
+
+    private static final int TABLES = Integer.getInteger("load.tables", 250);
+    private static final int PLAYERS_PER_TABLE = Integer.getInteger("load.players", 4);
+    private static final String EXECUTION_MODE = System.getProperty("load.executionMode", "virtual");
+    private static final long TIMEOUT_MINUTES = Long.getLong("load.timeoutMinutes", 10);
+    private static final long STALL_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    @Test
+    void playFullGamesAndReportLatencies() throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(WizardApplication.class)
+                .properties("server.port=0", "wizard.websocket.execution-mode=" + EXECUTION_MODE,
+                        "wizard.inbound.rate-limit.enabled=false")
+                .run()) {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+
+            WebSocketStompClient stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+            stompClient.setMessageConverter(new CompositeMessageConverter(List.of(
+                    new StringMessageConverter(), new MappingJackson2MessageConverter())));
+
+            LoadMetrics metrics = new LoadMetrics();
+            CountDownLatch finished = new CountDownLatch(TABLES * PLAYERS_PER_TABLE);
+            List<SimulatedPlayer> players = new ArrayList<>();
+            Map<String, SimulatedPlayer> hosts = new ConcurrentHashMap<>();
+            for (int table = 0; table < TABLES; table++) {
+                for (int seat = 0; seat < PLAYERS_PER_TABLE; seat++) {
+                    SimulatedPlayer player = SimulatedPlayer.connect(stompClient, port, "load-" + table,
+                            "load-" + table + "-p" + seat, seat == 0, PLAYERS_PER_TABLE, metrics, finished);
+                    players.add(player);
+                    if (seat == 0) {
+                        hosts.put(player.getGameId(), player);
+                    }
+                }
+            }
+
+            Map<String, Long> pendingJoins = new ConcurrentHashMap<>();
+            StompSession observer = observeJoins(stompClient, port, metrics, hosts, pendingJoins);
+            ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor();
+            long start = System.nanoTime();
+            try {
+                for (SimulatedPlayer player : players) {
+                    pendingJoins.put(player.getPlayerId(), System.nanoTime());
+                    player.join();
+                }
+                watchdog.scheduleAtFixedRate(() -> {
+                    for (SimulatedPlayer player : players) {
+                        // joins are idempotent, one that was sent before the observer subscribed is simply repeated
+                        Long sentAt = pendingJoins.get(player.getPlayerId());
+                        if (sentAt != null && System.nanoTime() - sentAt > STALL_NANOS) {
+                            pendingJoins.put(player.getPlayerId(), System.nanoTime());
+                            player.join();
+                        }
+                        player.resyncIfStalled(STALL_NANOS);
+                    }
+                }, 1, 1, TimeUnit.SECONDS);
+
+                boolean allFinished = finished.await(TIMEOUT_MINUTES, TimeUnit.MINUTES);
+                long elapsed = System.nanoTime() - start;
+
+                System.out.println("Load run: " + TABLES + " tables x " + PLAYERS_PER_TABLE + " players, execution mode "
+                        + EXECUTION_MODE);
+                metrics.print(System.out, elapsed);
+
+                assertTrue(allFinished, finished.getCount() + " players did not finish their game");
+                assertEquals(TABLES, metrics.latencies(MessageType.START).getTotalCount());
+                assertTrue(metrics.moves() > 0);
+            } finally {
+                watchdog.shutdownNow();
+                observer.disconnect();
+                players.forEach(SimulatedPlayer::disconnect);
+            }
+        }
+    }
+
+    /**
+     * Joins are answered on "/topic/game" for everyone, so a single observer session records their
+     * latency and lets the host start a table once all its players have joined.
+     */
+    private static StompSession observeJoins(WebSocketStompClient stompClient, int port, LoadMetrics metrics,
+                                             Map<String, SimulatedPlayer> hosts, Map<String, Long> pendingJoins)
+            throws Exception {
+        StompSession observer = stompClient
+                .connect("ws://localhost:" + port + "/ws", new WebSocketHttpHeaders(), new StompSessionHandlerAdapter() {})
+                .get(10, TimeUnit.SECONDS);
+        Set<String> startedTables = ConcurrentHashMap.newKeySet();
+        observer.subscribe("/topic/game", new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return GameResponse.class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                GameResponse response = (GameResponse) payload;
+                for (PlayerDto player : response.getPlayers()) {
+                    Long sentAt = pendingJoins.remove(player.getPlayerId());
+                    if (sentAt != null) {
+                        metrics.record(MessageType.JOIN, System.nanoTime() - sentAt);
+                    }
+                }
+                if (response.getPlayers().size() == PLAYERS_PER_TABLE && startedTables.add(response.getGameId())) {
+                    hosts.get(response.getGameId()).startGame();
+                }
+            }
+        });
+        return observer;
+    }
+}
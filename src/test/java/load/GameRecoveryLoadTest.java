@@ -0,0 +1,137 @@
+package load;
+
+import com.aau.wizard.journal.FileGameJournal;
+import com.aau.wizard.journal.GameSnapshotCodec;
+import com.aau.wizard.model.enums.GameStatus;
+import com.aau.wizard.service.impl.GameMetrics;
+import com.aau.wizard.service.impl.GameRecoveryService;
+import com.aau.wizard.service.impl.GameRegistry;
+import com.aau.wizard.service.impl.GameServiceImpl;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import testutil.GameMoves;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Measures how long a restart takes to bring back many running games: the games are played to
+ * random points of their first rounds through a journaling {@link GameServiceImpl}, a snapshot
+ * is taken halfway, and then all games are recovered once from the snapshot plus the journal tail
+ * and once from the journal alone. Every recovered game must match the game before the restart.
+ * <p>
+ * Only runs with {@code mvn -Pload test}. The size of the run is set with system properties:
+ * <ul>
+ *     <li>{@code load.recoveryGames} – number of games, default 10000</li>
+ *     <li>{@code load.players} – players per game (2–6), default 4</li>
+ *     <li>{@code load.recoveryMaxSeconds} – time the recovery with snapshot must take at most, default 5</li>
+ * </ul>
+ */
+@Tag("load")
+class GameRecoveryLoadTest {
+
+    private static final int GAMES = Integer.getInteger("load.recoveryGames", 10_000);
+    private static final int PLAYERS = Integer.getInteger("load.players", 4);
+    private static final long MAX_SECONDS = Long.getLong("load.recoveryMaxSeconds", 5);
+    /** Moves per game before and after the snapshot are drawn up to this bound, about two rounds. */
+    private static final int MAX_MOVES_PER_PHASE = 2 * (PLAYERS + PLAYERS * 2) + 2;
+    private static final SimpMessagingTemplate TEMPLATE = new SimpMessagingTemplate((message, timeout) -> true);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void recoverManyRunningGames() throws IOException {
+        SplittableRandom random = new SplittableRandom(42);
+        GameRegistry before = new GameRegistry();
+        long moves = 0;
+        try (FileGameJournal journal = new FileGameJournal(directory, 64L << 20, false)) {
+            GameServiceImpl service = new GameServiceImpl(TEMPLATE, before, journal);
+            for (int i = 0; i < GAMES; i++) {
+                GameMoves.startGame(service, gameId(i), PLAYERS);
+                moves += playRandomMoves(service, gameId(i), random);
+            }
+            recoveryService(before, journal).writeSnapshot();
+            for (int i = 0; i < GAMES; i++) {
+                if (i % 10 == 0) {
+                    service.abortGame(gameId(i));
+                } else {
+                    moves += playRandomMoves(service, gameId(i), random);
+                }
+            }
+            System.out.printf(Locale.ROOT, "%d games, %d moves, %d journal records%n", GAMES, moves, journal.lastSequence());
+        }
+
+        GameRecoveryService.RecoveryResult withSnapshot = recoverAndCompare(before);
+        try (var snapshots = Files.list(directory)) {
+            for (Path snapshot : snapshots.filter(file -> file.toString().endsWith(".snapshot")).toList()) {
+                Files.delete(snapshot);
+            }
+        }
+        GameRecoveryService.RecoveryResult journalOnly = recoverAndCompare(before);
+
+        print("snapshot + tail", withSnapshot);
+        print("journal only", journalOnly);
+        assertTrue(withSnapshot.nanos() < TimeUnit.SECONDS.toNanos(MAX_SECONDS),
+                "Recovery took " + TimeUnit.NANOSECONDS.toMillis(withSnapshot.nanos()) + " ms");
+    }
+
+    private GameRecoveryService.RecoveryResult recoverAndCompare(GameRegistry before) throws IOException {
+        GameRegistry after = new GameRegistry();
+        GameRecoveryService.RecoveryResult result;
+        try (FileGameJournal journal = new FileGameJournal(directory, 64L << 20, false)) {
+            result = recoveryService(after, journal).recover();
+        }
+
+        long running = before.entries().stream().filter(e -> e.getGame().getStatus() != GameStatus.ENDED).count();
+        assertEquals(running, result.games());
+        assertEquals(0, result.failedEvents());
+        int diverged = 0;
+        for (GameRegistry.Entry expected : before.entries()) {
+            GameRegistry.Entry actual = after.get(expected.getGame().getGameId());
+            if (expected.getGame().getStatus() == GameStatus.ENDED) {
+                assertNull(actual);
+            } else if (actual == null || !Arrays.equals(
+                    GameSnapshotCodec.encode(0, expected.getGame(), expected.getRoundService()),
+                    GameSnapshotCodec.encode(0, actual.getGame(), actual.getRoundService()))) {
+                diverged++;
+            }
+        }
+        assertEquals(0, diverged);
+        return result;
+    }
+
+    private GameRecoveryService recoveryService(GameRegistry registry, FileGameJournal journal) {
+        return new GameRecoveryService(registry, journal, new GameMetrics(), true, directory, Duration.ZERO);
+    }
+
+    private static int playRandomMoves(GameServiceImpl service, String gameId, SplittableRandom random) {
+        int moves = random.nextInt(MAX_MOVES_PER_PHASE + 1);
+        for (int i = 0; i < moves; i++) {
+            if (!GameMoves.playMove(service, gameId)) {
+                return i;
+            }
+        }
+        return moves;
+    }
+
+    private static String gameId(int index) {
+        return "recovery-" + index;
+    }
+
+    private static void print(String label, GameRecoveryService.RecoveryResult result) {
+        System.out.printf(Locale.ROOT, "Recovery %-16s %6d games in %6d ms (%d from snapshot, %d journal records replayed, %d skipped)%n",
+                label, result.games(), TimeUnit.NANOSECONDS.toMillis(result.nanos()), result.snapshotGames(),
+                result.journalRecords(), result.skippedEvents());
+    }
+}
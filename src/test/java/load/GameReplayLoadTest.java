@@ -0,0 +1,78 @@
+package load;
+
+import com.aau.wizard.model.Game;
+import com.aau.wizard.replay.GameOutcome;
+import com.aau.wizard.replay.GameReplayer;
+import com.aau.wizard.replay.RecordedGame;
+import com.aau.wizard.service.impl.GameRegistry;
+import com.aau.wizard.service.impl.GameServiceImpl;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import testutil.GameMoves;
+import testutil.RecordingJournal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Measures how many recorded games the {@link GameReplayer} replays per second. Complete games
+ * with random legal moves are recorded through a journaling {@link GameServiceImpl} and then
+ * replayed several times over, the first pass only warming up the JIT. Every replay must agree
+ * with its recording.
+ * <p>
+ * Only runs with {@code mvn -Pload test}. The size of the run is set with system properties:
+ * <ul>
+ *     <li>{@code load.replayGames} – number of recorded games, default 2000</li>
+ *     <li>{@code load.replayPasses} – measured passes over all games, default 20</li>
+ *     <li>{@code load.players} – players per game (2–6), default 4</li>
+ *     <li>{@code load.replayMinGamesPerSecond} – replay rate that must be reached, default 10000</li>
+ * </ul>
+ */
+@Tag("load")
+class GameReplayLoadTest {
+
+    private static final int GAMES = Integer.getInteger("load.replayGames", 2_000);
+    private static final int PASSES = Integer.getInteger("load.replayPasses", 20);
+    private static final int PLAYERS = Integer.getInteger("load.players", 4);
+    private static final int MIN_GAMES_PER_SECOND = Integer.getInteger("load.replayMinGamesPerSecond", 10_000);
+    private static final SimpMessagingTemplate TEMPLATE = new SimpMessagingTemplate((message, timeout) -> true);
+
+    @Test
+    void replayCompleteGames() {
+        SplittableRandom random = new SplittableRandom(42);
+        RecordingJournal journal = new RecordingJournal();
+        GameServiceImpl service = new GameServiceImpl(TEMPLATE, new GameRegistry(), journal);
+        List<RecordedGame> games = new ArrayList<>(GAMES);
+        for (int i = 0; i < GAMES; i++) {
+            String gameId = "replay-" + i;
+            Game game = GameMoves.startGame(service, gameId, PLAYERS);
+            while (GameMoves.playRandomMove(service, gameId, random)) {
+                // play the whole game
+            }
+            games.add(new RecordedGame(gameId, journal.eventsOf(gameId), GameOutcome.of(game)));
+        }
+
+        GameReplayer replayer = new GameReplayer();
+        GameReplayer.Report warmUp = replayer.replayAll(games);
+        assertTrue(warmUp.diverged().isEmpty(), () -> warmUp.diverged().get(0).divergences().toString());
+
+        long nanos = 0;
+        long commands = 0;
+        for (int pass = 0; pass < PASSES; pass++) {
+            GameReplayer.Report report = replayer.replayAll(games);
+            assertTrue(report.diverged().isEmpty());
+            nanos += report.nanos();
+            commands += report.commands();
+        }
+        double gamesPerSecond = (double) GAMES * PASSES * 1e9 / nanos;
+        System.out.printf(Locale.ROOT, "%d games with %d players replayed %d times: %.0f games/s, %.1f M commands/s, %.0f ns per command%n",
+                GAMES, PLAYERS, PASSES, gamesPerSecond, commands * 1e3 / nanos, (double) nanos / commands);
+        assertTrue(gamesPerSecond >= MIN_GAMES_PER_SECOND,
+                () -> String.format(Locale.ROOT, "%.0f games/s below %d", gamesPerSecond, MIN_GAMES_PER_SECOND));
+    }
+}
@@ -0,0 +1,94 @@
+package load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * End-to-end latencies and counters of a load run, shared by all simulated players.
+ * <p>
+ * Latencies are recorded in microseconds, from sending a message until the update it causes
+ * arrives back at the sending client.
+ */
+final class LoadMetrics {
+
+    /**
+     * The client messages whose round trip is measured.
+     */
+    enum MessageType {
+        /** "/app/game/join" until the join shows up on "/topic/game". */
+        JOIN,
+        /** "/app/game/start" until the start snapshot arrives on the game topic. */
+        START,
+        /** "/app/game/predict" until the own PREDICTION_MADE delta arrives. */
+        PREDICT,
+        /** "/app/game/play" until the own CARD_PLAYED or TRICK_ENDED delta arrives. */
+        PLAY,
+        /** "/app/game/proceedToNextRound" until ROUND_STARTED or GAME_ENDED arrives. */
+        PROCEED
+    }
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Map<MessageType, Histogram> latencies = new EnumMap<>(MessageType.class);
+    private final AtomicLong moves = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong resyncs = new AtomicLong();
+
+    LoadMetrics() {
+        for (MessageType type : MessageType.values()) {
+            latencies.put(type, new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3));
+        }
+    }
+
+    void record(MessageType type, long nanos) {
+        long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), HIGHEST_TRACKABLE_MICROS);
+        latencies.get(type).recordValue(micros);
+        if (type == MessageType.PREDICT || type == MessageType.PLAY) {
+            moves.incrementAndGet();
+        }
+    }
+
+    void rejected() {
+        rejected.incrementAndGet();
+    }
+
+    void resync() {
+        resyncs.incrementAndGet();
+    }
+
+    long moves() {
+        return moves.get();
+    }
+
+    long rejectedCount() {
+        return rejected.get();
+    }
+
+    Histogram latencies(MessageType type) {
+        return latencies.get(type);
+    }
+
+    void print(PrintStream out, long playNanos) {
+        out.println("type        count     p50 ms     p90 ms     p99 ms   p99.9 ms     max ms");
+        for (MessageType type : MessageType.values()) {
+            Histogram histogram = latencies.get(type);
+            out.printf(Locale.ROOT, "%-8s %8d %10.2f %10.2f %10.2f %10.2f %10.2f%n", type, histogram.getTotalCount(),
+                    millis(histogram, 50), millis(histogram, 90), millis(histogram, 99), millis(histogram, 99.9),
+                    histogram.getMaxValue() / 1000.0);
+        }
+        double seconds = playNanos / 1e9;
+        out.printf(Locale.ROOT, "%d moves in %.1f s = %.0f moves/s, %d rejected, %d resyncs%n",
+                moves.get(), seconds, moves.get() / seconds, rejected.get(), resyncs.get());
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
@@ -0,0 +1,154 @@
+package load;
+
+import com.aau.wizard.engine.DomainEventSink;
+import com.aau.wizard.journal.GameJournal;
+import com.aau.wizard.service.impl.GameRegistry;
+import com.aau.wizard.service.impl.GameServiceImpl;
+import com.aau.wizard.service.impl.GameStateBroadcaster;
+import com.aau.wizard.service.impl.OutboundMetrics;
+import com.aau.wizard.service.impl.OutboundPublisher;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import testutil.GameMoves;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares sending the state changes on the thread that applies the command with handing them to
+ * the {@link OutboundPublisher}. Several threads play complete games with random legal moves, and
+ * every command is timed from the call into the service until it returns, which is about as long
+ * as the game's lock is held. The time is the CPU time of the calling thread, so the publisher
+ * threads running on the same cores do not count as hold time. The messages are converted to JSON
+ * like the broker's; the channel only counts them.
+ * <p>
+ * Three runs are made: without any messages (the rules and choosing the move alone), with the
+ * {@link GameStateBroadcaster} sending directly, and with the publisher. Reported are the time per
+ * command and the number of messages handed to the broker.
+ * <p>
+ * Only runs with {@code mvn -Pload test}. The size of the run is set with system properties:
+ * <ul>
+ *     <li>{@code load.outboundGames} – number of complete games per run, default 2000</li>
+ *     <li>{@code load.outboundThreads} – threads applying commands, default 4</li>
+ *     <li>{@code load.outboundLanes} – publisher threads, default 2</li>
+ *     <li>{@code load.players} – players per game (2–6), default 4</li>
+ * </ul>
+ */
+@Tag("load")
+class OutboundPublisherLoadTest {
+
+    private static final int GAMES = Integer.getInteger("load.outboundGames", 2_000);
+    private static final int THREADS = Integer.getInteger("load.outboundThreads", 4);
+    private static final int LANES = Integer.getInteger("load.outboundLanes", 2);
+    private static final int PLAYERS = Integer.getInteger("load.players", 4);
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+    private final LongAdder brokerMessages = new LongAdder();
+
+    @Test
+    void publisherTakesSerializationOffTheGameThread() throws Exception {
+        SimpMessagingTemplate template = new SimpMessagingTemplate((message, timeout) -> {
+            brokerMessages.increment();
+            return true;
+        });
+        template.setMessageConverter(new MappingJackson2MessageConverter());
+
+        // warm up all three paths before measuring
+        run(DomainEventSink.NONE, template, GAMES / 4);
+        run(new GameStateBroadcaster(template), template, GAMES / 4);
+        try (OutboundPublisher publisher = new OutboundPublisher(template, LANES)) {
+            run(publisher, template, GAMES / 4);
+        }
+
+        Run rulesOnly = run(DomainEventSink.NONE, template, GAMES);
+        brokerMessages.reset();
+        Run direct = run(new GameStateBroadcaster(template), template, GAMES);
+        long directMessages = brokerMessages.sumThenReset();
+        OutboundMetrics metrics;
+        Run async;
+        try (OutboundPublisher publisher = new OutboundPublisher(template, LANES)) {
+            async = run(publisher, template, GAMES);
+            metrics = publisher.getMetrics();
+        }
+        long asyncMessages = brokerMessages.sum();
+
+        System.out.printf(Locale.ROOT, "%d games with %d players on %d threads, %d commands per run%n",
+                GAMES, PLAYERS, THREADS, direct.commands());
+        System.out.printf(Locale.ROOT, "Rules only:    %6.0f ns per command%n", rulesOnly.nanosPerCommand());
+        System.out.printf(Locale.ROOT, "Direct:        %6.0f ns per command, %d messages (%.2f per command)%n",
+                direct.nanosPerCommand(), directMessages, (double) directMessages / direct.commands());
+        System.out.printf(Locale.ROOT, "Publisher:     %6.0f ns per command, %d messages (%.2f per command), %d coalesced, %d ns per message on %d lanes%n",
+                async.nanosPerCommand(), asyncMessages, (double) asyncMessages / async.commands(),
+                metrics.getCoalescedCount(), metrics.getAverageSendNanos(), LANES);
+        System.out.printf(Locale.ROOT, "Hold time above the rules: direct %.0f ns, publisher %.0f ns; messages -%.1f %%%n",
+                direct.nanosPerCommand() - rulesOnly.nanosPerCommand(), async.nanosPerCommand() - rulesOnly.nanosPerCommand(),
+                100.0 * (directMessages - asyncMessages) / directMessages);
+
+        assertEquals(directMessages, metrics.getQueuedCount());
+        assertEquals(metrics.getQueuedCount(), metrics.getSentCount() + metrics.getCoalescedCount());
+        assertEquals(metrics.getSentCount(), asyncMessages);
+        assertEquals(0, metrics.getFailedCount());
+        assertTrue(async.nanosPerCommand() < direct.nanosPerCommand(),
+                "The publisher should hold the game for less time than sending directly");
+    }
+
+    private record Run(long commands, long nanos) {
+        double nanosPerCommand() {
+            return (double) nanos / commands;
+        }
+    }
+
+    private static Run run(DomainEventSink sink, SimpMessagingTemplate template, int games) throws Exception {
+        GameServiceImpl service = new GameServiceImpl(template, new GameRegistry(), GameJournal.NONE, sink);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Run>> runs = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                runs.add(executor.submit(() -> play(service, thread, games)));
+            }
+            long commands = 0;
+            long nanos = 0;
+            for (Future<Run> run : runs) {
+                commands += run.get().commands();
+                nanos += run.get().nanos();
+            }
+            return new Run(commands, nanos);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static Run play(GameServiceImpl service, int thread, int games) {
+        SplittableRandom random = new SplittableRandom(thread);
+        long commands = 0;
+        long nanos = 0;
+        for (int i = thread; i < games; i += THREADS) {
+            String gameId = "outbound-" + i;
+            GameMoves.startGame(service, gameId, PLAYERS);
+            while (true) {
+                long start = THREAD_MX_BEAN.getCurrentThreadCpuTime();
+                boolean moved = GameMoves.playRandomMove(service, gameId, random);
+                if (!moved) {
+                    break;
+                }
+                nanos += THREAD_MX_BEAN.getCurrentThreadCpuTime() - start;
+                commands++;
+            }
+            service.getRegistry().remove(gameId);
+        }
+        return new Run(commands, nanos);
+    }
+}
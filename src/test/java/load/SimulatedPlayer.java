@@ -0,0 +1,391 @@
+package load;
+
+import com.aau.wizard.dto.request.GameRequest;
+import com.aau.wizard.dto.request.PredictionRequest;
+import com.aau.wizard.dto.response.HandResponse;
+import com.aau.wizard.model.CardFactory;
+import com.aau.wizard.model.ICard;
+import com.aau.wizard.model.Player;
+import com.aau.wizard.model.enums.CardSuit;
+import com.aau.wizard.model.enums.GameStatus;
+import com.aau.wizard.rules.TrickRules;
+import com.aau.wizard.util.Pair;
+import com.fasterxml.jackson.databind.JsonNode;
+import load.LoadMetrics.MessageType;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * A STOMP client that plays a whole game like a real player: it follows the versioned deltas on
+ * the game topic, predicts when it is asked to and plays a legal card when it is its turn.
+ * <p>
+ * The first seat of a table is the host, which also starts the game and moves on to the next
+ * round. When a delta is missing or the table stalls, the player resyncs from a full snapshot.
+ */
+final class SimulatedPlayer {
+    private static final long CONNECT_TIMEOUT_SECONDS = 10;
+
+    private final StompSession session;
+    private final String gameId;
+    private final String playerId;
+    private final boolean host;
+    private final int tableSize;
+    private final LoadMetrics metrics;
+    private final CountDownLatch finished;
+    private final Player self;
+
+    private long version;
+    private GameStatus status;
+    private String currentPlayerId;
+    private String currentPredictionPlayerId;
+    private int round;
+    private CardSuit trumpSuit;
+    private List<ICard> hand = List.of();
+    private final List<Pair<Player, ICard>> trick = new ArrayList<>();
+    private int playsThisRound;
+    private int predictionsThisRound;
+    private int predictionSum;
+
+    private MessageType pending;
+    private long pendingSince;
+    private int prediction;
+    private final Set<ICard> rejectedCards = new HashSet<>();
+    private volatile long lastUpdateNanos = System.nanoTime();
+    private boolean done;
+
+    private SimulatedPlayer(StompSession session, String gameId, String playerId, boolean host, int tableSize,
+                            LoadMetrics metrics, CountDownLatch finished) {
+        this.session = session;
+        this.gameId = gameId;
+        this.playerId = playerId;
+        this.host = host;
+        this.tableSize = tableSize;
+        this.metrics = metrics;
+        this.finished = finished;
+        this.self = new Player(playerId, playerId);
+    }
+
+    static SimulatedPlayer connect(WebSocketStompClient stompClient, int port, String gameId, String playerId, boolean host,
+                                   int tableSize, LoadMetrics metrics, CountDownLatch finished) throws Exception {
+        StompSession session = stompClient
+                .connect("ws://localhost:" + port + "/ws", new WebSocketHttpHeaders(), new StompSessionHandlerAdapter() {})
+                .get(CONNECT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        SimulatedPlayer player = new SimulatedPlayer(session, gameId, playerId, host, tableSize, metrics, finished);
+
+        subscribe(session, "/topic/game/" + gameId, JsonNode.class, player::onGameUpdate);
+        subscribe(session, "/topic/game/" + playerId, HandResponse.class, player::onHand);
+        subscribe(session, "/topic/game/" + playerId + "/resync", JsonNode.class, player::onResync);
+        subscribe(session, "/topic/errors/" + playerId, String.class, player::onError);
+        return player;
+    }
+
+    private static <T> void subscribe(StompSession session, String destination, Class<T> type, Consumer<T> handler) {
+        session.subscribe(destination, new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return type;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                handler.accept(type.cast(payload));
+            }
+        });
+    }
+
+    String getPlayerId() {
+        return playerId;
+    }
+
+    String getGameId() {
+        return gameId;
+    }
+
+    void join() {
+        GameRequest request = new GameRequest(gameId, playerId);
+        request.setPlayerName(playerId);
+        session.send("/app/game/join", request);
+    }
+
+    synchronized void startGame() {
+        send(MessageType.START, "/app/game/start", gameId);
+    }
+
+    /**
+     * Asks for a full snapshot if the table has not sent an update for the given time.
+     */
+    void resyncIfStalled(long stallNanos) {
+        if (!isDone() && System.nanoTime() - lastUpdateNanos > stallNanos) {
+            lastUpdateNanos = System.nanoTime();
+            requestResync();
+        }
+    }
+
+    synchronized boolean isDone() {
+        return done;
+    }
+
+    void disconnect() {
+        if (session.isConnected()) {
+            session.disconnect();
+        }
+    }
+
+    private synchronized void onGameUpdate(JsonNode update) {
+        lastUpdateNanos = System.nanoTime();
+        if (!update.has("type")) {
+            // Startzustand: voller Snapshot ohne Handkarten
+            if (pending == MessageType.START) {
+                complete();
+            }
+            applySnapshot(update);
+        } else {
+            long deltaVersion = update.path("version").asLong();
+            if (deltaVersion <= version) {
+                return;
+            }
+            if (deltaVersion != version + 1) {
+                requestResync();
+                return;
+            }
+            version = deltaVersion;
+            applyDelta(update);
+        }
+        act();
+    }
+
+    private synchronized void onResync(JsonNode snapshot) {
+        lastUpdateNanos = System.nanoTime();
+        if (snapshot.path("version").asLong() < version) {
+            return;
+        }
+        MessageType stalled = pending;
+        pending = null;
+        rejectedCards.clear();
+        applySnapshot(snapshot);
+        hand = toCards(snapshot.path("handCards"));
+        // eigene Karten, deren Delta verloren ging, zählen trotzdem als gespielt
+        playsThisRound = Math.max(0, round - hand.size());
+        if (stalled == MessageType.START && status == GameStatus.LOBBY) {
+            startGame();
+            return;
+        }
+        if ((stalled == MessageType.START || stalled == MessageType.PROCEED) && status != GameStatus.ROUND_END_SUMMARY) {
+            metrics.record(stalled, System.nanoTime() - pendingSince);
+        }
+        act();
+    }
+
+    private synchronized void onHand(HandResponse response) {
+        List<ICard> cards = new ArrayList<>();
+        response.getHandCards().forEach(card -> cards.add(toCard(card.getColor(), Integer.parseInt(card.getValue()))));
+        hand = cards;
+        act();
+    }
+
+    private synchronized void onError(String message) {
+        metrics.rejected();
+        if (pending == MessageType.PREDICT && playerId.equals(currentPredictionPlayerId) && prediction < round) {
+            // die letzte Vorhersage darf die Stichzahl nicht genau treffen
+            sendPrediction(prediction + 1);
+        } else if (pending == MessageType.PLAY) {
+            pending = null;
+            act();
+        } else if (pending != null) {
+            pending = null;
+            requestResync();
+        }
+    }
+
+    private void applyDelta(JsonNode delta) {
+        String type = delta.path("type").asText();
+        String actor = text(delta, "playerId");
+        status = GameStatus.valueOf(delta.path("status").asText());
+        currentPlayerId = text(delta, "currentPlayerId");
+        switch (type) {
+            case "PREDICTION_MADE" -> {
+                currentPredictionPlayerId = text(delta, "currentPredictionPlayerId");
+                predictionsThisRound++;
+                predictionSum += delta.path("prediction").asInt();
+                if (playerId.equals(actor) && pending == MessageType.PREDICT) {
+                    complete();
+                }
+            }
+            case "CARD_PLAYED", "TRICK_ENDED" -> {
+                trick.add(new Pair<>(null, ICard.fromString(delta.path("playedCard").asText())));
+                if (playerId.equals(actor)) {
+                    playsThisRound++;
+                    if (pending == MessageType.PLAY) {
+                        complete();
+                    }
+                }
+                if (type.equals("TRICK_ENDED")) {
+                    trick.clear();
+                }
+            }
+            case "ROUND_STARTED" -> {
+                round = delta.path("currentRound").asInt();
+                currentPredictionPlayerId = text(delta, "currentPredictionPlayerId");
+                trumpSuit = delta.has("trumpCard") ? CardSuit.valueOf(delta.path("trumpCard").path("color").asText()) : null;
+                startRound();
+                if (pending == MessageType.PROCEED) {
+                    complete();
+                }
+            }
+            case "GAME_ENDED" -> {
+                if (pending == MessageType.PROCEED) {
+                    complete();
+                }
+                finish();
+            }
+            default -> {
+                // ROUND_ENDED: nur der Status ändert sich
+            }
+        }
+    }
+
+    private void applySnapshot(JsonNode snapshot) {
+        version = snapshot.path("version").asLong();
+        status = GameStatus.valueOf(snapshot.path("status").asText());
+        currentPlayerId = text(snapshot, "currentPlayerId");
+        currentPredictionPlayerId = text(snapshot, "currentPredictionPlayerId");
+        JsonNode trump = snapshot.path("trumpCard");
+        trumpSuit = trump.isObject() ? CardSuit.valueOf(trump.path("color").asText()) : null;
+        int snapshotRound = snapshot.path("currentRound").asInt();
+        if (snapshotRound != round) {
+            round = snapshotRound;
+            startRound();
+        }
+        predictionsThisRound = 0;
+        predictionSum = 0;
+        for (JsonNode player : snapshot.path("players")) {
+            if (player.hasNonNull("prediction")) {
+                predictionsThisRound++;
+                predictionSum += player.path("prediction").asInt();
+            }
+        }
+        // der Snapshot enthält den laufenden Stich nicht, abgelehnte Karten werden übersprungen
+        trick.clear();
+        if (status == GameStatus.ENDED) {
+            finish();
+        }
+    }
+
+    private void startRound() {
+        trick.clear();
+        playsThisRound = 0;
+        predictionsThisRound = 0;
+        predictionSum = 0;
+        rejectedCards.clear();
+    }
+
+    private void act() {
+        if (pending != null || done) {
+            return;
+        }
+        if (status == GameStatus.PREDICTION && playerId.equals(currentPredictionPlayerId)) {
+            boolean last = predictionsThisRound == tableSize - 1;
+            sendPrediction(last && predictionSum == round ? 1 : 0);
+        } else if (status == GameStatus.PLAYING && playerId.equals(currentPlayerId)
+                && !hand.isEmpty() && hand.size() == round - playsThisRound) {
+            ICard card = chooseCard();
+            if (card == null) {
+                // alle Karten abgelehnt, der lokale Zustand ist veraltet
+                requestResync();
+                return;
+            }
+            rejectedCards.add(card);
+            GameRequest request = new GameRequest(gameId, playerId);
+            request.setCard(card.toString());
+            send(MessageType.PLAY, "/app/game/play", request);
+        } else if (status == GameStatus.ROUND_END_SUMMARY && host) {
+            send(MessageType.PROCEED, "/app/game/proceedToNextRound", gameId);
+        }
+    }
+
+    /**
+     * Picks the first legal card of the hand that has not been rejected in this turn yet. After a
+     * resync the current trick is unknown, so cards that look illegal are tried last.
+     *
+     * @return the card to play, or {@code null} if every card has been rejected
+     */
+    private ICard chooseCard() {
+        self.setHandCards(hand);
+        ICard fallback = null;
+        for (ICard card : hand) {
+            if (rejectedCards.contains(card)) {
+                continue;
+            }
+            if (TrickRules.isValidPlay(self, card, trick, trumpSuit, false)) {
+                return card;
+            }
+            if (fallback == null) {
+                fallback = card;
+            }
+        }
+        return fallback;
+    }
+
+    private void sendPrediction(int value) {
+        prediction = value;
+        PredictionRequest request = new PredictionRequest();
+        request.setGameId(gameId);
+        request.setPlayerId(playerId);
+        request.setPrediction(value);
+        send(MessageType.PREDICT, "/app/game/predict", request);
+    }
+
+    private void send(MessageType type, String destination, Object payload) {
+        pending = type;
+        pendingSince = System.nanoTime();
+        session.send(destination, payload);
+    }
+
+    private void complete() {
+        metrics.record(pending, System.nanoTime() - pendingSince);
+        pending = null;
+        rejectedCards.clear();
+    }
+
+    private void requestResync() {
+        metrics.resync();
+        session.send("/app/game/resync", new GameRequest(gameId, playerId));
+    }
+
+    private void finish() {
+        if (!done) {
+            done = true;
+            finished.countDown();
+        }
+    }
+
+    private static List<ICard> toCards(JsonNode cards) {
+        List<ICard> result = new ArrayList<>();
+        for (JsonNode card : cards) {
+            result.add(toCard(card.path("color").asText(), card.path("value").asInt()));
+        }
+        return result;
+    }
+
+    private static ICard toCard(String color, int value) {
+        return CardFactory.createCard(CardSuit.valueOf(color), value);
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+}
@@ -0,0 +1,100 @@
+package model;
+
+import com.aau.wizard.model.CardFactory;
+import com.aau.wizard.model.CardTable;
+import com.aau.wizard.model.Deck;
+import com.aau.wizard.model.ICard;
+import com.aau.wizard.model.JesterCard;
+import com.aau.wizard.model.NumberCard;
+import com.aau.wizard.model.WizardCard;
+import com.aau.wizard.model.enums.CardSuit;
+import com.aau.wizard.model.enums.CardType;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CardTableTest {
+
+    @Test
+    void tableContainsSixtyCardsWithIdsMatchingTheirIndex() {
+        List<ICard> cards = CardTable.all();
+
+        assertEquals(CardTable.SIZE, cards.size());
+        for (int id = 0; id < CardTable.SIZE; id++) {
+            assertEquals(id, cards.get(id).getId());
+            assertSame(cards.get(id), CardTable.byId(id));
+        }
+    }
+
+    @Test
+    void tableHasFiftyTwoNumberCardsFourWizardsAndFourJesters() {
+        Set<String> numberCards = new HashSet<>();
+        int wizards = 0;
+        int jesters = 0;
+        for (ICard card : CardTable.all()) {
+            switch (card.getType()) {
+                case NUMBER -> numberCards.add(card.toString());
+                case WIZARD -> wizards++;
+                case JESTER -> jesters++;
+            }
+        }
+
+        assertEquals(52, numberCards.size());
+        assertEquals(4, wizards);
+        assertEquals(4, jesters);
+        assertEquals(CardType.WIZARD, CardTable.byId(CardTable.FIRST_WIZARD_ID).getType());
+        assertEquals(CardType.JESTER, CardTable.byId(CardTable.FIRST_JESTER_ID).getType());
+    }
+
+    @Test
+    void fromStringReturnsCanonicalInstances() {
+        assertSame(CardTable.numberCard(CardSuit.RED, 10), ICard.fromString("RED_10"));
+        assertSame(CardTable.numberCard(CardSuit.RED, 10), ICard.fromString(" red_10 "));
+        assertSame(CardTable.wizard(), ICard.fromString("WIZARD"));
+        assertSame(CardTable.jester(), ICard.fromString("jester"));
+    }
+
+    @Test
+    void cardFactoryReturnsCanonicalInstancesForDeckCards() {
+        assertSame(CardTable.numberCard(CardSuit.GREEN, 13), CardFactory.createCard(CardSuit.GREEN, 13));
+        assertSame(CardTable.wizard(), CardFactory.createCard(CardSuit.SPECIAL, 14));
+        assertSame(CardTable.jester(), CardFactory.createCard(CardSuit.SPECIAL, 0));
+    }
+
+    @Test
+    void deckDealsOnlyCanonicalInstances() {
+        Deck deck = new Deck();
+
+        List<ICard> dealt = deck.draw(deck.size());
+
+        Set<Integer> ids = new HashSet<>();
+        for (ICard card : dealt) {
+            assertSame(CardTable.byId(card.getId()), card);
+            ids.add((int) card.getId());
+        }
+        assertEquals(CardTable.SIZE, ids.size(), "Every card of the deck must have its own id");
+    }
+
+    @Test
+    void cardsOutsideTheDeckHaveNoId() {
+        assertEquals(CardTable.NO_ID, new NumberCard(CardSuit.SPECIAL, 5).getId());
+        assertEquals(CardTable.NO_ID, new WizardCard(CardSuit.RED).getId());
+        assertEquals(CardTable.NO_ID, new JesterCard(CardSuit.BLUE).getId());
+    }
+
+    @Test
+    void byIdRejectsIdsOutsideTheTable() {
+        assertThrows(IllegalArgumentException.class, () -> CardTable.byId(-1));
+        assertThrows(IllegalArgumentException.class, () -> CardTable.byId(CardTable.SIZE));
+    }
+
+    @Test
+    void numberCardRejectsInvalidValues() {
+        assertThrows(IllegalArgumentException.class, () -> CardTable.numberCard(CardSuit.RED, 0));
+        assertThrows(IllegalArgumentException.class, () -> CardTable.numberCard(CardSuit.RED, 14));
+    }
+}
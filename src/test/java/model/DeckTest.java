@@ -2,11 +2,15 @@ package model;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import com.aau.wizard.model.CardTable;
 import com.aau.wizard.model.Deck;
+import com.aau.wizard.model.Hand;
 import com.aau.wizard.model.ICard;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import java.util.HashSet;
 import java.util.List;
+import java.util.SplittableRandom;
 
 class DeckTest {
     private Deck deck;
@@ -64,4 +68,78 @@ class DeckTest {
         int deckSize = deck.size();
         assertThrows(IllegalArgumentException.class, () -> deck.draw(deckSize + 1));
     }
-}
\ No newline at end of file
+
+    @Test
+    void shuffle_SameSeed_ShouldDealSameOrder() {
+        Deck first = new Deck(new SplittableRandom(42));
+        Deck second = new Deck(new SplittableRandom(42));
+        first.shuffle();
+        second.shuffle();
+
+        assertEquals(ids(first.draw(CardTable.SIZE)), ids(second.draw(CardTable.SIZE)));
+    }
+
+    @Test
+    void shuffle_ShouldKeepEveryCardExactlyOnce() {
+        deck.draw(10);
+        deck.shuffle(new SplittableRandom(7));
+
+        List<ICard> rest = deck.draw(deck.size());
+        assertEquals(CardTable.SIZE - 10, rest.size());
+        assertEquals(rest.size(), new HashSet<>(ids(rest)).size());
+    }
+
+    @Test
+    void reset_ShouldReturnAllCardsToTheDeck() {
+        deck.draw(20);
+        deck.reset();
+
+        assertEquals(CardTable.SIZE, deck.size());
+        assertEquals(ids(new Deck().draw(CardTable.SIZE)), ids(deck.draw(CardTable.SIZE)));
+    }
+
+    @Test
+    void dealTo_ShouldAddCardsToHandAndAdvanceTheDeck() {
+        Hand hand = new Hand();
+
+        deck.dealTo(hand, 7);
+
+        assertEquals(7, hand.size());
+        assertEquals(CardTable.SIZE - 7, deck.size());
+        assertThrows(IllegalArgumentException.class, () -> deck.dealTo(hand, deck.size() + 1));
+    }
+
+    @Test
+    void drawCard_EmptyDeck_ShouldReturnNull() {
+        deck.draw(deck.size());
+
+        assertNull(deck.drawCard());
+    }
+
+    @Test
+    void restore_ShouldContinueWithTheSameCards() {
+        deck.draw(13);
+        byte[] order = new byte[CardTable.SIZE];
+        deck.copyOrder(order);
+
+        Deck restored = new Deck();
+        restored.restore(order, deck.size());
+
+        assertEquals(deck.size(), restored.size());
+        assertEquals(ids(deck.draw(deck.size())), ids(restored.draw(restored.size())));
+    }
+
+    @Test
+    void restore_NoPermutation_ShouldThrowException() {
+        byte[] order = new byte[CardTable.SIZE];
+        deck.copyOrder(order);
+        order[1] = order[0];
+
+        assertThrows(IllegalArgumentException.class, () -> new Deck().restore(order, CardTable.SIZE));
+        assertThrows(IllegalArgumentException.class, () -> new Deck().restore(new byte[3], 3));
+    }
+
+    private static List<Byte> ids(List<ICard> cards) {
+        return cards.stream().map(ICard::getId).toList();
+    }
+}
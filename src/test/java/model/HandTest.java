@@ -0,0 +1,138 @@
+package model;
+
+import com.aau.wizard.model.CardFactory;
+import com.aau.wizard.model.CardTable;
+import com.aau.wizard.model.Deck;
+import com.aau.wizard.model.Hand;
+import com.aau.wizard.model.ICard;
+import com.aau.wizard.model.JesterCard;
+import com.aau.wizard.model.WizardCard;
+import com.aau.wizard.model.enums.CardSuit;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HandTest {
+
+    @Test
+    void suitMasksPartitionAllSixtyCards() {
+        long all = 0;
+        for (CardSuit suit : CardSuit.values()) {
+            long mask = Hand.suitMask(suit);
+            assertEquals(0, all & mask, "Suit masks must not overlap");
+            all |= mask;
+        }
+        assertEquals(CardTable.SIZE, Long.bitCount(all));
+        for (ICard card : CardTable.all()) {
+            assertNotEquals(0, Hand.suitMask(card.getSuit()) & (1L << card.getId()));
+        }
+    }
+
+    @Test
+    void handIsAListOfCanonicalCardsInIdOrder() {
+        List<ICard> dealt = new ArrayList<>(CardTable.all());
+        Collections.shuffle(dealt, new Random(7));
+        List<ICard> cards = dealt.subList(0, 20);
+
+        Hand hand = new Hand(cards);
+
+        assertEquals(20, hand.size());
+        int previousId = -1;
+        for (ICard card : hand) {
+            assertTrue(card.getId() > previousId);
+            assertSame(CardTable.byId(card.getId()), card);
+            previousId = card.getId();
+        }
+        assertTrue(hand.containsAll(cards));
+    }
+
+    @Test
+    void containsRemoveAndHasSuitWorkOnTheMask() {
+        Hand hand = new Hand(List.of(
+                CardFactory.createCard(CardSuit.RED, 7),
+                CardFactory.createCard(CardSuit.BLUE, 8)
+        ));
+
+        assertTrue(hand.contains(ICard.fromString("RED_7")));
+        assertTrue(hand.hasSuit(CardSuit.RED));
+        assertFalse(hand.hasSuit(CardSuit.GREEN));
+        assertFalse(hand.hasSuit(null));
+
+        assertTrue(hand.remove(CardFactory.createCard(CardSuit.RED, 7)));
+        assertFalse(hand.remove(CardFactory.createCard(CardSuit.RED, 7)));
+        assertFalse(hand.hasSuit(CardSuit.RED));
+        assertEquals(List.of(CardFactory.createCard(CardSuit.BLUE, 8)), hand);
+        assertEquals(1L << CardFactory.createCard(CardSuit.BLUE, 8).getId(), hand.getMask());
+    }
+
+    @Test
+    void wizardsAndJestersTakeTheNextFreeCopy() {
+        Hand hand = new Hand();
+        hand.add(new WizardCard(CardSuit.SPECIAL));
+        hand.add(new WizardCard(CardSuit.SPECIAL));
+        hand.add(CardFactory.createCard(CardSuit.YELLOW, 0));
+
+        assertEquals(3, hand.size());
+        assertTrue(hand.containsId(CardTable.FIRST_WIZARD_ID));
+        assertTrue(hand.containsId(CardTable.FIRST_WIZARD_ID + 1));
+        assertTrue(hand.containsId(CardTable.FIRST_JESTER_ID));
+        assertTrue(hand.hasSuit(CardSuit.SPECIAL));
+
+        assertTrue(hand.remove(new JesterCard(CardSuit.SPECIAL)));
+        assertFalse(hand.contains(CardTable.jester()));
+        assertTrue(hand.contains(CardTable.wizard()));
+    }
+
+    @Test
+    void addRejectsCardsOutsideTheDeckAndDuplicates() {
+        Hand hand = new Hand(List.of(CardFactory.createCard(CardSuit.RED, 1)));
+
+        assertThrows(IllegalArgumentException.class, () -> hand.add(CardFactory.createCard(CardSuit.RED, 1)));
+        assertThrows(IllegalArgumentException.class, () -> hand.add(CardFactory.createCard(CardSuit.SPECIAL, 5)));
+        assertThrows(IllegalArgumentException.class, () -> hand.add(null));
+
+        for (int i = 0; i < CardTable.SPECIAL_CARD_COPIES; i++) {
+            hand.add(CardTable.wizard());
+        }
+        assertThrows(IllegalStateException.class, () -> hand.add(CardTable.wizard()));
+    }
+
+    @Test
+    void indexAndIteratorAccessFollowTheMask() {
+        Hand hand = new Hand(new Deck().draw(5));
+        ICard second = hand.get(1);
+
+        assertEquals(second, hand.remove(1));
+        assertEquals(4, hand.size());
+        assertFalse(hand.contains(second));
+        assertThrows(IndexOutOfBoundsException.class, () -> hand.get(4));
+
+        Iterator<ICard> iterator = hand.iterator();
+        iterator.next();
+        iterator.remove();
+        assertEquals(3, hand.size());
+
+        hand.clear();
+        assertTrue(hand.isEmpty());
+        assertEquals(0, hand.getMask());
+    }
+
+    @Test
+    void setMaskKeepsTheExactCopiesOfSpecialCards() {
+        Hand hand = new Hand();
+        long secondWizardAndRedOne = 1L << (CardTable.FIRST_WIZARD_ID + 1) | 1L;
+
+        hand.setMask(secondWizardAndRedOne);
+
+        assertEquals(secondWizardAndRedOne, hand.getMask());
+        assertEquals(2, hand.size());
+        assertTrue(hand.containsId(CardTable.FIRST_WIZARD_ID + 1));
+        assertThrows(IllegalArgumentException.class, () -> hand.setMask(1L << CardTable.SIZE));
+    }
+}
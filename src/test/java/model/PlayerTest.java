@@ -150,4 +150,13 @@ class PlayerTest {
         assertEquals(scores, player.getRoundScores());
     }
 
-}
\ No newline at end of file
+    @Test
+    void addRoundResult_recordsPredictionTricksAndScore() {
+        player.addRoundResult(2, 2, 40);
+        player.addRoundResult(1, 0, -10);
+
+        assertEquals(List.of(2, 1), player.getRoundPredictions(), "Vorhersagen pro Runde");
+        assertEquals(List.of(2, 0), player.getRoundTricks(), "Stiche pro Runde");
+        assertEquals(List.of(40, -10), player.getRoundScores(), "Punkte pro Runde");
+    }
+}
@@ -0,0 +1,185 @@
+package replay;
+
+import com.aau.wizard.archive.GameArchive;
+import com.aau.wizard.archive.MappedGameArchive;
+import com.aau.wizard.dto.request.GameRequest;
+import com.aau.wizard.journal.FileGameJournal;
+import com.aau.wizard.journal.GameEvent;
+import com.aau.wizard.model.Game;
+import com.aau.wizard.model.Player;
+import com.aau.wizard.replay.Divergence;
+import com.aau.wizard.replay.GameOutcome;
+import com.aau.wizard.replay.GameReplayer;
+import com.aau.wizard.replay.RecordedGame;
+import com.aau.wizard.replay.RecordedGames;
+import com.aau.wizard.replay.ReplayResult;
+import com.aau.wizard.service.impl.GameArchiver;
+import com.aau.wizard.service.impl.GameRegistry;
+import com.aau.wizard.service.impl.GameServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import testutil.GameMoves;
+import testutil.RecordingJournal;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameReplayerTest {
+
+    private static final SimpMessagingTemplate TEMPLATE = new SimpMessagingTemplate((message, timeout) -> true);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replayAgreesWithTheServiceForRandomGames() {
+        SplittableRandom random = new SplittableRandom(17);
+        RecordingJournal journal = new RecordingJournal();
+        GameServiceImpl service = new GameServiceImpl(TEMPLATE, new GameRegistry(), journal);
+        GameReplayer replayer = new GameReplayer();
+
+        for (int i = 0; i < 40; i++) {
+            String gameId = "game-" + i;
+            Game game = GameMoves.startGame(service, gameId, 2 + i % 5);
+            while (GameMoves.playRandomMove(service, gameId, random)) {
+                // play the whole game
+            }
+            GameOutcome recorded = GameOutcome.of(game);
+            ReplayResult result = replayer.replay(new RecordedGame(gameId, journal.eventsOf(gameId), recorded));
+
+            assertFalse(result.diverged(), () -> result.divergences().toString());
+            assertEquals(journal.eventsOf(gameId).size(), result.commands());
+            assertEquals(game.getMaxRound(), result.recomputed().roundsPlayed());
+            // the replay also seats the players in the same order
+            assertEquals(recorded.players().stream().map(GameOutcome.PlayerOutcome::playerId).toList(),
+                    result.recomputed().players().stream().map(GameOutcome.PlayerOutcome::playerId).toList());
+        }
+    }
+
+    @Test
+    void changedOutcomeIsReportedAsDivergence() {
+        RecordingJournal journal = new RecordingJournal();
+        GameServiceImpl service = new GameServiceImpl(TEMPLATE, new GameRegistry(), journal);
+        Game game = GameMoves.startGame(service, "game-1", 3);
+        while (GameMoves.playMove(service, "game-1")) {
+            // play the whole game
+        }
+        GameOutcome outcome = GameOutcome.of(game);
+        GameOutcome.PlayerOutcome first = outcome.players().get(0);
+        int[] roundScores = first.roundScores().clone();
+        roundScores[2] += 10;
+        List<GameOutcome.PlayerOutcome> players = new ArrayList<>(outcome.players());
+        players.set(0, new GameOutcome.PlayerOutcome(first.playerId(), first.finalScore() + 10,
+                first.predictions(), first.tricksWon(), roundScores));
+
+        ReplayResult result = new GameReplayer().replay(
+                new RecordedGame("game-1", journal.eventsOf("game-1"), new GameOutcome(outcome.roundsPlayed(), players)));
+
+        assertEquals(List.of(
+                new Divergence(Divergence.Kind.ROUND_SCORE, 3, first.playerId(),
+                        String.valueOf(roundScores[2]), String.valueOf(first.roundScores()[2])),
+                new Divergence(Divergence.Kind.FINAL_SCORE, 0, first.playerId(),
+                        String.valueOf(first.finalScore() + 10), String.valueOf(first.finalScore()))),
+                result.divergences());
+    }
+
+    @Test
+    void rejectedCommandEndsTheReplay() {
+        RecordingJournal journal = new RecordingJournal();
+        GameServiceImpl service = new GameServiceImpl(TEMPLATE, new GameRegistry(), journal);
+        Game game = GameMoves.startGame(service, "game-1", 3);
+        List<GameEvent> commands = new ArrayList<>(journal.eventsOf("game-1"));
+        // the last player in the prediction order predicts first
+        commands.add(new GameEvent.PredictionMade("game-1", game.getPredictionOrder().get(2), 0));
+        commands.add(new GameEvent.PredictionMade("game-1", game.getPredictionOrder().get(0), 0));
+
+        ReplayResult result = new GameReplayer().replay(new RecordedGame("game-1", commands, null));
+
+        assertEquals(4, result.commands());
+        assertEquals(1, result.divergences().size());
+        Divergence divergence = result.divergences().get(0);
+        assertEquals(Divergence.Kind.REJECTED_COMMAND, divergence.kind());
+        assertEquals(1, divergence.round());
+        assertTrue(divergence.recomputed().startsWith("InvalidTurnException"), divergence.recomputed());
+    }
+
+    @Test
+    void trickListenerSeesEveryTrick() {
+        RecordingJournal journal = new RecordingJournal();
+        GameServiceImpl service = new GameServiceImpl(TEMPLATE, new GameRegistry(), journal);
+        Game game = GameMoves.startGame(service, "game-1", 4);
+        SplittableRandom random = new SplittableRandom(3);
+        while (GameMoves.playRandomMove(service, "game-1", random)) {
+            // play the whole game
+        }
+        Map<String, Integer> tricksWon = new HashMap<>();
+        int[] tricks = new int[game.getMaxRound() + 1];
+        GameReplayer replayer = new GameReplayer((round, trick, cards, trumpSuit, winner) -> {
+            assertEquals(4, cards.size());
+            assertEquals(++tricks[round], trick);
+            tricksWon.merge(winner.getPlayerId(), 1, Integer::sum);
+        });
+
+        replayer.replay(new RecordedGame("game-1", journal.eventsOf("game-1"), null));
+
+        for (int round = 1; round <= game.getMaxRound(); round++) {
+            assertEquals(round, tricks[round]);
+        }
+        for (Player player : game.getPlayers()) {
+            int total = player.getRoundTricks().stream().mapToInt(Integer::intValue).sum();
+            assertEquals(total, (int) tricksWon.getOrDefault(player.getPlayerId(), 0));
+        }
+    }
+
+    @Test
+    void journalIsSplitIntoGamesWhenAnIdIsUsedAgain() throws IOException {
+        GameRegistry registry = new GameRegistry();
+        try (FileGameJournal journal = new FileGameJournal(directory.resolve("journal"), 1 << 20, false);
+             MappedGameArchive archive = new MappedGameArchive(directory.resolve("archive"), 1 << 20)) {
+            GameServiceImpl service = new GameServiceImpl(TEMPLATE, registry, journal);
+            new GameArchiver(registry, archive);
+            GameMoves.startGame(service, "game-1", 6);
+            while (GameMoves.playMove(service, "game-1")) {
+                registry.touch(registry.get("game-1"));
+            }
+            service.joinGame(new GameRequest("game-1", "late"));
+            service.joinGame(new GameRequest("game-1", "later"));
+            service.startGame("game-1");
+            GameMoves.playMove(service, "game-1");
+            journal.flush();
+
+            List<RecordedGame> games = RecordedGames.fromJournal(directory.resolve("journal"), archive);
+
+            assertEquals(2, games.size());
+            assertNotNull(games.get(0).recorded());
+            assertEquals(10, games.get(0).recorded().roundsPlayed());
+            assertNull(games.get(1).recorded());
+            assertEquals(4, games.get(1).commands().size());
+            GameReplayer.Report report = new GameReplayer().replayAll(games);
+            assertEquals(2, report.games());
+            assertTrue(report.diverged().isEmpty(), () -> report.diverged().toString());
+        }
+    }
+
+    @Test
+    void checkedInCorpusReplaysWithoutDivergence() throws IOException {
+        ReplayCorpus.extract(directory);
+        List<RecordedGame> games;
+        try (GameArchive archive = new MappedGameArchive(directory.resolve(ReplayCorpus.ARCHIVE), ReplayCorpus.SEGMENT_BYTES)) {
+            games = RecordedGames.fromJournal(directory.resolve(ReplayCorpus.JOURNAL), archive);
+        }
+
+        assertEquals(24, games.size());
+        assertTrue(games.stream().filter(game -> game.recorded() != null).count() >= 8);
+        GameReplayer.Report report = new GameReplayer().replayAll(games);
+        assertTrue(report.diverged().isEmpty(), () -> report.diverged().toString());
+    }
+}
@@ -0,0 +1,121 @@
+package replay;
+
+import com.aau.wizard.archive.MappedGameArchive;
+import com.aau.wizard.dto.request.GameRequest;
+import com.aau.wizard.journal.FileGameJournal;
+import com.aau.wizard.service.impl.GameArchiver;
+import com.aau.wizard.service.impl.GameRegistry;
+import com.aau.wizard.service.impl.GameServiceImpl;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import testutil.GameMoves;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * The corpus of recorded games in {@code src/test/resources/replay/corpus.zip}: the journal and
+ * archive of a server that played games with random legal moves, including aborted games, game
+ * ids that were used again after their game ended and games still running when it stopped.
+ * <p>
+ * The corpus is checked in so that a change of the rules that alters any outcome shows up as a
+ * divergence. Only regenerate it, by running {@link #main(String[])} from the project directory,
+ * when such a change is intended.
+ */
+class ReplayCorpus {
+    static final String RESOURCE = "/replay/corpus.zip";
+    static final String JOURNAL = "journal";
+    static final String ARCHIVE = "archive";
+    static final long SEGMENT_BYTES = 1 << 20;
+
+    private static final int GAMES = 24;
+
+    private ReplayCorpus() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path directory = Files.createTempDirectory("replay-corpus");
+        write(directory, new SplittableRandom(2025));
+        Path zip = Path.of("src/test/resources" + RESOURCE);
+        Files.createDirectories(zip.getParent());
+        try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(zip))) {
+            for (String part : List.of(JOURNAL, ARCHIVE)) {
+                try (Stream<Path> files = Files.list(directory.resolve(part))) {
+                    for (Path file : files.sorted().toList()) {
+                        out.putNextEntry(new ZipEntry(part + "/" + file.getFileName()));
+                        Files.copy(file, out);
+                        out.closeEntry();
+                    }
+                }
+            }
+        }
+        System.out.println("Corpus written to " + zip.toAbsolutePath());
+    }
+
+    /**
+     * Plays the games of the corpus and writes their journal and archive below the directory.
+     */
+    static void write(Path directory, SplittableRandom random) throws IOException {
+        GameRegistry registry = new GameRegistry();
+        try (FileGameJournal journal = new FileGameJournal(directory.resolve(JOURNAL), SEGMENT_BYTES, false);
+             MappedGameArchive archive = new MappedGameArchive(directory.resolve(ARCHIVE), SEGMENT_BYTES)) {
+            GameServiceImpl service = new GameServiceImpl(
+                    new SimpMessagingTemplate((message, timeout) -> true), registry, journal);
+            new GameArchiver(registry, archive);
+            for (int i = 0; i < GAMES; i++) {
+                // every id is used for two games in a row
+                String gameId = "corpus-" + i / 2;
+                int players = 4 + random.nextInt(3);
+                for (int seat = 1; seat <= players; seat++) {
+                    GameRequest join = new GameRequest(gameId, "player-" + random.nextInt(40));
+                    join.setPlayerName("Spieler " + seat);
+                    service.joinGame(join);
+                }
+                if (service.getGameById(gameId).getPlayers().size() < 2) {
+                    service.joinGame(new GameRequest(gameId, "player-extra"));
+                }
+                service.startGame(gameId);
+                boolean abort = i % 7 == 3;
+                boolean keepRunning = i == GAMES - 1;
+                int moves = abort || keepRunning ? 20 + random.nextInt(200) : Integer.MAX_VALUE;
+                for (int move = 0; move < moves && GameMoves.playRandomMove(service, gameId, random); move++) {
+                    // as the command dispatcher does after every command
+                    registry.touch(registry.get(gameId));
+                }
+                if (abort) {
+                    service.abortGame(gameId);
+                    registry.touch(registry.get(gameId));
+                }
+            }
+            journal.flush();
+        }
+    }
+
+    /**
+     * Extracts the checked-in corpus into the directory.
+     */
+    static void extract(Path directory) throws IOException {
+        try (InputStream resource = ReplayCorpus.class.getResourceAsStream(RESOURCE)) {
+            if (resource == null) {
+                throw new IOException("Corpus " + RESOURCE + " not found");
+            }
+            try (ZipInputStream in = new ZipInputStream(resource)) {
+                for (ZipEntry entry = in.getNextEntry(); entry != null; entry = in.getNextEntry()) {
+                    Path file = directory.resolve(entry.getName());
+                    Files.createDirectories(file.getParent());
+                    try (OutputStream out = Files.newOutputStream(file)) {
+                        in.transferTo(out);
+                    }
+                }
+            }
+        }
+    }
+}
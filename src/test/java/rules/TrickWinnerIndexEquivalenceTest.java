@@ -0,0 +1,85 @@
+package rules;
+
+import com.aau.wizard.model.CardTable;
+import com.aau.wizard.model.ICard;
+import com.aau.wizard.model.Player;
+import com.aau.wizard.model.enums.CardSuit;
+import com.aau.wizard.rules.TrickRules;
+import com.aau.wizard.util.Pair;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the id based trick evaluation against {@link TrickRules#determineTrickWinner} on
+ * randomized tricks.
+ */
+class TrickWinnerIndexEquivalenceTest {
+
+    private static final int TRICKS = 20_000;
+    private static final CardSuit[] TRUMPS = {null, CardSuit.RED, CardSuit.YELLOW, CardSuit.BLUE, CardSuit.GREEN, CardSuit.SPECIAL};
+
+    @Test
+    void idBasedWinnerMatchesListBasedWinnerOnRandomTricks() {
+        Random random = new Random(20250501L);
+        List<Player> players = new ArrayList<>();
+        for (int seat = 0; seat < TrickRules.MAX_TRICK_SIZE; seat++) {
+            players.add(new Player("p" + seat, "Player" + seat));
+        }
+        List<ICard> deck = new ArrayList<>(CardTable.all());
+        byte[] cardIds = new byte[TrickRules.MAX_TRICK_SIZE];
+        int[] seats = new int[TrickRules.MAX_TRICK_SIZE];
+
+        for (int trick = 0; trick < TRICKS; trick++) {
+            Collections.shuffle(deck, random);
+            int count = 1 + random.nextInt(TrickRules.MAX_TRICK_SIZE);
+            int firstSeat = random.nextInt(TrickRules.MAX_TRICK_SIZE);
+            CardSuit trump = TRUMPS[random.nextInt(TRUMPS.length)];
+
+            List<Pair<Player, ICard>> playedCards = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                ICard card = deck.get(i);
+                seats[i] = (firstSeat + i) % TrickRules.MAX_TRICK_SIZE;
+                cardIds[i] = card.getId();
+                playedCards.add(new Pair<>(players.get(seats[i]), card));
+            }
+
+            Player expected = TrickRules.determineTrickWinner(playedCards, trump);
+            int seat = TrickRules.determineTrickWinnerSeat(seats, cardIds, count, trump);
+            assertSame(expected, players.get(seat), () -> "Trick " + playedCards.stream().map(p -> p.second).toList() + ", trump " + trump);
+        }
+    }
+
+    @Test
+    void laterCardWinsTiesLikeTheListBasedVariant() {
+        byte[] twoWizards = {(byte) CardTable.FIRST_WIZARD_ID, 3, (byte) (CardTable.FIRST_WIZARD_ID + 1)};
+        assertEquals(2, TrickRules.determineTrickWinnerIndex(twoWizards, 3, CardSuit.RED));
+
+        byte[] onlyJesters = {(byte) CardTable.FIRST_JESTER_ID, (byte) (CardTable.FIRST_JESTER_ID + 1)};
+        assertEquals(1, TrickRules.determineTrickWinnerIndex(onlyJesters, 2, null));
+    }
+
+    @Test
+    void jesterLeadTakesLeadSuitFromFirstNumberCard() {
+        byte[] cards = {
+                (byte) CardTable.FIRST_JESTER_ID,
+                CardTable.numberCard(CardSuit.BLUE, 3).getId(),
+                CardTable.numberCard(CardSuit.RED, 12).getId(),
+                CardTable.numberCard(CardSuit.BLUE, 9).getId()
+        };
+
+        assertEquals(3, TrickRules.determineTrickWinnerIndex(cards, cards.length, CardSuit.GREEN));
+        assertEquals(2, TrickRules.determineTrickWinnerIndex(cards, cards.length, CardSuit.RED));
+    }
+
+    @Test
+    void emptyTrickThrowsException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> TrickRules.determineTrickWinnerIndex(new byte[TrickRules.MAX_TRICK_SIZE], 0, CardSuit.RED));
+    }
+}
@@ -0,0 +1,169 @@
+package service;
+
+import com.aau.wizard.model.Game;
+import com.aau.wizard.model.enums.GameStatus;
+import com.aau.wizard.service.impl.GameCommandDispatcher;
+import com.aau.wizard.service.impl.GameMailbox;
+import com.aau.wizard.service.impl.GameRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameCommandDispatcherTest {
+
+    private GameRegistry registry;
+    private ExecutorService workers;
+    private GameCommandDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        registry = new GameRegistry();
+        workers = Executors.newFixedThreadPool(4);
+        dispatcher = new GameCommandDispatcher(registry, workers);
+    }
+
+    @AfterEach
+    void tearDown() {
+        workers.shutdownNow();
+    }
+
+    /**
+     * Commands of one game sent from a single producer must be applied in the order they were sent,
+     * and never by two workers at the same time.
+     */
+    @Test
+    @Timeout(10)
+    void commandsOfOneGameAreAppliedInOrderBySingleWriter() throws Exception {
+        int commands = 10_000;
+        List<Integer> applied = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger concurrentWriters = new AtomicInteger();
+        AtomicInteger maxConcurrentWriters = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(commands);
+
+        for (int i = 0; i < commands; i++) {
+            int sequence = i;
+            dispatcher.dispatchJoin("game-1", () -> {
+                maxConcurrentWriters.accumulateAndGet(concurrentWriters.incrementAndGet(), Math::max);
+                applied.add(sequence);
+                concurrentWriters.decrementAndGet();
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(1, maxConcurrentWriters.get(), "Only one worker may apply commands of a game at a time");
+        for (int i = 0; i < commands; i++) {
+            assertEquals(i, applied.get(i));
+        }
+    }
+
+    @Test
+    @Timeout(10)
+    void differentGamesAreDrainedInParallel() throws Exception {
+        CountDownLatch bothRunning = new CountDownLatch(2);
+        CountDownLatch done = new CountDownLatch(2);
+
+        for (String gameId : List.of("game-a", "game-b")) {
+            dispatcher.dispatchJoin(gameId, () -> {
+                bothRunning.countDown();
+                try {
+                    // only completes if the other game's command runs at the same time
+                    assertTrue(bothRunning.await(5, TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(6, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @Timeout(10)
+    void failingCommandDoesNotBlockMailbox() throws Exception {
+        CountDownLatch done = new CountDownLatch(1);
+        registry.getOrCreate("game-1");
+
+        dispatcher.dispatchJoin("game-1", () -> {
+            throw new IllegalStateException("boom");
+        });
+        dispatcher.dispatch("game-1", done::countDown);
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(1, dispatcher.getMetrics().getFailedCommandCount());
+    }
+
+    @Test
+    void commandForUnknownGameRunsOnCallingThread() {
+        Thread caller = Thread.currentThread();
+        AtomicInteger ranOnCaller = new AtomicInteger();
+
+        dispatcher.dispatch("does-not-exist", () -> {
+            if (Thread.currentThread() == caller) {
+                ranOnCaller.incrementAndGet();
+            }
+        });
+
+        assertEquals(1, ranOnCaller.get());
+        assertNull(registry.get("does-not-exist"), "Dispatching must not create games");
+    }
+
+    @Test
+    void joinCreatesTheGameOnlyWhenItIsApplied() {
+        List<Runnable> pending = new ArrayList<>();
+        GameCommandDispatcher deferred = new GameCommandDispatcher(registry, pending::add);
+
+        deferred.dispatchJoin("game-1", () -> registry.getOrCreate("game-1"));
+
+        assertNull(registry.get("game-1"), "The calling thread must not create the game");
+        pending.forEach(Runnable::run);
+        assertNotNull(registry.get("game-1"));
+    }
+
+    @Test
+    void replacedGameKeepsTheMailboxOfItsTable() {
+        List<Runnable> pending = new ArrayList<>();
+        GameCommandDispatcher deferred = new GameCommandDispatcher(registry, pending::add);
+        GameRegistry.Entry ended = registry.getOrCreate("game-1");
+        ended.getGame().setStatus(GameStatus.ENDED);
+        List<String> applied = new ArrayList<>();
+
+        deferred.dispatchJoin("game-1", () -> {
+            registry.put(new Game("game-1"));
+            applied.add("join");
+        });
+        deferred.dispatch("game-1", () -> applied.add("start"));
+
+        GameMailbox mailbox = ended.getMailbox();
+        assertEquals(2, mailbox.size());
+        assertEquals(1, pending.size(), "One worker drains the table");
+        pending.forEach(Runnable::run);
+        assertSame(mailbox, registry.get("game-1").getMailbox());
+        assertEquals(List.of("join", "start"), applied);
+    }
+
+    @Test
+    void metricsRecordQueueWaitAndApplyTime() {
+        GameCommandDispatcher inline = new GameCommandDispatcher(registry, Runnable::run);
+
+        inline.dispatchJoin("game-1", () -> { });
+        inline.dispatch("game-1", () -> { });
+
+        assertEquals(2, inline.getMetrics().getCommandCount());
+        assertTrue(inline.getMetrics().getTotalQueueWaitNanos() >= 0);
+        assertTrue(inline.getMetrics().getTotalApplyNanos() >= 0);
+    }
+}
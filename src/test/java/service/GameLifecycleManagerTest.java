@@ -0,0 +1,162 @@
+package service;
+
+import com.aau.wizard.model.Game;
+import com.aau.wizard.model.Player;
+import com.aau.wizard.model.enums.GameStatus;
+import com.aau.wizard.service.impl.GameCommandDispatcher;
+import com.aau.wizard.service.impl.GameLifecycleManager;
+import com.aau.wizard.service.impl.GameLifecycleMetrics;
+import com.aau.wizard.service.impl.GameLifecycleMetrics.EvictionReason;
+import com.aau.wizard.service.impl.GameRegistry;
+import com.aau.wizard.util.HashedTimingWheel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameLifecycleManagerTest {
+
+    private static final Duration ENDED_TTL = Duration.ofMillis(100);
+    private static final Duration LOBBY_TTL = Duration.ofMillis(300);
+    private static final Duration PLAYING_TTL = Duration.ofMillis(600);
+
+    private GameRegistry registry;
+    private HashedTimingWheel timer;
+    private ExecutorService workers;
+    private GameCommandDispatcher dispatcher;
+    private GameLifecycleManager lifecycle;
+
+    @BeforeEach
+    void setUp() {
+        registry = new GameRegistry();
+        timer = new HashedTimingWheel("test-timer", 10, TimeUnit.MILLISECONDS, 64);
+        workers = Executors.newFixedThreadPool(2);
+        dispatcher = new GameCommandDispatcher(registry, workers);
+        lifecycle = new GameLifecycleManager(registry, timer, dispatcher, ENDED_TTL, LOBBY_TTL, PLAYING_TTL);
+    }
+
+    @AfterEach
+    void tearDown() {
+        timer.stop();
+        workers.shutdownNow();
+    }
+
+    @Test
+    @Timeout(5)
+    void idleLobbyIsEvictedAfterItsTtl() throws Exception {
+        Game game = registry.getOrCreate("lobby").getGame();
+        game.addPlayer(new Player("p1", "Alice"));
+
+        assertEquals(1, lifecycle.getMetrics().getLiveGames());
+        awaitTrue(() -> registry.get("lobby") == null);
+        awaitTrue(() -> lifecycle.getMetrics().getEvictionCount(EvictionReason.IDLE_LOBBY) == 1);
+
+        GameLifecycleMetrics metrics = lifecycle.getMetrics();
+        assertEquals(1, metrics.getEvictionCount(EvictionReason.IDLE_LOBBY));
+        assertEquals(0, metrics.getLiveGames());
+        assertTrue(metrics.getReclaimedBytes() > 0);
+    }
+
+    @Test
+    @Timeout(5)
+    void activityPostponesEviction() throws Exception {
+        GameRegistry.Entry entry = registry.getOrCreate("busy");
+        entry.getGame().setStatus(GameStatus.PLAYING);
+
+        // keep the game active for longer than its TTL
+        long end = System.nanoTime() + PLAYING_TTL.toNanos() * 2;
+        while (System.nanoTime() < end) {
+            apply("busy", () -> { });
+            assertSame(entry, registry.get("busy"));
+            Thread.sleep(50);
+        }
+
+        awaitTrue(() -> registry.get("busy") == null);
+        awaitTrue(() -> lifecycle.getMetrics().getEvictionCount(EvictionReason.IDLE_PLAYING) == 1);
+    }
+
+    @Test
+    @Timeout(5)
+    void endedGameIsEvictedAfterTheShorterEndedTtl() throws Exception {
+        registry.getOrCreate("ended").getGame().setStatus(GameStatus.PLAYING);
+        long start = System.nanoTime();
+
+        // aborting is a command like any other, so the game ends through the dispatcher
+        apply("ended", () -> registry.getGame("ended").setStatus(GameStatus.ENDED));
+
+        awaitTrue(() -> registry.get("ended") == null);
+        assertTrue(System.nanoTime() - start < PLAYING_TTL.toNanos(), "Ended game must not wait for the playing TTL");
+        awaitTrue(() -> lifecycle.getMetrics().getEvictionCount(EvictionReason.ENDED) == 1);
+    }
+
+    @Test
+    void replacedEntryIsNotEvictedByTheCheckOfItsPredecessor() {
+        // expired games are only checked when the test says so, the mailboxes never run the checks of the timer
+        GameRegistry games = new GameRegistry();
+        GameLifecycleManager manual = new GameLifecycleManager(games, timer,
+                new GameCommandDispatcher(games, task -> { }), Duration.ZERO, Duration.ZERO, Duration.ZERO);
+        GameRegistry.Entry first = games.getOrCreate("reused");
+        games.remove("reused");
+        GameRegistry.Entry second = games.getOrCreate("reused");
+
+        manual.check(first);
+        assertNotSame(first, second);
+        assertSame(second, games.get("reused"));
+        assertEquals(0, manual.getMetrics().getEvictionCount());
+
+        manual.check(second);
+        assertNull(games.get("reused"));
+        assertEquals(1, manual.getMetrics().getEvictionCount(EvictionReason.IDLE_LOBBY));
+    }
+
+    @Test
+    @Timeout(5)
+    void evictionWaitsForTheCommandBeingApplied() throws Exception {
+        GameRegistry.Entry entry = registry.getOrCreate("slow");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        dispatcher.dispatch("slow", () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+
+        // the check becomes due while the command is still running
+        Thread.sleep(LOBBY_TTL.toMillis() + 100);
+        assertSame(entry, registry.get("slow"));
+        release.countDown();
+
+        awaitTrue(() -> registry.get("slow") == null);
+        awaitTrue(() -> lifecycle.getMetrics().getEvictionCount(EvictionReason.IDLE_LOBBY) == 1);
+    }
+
+    private void apply(String gameId, Runnable command) throws InterruptedException {
+        CountDownLatch applied = new CountDownLatch(1);
+        dispatcher.dispatch(gameId, () -> {
+            command.run();
+            applied.countDown();
+        });
+        assertTrue(applied.await(1, TimeUnit.SECONDS));
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(3);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Condition not met in time");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package service;
+
+import com.aau.wizard.GameExceptions;
+import com.aau.wizard.dto.request.GameRequest;
+import com.aau.wizard.model.Game;
+import com.aau.wizard.service.impl.GameMetrics;
+import com.aau.wizard.service.impl.GameMetrics.Operation;
+import com.aau.wizard.service.impl.GameRegistry;
+import com.aau.wizard.service.impl.GameServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import testutil.GameMoves;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameMetricsTest {
+
+    private static final SimpMessagingTemplate TEMPLATE = new SimpMessagingTemplate((message, timeout) -> true);
+
+    @Test
+    void completeGameRecordsEveryMoveAndRound() {
+        GameServiceImpl service = new GameServiceImpl(TEMPLATE, new GameRegistry());
+        Game game = GameMoves.startGame(service, "game-1", 3);
+        while (GameMoves.playMove(service, "game-1")) {
+            // play the whole game
+        }
+        GameMetrics metrics = service.getMetrics();
+
+        int rounds = game.getMaxRound();
+        // round r has r tricks of three cards each
+        int cards = 3 * rounds * (rounds + 1) / 2;
+        assertEquals(1, metrics.getCount(Operation.START_GAME));
+        assertEquals(3L * rounds, metrics.getCount(Operation.MAKE_PREDICTION));
+        assertEquals(cards, metrics.getCount(Operation.PLAY_CARD));
+        assertEquals(rounds, metrics.getCount(Operation.END_ROUND));
+        assertEquals(3L * rounds + cards, metrics.getMoveCount());
+        for (Operation operation : Operation.values()) {
+            assertTrue(metrics.getTotalNanos(operation) > 0, operation.name());
+            assertTrue(metrics.getMaxNanos(operation) <= metrics.getTotalNanos(operation), operation.name());
+        }
+
+        // the start, every move and every end of a round summary is broadcast to all three players
+        assertEquals(1 + metrics.getMoveCount() + rounds, metrics.getBroadcastCount());
+        assertEquals(3 * metrics.getBroadcastCount(), metrics.getBroadcastRecipientCount());
+        assertEquals(3, metrics.getMaxBroadcastRecipients());
+    }
+
+    @Test
+    void rejectedMovesAreCountedByExceptionType() {
+        GameServiceImpl service = new GameServiceImpl(TEMPLATE, new GameRegistry());
+        Game game = GameMoves.startGame(service, "game-1", 2);
+        GameMetrics metrics = service.getMetrics();
+
+        GameRequest notYourTurn = new GameRequest("game-1", "game-1-p1");
+        notYourTurn.setCard(game.getPlayers().get(0).getHandCards().get(0).toString());
+        GameExceptions.GameNotActiveException e = assertThrows(GameExceptions.GameNotActiveException.class,
+                () -> service.playCard(notYourTurn));
+        metrics.recordRejectedMove(e);
+        metrics.recordRejectedMove(new GameExceptions.InvalidTurnException("Nicht dein Zug"));
+        metrics.recordRejectedMove(new GameExceptions.InvalidTurnException("Nicht dein Zug"));
+        metrics.recordRejectedMove(new IllegalStateException("unerwartet"));
+
+        assertEquals(0, metrics.getCount(Operation.PLAY_CARD), "Abgelehnte Züge werden nicht gemessen.");
+        assertEquals(0, metrics.getMoveCount());
+        assertEquals(1, metrics.getRejectedMoveCount(GameExceptions.GameNotActiveException.class));
+        assertEquals(2, metrics.getRejectedMoveCount(GameExceptions.InvalidTurnException.class));
+        assertEquals(1, metrics.getRejectedMoveCount(RuntimeException.class));
+        assertEquals(0, metrics.getRejectedMoveCount(GameExceptions.CardNotInHandException.class));
+        assertTrue(metrics.getRejectionTypes().contains(GameExceptions.CardNotInHandException.class));
+    }
+}
@@ -0,0 +1,165 @@
+package service;
+
+import com.aau.wizard.journal.FileGameJournal;
+import com.aau.wizard.journal.GameEvent;
+import com.aau.wizard.journal.GameSnapshotCodec;
+import com.aau.wizard.model.Game;
+import com.aau.wizard.model.enums.GameStatus;
+import com.aau.wizard.service.impl.GameMetrics;
+import com.aau.wizard.service.impl.GameRecoveryService;
+import com.aau.wizard.service.impl.GameRegistry;
+import com.aau.wizard.service.impl.GameServiceImpl;
+import com.aau.wizard.service.impl.RoundServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import testutil.GameMoves;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameRecoveryServiceTest {
+
+    private static final SimpMessagingTemplate TEMPLATE = new SimpMessagingTemplate((message, timeout) -> true);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void runningGameIsRebuiltFromTheJournal() throws IOException {
+        GameRegistry before;
+        try (FileGameJournal journal = openJournal()) {
+            GameServiceImpl service = new GameServiceImpl(TEMPLATE, new GameRegistry(), journal);
+            GameMoves.startGame(service, "game-1", 3);
+            // round 1, round 2 and the first card of round 3
+            playMoves(service, "game-1", 7 + 10 + 4);
+            before = service.getRegistry();
+        }
+
+        GameRegistry after = new GameRegistry();
+        try (FileGameJournal journal = openJournal()) {
+            GameRecoveryService.RecoveryResult result = recoveryService(after, journal).recover();
+
+            assertEquals(1, result.games());
+            assertEquals(0, result.snapshotGames());
+            assertEquals(0, result.failedEvents());
+        }
+        assertSameState(before.get("game-1"), after.get("game-1"));
+        assertEquals(1, after.getRoundService("game-1").getPlayedCards().size());
+    }
+
+    @Test
+    void gameIsRestoredFromTheSnapshotAndTheJournalTail() throws IOException {
+        GameRegistry before;
+        long tailRecords;
+        try (FileGameJournal journal = openJournal()) {
+            GameServiceImpl service = new GameServiceImpl(TEMPLATE, new GameRegistry(), journal);
+            GameMoves.startGame(service, "game-1", 4);
+            playMoves(service, "game-1", 4 + 2);
+            recoveryService(service.getRegistry(), journal).writeSnapshot();
+            long snapshotSequence = journal.lastSequence();
+            // rest of round 1, into the predictions of round 2
+            playMoves(service, "game-1", 2 + 1 + 2);
+            tailRecords = journal.lastSequence() - snapshotSequence;
+            before = service.getRegistry();
+        }
+
+        GameRegistry after = new GameRegistry();
+        try (FileGameJournal journal = openJournal()) {
+            GameRecoveryService.RecoveryResult result = recoveryService(after, journal).recover();
+
+            assertEquals(1, result.games());
+            assertEquals(1, result.snapshotGames());
+            assertEquals(tailRecords, result.journalRecords());
+            assertEquals(0, result.failedEvents());
+        }
+        assertSameState(before.get("game-1"), after.get("game-1"));
+        assertEquals(GameStatus.PREDICTION, after.getGame("game-1").getStatus());
+    }
+
+    @Test
+    void recoveredGameContinuesWithTheLiveServices() throws IOException {
+        try (FileGameJournal journal = openJournal()) {
+            GameServiceImpl service = new GameServiceImpl(TEMPLATE, new GameRegistry(), journal);
+            GameMoves.startGame(service, "game-1", 2);
+            playMoves(service, "game-1", 2);
+        }
+
+        GameRegistry registry = new GameRegistry();
+        try (FileGameJournal journal = openJournal()) {
+            GameServiceImpl service = new GameServiceImpl(TEMPLATE, registry, journal);
+            new GameRecoveryService(registry, journal, service.getMetrics(), true, directory, Duration.ZERO).recover();
+
+            // both cards of round 1: the trick and with it the round end through the recovered round service
+            playMoves(service, "game-1", 2);
+
+            assertEquals(GameStatus.ROUND_END_SUMMARY, registry.getGame("game-1").getStatus());
+            assertEquals(1, registry.getGame("game-1").getPlayers().get(0).getRoundScores().size());
+            assertEquals(1, service.getMetrics().getCount(GameMetrics.Operation.END_ROUND));
+        }
+    }
+
+    @Test
+    void endedAndRemovedGamesAreNotRecovered() throws IOException {
+        try (FileGameJournal journal = openJournal()) {
+            GameServiceImpl service = new GameServiceImpl(TEMPLATE, new GameRegistry(), journal);
+            for (String gameId : new String[]{"running", "aborted", "evicted", "snapshot-evicted"}) {
+                GameMoves.startGame(service, gameId, 3);
+            }
+            service.abortGame("aborted");
+            recoveryService(service.getRegistry(), journal).writeSnapshot();
+            GameMoves.playMove(service, "snapshot-evicted");
+            service.abortGame("aborted");
+            for (String gameId : new String[]{"evicted", "snapshot-evicted"}) {
+                service.getRegistry().remove(gameId);
+                journal.append(new GameEvent.GameRemoved(gameId));
+            }
+        }
+
+        GameRegistry after = new GameRegistry();
+        try (FileGameJournal journal = openJournal()) {
+            GameRecoveryService.RecoveryResult result = recoveryService(after, journal).recover();
+
+            assertEquals(1, result.games());
+            assertEquals(1, result.skippedEvents());
+            assertEquals(0, result.failedEvents());
+        }
+        assertNotNull(after.get("running"));
+        assertNull(after.get("aborted"));
+        assertNull(after.get("evicted"));
+        assertNull(after.get("snapshot-evicted"));
+    }
+
+    private FileGameJournal openJournal() throws IOException {
+        return new FileGameJournal(directory, 1 << 20, false);
+    }
+
+    private GameRecoveryService recoveryService(GameRegistry registry, FileGameJournal journal) {
+        return new GameRecoveryService(registry, journal, new GameMetrics(), true, directory, Duration.ZERO);
+    }
+
+    private static void playMoves(GameServiceImpl service, String gameId, int moves) {
+        for (int i = 0; i < moves; i++) {
+            assertTrue(GameMoves.playMove(service, gameId));
+        }
+    }
+
+    /**
+     * Compares everything a snapshot holds: players, hands, scores, prediction order, deck, trump and current trick.
+     */
+    private static void assertSameState(GameRegistry.Entry expected, GameRegistry.Entry actual) {
+        assertNotNull(actual);
+        Game game = actual.getGame();
+        assertEquals(expected.getGame().getCurrentPlayerId(), game.getCurrentPlayerId());
+        assertEquals(expected.getGame().getPredictionOrder(), game.getPredictionOrder());
+        assertArrayEquals(encode(expected.getGame(), expected.getRoundService()),
+                encode(game, actual.getRoundService()));
+    }
+
+    private static byte[] encode(Game game, RoundServiceImpl round) {
+        return GameSnapshotCodec.encode(0, game, round);
+    }
+}
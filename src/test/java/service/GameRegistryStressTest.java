@@ -0,0 +1,162 @@
+package service;
+
+import com.aau.wizard.dto.request.GameRequest;
+import com.aau.wizard.dto.request.PredictionRequest;
+import com.aau.wizard.model.Game;
+import com.aau.wizard.model.ICard;
+import com.aau.wizard.model.Player;
+import com.aau.wizard.model.enums.GameStatus;
+import com.aau.wizard.rules.TrickRules;
+import com.aau.wizard.service.impl.GameRegistry;
+import com.aau.wizard.service.impl.GameServiceImpl;
+import com.aau.wizard.service.impl.RoundServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Drives thousands of games through {@link GameServiceImpl} from many threads at once and checks
+ * that the {@link GameRegistry} neither loses games nor players.
+ */
+class GameRegistryStressTest {
+
+    private static final int GAMES = 2_000;
+    private static final int PLAYERS_PER_GAME = 3;
+    private static final int ROUNDS_TO_PLAY = 2;
+
+    private GameServiceImpl gameService;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        // stubOnly: the mock must not record the hundreds of thousands of broadcasts
+        SimpMessagingTemplate messagingTemplate = mock(SimpMessagingTemplate.class, withSettings().stubOnly());
+        gameService = new GameServiceImpl(messagingTemplate, new GameRegistry());
+        executor = Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors() * 2));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @Timeout(120)
+    void concurrentJoinsStartsAndPlaysLoseNoGames() throws Exception {
+        List<Runnable> joins = new ArrayList<>();
+        for (int g = 0; g < GAMES; g++) {
+            for (int p = 0; p < PLAYERS_PER_GAME; p++) {
+                String gameId = gameId(g);
+                String playerId = gameId + "-p" + p;
+                joins.add(() -> gameService.joinGame(joinRequest(gameId, playerId)));
+            }
+        }
+        // interleave the joins of all tables so that the same game is hit from several threads
+        Collections.shuffle(joins);
+        runAll(joins);
+
+        assertEquals(GAMES, gameService.getRegistry().size(), "Every game must have been registered exactly once");
+        for (int g = 0; g < GAMES; g++) {
+            assertEquals(PLAYERS_PER_GAME, gameService.getGameById(gameId(g)).getPlayers().size(),
+                    "No join may be lost for " + gameId(g));
+        }
+
+        List<Runnable> tables = new ArrayList<>();
+        for (int g = 0; g < GAMES; g++) {
+            String gameId = gameId(g);
+            tables.add(() -> playRounds(gameId));
+        }
+        runAll(tables);
+
+        assertEquals(GAMES, gameService.getRegistry().size(), "Playing must not lose any game");
+        for (GameRegistry.Entry entry : gameService.getRegistry().entries()) {
+            Game game = entry.getGame();
+            assertEquals(ROUNDS_TO_PLAY, game.getCurrentRound(), "Wrong round for " + game.getGameId());
+            assertEquals(GameStatus.ROUND_END_SUMMARY, game.getStatus(), "Wrong status for " + game.getGameId());
+            for (Player player : game.getPlayers()) {
+                assertEquals(ROUNDS_TO_PLAY, player.getRoundScores().size(),
+                        "Every round must be scored exactly once for " + player.getPlayerId());
+            }
+        }
+    }
+
+    private void runAll(List<Runnable> tasks) throws Exception {
+        List<Future<?>> futures = new ArrayList<>(tasks.size());
+        for (Runnable task : tasks) {
+            futures.add(executor.submit(task));
+        }
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Plays the given game from the start up to the summary of {@link #ROUNDS_TO_PLAY},
+     * always predicting 0 (or 1 if 0 is forbidden) and playing the first legal card.
+     */
+    private void playRounds(String gameId) {
+        gameService.startGame(gameId);
+        Game game = gameService.getGameById(gameId);
+
+        for (int round = 1; round <= ROUNDS_TO_PLAY; round++) {
+            if (round > 1) {
+                gameService.proceedToNextRound(gameId);
+            }
+            for (String playerId : List.copyOf(game.getPredictionOrder())) {
+                makeAllowedPrediction(gameId, playerId);
+            }
+            for (int trick = 0; trick < round; trick++) {
+                for (int i = 0; i < PLAYERS_PER_GAME; i++) {
+                    playFirstLegalCard(gameId, game);
+                }
+            }
+        }
+    }
+
+    private void makeAllowedPrediction(String gameId, String playerId) {
+        try {
+            gameService.makePrediction(new PredictionRequest(gameId, playerId, 0));
+        } catch (com.aau.wizard.GameExceptions.InvalidPredictionException e) {
+            gameService.makePrediction(new PredictionRequest(gameId, playerId, 1));
+        }
+    }
+
+    private void playFirstLegalCard(String gameId, Game game) {
+        Player player = game.getPlayerById(game.getCurrentPlayerId());
+        RoundServiceImpl roundService = gameService.getRegistry().getRoundService(gameId);
+
+        ICard legalCard = player.getHandCards().stream()
+                .filter(card -> roundService.getPlayedCards().isEmpty()
+                        || TrickRules.isValidPlay(player, card, roundService.getPlayedCards(), roundService.trumpCardSuit, false))
+                .findFirst()
+                .orElseThrow();
+
+        GameRequest request = new GameRequest(gameId, player.getPlayerId());
+        request.setCard(legalCard.toString());
+        gameService.playCard(request);
+    }
+
+    private static GameRequest joinRequest(String gameId, String playerId) {
+        GameRequest request = new GameRequest(gameId, playerId);
+        request.setPlayerName(playerId);
+        return request;
+    }
+
+    private static String gameId(int index) {
+        return "stress-" + index;
+    }
+}
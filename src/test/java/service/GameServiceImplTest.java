@@ -4,26 +4,29 @@ import com.aau.wizard.GameExceptions;
 import com.aau.wizard.dto.PlayerDto;
 import com.aau.wizard.dto.request.GameRequest;
 import com.aau.wizard.dto.request.PredictionRequest;
+import com.aau.wizard.dto.response.GameDelta;
 import com.aau.wizard.dto.response.GameResponse;
+import com.aau.wizard.dto.response.HandResponse;
 import com.aau.wizard.model.Game;
 import com.aau.wizard.model.ICard;
 import com.aau.wizard.model.Player;
 import com.aau.wizard.model.enums.CardSuit;
 import com.aau.wizard.model.enums.GameStatus;
+import com.aau.wizard.service.impl.GameRegistry;
 import com.aau.wizard.service.impl.GameServiceImpl;
 import com.aau.wizard.service.impl.RoundServiceImpl;
 import com.aau.wizard.util.Pair;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 
-import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
@@ -38,6 +41,9 @@ public class GameServiceImplTest {
     @Mock
     private SimpMessagingTemplate messagingTemplate;
 
+    @Spy
+    private GameRegistry registry = new GameRegistry();
+
     @InjectMocks
     private GameServiceImpl gameService;
 
@@ -135,10 +141,12 @@ public class GameServiceImplTest {
         gameService.joinGame(createCustomGameRequest(TEST_GAME_ID, "p3", "Player3"));
 
         // Spiel starten
-        GameResponse response = gameService.startGame(TEST_GAME_ID);
+        gameService.startGame(TEST_GAME_ID);
 
-        // Assertions zur Spiel-Response
-        assertNotNull(response);
+        // Assertions zum gesendeten Spielstand
+        ArgumentCaptor<GameResponse> started = ArgumentCaptor.forClass(GameResponse.class);
+        verify(messagingTemplate, times(1)).convertAndSend(eq("/topic/game/" + TEST_GAME_ID), started.capture());
+        GameResponse response = started.getValue();
         assertEquals("PREDICTION", response.getStatus().name());
 
         List<String> playerIds = response.getPlayers().stream()
@@ -149,7 +157,7 @@ public class GameServiceImplTest {
         assertTrue(playerIds.contains(response.getCurrentPlayerId()), "Current player must be in the list");
 
         for (String playerId : playerIds) {
-            verify(messagingTemplate).convertAndSend(eq("/topic/game/" + playerId), any(GameResponse.class));
+            verify(messagingTemplate).convertAndSend(eq("/topic/game/" + playerId), any(HandResponse.class));
         }
     }
 
@@ -215,25 +223,17 @@ public class GameServiceImplTest {
         game.setPredictionOrder(List.of(TEST_PLAYER_ID, "p2"));
 
 
-        try {
-            Field gamesField = GameServiceImpl.class.getDeclaredField("games");
-            gamesField.setAccessible(true);
-
-            @SuppressWarnings("unchecked")
-            Map<String, Game> gamesMap = (Map<String, Game>) gamesField.get(gameService);
-            gamesMap.put(TEST_GAME_ID, game);
-        } catch (Exception e) {
-            fail("Fehler beim Zugriff auf games-Feld: " + e.getMessage());
-        }
+        injectGameIntoService(game);
 
 
         PredictionRequest request = new PredictionRequest(TEST_GAME_ID, TEST_PLAYER_ID, 1);
-        GameResponse response = gameService.makePrediction(request);
+        gameService.makePrediction(request);
 
 
-        assertNotNull(response);
         assertEquals(1, player.getPrediction());          // Vorhersage korrekt speichern
-        assertEquals(TEST_GAME_ID, response.getGameId());
+        ArgumentCaptor<GameDelta> delta = ArgumentCaptor.forClass(GameDelta.class);
+        verify(messagingTemplate).convertAndSend(eq("/topic/game/" + TEST_GAME_ID), delta.capture());
+        assertEquals(TEST_GAME_ID, delta.getValue().getGameId());
     }
 
     @Test
@@ -245,15 +245,7 @@ public class GameServiceImplTest {
 
         game.setPredictionOrder(List.of(TEST_PLAYER_ID));
 
-        try {
-            Field gamesField = GameServiceImpl.class.getDeclaredField("games");
-            gamesField.setAccessible(true);
-            @SuppressWarnings("unchecked")
-            Map<String, Game> gamesMap = (Map<String, Game>) gamesField.get(gameService);
-            gamesMap.put(TEST_GAME_ID, game);
-        } catch (Exception e) {
-            fail("Fehler beim Zugriff auf games-Feld: " + e.getMessage());
-        }
+        injectGameIntoService(game);
 
         PredictionRequest request = new PredictionRequest(TEST_GAME_ID, TEST_PLAYER_ID, 1);
 
@@ -278,11 +270,7 @@ public class GameServiceImplTest {
         PredictionRequest invalidRequest = new PredictionRequest(TEST_GAME_ID, "p2", 1);
 
 
-        Field gamesField = GameServiceImpl.class.getDeclaredField("games");
-        gamesField.setAccessible(true);
-        @SuppressWarnings("unchecked")
-        Map<String, Game> gamesMap = (Map<String, Game>) gamesField.get(gameService);
-        gamesMap.put(TEST_GAME_ID, game);
+        injectGameIntoService(game);
 
 
         Exception exception = assertThrows(GameExceptions.InvalidTurnException.class, () -> {
@@ -304,11 +292,8 @@ public class GameServiceImplTest {
         player.setScore(50);
         game.getPlayers().add(player);
 
-        GameServiceImpl service = new GameServiceImpl(mock(SimpMessagingTemplate.class));
-        Field gamesField = GameServiceImpl.class.getDeclaredField("games");
-        gamesField.setAccessible(true);
-        Map<String, Game> gamesMap = (Map<String, Game>) gamesField.get(service);
-        gamesMap.put("game-123", game);
+        GameServiceImpl service = new GameServiceImpl(mock(SimpMessagingTemplate.class), new GameRegistry());
+        service.getRegistry().put(game);
 
         List<PlayerDto> scoreboard = service.getScoreboard("game-123");
 
@@ -369,9 +354,8 @@ public class GameServiceImplTest {
 
         assertEquals(GameStatus.ENDED, game.getStatus(), "Der Spielstatus sollte auf ENDED gesetzt sein.");
 
-        for (Player player : game.getPlayers()) {
-            verify(messagingTemplate).convertAndSend(eq("/topic/game/" + player.getPlayerId()), any(GameResponse.class));
-        }
+        verify(messagingTemplate, times(1)).convertAndSend(eq("/topic/game/" + TEST_GAME_ID), any(GameDelta.class));
+        verify(messagingTemplate, never()).convertAndSend(anyString(), any(HandResponse.class));
     }
 
     @Test
@@ -392,25 +376,28 @@ public class GameServiceImplTest {
 
         injectGameIntoService(game);
 
-        RoundServiceImpl realRoundService = new RoundServiceImpl(game, messagingTemplate, gameService);
+        RoundServiceImpl realRoundService = new RoundServiceImpl(game);
         injectRoundServiceIntoService(realRoundService, TEST_GAME_ID);
 
         GameRequest request = new GameRequest(TEST_GAME_ID, player1.getPlayerId());
         request.setCard(cardToPlay.getSuit().name() + "_" + cardToPlay.getValue());
 
 
-        GameResponse response = gameService.playCard(request);
+        gameService.playCard(request);
 
-        assertNotNull(response);
-        assertEquals(TEST_GAME_ID, response.getGameId());
-        assertEquals(GameStatus.PLAYING, response.getStatus());
+        assertEquals(GameStatus.PLAYING, game.getStatus());
         // Überprüfen, ob der nächste Spieler am Zug ist
-        assertEquals(player2.getPlayerId(), response.getCurrentPlayerId());
         assertEquals(player2.getPlayerId(), game.getCurrentPlayerId());
 
-        assertEquals(cardToPlay.toString(), response.getLastPlayedCard());
-
-        verify(messagingTemplate).convertAndSend(eq("/topic/game/" + player2.getPlayerId()), any(GameResponse.class));
+        ArgumentCaptor<GameDelta> delta = ArgumentCaptor.forClass(GameDelta.class);
+        verify(messagingTemplate).convertAndSend(eq("/topic/game/" + TEST_GAME_ID), delta.capture());
+        assertEquals(GameDelta.Type.CARD_PLAYED, delta.getValue().getType());
+        assertEquals(cardToPlay.toString(), delta.getValue().getPlayedCard());
+        assertEquals(player2.getPlayerId(), delta.getValue().getCurrentPlayerId());
+        assertEquals(game.getVersion(), delta.getValue().getVersion());
+        // only the hand of the player who played has changed
+        verify(messagingTemplate).convertAndSend(eq("/topic/game/" + player1.getPlayerId()), any(HandResponse.class));
+        verify(messagingTemplate, never()).convertAndSend(eq("/topic/game/" + player2.getPlayerId()), any(HandResponse.class));
     }
 
     @Test
@@ -567,20 +554,12 @@ public class GameServiceImplTest {
 
         assertTrue(exception.getMessage().contains("Runden-Logik für dieses Spiel nicht gefunden."));}
 
-    @SuppressWarnings("unchecked")
-    private void injectGameIntoService(Game game) throws Exception {
-        Field gamesField = GameServiceImpl.class.getDeclaredField("games");
-        gamesField.setAccessible(true);
-        Map<String, Game> gamesMap = (Map<String, Game>) gamesField.get(gameService);
-        gamesMap.put(game.getGameId(), game);
+    private void injectGameIntoService(Game game) {
+        gameService.getRegistry().put(game);
     }
 
-    @SuppressWarnings("unchecked")
-    private void injectRoundServiceIntoService(RoundServiceImpl roundService, String gameId) throws Exception {
-        Field roundServicesField = GameServiceImpl.class.getDeclaredField("roundServices");
-        roundServicesField.setAccessible(true);
-        Map<String, RoundServiceImpl> roundServicesMap = (Map<String, RoundServiceImpl>) roundServicesField.get(gameService);
-        roundServicesMap.put(gameId, roundService);
+    private void injectRoundServiceIntoService(RoundServiceImpl roundService, String gameId) {
+        gameService.getRegistry().get(gameId).setRoundService(roundService);
     }
 
     @Test
@@ -670,7 +649,7 @@ public class GameServiceImplTest {
         player1.setHandCards(new ArrayList<>(List.of(cardToPlay, createDefaultCard())));
 
         injectGameIntoService(game);
-        RoundServiceImpl realRoundService = new RoundServiceImpl(game, messagingTemplate, gameService);
+        RoundServiceImpl realRoundService = new RoundServiceImpl(game);
         injectRoundServiceIntoService(realRoundService, TEST_GAME_ID);
 
         GameRequest request = new GameRequest(TEST_GAME_ID, player1.getPlayerId());
@@ -696,8 +675,9 @@ public class GameServiceImplTest {
 
         assertEquals(GameStatus.ENDED, game.getStatus(), "Der Spielstatus sollte auf ENDED sein.");
 
-        verify(messagingTemplate, times(1)).convertAndSend(eq("/topic/game/" + player1.getPlayerId()), any(GameResponse.class));
-        verify(messagingTemplate, times(1)).convertAndSend(eq("/topic/game/" + player2.getPlayerId()), any(GameResponse.class));
+        verify(messagingTemplate, times(1)).convertAndSend(eq("/topic/game/" + TEST_GAME_ID), any(GameDelta.class));
+        verify(messagingTemplate, never()).convertAndSend(eq("/topic/game/" + player1.getPlayerId()), any(Object.class));
+        verify(messagingTemplate, never()).convertAndSend(eq("/topic/game/" + player2.getPlayerId()), any(Object.class));
     }
 
     @Test
@@ -765,7 +745,57 @@ public class GameServiceImplTest {
        });
     }
 
+    @Test
+    void makePrediction_broadcastsVersionedDeltaToGameTopic() {
+        Game game = new Game(TEST_GAME_ID);
+        Player player = new Player(TEST_PLAYER_ID, TEST_PLAYER_NAME);
+        player.setHandCards(List.of(createDefaultCard()));
+        Player other = new Player("p2", "Zweiter");
+        other.setHandCards(List.of(createDefaultCard()));
+        game.setPlayers(List.of(player, other));
+        game.setStatus(GameStatus.PREDICTION);
+        game.setPredictionOrder(List.of(TEST_PLAYER_ID, "p2"));
+        injectGameIntoService(game);
+        long versionBefore = game.getVersion();
+
+        gameService.makePrediction(new PredictionRequest(TEST_GAME_ID, TEST_PLAYER_ID, 1));
+
+        ArgumentCaptor<GameDelta> delta = ArgumentCaptor.forClass(GameDelta.class);
+        verify(messagingTemplate).convertAndSend(eq("/topic/game/" + TEST_GAME_ID), delta.capture());
+        assertEquals(versionBefore + 1, delta.getValue().getVersion());
+        assertEquals(GameDelta.Type.PREDICTION_MADE, delta.getValue().getType());
+        assertEquals(TEST_PLAYER_ID, delta.getValue().getPlayerId());
+        assertEquals(1, delta.getValue().getPrediction());
+        assertEquals("p2", delta.getValue().getCurrentPredictionPlayerId());
+        assertNull(delta.getValue().getScoreDeltas());
+    }
+
+    @Test
+    void resyncPlayer_sendsFullSnapshotWithHandToResyncTopic() {
+        Game game = new Game(TEST_GAME_ID);
+        Player player = new Player(TEST_PLAYER_ID, TEST_PLAYER_NAME);
+        player.setHandCards(List.of(createDefaultCard()));
+        game.getPlayers().add(player);
+        game.nextVersion();
+        injectGameIntoService(game);
+
+        gameService.resyncPlayer(new GameRequest(TEST_GAME_ID, TEST_PLAYER_ID));
+
+        ArgumentCaptor<GameResponse> snapshot = ArgumentCaptor.forClass(GameResponse.class);
+        verify(messagingTemplate).convertAndSend(eq("/topic/game/" + TEST_PLAYER_ID + "/resync"), snapshot.capture());
+        assertEquals(1, snapshot.getValue().getVersion());
+        assertEquals(1, snapshot.getValue().getHandCards().size());
+        assertEquals(1, game.getVersion(), "Eine Synchronisierung darf die Version nicht erhöhen.");
+    }
+
+    @Test
+    void resyncPlayer_throwsPlayerNotFoundException_whenPlayerIsNotInGame() {
+        injectGameIntoService(new Game(TEST_GAME_ID));
+
+        assertThrows(GameExceptions.PlayerNotFoundException.class,
+                () -> gameService.resyncPlayer(new GameRequest(TEST_GAME_ID, "unbekannt")));
     }
+}
 
 
 
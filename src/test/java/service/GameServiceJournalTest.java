@@ -0,0 +1,150 @@
+package service;
+
+import com.aau.wizard.GameExceptions.RoundProgressionException;
+import com.aau.wizard.dto.request.GameRequest;
+import com.aau.wizard.dto.request.PredictionRequest;
+import com.aau.wizard.journal.FileGameJournal;
+import com.aau.wizard.journal.GameEvent;
+import com.aau.wizard.journal.GameJournal;
+import com.aau.wizard.journal.GameJournalReader;
+import com.aau.wizard.model.Game;
+import com.aau.wizard.model.ICard;
+import com.aau.wizard.model.Player;
+import com.aau.wizard.model.enums.GameStatus;
+import com.aau.wizard.service.impl.GameRegistry;
+import com.aau.wizard.service.impl.GameServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import testutil.RecordingJournal;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameServiceJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void appliedCommandsAreJournaledInOrder() throws IOException {
+        List<GameEvent> expected = new ArrayList<>();
+        try (FileGameJournal journal = new FileGameJournal(directory, 1 << 20, false)) {
+            GameServiceImpl service = new GameServiceImpl(
+                    new SimpMessagingTemplate((message, timeout) -> true), new GameRegistry(), journal);
+
+            for (String playerId : List.of("p1", "p2")) {
+                GameRequest join = new GameRequest("game-1", playerId);
+                join.setPlayerName("Name " + playerId);
+                service.joinGame(join);
+                expected.add(new GameEvent.PlayerJoined("game-1", playerId, "Name " + playerId));
+            }
+            service.startGame("game-1");
+            Game game = service.getGameById("game-1");
+            expected.add(new GameEvent.GameStarted("game-1", game.getSeed()));
+
+            List<String> order = List.copyOf(game.getPredictionOrder());
+            service.makePrediction(new PredictionRequest("game-1", order.get(0), 1));
+            expected.add(new GameEvent.PredictionMade("game-1", order.get(0), 1));
+            service.makePrediction(new PredictionRequest("game-1", order.get(1), 1));
+            expected.add(new GameEvent.PredictionMade("game-1", order.get(1), 1));
+
+            for (int i = 0; i < 2; i++) {
+                Player player = game.getPlayerById(game.getCurrentPlayerId());
+                ICard card = player.getHandCards().get(0);
+                GameRequest play = new GameRequest("game-1", player.getPlayerId());
+                play.setCard(card.toString());
+                play.setIsCheating(true);
+                service.playCard(play);
+                expected.add(new GameEvent.CardPlayed("game-1", player.getPlayerId(), card.getId(), true));
+            }
+            service.proceedToNextRound("game-1");
+            expected.add(new GameEvent.RoundProceeded("game-1"));
+            service.abortGame("game-1");
+            expected.add(new GameEvent.GameAborted("game-1"));
+        }
+
+        List<GameEvent> journaled = new ArrayList<>();
+        GameJournalReader.read(directory, record -> journaled.add(record.event()));
+        assertEquals(expected, journaled);
+    }
+
+    @Test
+    void failedRoundProgressionIsNotJournaled() {
+        RecordingJournal journal = new RecordingJournal();
+        GameRegistry registry = new GameRegistry();
+        GameServiceImpl service = new GameServiceImpl(
+                new SimpMessagingTemplate((message, timeout) -> true), registry, journal);
+        for (String playerId : List.of("p1", "p2", "p3")) {
+            GameRequest join = new GameRequest("game-1", playerId);
+            join.setPlayerName("Name " + playerId);
+            service.joinGame(join);
+        }
+        service.startGame("game-1");
+        int journaled = journal.eventsOf("game-1").size();
+
+        // without its round service the next round cannot be dealt
+        registry.get("game-1").setRoundService(null);
+
+        assertThrows(RoundProgressionException.class, () -> service.proceedToNextRound("game-1"));
+        assertEquals(journaled, journal.eventsOf("game-1").size());
+    }
+
+    @Test
+    void commandIsRejectedWithoutChangingTheGameWhenTheJournalIsNotWritable() throws IOException {
+        FileGameJournal journal = new FileGameJournal(directory, 1 << 20, false);
+        GameRegistry registry = new GameRegistry();
+        GameServiceImpl service = new GameServiceImpl(
+                new SimpMessagingTemplate((message, timeout) -> true), registry, journal);
+        GameRequest join = new GameRequest("game-1", "p1");
+        join.setPlayerName("Name p1");
+        service.joinGame(join);
+        journal.close();
+
+        GameRequest secondJoin = new GameRequest("game-1", "p2");
+        secondJoin.setPlayerName("Name p2");
+        assertThrows(IllegalStateException.class, () -> service.joinGame(secondJoin));
+        assertThrows(IllegalStateException.class, () -> service.joinGame(new GameRequest("game-2", "p1")));
+
+        assertEquals(1, registry.getGame("game-1").getPlayers().size());
+        assertNull(registry.getGame("game-2"));
+    }
+
+    @Test
+    void appliedCommandIsNotReportedAsFailedWhenTheJournalFailsAfterwards() {
+        RecordingJournal recording = new RecordingJournal();
+        GameJournal journal = new GameJournal() {
+            @Override
+            public long append(GameEvent event) {
+                if (event instanceof GameEvent.GameStarted) {
+                    throw new IllegalStateException("Journal ist nicht beschreibbar");
+                }
+                return recording.append(event);
+            }
+
+            @Override
+            public long lastSequence() {
+                return recording.lastSequence();
+            }
+
+            @Override
+            public void flush() {
+            }
+        };
+        GameServiceImpl service = new GameServiceImpl(
+                new SimpMessagingTemplate((message, timeout) -> true), new GameRegistry(), journal);
+        for (String playerId : List.of("p1", "p2")) {
+            GameRequest join = new GameRequest("game-1", playerId);
+            join.setPlayerName("Name " + playerId);
+            service.joinGame(join);
+        }
+
+        assertDoesNotThrow(() -> service.startGame("game-1"));
+        assertEquals(GameStatus.PREDICTION, service.getGameById("game-1").getStatus());
+        assertEquals(2, recording.eventsOf("game-1").size());
+    }
+}
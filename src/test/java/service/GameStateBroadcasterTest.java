@@ -0,0 +1,154 @@
+package service;
+
+import com.aau.wizard.dto.PlayerDto;
+import com.aau.wizard.dto.response.GameDelta;
+import com.aau.wizard.dto.response.GameResponse;
+import com.aau.wizard.dto.response.HandResponse;
+import com.aau.wizard.engine.DomainEvent;
+import com.aau.wizard.model.Deck;
+import com.aau.wizard.model.Game;
+import com.aau.wizard.model.Player;
+import com.aau.wizard.model.enums.GameStatus;
+import com.aau.wizard.service.impl.GameRegistry;
+import com.aau.wizard.service.impl.GameServiceImpl;
+import com.aau.wizard.service.impl.GameStateBroadcaster;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class GameStateBroadcasterTest {
+
+    private static final int PLAYERS = 6;
+    private static final int ROUND = 10;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private SimpMessagingTemplate messagingTemplate;
+    private GameStateBroadcaster broadcaster;
+    private GameServiceImpl gameService;
+    private Game game;
+
+    @BeforeEach
+    void setUp() {
+        messagingTemplate = mock(SimpMessagingTemplate.class);
+        broadcaster = new GameStateBroadcaster(messagingTemplate);
+        gameService = new GameServiceImpl(messagingTemplate, new GameRegistry());
+        game = createSixPlayerGameInRound(ROUND);
+    }
+
+    @Test
+    void broadcastSendsPublicStateOnceAndOneHandPerPlayer() {
+        GameResponse publicState = publicState();
+
+        broadcaster.broadcast(game, publicState);
+
+        verify(messagingTemplate, times(1)).convertAndSend("/topic/game/" + game.getGameId(), (Object) publicState);
+        for (Player player : game.getPlayers()) {
+            ArgumentCaptor<HandResponse> hand = ArgumentCaptor.forClass(HandResponse.class);
+            verify(messagingTemplate).convertAndSend(eq("/topic/game/" + player.getPlayerId()), hand.capture());
+            assertEquals(player.getPlayerId(), hand.getValue().getPlayerId());
+            assertEquals(player.getHandCards().size(), hand.getValue().getHandCards().size());
+        }
+    }
+
+    @Test
+    void broadcastPublicSendsNoHands() {
+        broadcaster.broadcastPublic(game, publicState());
+
+        verify(messagingTemplate, times(1)).convertAndSend(eq("/topic/game/" + game.getGameId()), any(GameResponse.class));
+        verify(messagingTemplate, never()).convertAndSend(anyString(), any(HandResponse.class));
+    }
+
+    @Test
+    void playersOfARemovedGameAreNotKept() {
+        GameRegistry registry = new GameRegistry();
+        registry.addListener(broadcaster);
+        GameRegistry.Entry entry = registry.put(game);
+        List<PlayerDto> scoreboard = broadcaster.scoreboard(game);
+        assertSame(scoreboard, broadcaster.scoreboard(game));
+
+        registry.remove(entry);
+
+        assertNotSame(scoreboard, broadcaster.scoreboard(game), "The slot of a removed game must be cleared");
+    }
+
+    @Test
+    void roundEndedSendsScoreboardBeforeTheDelta() {
+        game.setStatus(GameStatus.ROUND_END_SUMMARY);
+        Map<String, Integer> points = new LinkedHashMap<>();
+        game.getPlayers().forEach(player -> points.put(player.getPlayerId(), 20));
+
+        broadcaster.publish(new DomainEvent.RoundEnded(game, 7, ROUND, points));
+
+        InOrder inOrder = inOrder(messagingTemplate);
+        inOrder.verify(messagingTemplate).convertAndSend(eq("/topic/game/" + game.getGameId() + "/scoreboard"), any(List.class));
+        ArgumentCaptor<GameDelta> delta = ArgumentCaptor.forClass(GameDelta.class);
+        inOrder.verify(messagingTemplate).convertAndSend(eq("/topic/game/" + game.getGameId()), delta.capture());
+        assertEquals(GameDelta.Type.ROUND_ENDED, delta.getValue().getType());
+        assertEquals(7, delta.getValue().getVersion());
+        assertEquals(points, delta.getValue().getScoreDeltas());
+        verify(messagingTemplate, never()).convertAndSend(anyString(), any(HandResponse.class));
+    }
+
+    /**
+     * Compares the bytes serialized per card played at a six player table: previously every player
+     * received the full state including their hand, now the public state is serialized once.
+     */
+    @Test
+    void sharedPublicStateSerializesFewerBytesThanOneFullStatePerPlayer() throws Exception {
+        long perPlayerBytes = 0;
+        for (Player player : game.getPlayers()) {
+            perPlayerBytes += mapper.writeValueAsBytes(gameService.createGameResponse(game, player.getPlayerId(), null)).length;
+        }
+
+        long sharedBytes = mapper.writeValueAsBytes(publicState()).length;
+        for (Player player : game.getPlayers()) {
+            broadcaster.sendHand(game, player);
+        }
+        ArgumentCaptor<HandResponse> hands = ArgumentCaptor.forClass(HandResponse.class);
+        verify(messagingTemplate, times(PLAYERS)).convertAndSend(anyString(), hands.capture());
+        for (HandResponse hand : hands.getAllValues()) {
+            sharedBytes += mapper.writeValueAsBytes(hand).length;
+        }
+
+        System.out.println("Serialized bytes per card played, " + PLAYERS + " players, round " + ROUND
+                + ": per player " + perPlayerBytes + ", shared " + sharedBytes);
+        assertTrue(sharedBytes * 2 < perPlayerBytes,
+                "Shared public state should serialize far fewer bytes than one full state per player");
+    }
+
+    private GameResponse publicState() {
+        GameResponse response = gameService.createGameResponse(game, null, null);
+        response.setHandCards(null);
+        return response;
+    }
+
+    private static Game createSixPlayerGameInRound(int round) {
+        Game game = new Game("broadcast-game");
+        Deck deck = new Deck();
+        for (int i = 0; i < PLAYERS; i++) {
+            Player player = new Player("player-" + i, "Player " + i);
+            player.setHandCards(new ArrayList<>(deck.draw(round)));
+            player.setPrediction(1);
+            for (int r = 1; r < round; r++) {
+                player.addRoundScore(20 + r);
+            }
+            game.getPlayers().add(player);
+        }
+        game.setStatus(GameStatus.PLAYING);
+        game.setCurrentRound(round);
+        game.setCurrentPlayerId(game.getPlayers().get(0).getPlayerId());
+        game.setPredictionOrder(List.of());
+        return game;
+    }
+}
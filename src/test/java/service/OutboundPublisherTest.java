@@ -0,0 +1,182 @@
+package service;
+
+import com.aau.wizard.dto.request.GameRequest;
+import com.aau.wizard.journal.GameJournal;
+import com.aau.wizard.model.Game;
+import com.aau.wizard.model.Player;
+import com.aau.wizard.service.impl.GameRegistry;
+import com.aau.wizard.service.impl.GameServiceImpl;
+import com.aau.wizard.service.impl.OutboundPublisher;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import testutil.GameMoves;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OutboundPublisherTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final List<Message<?>> sent = new ArrayList<>();
+    private final CountDownLatch firstSendEntered = new CountDownLatch(1);
+    private final CountDownLatch releaseFirstSend = new CountDownLatch(1);
+
+    @Test
+    void completeGameArrivesEncodedAndInOrder() throws Exception {
+        releaseFirstSend.countDown();
+        OutboundPublisher publisher = new OutboundPublisher(template(), 2);
+        GameServiceImpl service = new GameServiceImpl(template(), new GameRegistry(), GameJournal.NONE, publisher);
+        Game game = GameMoves.startGame(service, "game-1", 3);
+        while (GameMoves.playMove(service, "game-1")) {
+            // play the whole game
+        }
+        publisher.close();
+
+        List<JsonNode> deltas = messagesTo("/topic/game/game-1").stream().skip(1).toList();
+        for (int i = 1; i < deltas.size(); i++) {
+            assertEquals(deltas.get(i - 1).get("version").asLong() + 1, deltas.get(i).get("version").asLong());
+        }
+        assertEquals("GAME_ENDED", deltas.get(deltas.size() - 1).get("type").asText());
+        assertEquals(game.getVersion(), deltas.get(deltas.size() - 1).get("version").asLong());
+        // scoreboards of earlier rounds may have been replaced, the last one holds the final scores
+        List<JsonNode> scoreboards = messagesTo("/topic/game/game-1/scoreboard");
+        JsonNode finalScores = scoreboards.get(scoreboards.size() - 1);
+        for (int i = 0; i < game.getPlayers().size(); i++) {
+            assertEquals(game.getPlayers().get(i).getScore(), finalScores.get(i).get("score").asInt());
+        }
+        assertEquals(publisher.getMetrics().getQueuedCount(),
+                publisher.getMetrics().getSentCount() + publisher.getMetrics().getCoalescedCount());
+        assertEquals(0, publisher.getMetrics().getFailedCount());
+    }
+
+    @Test
+    void handsQueuedBehindASlowSendAreCoalescedToTheLatest() throws Exception {
+        OutboundPublisher publisher = new OutboundPublisher(template(), 1);
+        GameServiceImpl service = new GameServiceImpl(template(), new GameRegistry(), GameJournal.NONE, publisher);
+        Game game = GameMoves.startGame(service, "game-1", 2);
+        assertTrue(firstSendEntered.await(5, TimeUnit.SECONDS));
+
+        // round 1 with both cards, then the hands of round 2 are dealt
+        while (game.getCurrentRound() < 2) {
+            assertTrue(GameMoves.playMove(service, "game-1"));
+        }
+        releaseFirstSend.countDown();
+        publisher.close();
+
+        assertTrue(publisher.getMetrics().getCoalescedCount() >= 2);
+        for (Player player : game.getPlayers()) {
+            List<JsonNode> hands = messagesTo("/topic/game/" + player.getPlayerId());
+            assertTrue(hands.size() <= 2, "Hände für " + player.getPlayerId() + ": " + hands.size());
+            assertEquals(player.getHandCards().size(), hands.get(hands.size() - 1).get("handCards").size());
+        }
+        List<JsonNode> deltas = messagesTo("/topic/game/game-1").stream().skip(1).toList();
+        assertEquals("ROUND_STARTED", deltas.get(deltas.size() - 1).get("type").asText());
+        assertEquals(game.getVersion(), deltas.get(deltas.size() - 1).get("version").asLong());
+        assertEquals(game.getVersion() - deltas.get(0).get("version").asLong() + 1, deltas.size());
+    }
+
+    @Test
+    @Timeout(10)
+    void resyncSnapshotIsSentAfterTheDeltasQueuedBeforeIt() throws Exception {
+        OutboundPublisher publisher = new OutboundPublisher(template(), 1);
+        GameServiceImpl service = new GameServiceImpl(template(), new GameRegistry(), GameJournal.NONE, publisher);
+        Game game = GameMoves.startGame(service, "game-1", 2);
+        assertTrue(firstSendEntered.await(5, TimeUnit.SECONDS));
+
+        // deltas pile up behind the slow send, then a player asks for a snapshot
+        assertTrue(GameMoves.playMove(service, "game-1"));
+        assertTrue(GameMoves.playMove(service, "game-1"));
+        String playerId = game.getPlayers().get(0).getPlayerId();
+        service.resyncPlayer(new GameRequest("game-1", playerId));
+        releaseFirstSend.countDown();
+        publisher.close();
+
+        List<String> destinations = destinations();
+        int snapshot = destinations.indexOf("/topic/game/" + playerId + "/resync");
+        assertTrue(snapshot > destinations.lastIndexOf("/topic/game/game-1"), destinations::toString);
+        List<JsonNode> deltas = messagesTo("/topic/game/game-1");
+        assertEquals(deltas.get(deltas.size() - 1).get("version").asLong(),
+                messagesTo("/topic/game/" + playerId + "/resync").get(0).get("version").asLong());
+    }
+
+    @Test
+    @Timeout(10)
+    void joinAndScoreboardAreSentAfterTheDeltasQueuedBeforeThem() throws Exception {
+        OutboundPublisher publisher = new OutboundPublisher(template(), 1);
+        GameServiceImpl service = new GameServiceImpl(template(), new GameRegistry(), GameJournal.NONE, publisher);
+        Game game = GameMoves.startGame(service, "game-1", 2);
+        assertTrue(firstSendEntered.await(5, TimeUnit.SECONDS));
+
+        // both would block on the held send if they were sent by the calling thread
+        assertTrue(GameMoves.playMove(service, "game-1"));
+        Player player = game.getPlayers().get(0);
+        GameRequest rejoin = new GameRequest("game-1", player.getPlayerId());
+        rejoin.setPlayerName(player.getName());
+        service.joinGame(rejoin);
+        service.sendScoreboard("game-1");
+        releaseFirstSend.countDown();
+        publisher.close();
+
+        List<String> destinations = destinations();
+        int lastDelta = destinations.lastIndexOf("/topic/game/game-1");
+        int join = destinations.lastIndexOf("/topic/game");
+        assertTrue(join > lastDelta, destinations::toString);
+        assertTrue(destinations.lastIndexOf("/topic/game/game-1/scoreboard") > join, destinations::toString);
+        List<JsonNode> joins = messagesTo("/topic/game");
+        assertEquals(game.getVersion(), joins.get(joins.size() - 1).get("version").asLong());
+    }
+
+    /**
+     * A template converting to JSON like the broker's, whose channel records the messages and
+     * holds the first one until {@link #releaseFirstSend} opens.
+     */
+    private SimpMessagingTemplate template() {
+        SimpMessagingTemplate template = new SimpMessagingTemplate((message, timeout) -> {
+            firstSendEntered.countDown();
+            try {
+                releaseFirstSend.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            synchronized (sent) {
+                sent.add(message);
+            }
+            return true;
+        });
+        template.setMessageConverter(new MappingJackson2MessageConverter());
+        return template;
+    }
+
+    private List<String> destinations() {
+        List<String> destinations = new ArrayList<>();
+        synchronized (sent) {
+            for (Message<?> message : sent) {
+                destinations.add(SimpMessageHeaderAccessor.getDestination(message.getHeaders()));
+            }
+        }
+        return destinations;
+    }
+
+    private List<JsonNode> messagesTo(String destination) throws IOException {
+        List<JsonNode> messages = new ArrayList<>();
+        synchronized (sent) {
+            for (Message<?> message : sent) {
+                if (destination.equals(SimpMessageHeaderAccessor.getDestination(message.getHeaders()))) {
+                    messages.add(mapper.readTree((byte[]) message.getPayload()));
+                }
+            }
+        }
+        return messages;
+    }
+}
@@ -1,5 +1,6 @@
 package service;
 
+import com.aau.wizard.GameExceptions;
 import com.aau.wizard.model.*;
 import com.aau.wizard.model.enums.CardSuit;
 import com.aau.wizard.model.enums.GameStatus;
@@ -7,21 +8,17 @@ import com.aau.wizard.service.impl.RoundServiceImpl;
 import com.aau.wizard.util.Pair;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
-import com.aau.wizard.service.interfaces.GameService;
 
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.*;
 
 class RoundServiceImplTest {
 
     private List<Player> players;
     private RoundServiceImpl roundService;
     private Game game;
-    private SimpMessagingTemplate messagingTemplate;
-    private GameService gameService;
 
 
     @BeforeEach
@@ -35,10 +32,7 @@ class RoundServiceImplTest {
             game = new Game("test-game");
         game.getPlayers().addAll(players);
 
-        messagingTemplate = mock(SimpMessagingTemplate.class);
-        gameService = mock(GameService.class);
-
-        roundService = new RoundServiceImpl(game, messagingTemplate, gameService);
+        roundService = new RoundServiceImpl(game);
         }
 
     void prepareGameAndStartRound(int roundNumber, String startingPlayerId) {
@@ -58,16 +52,27 @@ class RoundServiceImplTest {
         assertTrue(roundService.playedCards.isEmpty());
     }
 
+    @Test
+    void startRound_sameSeedDealsSameHandsAndTrump() {
+        game.setSeed(1234L);
+        prepareGameAndStartRound(5, "p1");
+        List<List<ICard>> firstDeal = players.stream().map(p -> List.copyOf(p.getHandCards())).toList();
+        ICard firstTrump = roundService.trumpCard;
+
+        RoundServiceImpl replay = new RoundServiceImpl(game);
+        replay.startRound(5);
+
+        assertEquals(firstDeal, players.stream().map(p -> List.copyOf(p.getHandCards())).toList());
+        assertSame(firstTrump, replay.trumpCard);
+    }
+
     @Test
     void startRound_setsTrumpCardWhenDeckHasCardsAfterDealing() {
         Game games = new Game("123");
         games.addPlayer(new Player("Player1", "Alice"));
         games.addPlayer(new Player("Player2", "Bob"));
 
-        SimpMessagingTemplate messagingTemplateMock = mock(SimpMessagingTemplate.class);
-        GameService gameServiceMock = mock(GameService.class);
-
-        RoundServiceImpl roundServiceImp = new RoundServiceImpl(games, messagingTemplateMock, gameServiceMock);
+        RoundServiceImpl roundServiceImp = new RoundServiceImpl(games);
 
 
         //Runde starten → deck wird hier initialisiert
@@ -159,9 +164,11 @@ class RoundServiceImplTest {
         player2.getHandCards().clear();
         player2.getHandCards().addAll(List.of(player2RedCard, player2BlueCard));
 
-        assertThrows(IllegalStateException.class,
+        IllegalStateException e = assertThrows(IllegalStateException.class,
                 () -> roundService.playCard(player2, player2BlueCard, false),
                 "Sollte fehlschlagen, da Spieler die führende Farbe hat und diese bedienen muss.");
+        assertInstanceOf(GameExceptions.InvalidCardPlayException.class, e);
+        assertEquals(0, e.getStackTrace().length, "Regelverstöße werden ohne Stacktrace geworfen.");
     }
 
     @Test
@@ -420,28 +427,24 @@ class RoundServiceImplTest {
     }
 
     @Test
-    void endRound_setsStatusToRoundEndSummaryAndSendsScoreboard() {
+    void endRound_setsStatusToRoundEndSummaryAndReturnsPointsInSeatingOrder() {
         prepareGameAndStartRound(3, "p1");
         players.get(0).setPrediction(1); players.get(0).setTricksWon(1);
         players.get(1).setPrediction(0); players.get(1).setTricksWon(0);
         players.get(2).setPrediction(0); players.get(2).setTricksWon(0);
 
-        roundService.endRound();
+        Map<String, Integer> pointsThisRound = roundService.endRound();
 
         assertEquals(GameStatus.ROUND_END_SUMMARY, game.getStatus(),
                 "Spielstatus sollte ROUND_END_SUMMARY sein.");
-
-        verify(messagingTemplate, times(1)).convertAndSend(
-                eq("/topic/game/" + game.getGameId() + "/scoreboard"),
-                any(List.class)
-        );
-
-        verify(gameService, never()).processEndOfRound(anyString());
+        assertEquals(List.of("p1", "p2", "p3"), List.copyOf(pointsThisRound.keySet()));
+        assertEquals(30, (int) pointsThisRound.get("p1"));
+        assertEquals(20, (int) pointsThisRound.get("p2"));
     }
 
     @Test
     void getPlayedCards_ShouldReturnEmptyListInitially() {
-        RoundServiceImpl roundServiceImpl = new RoundServiceImpl(game, messagingTemplate, gameService);
+        RoundServiceImpl roundServiceImpl = new RoundServiceImpl(game);
         List<Pair<Player, ICard>> playedCards = roundServiceImpl.getPlayedCards();
 
         assertNotNull(playedCards);
@@ -451,13 +454,13 @@ class RoundServiceImplTest {
 
     @Test
     void getTrumpCard_ShouldReturnNullInitially() {
-        RoundServiceImpl roundService = new RoundServiceImpl(game, messagingTemplate, gameService);
+        RoundServiceImpl roundService = new RoundServiceImpl(game);
         assertNull(roundService.getTrumpCard());
     }
 
     @Test
     void getTrumpCard_ShouldReturnSetTrumpCard() {
-        RoundServiceImpl roundService = new RoundServiceImpl(game, messagingTemplate, gameService);
+        RoundServiceImpl roundService = new RoundServiceImpl(game);
         ICard trumpCard = new WizardCard(CardSuit.SPECIAL);
 
         roundService.trumpCard = trumpCard;
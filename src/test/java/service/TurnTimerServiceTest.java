@@ -0,0 +1,132 @@
+package service;
+
+import com.aau.wizard.dto.request.GameRequest;
+import com.aau.wizard.dto.request.PredictionRequest;
+import com.aau.wizard.model.Game;
+import com.aau.wizard.model.Player;
+import com.aau.wizard.model.enums.GameStatus;
+import com.aau.wizard.service.impl.GameCommandDispatcher;
+import com.aau.wizard.service.impl.GameRegistry;
+import com.aau.wizard.service.impl.GameServiceImpl;
+import com.aau.wizard.service.impl.TurnTimerService;
+import com.aau.wizard.util.HashedTimingWheel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TurnTimerServiceTest {
+
+    private static final Duration TURN_TIMEOUT = Duration.ofMillis(100);
+
+    private GameRegistry registry;
+    private HashedTimingWheel timer;
+    private ExecutorService workers;
+    private GameCommandDispatcher dispatcher;
+    private GameServiceImpl gameService;
+    private TurnTimerService turnTimer;
+
+    @BeforeEach
+    void setUp() {
+        registry = new GameRegistry();
+        timer = new HashedTimingWheel("test-timer", 10, TimeUnit.MILLISECONDS, 64);
+        workers = Executors.newFixedThreadPool(2);
+        dispatcher = new GameCommandDispatcher(registry, workers);
+        gameService = new GameServiceImpl(new SimpMessagingTemplate((message, timeout) -> true), registry);
+        turnTimer = new TurnTimerService(registry, timer, dispatcher, gameService, TURN_TIMEOUT);
+    }
+
+    @AfterEach
+    void tearDown() {
+        timer.stop();
+        workers.shutdownNow();
+    }
+
+    @Test
+    @Timeout(5)
+    void stalledPlayersGetTheirRoundPlayedAutomatically() throws Exception {
+        Game game = startGame("stalled", 3);
+
+        awaitTrue(() -> turnTimer.getAutoPlayCount() == 3);
+
+        assertEquals(GameStatus.ROUND_END_SUMMARY, game.getStatus());
+        assertEquals(3, turnTimer.getAutoPredictionCount());
+        for (Player player : game.getPlayers()) {
+            assertEquals(0, player.getPrediction());
+            assertTrue(player.getHandCards().isEmpty());
+        }
+    }
+
+    @Test
+    @Timeout(5)
+    void automaticPredictionOfTheLastPlayerAvoidsTheForbiddenSum() throws Exception {
+        joinPlayers("forbidden", 2);
+        dispatcher.dispatch("forbidden", () -> gameService.startGame("forbidden"));
+        // queued right behind the start, so it is applied before the first turn can expire
+        dispatcher.dispatch("forbidden", () -> gameService.makePrediction(new PredictionRequest(
+                "forbidden", registry.getGame("forbidden").getPredictionOrder().get(0), 1)));
+
+        awaitTrue(() -> registry.getGame("forbidden") != null && registry.getGame("forbidden").getPlayers().stream()
+                .allMatch(player -> player.getPrediction() != null));
+        Game game = registry.getGame("forbidden");
+        String last = game.getPredictionOrder().get(1);
+        // 1 + 0 would equal the one trick of the first round
+        assertEquals(1, game.getPlayerById(last).getPrediction());
+        assertEquals(1, turnTimer.getAutoPredictionCount());
+    }
+
+    @Test
+    @Timeout(5)
+    void noMoveIsMadeWhenNobodyIsExpectedToMove() throws Exception {
+        GameRegistry.Entry entry = registry.getOrCreate("lobby");
+        for (int i = 0; i < 3; i++) {
+            GameRequest join = new GameRequest("lobby", "p" + i);
+            join.setPlayerName("Player" + i);
+            dispatcher.dispatchJoin("lobby", () -> gameService.joinGame(join));
+        }
+
+        // the mailbox applies commands in order, so all joins have been applied when this one runs
+        CountDownLatch joined = new CountDownLatch(1);
+        dispatcher.dispatch("lobby", joined::countDown);
+        assertTrue(joined.await(3, TimeUnit.SECONDS));
+
+        assertEquals(3, entry.getGame().getPlayers().size());
+        assertEquals(GameStatus.LOBBY, entry.getGame().getStatus());
+        assertEquals(0, timer.pendingTimeouts(), "No turn may expire in the lobby");
+    }
+
+    private Game startGame(String gameId, int players) throws InterruptedException {
+        joinPlayers(gameId, players);
+        dispatcher.dispatch(gameId, () -> gameService.startGame(gameId));
+        // the game is created by the first join, and the status leaves the lobby before the first
+        // round has dealt and set the prediction order
+        awaitTrue(() -> registry.getGame(gameId) != null && !registry.getGame(gameId).getPredictionOrder().isEmpty());
+        return registry.getGame(gameId);
+    }
+
+    private void joinPlayers(String gameId, int players) {
+        for (int i = 0; i < players; i++) {
+            GameRequest join = new GameRequest(gameId, gameId + "-p" + i);
+            join.setPlayerName("Player" + i);
+            dispatcher.dispatchJoin(gameId, () -> gameService.joinGame(join));
+        }
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(3);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Condition not met in time");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package testutil;
+
+import com.aau.wizard.dto.request.GameRequest;
+import com.aau.wizard.dto.request.PredictionRequest;
+import com.aau.wizard.model.Game;
+import com.aau.wizard.model.ICard;
+import com.aau.wizard.model.Player;
+import com.aau.wizard.rules.TrickRules;
+import com.aau.wizard.service.impl.GameServiceImpl;
+import com.aau.wizard.service.impl.RoundServiceImpl;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Drives games through a {@link GameServiceImpl} with legal moves, for tests that need games in
+ * arbitrary states. Excluded from code coverage.
+ */
+public class GameMoves {
+
+    private GameMoves() {
+    }
+
+    /**
+     * Joins the given number of players and starts the game.
+     *
+     * @return the started game
+     */
+    public static Game startGame(GameServiceImpl service, String gameId, int players) {
+        for (int i = 1; i <= players; i++) {
+            GameRequest join = new GameRequest(gameId, gameId + "-p" + i);
+            join.setPlayerName("Spieler " + i);
+            service.joinGame(join);
+        }
+        service.startGame(gameId);
+        return service.getGameById(gameId);
+    }
+
+    /**
+     * Makes the next move of the game: the smallest allowed prediction, the first legal card of
+     * the current player or leaving the round summary.
+     *
+     * @return {@code false} if the game is not running and there is no move to make
+     */
+    public static boolean playMove(GameServiceImpl service, String gameId) {
+        Game game = service.getGameById(gameId);
+        switch (game.getStatus()) {
+            case PREDICTION -> {
+                List<String> order = game.getPredictionOrder();
+                int predicted = (int) game.getPlayers().stream().filter(p -> p.getPrediction() != null).count();
+                String playerId = order.get(predicted);
+                int prediction = 0;
+                if (predicted == order.size() - 1) {
+                    int sum = game.getPlayers().stream()
+                            .filter(p -> p.getPrediction() != null).mapToInt(Player::getPrediction).sum();
+                    prediction = sum == game.getCurrentRound() ? 1 : 0;
+                }
+                service.makePrediction(new PredictionRequest(gameId, playerId, prediction));
+            }
+            case PLAYING -> {
+                Player player = game.getPlayerById(game.getCurrentPlayerId());
+                RoundServiceImpl round = service.getRegistry().getRoundService(gameId);
+                ICard card = player.getHandCards().stream()
+                        .filter(c -> TrickRules.isValidPlay(player, c, round.getPlayedCards(), round.trumpCardSuit, false))
+                        .findFirst()
+                        .orElseThrow();
+                GameRequest play = new GameRequest(gameId, player.getPlayerId());
+                play.setCard(card.toString());
+                service.playCard(play);
+            }
+            case ROUND_END_SUMMARY -> service.proceedToNextRound(gameId);
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Makes a random legal move: any allowed prediction, any legal card of the current player or
+     * leaving the round summary.
+     *
+     * @return {@code false} if the game is not running and there is no move to make
+     */
+    public static boolean playRandomMove(GameServiceImpl service, String gameId, SplittableRandom random) {
+        Game game = service.getGameById(gameId);
+        switch (game.getStatus()) {
+            case PREDICTION -> {
+                List<String> order = game.getPredictionOrder();
+                int predicted = (int) game.getPlayers().stream().filter(p -> p.getPrediction() != null).count();
+                String playerId = order.get(predicted);
+                int round = game.getCurrentRound();
+                int prediction = random.nextInt(round + 1);
+                if (predicted == order.size() - 1) {
+                    int sum = game.getPlayers().stream()
+                            .filter(p -> p.getPrediction() != null).mapToInt(Player::getPrediction).sum();
+                    if (sum + prediction == round) {
+                        prediction = prediction == 0 ? 1 : prediction - 1;
+                    }
+                }
+                service.makePrediction(new PredictionRequest(gameId, playerId, prediction));
+            }
+            case PLAYING -> {
+                Player player = game.getPlayerById(game.getCurrentPlayerId());
+                RoundServiceImpl round = service.getRegistry().getRoundService(gameId);
+                List<ICard> legal = player.getHandCards().stream()
+                        .filter(c -> TrickRules.isValidPlay(player, c, round.getPlayedCards(), round.trumpCardSuit, false))
+                        .toList();
+                GameRequest play = new GameRequest(gameId, player.getPlayerId());
+                play.setCard(legal.get(random.nextInt(legal.size())).toString());
+                service.playCard(play);
+            }
+            case ROUND_END_SUMMARY -> service.proceedToNextRound(gameId);
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+}
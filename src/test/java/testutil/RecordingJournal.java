@@ -0,0 +1,40 @@
+package testutil;
+
+import com.aau.wizard.journal.GameEvent;
+import com.aau.wizard.journal.GameJournal;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link GameJournal} that keeps the appended events in memory, for tests that replay what a
+ * service journaled. Not thread-safe. Excluded from code coverage.
+ */
+public class RecordingJournal implements GameJournal {
+    private final Map<String, List<GameEvent>> eventsByGame = new HashMap<>();
+    private long sequence;
+
+    @Override
+    public long append(GameEvent event) {
+        eventsByGame.computeIfAbsent(event.gameId(), gameId -> new ArrayList<>()).add(event);
+        return ++sequence;
+    }
+
+    @Override
+    public long lastSequence() {
+        return sequence;
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    /**
+     * @return the events of one game in the order they were appended
+     */
+    public List<GameEvent> eventsOf(String gameId) {
+        return List.copyOf(eventsByGame.getOrDefault(gameId, List.of()));
+    }
+}